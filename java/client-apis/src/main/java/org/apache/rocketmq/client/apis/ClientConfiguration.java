@@ -29,18 +29,28 @@ public class ClientConfiguration {
     private final Duration requestTimeout;
     private final boolean sslEnabled;
     private final String namespace;
+    private final int channelCount;
+    private final TransportConfiguration transportConfiguration;
+    private final boolean localMetricsEnabled;
+    private final RequestIdProvider requestIdProvider;
 
     /**
      * The caller is supposed to have validated the arguments and handled throwing exceptions or
      * logging warnings already, so we avoid repeating args check here.
      */
     ClientConfiguration(String endpoints, SessionCredentialsProvider sessionCredentialsProvider,
-        Duration requestTimeout, boolean sslEnabled, String namespace) {
+        Duration requestTimeout, boolean sslEnabled, String namespace, int channelCount,
+        TransportConfiguration transportConfiguration, boolean localMetricsEnabled,
+        RequestIdProvider requestIdProvider) {
         this.endpoints = endpoints;
         this.sessionCredentialsProvider = sessionCredentialsProvider;
         this.requestTimeout = requestTimeout;
         this.sslEnabled = sslEnabled;
         this.namespace = namespace;
+        this.channelCount = channelCount;
+        this.transportConfiguration = transportConfiguration;
+        this.localMetricsEnabled = localMetricsEnabled;
+        this.requestIdProvider = requestIdProvider;
     }
 
     public static ClientConfigurationBuilder newBuilder() {
@@ -66,4 +76,20 @@ public class ClientConfiguration {
     public String getNamespace() {
         return namespace;
     }
+
+    public int getChannelCount() {
+        return channelCount;
+    }
+
+    public TransportConfiguration getTransportConfiguration() {
+        return transportConfiguration;
+    }
+
+    public boolean isLocalMetricsEnabled() {
+        return localMetricsEnabled;
+    }
+
+    public Optional<RequestIdProvider> getRequestIdProvider() {
+        return Optional.ofNullable(requestIdProvider);
+    }
 }
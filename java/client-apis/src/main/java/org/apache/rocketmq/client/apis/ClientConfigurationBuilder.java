@@ -17,6 +17,7 @@
 
 package org.apache.rocketmq.client.apis;
 
+import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
 
 import java.time.Duration;
@@ -32,6 +33,10 @@ public class ClientConfigurationBuilder {
     private Duration requestTimeout = Duration.ofSeconds(3);
     private boolean sslEnabled = true;
     private String namespace = "";
+    private int channelCount = 1;
+    private TransportConfiguration transportConfiguration = TransportConfiguration.newBuilder().build();
+    private boolean localMetricsEnabled = false;
+    private RequestIdProvider requestIdProvider = null;
 
     /**
      * Configure the access point with which the SDK should communicate.
@@ -93,6 +98,57 @@ public class ClientConfigurationBuilder {
         return this;
     }
 
+    /**
+     * Configure the count of channels to each endpoints for ordinary RPCs, each channel holds its own HTTP/2
+     * connection, and each RPC is dispatched to the channel with the least outstanding RPCs.
+     *
+     * <p>Channel count is 1 by default. Long-polling message reception always uses a separate channel, so that it
+     * never shares the connection with latency-sensitive RPCs like message sending.
+     *
+     * @param channelCount count of channels to each endpoints for ordinary RPCs.
+     * @return the client configuration builder instance.
+     */
+    public ClientConfigurationBuilder setChannelCount(int channelCount) {
+        checkArgument(channelCount > 0, "channelCount should be positive");
+        this.channelCount = channelCount;
+        return this;
+    }
+
+    /**
+     * Configure the network transport, such as event loop group, flow-control window and keepalive.
+     *
+     * @param transportConfiguration transport configuration.
+     * @return the client configuration builder instance.
+     */
+    public ClientConfigurationBuilder setTransportConfiguration(TransportConfiguration transportConfiguration) {
+        this.transportConfiguration = checkNotNull(transportConfiguration, "transportConfiguration should not be "
+            + "null");
+        return this;
+    }
+
+    /**
+     * Enable or disable metrics recorded in process, which are kept regardless of whether metrics are exported to
+     * the remote, disabled by default.
+     *
+     * @param localMetricsEnabled the switch of metrics recorded in process.
+     * @return the client configuration builder instance.
+     */
+    public ClientConfigurationBuilder enableLocalMetrics(boolean localMetricsEnabled) {
+        this.localMetricsEnabled = localMetricsEnabled;
+        return this;
+    }
+
+    /**
+     * Config the provider of request ids, each client generates request ids by itself if it is not set.
+     *
+     * @param requestIdProvider provider of request ids.
+     * @return the client configuration builder instance.
+     */
+    public ClientConfigurationBuilder setRequestIdProvider(RequestIdProvider requestIdProvider) {
+        this.requestIdProvider = checkNotNull(requestIdProvider, "requestIdProvider should not be null");
+        return this;
+    }
+
     /**
      * Finalize the build of {@link ClientConfiguration}.
      *
@@ -101,6 +157,7 @@ public class ClientConfigurationBuilder {
     public ClientConfiguration build() {
         checkNotNull(endpoints, "endpoints should not be null");
         checkNotNull(requestTimeout, "requestTimeout should not be null");
-        return new ClientConfiguration(endpoints, sessionCredentialsProvider, requestTimeout, sslEnabled, namespace);
+        return new ClientConfiguration(endpoints, sessionCredentialsProvider, requestTimeout, sslEnabled, namespace,
+            channelCount, transportConfiguration, localMetricsEnabled, requestIdProvider);
     }
 }
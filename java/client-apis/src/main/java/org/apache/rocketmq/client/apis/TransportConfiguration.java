@@ -0,0 +1,97 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.rocketmq.client.apis;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Network transport configuration of the client, options which are not set keep the defaults of gRPC.
+ */
+public class TransportConfiguration {
+    private final boolean nativeTransportEnabled;
+    private final int eventLoopThreadCount;
+    private final boolean eventLoopGroupShared;
+    private final int flowControlWindow;
+    private final Duration keepAliveTime;
+    private final Duration keepAliveTimeout;
+    private final boolean keepAliveWithoutCalls;
+    private final int maxInboundMetadataSize;
+
+    /**
+     * The caller is supposed to have validated the arguments and handled throwing exceptions or
+     * logging warnings already, so we avoid repeating args check here.
+     */
+    TransportConfiguration(boolean nativeTransportEnabled, int eventLoopThreadCount, boolean eventLoopGroupShared,
+        int flowControlWindow, Duration keepAliveTime, Duration keepAliveTimeout, boolean keepAliveWithoutCalls,
+        int maxInboundMetadataSize) {
+        this.nativeTransportEnabled = nativeTransportEnabled;
+        this.eventLoopThreadCount = eventLoopThreadCount;
+        this.eventLoopGroupShared = eventLoopGroupShared;
+        this.flowControlWindow = flowControlWindow;
+        this.keepAliveTime = keepAliveTime;
+        this.keepAliveTimeout = keepAliveTimeout;
+        this.keepAliveWithoutCalls = keepAliveWithoutCalls;
+        this.maxInboundMetadataSize = maxInboundMetadataSize;
+    }
+
+    public static TransportConfigurationBuilder newBuilder() {
+        return new TransportConfigurationBuilder();
+    }
+
+    public boolean isNativeTransportEnabled() {
+        return nativeTransportEnabled;
+    }
+
+    /**
+     * @return thread count of the event loop group, 0 means the default of gRPC.
+     */
+    public int getEventLoopThreadCount() {
+        return eventLoopThreadCount;
+    }
+
+    public boolean isEventLoopGroupShared() {
+        return eventLoopGroupShared;
+    }
+
+    /**
+     * @return initial flow-control window in bytes, 0 means the default of gRPC.
+     */
+    public int getFlowControlWindow() {
+        return flowControlWindow;
+    }
+
+    public Optional<Duration> getKeepAliveTime() {
+        return Optional.ofNullable(keepAliveTime);
+    }
+
+    public Optional<Duration> getKeepAliveTimeout() {
+        return Optional.ofNullable(keepAliveTimeout);
+    }
+
+    public boolean isKeepAliveWithoutCalls() {
+        return keepAliveWithoutCalls;
+    }
+
+    /**
+     * @return max size of inbound metadata in bytes, 0 means the default of gRPC.
+     */
+    public int getMaxInboundMetadataSize() {
+        return maxInboundMetadataSize;
+    }
+}
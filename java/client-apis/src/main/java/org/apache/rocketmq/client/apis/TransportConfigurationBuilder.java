@@ -0,0 +1,141 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.rocketmq.client.apis;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.time.Duration;
+
+/**
+ * Builder to set {@link TransportConfiguration}.
+ */
+public class TransportConfigurationBuilder {
+    private boolean nativeTransportEnabled = false;
+    private int eventLoopThreadCount = 0;
+    private boolean eventLoopGroupShared = true;
+    private int flowControlWindow = 0;
+    private Duration keepAliveTime = null;
+    private Duration keepAliveTimeout = null;
+    private boolean keepAliveWithoutCalls = false;
+    private int maxInboundMetadataSize = 0;
+
+    /**
+     * Enable or disable the native epoll transport, which takes effect only if netty-transport-native-epoll is
+     * present in the classpath and available on the current platform, otherwise NIO transport is used.
+     *
+     * @param nativeTransportEnabled whether native transport should be enabled or not.
+     * @return the transport configuration builder instance.
+     */
+    public TransportConfigurationBuilder enableNativeTransport(boolean nativeTransportEnabled) {
+        this.nativeTransportEnabled = nativeTransportEnabled;
+        return this;
+    }
+
+    /**
+     * Configure the thread count of the event loop group which handles network I/O.
+     *
+     * <p>The event loop group of gRPC is used by default, which is shared by all channels in the JVM.
+     *
+     * @param eventLoopThreadCount thread count of the event loop group.
+     * @return the transport configuration builder instance.
+     */
+    public TransportConfigurationBuilder setEventLoopThreadCount(int eventLoopThreadCount) {
+        checkArgument(eventLoopThreadCount > 0, "eventLoopThreadCount should be positive");
+        this.eventLoopThreadCount = eventLoopThreadCount;
+        return this;
+    }
+
+    /**
+     * Share the event loop group across all clients in the JVM which have the same transport and thread count, or
+     * create one for each endpoints of each client. It is shared by default.
+     *
+     * @param eventLoopGroupShared whether the event loop group should be shared or not.
+     * @return the transport configuration builder instance.
+     */
+    public TransportConfigurationBuilder setEventLoopGroupShared(boolean eventLoopGroupShared) {
+        this.eventLoopGroupShared = eventLoopGroupShared;
+        return this;
+    }
+
+    /**
+     * Configure the initial HTTP/2 flow-control window, larger window allows larger message reception batch without
+     * waiting for window updates.
+     *
+     * @param flowControlWindow initial flow-control window in bytes.
+     * @return the transport configuration builder instance.
+     */
+    public TransportConfigurationBuilder setFlowControlWindow(int flowControlWindow) {
+        checkArgument(flowControlWindow > 0, "flowControlWindow should be positive");
+        this.flowControlWindow = flowControlWindow;
+        return this;
+    }
+
+    /**
+     * Configure the HTTP/2 keepalive of channels, keepalive is disabled by default.
+     *
+     * @param keepAliveTime    duration without read activity before sending a keepalive ping.
+     * @param keepAliveTimeout duration to wait for the keepalive ping acknowledgement before closing the connection.
+     * @return the transport configuration builder instance.
+     */
+    public TransportConfigurationBuilder setKeepAlive(Duration keepAliveTime, Duration keepAliveTimeout) {
+        checkNotNull(keepAliveTime, "keepAliveTime should not be null");
+        checkNotNull(keepAliveTimeout, "keepAliveTimeout should not be null");
+        checkArgument(!keepAliveTime.isNegative() && !keepAliveTime.isZero(), "keepAliveTime should be positive");
+        checkArgument(!keepAliveTimeout.isNegative() && !keepAliveTimeout.isZero(),
+            "keepAliveTimeout should be positive");
+        this.keepAliveTime = keepAliveTime;
+        this.keepAliveTimeout = keepAliveTimeout;
+        return this;
+    }
+
+    /**
+     * Enable or disable sending keepalive pings while there is no outstanding call, which takes effect only if the
+     * keepalive is configured by {@link #setKeepAlive(Duration, Duration)}. It is disabled by default, because
+     * servers usually close connections which ping too often without calls.
+     *
+     * @param keepAliveWithoutCalls whether keepalive pings should be sent without outstanding calls or not.
+     * @return the transport configuration builder instance.
+     */
+    public TransportConfigurationBuilder enableKeepAliveWithoutCalls(boolean keepAliveWithoutCalls) {
+        this.keepAliveWithoutCalls = keepAliveWithoutCalls;
+        return this;
+    }
+
+    /**
+     * Configure the max size of inbound metadata.
+     *
+     * @param maxInboundMetadataSize max size of inbound metadata in bytes.
+     * @return the transport configuration builder instance.
+     */
+    public TransportConfigurationBuilder setMaxInboundMetadataSize(int maxInboundMetadataSize) {
+        checkArgument(maxInboundMetadataSize > 0, "maxInboundMetadataSize should be positive");
+        this.maxInboundMetadataSize = maxInboundMetadataSize;
+        return this;
+    }
+
+    /**
+     * Finalize the build of {@link TransportConfiguration}.
+     *
+     * @return the transport configuration instance.
+     */
+    public TransportConfiguration build() {
+        return new TransportConfiguration(nativeTransportEnabled, eventLoopThreadCount, eventLoopGroupShared,
+            flowControlWindow, keepAliveTime, keepAliveTimeout, keepAliveWithoutCalls, maxInboundMetadataSize);
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.rocketmq.client.apis.consumer;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import org.apache.rocketmq.client.apis.ClientException;
+
+/**
+ * Exception raised when any of the messages fails to be handled by {@link SimpleConsumer#ack(List)},
+ * {@link SimpleConsumer#changeInvisibleDuration(List, java.time.Duration)} and their asynchronous versions, which
+ * may be part of the messages or all of them.
+ *
+ * <p>Failures are indexed in the same order as the messages, the messages which have been handled successfully are
+ * not retried, so it is up to the caller to decide whether to retry the failed ones.
+ */
+public class BatchAckException extends ClientException {
+    private final List<ClientException> failures;
+
+    /**
+     * @param failures failures of messages, {@code null} element means the message was handled successfully.
+     */
+    public BatchAckException(String message, List<ClientException> failures) {
+        super(message);
+        this.failures = Collections.unmodifiableList(failures);
+    }
+
+    /**
+     * Get the failure of the message at the specified index of the batch.
+     *
+     * @param index index of the message in the batch.
+     * @return the failure, or {@link Optional#empty()} if the message was handled successfully.
+     */
+    public Optional<ClientException> getFailure(int index) {
+        return Optional.ofNullable(failures.get(index));
+    }
+
+    /**
+     * Get the failures in the order of the messages, element of successful message is {@code null}.
+     *
+     * @return failures of the batch.
+     */
+    public List<ClientException> getFailures() {
+        return failures;
+    }
+
+    /**
+     * Get the number of messages in the batch.
+     *
+     * @return message quantity of the batch.
+     */
+    public int size() {
+        return failures.size();
+    }
+}
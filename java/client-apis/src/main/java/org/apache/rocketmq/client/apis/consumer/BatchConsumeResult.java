@@ -0,0 +1,90 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.rocketmq.client.apis.consumer;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Consumption result of {@link BatchMessageListener}, which is either shared by the whole batch or specified for
+ * each message.
+ */
+public final class BatchConsumeResult {
+    private static final BatchConsumeResult SUCCESS = new BatchConsumeResult(ConsumeResult.SUCCESS, null);
+    private static final BatchConsumeResult FAILURE = new BatchConsumeResult(ConsumeResult.FAILURE, null);
+
+    private final ConsumeResult batchResult;
+    private final List<ConsumeResult> consumeResults;
+
+    private BatchConsumeResult(ConsumeResult batchResult, List<ConsumeResult> consumeResults) {
+        this.batchResult = batchResult;
+        this.consumeResults = consumeResults;
+    }
+
+    /**
+     * All messages of the batch are consumed successfully.
+     */
+    public static BatchConsumeResult success() {
+        return SUCCESS;
+    }
+
+    /**
+     * All messages of the batch failed to consume and would be redelivered.
+     */
+    public static BatchConsumeResult failure() {
+        return FAILURE;
+    }
+
+    /**
+     * Specify the result of each message.
+     *
+     * @param consumeResults consume results in the same order as the messages handed to the listener, the size must
+     *                       be the same as the batch, otherwise the whole batch is regarded as failure.
+     */
+    public static BatchConsumeResult of(List<ConsumeResult> consumeResults) {
+        return new BatchConsumeResult(null, Collections.unmodifiableList(new ArrayList<>(consumeResults)));
+    }
+
+    /**
+     * Get the result of the message at the specified index of the batch.
+     *
+     * @param index index of the message in the batch.
+     * @return consume result of the message, {@link ConsumeResult#FAILURE} if it is not specified.
+     */
+    public ConsumeResult getConsumeResult(int index) {
+        if (null != batchResult) {
+            return batchResult;
+        }
+        if (index < 0 || index >= consumeResults.size()) {
+            return ConsumeResult.FAILURE;
+        }
+        final ConsumeResult consumeResult = consumeResults.get(index);
+        return null == consumeResult ? ConsumeResult.FAILURE : consumeResult;
+    }
+
+    /**
+     * Check whether the result is specified for each message of a batch of the given size.
+     *
+     * @param batchSize message quantity of the batch.
+     * @return {@code true} if the result is shared by the whole batch or the size matches.
+     */
+    public boolean matches(int batchSize) {
+        return null != batchResult || consumeResults.size() == batchSize;
+    }
+}
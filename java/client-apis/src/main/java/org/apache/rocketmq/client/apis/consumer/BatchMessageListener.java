@@ -0,0 +1,39 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.rocketmq.client.apis.consumer;
+
+import java.util.List;
+import org.apache.rocketmq.client.apis.message.MessageView;
+
+/**
+ * BatchMessageListener is used only for the push consumer to process messages in batches synchronously.
+ *
+ * <p>Compared with {@link MessageListener}, the push consumer accumulates messages and hands them to the listener
+ * together, which is registered by {@link PushConsumerBuilder#setBatchMessageListener(BatchMessageListener, int, int,
+ * java.time.Duration)}.
+ */
+public interface BatchMessageListener {
+    /**
+     * The callback interface to consume messages in batch.
+     *
+     * <p>You should process the list of {@link MessageView} and return the corresponding {@link BatchConsumeResult},
+     * which tells the result of the whole batch or of each message. Null pointer is returned or exception is thrown
+     * would cause consumption failure of the whole batch.
+     */
+    BatchConsumeResult consume(List<MessageView> messageViews);
+}
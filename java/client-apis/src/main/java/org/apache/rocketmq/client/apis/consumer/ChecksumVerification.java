@@ -0,0 +1,37 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.rocketmq.client.apis.consumer;
+
+/**
+ * Verification of the message body checksum for {@link PushConsumer}.
+ */
+public enum ChecksumVerification {
+    /**
+     * Verify the checksum while messages are decoded, which is the default.
+     */
+    EAGER,
+    /**
+     * Verify the checksum on the consumption thread right before the message is consumed, which keeps it away from
+     * the path of message reception.
+     */
+    ON_CONSUMPTION,
+    /**
+     * Never verify the checksum, which is only recommended for trusted links.
+     */
+    DISABLED
+}
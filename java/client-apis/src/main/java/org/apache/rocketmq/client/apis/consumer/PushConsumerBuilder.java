@@ -17,6 +17,7 @@
 
 package org.apache.rocketmq.client.apis.consumer;
 
+import java.time.Duration;
 import java.util.Map;
 import org.apache.rocketmq.client.apis.ClientConfiguration;
 import org.apache.rocketmq.client.apis.ClientException;
@@ -57,6 +58,24 @@ public interface PushConsumerBuilder {
      */
     PushConsumerBuilder setMessageListener(MessageListener listener);
 
+    /**
+     * Register batch message listener, messages meet the subscription expression are accumulated and handed to the
+     * listener in batches.
+     *
+     * <p>A batch is handed to the listener once it reaches {@code maxBatchMessageCount} messages or
+     * {@code maxBatchSizeInBytes} bytes of body, or {@code maxWaitDuration} has elapsed since the first message was
+     * accumulated. It is exclusive with {@link #setMessageListener(MessageListener)}, and for FIFO consumption
+     * messages are still handed one at a time to keep the order and redelivery of each message.
+     *
+     * @param listener             batch message listener.
+     * @param maxBatchMessageCount max message count of each batch.
+     * @param maxBatchSizeInBytes  max total body size of each batch.
+     * @param maxWaitDuration      max duration to wait for more messages before the batch is consumed.
+     * @return the consumer builder instance.
+     */
+    PushConsumerBuilder setBatchMessageListener(BatchMessageListener listener, int maxBatchMessageCount,
+        int maxBatchSizeInBytes, Duration maxWaitDuration);
+
     /**
      * Set the maximum number of messages cached locally.
      *
@@ -81,6 +100,55 @@ public interface PushConsumerBuilder {
      */
     PushConsumerBuilder setConsumptionThreadCount(int count);
 
+    /**
+     * Enable acknowledging messages in batches for the consumer.
+     *
+     * <p>Acknowledgements of messages which are received from the same endpoints and belong to the same topic are
+     * accumulated and sent in one request, once the batch reaches {@code maxBatchAckCount} messages or
+     * {@code lingerDuration} has elapsed since the first acknowledgement was appended. The result of each message is
+     * handled on its own, so a failed acknowledgement is retried without affecting others in the same batch. Batching
+     * is disabled by default.
+     *
+     * @param maxBatchAckCount max message count of each ack request.
+     * @param lingerDuration   max duration to wait for more acknowledgements before the request is sent.
+     * @return the consumer builder instance.
+     */
+    PushConsumerBuilder enableAckBatching(int maxBatchAckCount, Duration lingerDuration);
+
+    /**
+     * Set whether to consume messages of different message groups concurrently for FIFO consumption.
+     *
+     * <p>By default, messages received from the same message queue are consumed one by one. Once enabled, messages
+     * are partitioned by message group and each group is consumed in parallel, while messages within the same group
+     * are still consumed strictly in order. It takes no effect for non-FIFO consumption.
+     *
+     * @param enableFifoConsumeAccelerator whether to enable the FIFO consume accelerator.
+     * @return the consumer builder instance.
+     */
+    PushConsumerBuilder setEnableFifoConsumeAccelerator(boolean enableFifoConsumeAccelerator);
+
+    /**
+     * Set the verification of the message body checksum, messages whose checksum does not match are discarded.
+     * {@link ChecksumVerification#EAGER} by default.
+     *
+     * @param checksumVerification verification of the message body checksum.
+     * @return the consumer builder instance.
+     */
+    PushConsumerBuilder setChecksumVerification(ChecksumVerification checksumVerification);
+
+    /**
+     * Set the quantity of message receptions which could be in flight simultaneously for each message queue, 1 by
+     * default.
+     *
+     * <p>Each reception carries its own attempt id, so the next batch could be fetched without waiting for the round
+     * trip of the previous one. Receptions are still bounded by the max cached message count and size, and it takes
+     * no effect for FIFO consumption, whose messages of the same queue are always received one batch after another.
+     *
+     * @param receivePipelineDepth quantity of in-flight receptions for each message queue, ranges from 1 to 4.
+     * @return the consumer builder instance.
+     */
+    PushConsumerBuilder setReceivePipelineDepth(int receivePipelineDepth);
+
     /**
      * Finalize the build of {@link PushConsumer} and start.
      *
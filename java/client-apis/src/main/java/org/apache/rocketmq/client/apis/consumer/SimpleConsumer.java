@@ -140,6 +140,29 @@ public interface SimpleConsumer extends Closeable {
      */
     CompletableFuture<Void> ackAsync(MessageView messageView);
 
+    /**
+     * Ack messages to server synchronously, server commit these messages.
+     *
+     * <p>Messages received from the same endpoints and belonging to the same topic are acknowledged in one request.
+     * If any of the messages fails to be acknowledged, {@link BatchAckException} is thrown to tell the failure of
+     * each message.
+     *
+     * @param messageViews message views with handle want to ack, which should not be empty.
+     */
+    void ack(List<MessageView> messageViews) throws ClientException;
+
+    /**
+     * Ack messages to server asynchronously, server commit these messages.
+     *
+     * <p>Messages received from the same endpoints and belonging to the same topic are acknowledged in one request.
+     * If any of the messages fails to be acknowledged, the future is completed exceptionally with
+     * {@link BatchAckException} to tell the failure of each message.
+     *
+     * @param messageViews message views with handle want to ack, which should not be empty.
+     * @return CompletableFuture of these requests.
+     */
+    CompletableFuture<Void> ackAsync(List<MessageView> messageViews);
+
     /**
      * Changes the invisible duration of a specified message synchronously.
      *
@@ -165,6 +188,29 @@ public interface SimpleConsumer extends Closeable {
      */
     CompletableFuture<Void> changeInvisibleDurationAsync(MessageView messageView, Duration invisibleDuration);
 
+    /**
+     * Changes the invisible duration of specified messages synchronously.
+     *
+     * <p>If any of the messages fails to be changed, {@link BatchAckException} is thrown to tell the failure of each
+     * message.
+     *
+     * @param messageViews      the message views to change invisible time, which should not be empty.
+     * @param invisibleDuration new timestamp the message could be visible and re-consume which start from current time.
+     */
+    void changeInvisibleDuration(List<MessageView> messageViews, Duration invisibleDuration) throws ClientException;
+
+    /**
+     * Changes the invisible duration of specified messages asynchronously.
+     *
+     * <p>If any of the messages fails to be changed, the future is completed exceptionally with
+     * {@link BatchAckException} to tell the failure of each message.
+     *
+     * @param messageViews      the message views to change invisible time, which should not be empty.
+     * @param invisibleDuration new timestamp the message could be visible and re-consume which start from current time.
+     * @return CompletableFuture of these requests.
+     */
+    CompletableFuture<Void> changeInvisibleDurationAsync(List<MessageView> messageViews, Duration invisibleDuration);
+
     /**
      * Close the simple consumer and release all related resources.
      *
@@ -0,0 +1,38 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.rocketmq.client.apis.producer;
+
+/**
+ * Policy applied by {@link Producer} when the in-flight messages reach the limit configured by
+ * {@link ProducerBuilder#setInflightLimit(int, int, BackpressurePolicy)}.
+ */
+public enum BackpressurePolicy {
+    /**
+     * Block the caller until enough in-flight messages are completed.
+     */
+    BLOCK,
+    /**
+     * Fail the sending immediately without waiting.
+     */
+    FAIL_FAST,
+    /**
+     * Return immediately, the message is sent once enough in-flight messages are completed. Messages waiting this
+     * way are limited by the max in-flight message count as well, the sending fails immediately beyond that.
+     */
+    ASYNC_WAIT
+}
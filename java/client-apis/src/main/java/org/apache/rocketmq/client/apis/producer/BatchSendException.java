@@ -0,0 +1,92 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.rocketmq.client.apis.producer;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import org.apache.rocketmq.client.apis.ClientException;
+
+/**
+ * Exception raised when only part of the messages sent by {@link Producer#send(List)} or
+ * {@link Producer#sendAsync(List)} are accepted by the server.
+ *
+ * <p>Both send receipts and failures are indexed in the same order as the messages to send, the messages which have
+ * been sent successfully are not retried, so it is up to the caller to decide whether to resend the failed ones.
+ */
+public class BatchSendException extends ClientException {
+    private final List<SendReceipt> sendReceipts;
+    private final List<ClientException> failures;
+
+    /**
+     * @param sendReceipts send receipts of messages, {@code null} element means the message failed to send.
+     * @param failures     failures of messages, {@code null} element means the message was sent successfully.
+     */
+    public BatchSendException(String message, List<SendReceipt> sendReceipts, List<ClientException> failures) {
+        super(message);
+        this.sendReceipts = Collections.unmodifiableList(sendReceipts);
+        this.failures = Collections.unmodifiableList(failures);
+    }
+
+    /**
+     * Get the send receipt of the message at the specified index of the batch.
+     *
+     * @param index index of the message in the batch.
+     * @return the send receipt, or {@link Optional#empty()} if the message failed to send.
+     */
+    public Optional<SendReceipt> getSendReceipt(int index) {
+        return Optional.ofNullable(sendReceipts.get(index));
+    }
+
+    /**
+     * Get the failure of the message at the specified index of the batch.
+     *
+     * @param index index of the message in the batch.
+     * @return the failure, or {@link Optional#empty()} if the message was sent successfully.
+     */
+    public Optional<ClientException> getFailure(int index) {
+        return Optional.ofNullable(failures.get(index));
+    }
+
+    /**
+     * Get the send receipts in the order of the messages to send, element of failed message is {@code null}.
+     *
+     * @return send receipts of the batch.
+     */
+    public List<SendReceipt> getSendReceipts() {
+        return sendReceipts;
+    }
+
+    /**
+     * Get the failures in the order of the messages to send, element of successful message is {@code null}.
+     *
+     * @return failures of the batch.
+     */
+    public List<ClientException> getFailures() {
+        return failures;
+    }
+
+    /**
+     * Get the number of messages in the batch.
+     *
+     * @return message quantity of the batch.
+     */
+    public int size() {
+        return sendReceipts.size();
+    }
+}
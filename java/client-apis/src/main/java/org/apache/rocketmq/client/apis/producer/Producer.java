@@ -19,6 +19,7 @@ package org.apache.rocketmq.client.apis.producer;
 
 import java.io.Closeable;
 import java.io.IOException;
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import org.apache.rocketmq.client.apis.ClientException;
 import org.apache.rocketmq.client.apis.message.Message;
@@ -60,6 +61,32 @@ public interface Producer extends Closeable {
      */
     CompletableFuture<SendReceipt> sendAsync(Message message);
 
+    /**
+     * Sends a batch of messages synchronously in one request.
+     *
+     * <p>Messages in the batch must have the same topic and the same message type, FIFO messages must have the same
+     * message group as well. Transactional messages are not supported.
+     *
+     * <p>If only part of the messages are accepted by the server, a {@link BatchSendException} is thrown, which
+     * carries the send receipt or failure of each message, and the batch would not be retried any more.
+     *
+     * @param messages the messages to send.
+     * @return the returned receipts, which are in the same order as the messages.
+     */
+    List<SendReceipt> send(List<Message> messages) throws ClientException;
+
+    /**
+     * Sends a batch of messages asynchronously in one request.
+     *
+     * <p>This method returns immediately, the result is included in the {@link CompletableFuture}, which is completed
+     * exceptionally by {@link BatchSendException} if only part of the messages are accepted by the server.
+     *
+     * @param messages the messages to send.
+     * @return a future that indicates the send receipts, which are in the same order as the messages.
+     * @see #send(List)
+     */
+    CompletableFuture<List<SendReceipt>> sendAsync(List<Message> messages);
+
     /**
      * Begins a transaction.
      *
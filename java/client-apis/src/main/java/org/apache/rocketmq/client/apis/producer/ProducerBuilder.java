@@ -17,6 +17,7 @@
 
 package org.apache.rocketmq.client.apis.producer;
 
+import java.time.Duration;
 import org.apache.rocketmq.client.apis.ClientConfiguration;
 import org.apache.rocketmq.client.apis.ClientException;
 import org.apache.rocketmq.client.apis.message.Message;
@@ -74,6 +75,50 @@ public interface ProducerBuilder {
      */
     ProducerBuilder setTransactionChecker(TransactionChecker checker);
 
+    /**
+     * Enable client-side batching for {@link Producer#sendAsync(Message)}.
+     *
+     * <p>Messages which share the same topic, message type and message group are accumulated and published in one
+     * request, once the batch reaches {@code maxBatchMessageCount} messages or {@code maxBatchSizeInBytes} bytes of
+     * body, or {@code lingerDuration} has elapsed since the first message was appended. Batching is disabled by
+     * default, and it never applies to {@link Producer#send(Message)} or transactional messages.
+     *
+     * @param maxBatchMessageCount max message count of each batch.
+     * @param maxBatchSizeInBytes  max total body size of each batch.
+     * @param lingerDuration       max duration to wait for more messages before the batch is sent.
+     * @return the producer builder instance.
+     */
+    ProducerBuilder enableAutoBatching(int maxBatchMessageCount, int maxBatchSizeInBytes, Duration lingerDuration);
+
+    /**
+     * Set the limit of in-flight messages, which are accepted by the producer but whose send results are not
+     * determined yet.
+     *
+     * <p>Once either the message count or the total body size of in-flight messages reaches the limit, the
+     * subsequent sending is handled according to the {@link BackpressurePolicy}. There is no limit by default.
+     *
+     * @param maxInflightMessageCount max count of in-flight messages.
+     * @param maxInflightSizeInBytes  max total body size of in-flight messages.
+     * @param policy                  policy applied when the limit is reached.
+     * @return the producer builder instance.
+     */
+    ProducerBuilder setInflightLimit(int maxInflightMessageCount, int maxInflightSizeInBytes,
+        BackpressurePolicy policy);
+
+    /**
+     * Enable compression of message body before publishing.
+     *
+     * <p>The body is compressed only if its size reaches {@code thresholdSizeInBytes}, and it is sent as it is once
+     * the compressed body is not smaller. Compression is performed once for each message, rather than for each
+     * attempt of publishing. Compression is disabled by default.
+     *
+     * @param thresholdSizeInBytes min body size to compress.
+     * @param codec                compression codec.
+     * @param level                compression level, from 1 (best speed) to 9 (best compression).
+     * @return the producer builder instance.
+     */
+    ProducerBuilder enableCompression(int thresholdSizeInBytes, CompressionCodec codec, int level);
+
     /**
      * Finalize the build of {@link Producer} instance and start.
      *
@@ -30,9 +30,35 @@ public class CompositedMessageInterceptor implements MessageInterceptor {
     private static final AttributeKey<Map<Integer, Map<AttributeKey, Attribute>>> INTERCEPTOR_ATTRIBUTES_KEY =
         AttributeKey.create("composited_interceptor_attributes");
     private final List<MessageInterceptor> interceptors;
+    /**
+     * Bit mask of the hook points which are subscribed by any interceptor, indexed by their ordinal.
+     */
+    private final int subscribedHookPointsMask;
 
     public CompositedMessageInterceptor(List<MessageInterceptor> interceptors) {
         this.interceptors = interceptors;
+        int mask = 0;
+        for (MessageHookPoints messageHookPoints : MessageHookPoints.values()) {
+            for (MessageInterceptor interceptor : interceptors) {
+                if (interceptor.isSubscribed(messageHookPoints)) {
+                    mask |= 1 << messageHookPoints.ordinal();
+                    break;
+                }
+            }
+        }
+        this.subscribedHookPointsMask = mask;
+    }
+
+    public List<MessageInterceptor> getInterceptors() {
+        return interceptors;
+    }
+
+    /**
+     * @return true if any interceptor subscribes to the hook point, which costs no more than a bit test.
+     */
+    @Override
+    public boolean isSubscribed(MessageHookPoints messageHookPoints) {
+        return (subscribedHookPointsMask & (1 << messageHookPoints.ordinal())) != 0;
     }
 
     @Override
@@ -41,6 +67,9 @@ public class CompositedMessageInterceptor implements MessageInterceptor {
         for (int index = 0; index < interceptors.size(); index++) {
             MessageInterceptor interceptor = interceptors.get(index);
             final MessageHookPoints messageHookPoints = context0.getMessageHookPoints();
+            if (!interceptor.isSubscribed(messageHookPoints)) {
+                continue;
+            }
             final MessageHookPointsStatus status = context0.getStatus();
             final MessageInterceptorContextImpl context = new MessageInterceptorContextImpl(messageHookPoints, status);
             try {
@@ -56,15 +85,23 @@ public class CompositedMessageInterceptor implements MessageInterceptor {
 
     @Override
     public void doAfter(MessageInterceptorContext context0, List<GeneralMessage> messages) {
+        final Attribute<Map<Integer, Map<AttributeKey, Attribute>>> attributeMapAttr =
+            context0.getAttribute(INTERCEPTOR_ATTRIBUTES_KEY);
         for (int index = interceptors.size() - 1; index >= 0; index--) {
-            final Map<Integer, Map<AttributeKey, Attribute>> attributeMap =
-                context0.getAttribute(INTERCEPTOR_ATTRIBUTES_KEY).get();
-            final Map<AttributeKey, Attribute> attributes = attributeMap.get(index);
             final MessageHookPoints messageHookPoints = context0.getMessageHookPoints();
+            MessageInterceptor interceptor = interceptors.get(index);
+            if (!interceptor.isSubscribed(messageHookPoints)) {
+                continue;
+            }
+            Map<AttributeKey, Attribute> attributes = null == attributeMapAttr ? null :
+                attributeMapAttr.get().get(index);
+            if (null == attributes) {
+                // The interceptor is registered after the invocation of doBefore.
+                attributes = new HashMap<>();
+            }
             final MessageHookPointsStatus status = context0.getStatus();
             final MessageInterceptorContextImpl context = new MessageInterceptorContextImpl(messageHookPoints, status,
                 attributes);
-            MessageInterceptor interceptor = interceptors.get(index);
             try {
                 interceptor.doAfter(context, messages);
             } catch (Throwable t) {
@@ -26,6 +26,17 @@ import org.apache.rocketmq.client.java.message.GeneralMessage;
  */
 @Beta
 public interface MessageInterceptor {
+    /**
+     * Check whether the interceptor subscribes to the hook point, the interceptor is never invoked at the hook
+     * points which it does not subscribe to.
+     *
+     * @param messageHookPoints hook point to check.
+     * @return true if the interceptor subscribes to the hook point, all hook points are subscribed by default.
+     */
+    default boolean isSubscribed(MessageHookPoints messageHookPoints) {
+        return true;
+    }
+
     void doBefore(MessageInterceptorContext context, List<GeneralMessage> messages);
 
     void doAfter(MessageInterceptorContext context, List<GeneralMessage> messages);
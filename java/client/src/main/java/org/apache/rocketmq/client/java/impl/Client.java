@@ -18,6 +18,9 @@
 package org.apache.rocketmq.client.java.impl;
 
 import io.grpc.Metadata;
+import java.util.Optional;
+import org.apache.rocketmq.client.apis.ClientConfiguration;
+import org.apache.rocketmq.client.java.metrics.LocalMeter;
 import org.apache.rocketmq.client.java.misc.ClientId;
 import org.apache.rocketmq.client.java.route.Endpoints;
 
@@ -29,6 +32,13 @@ public interface Client {
      */
     Endpoints getEndpoints();
 
+    /**
+     * Get Client Configuration
+     *
+     * @return the configuration of the client.
+     */
+    ClientConfiguration getClientConfiguration();
+
     /**
      * Get Unique Client Identifier
      *
@@ -75,4 +85,14 @@ public interface Client {
      * <p>Perform some statistics for the client.
      */
     void doStats();
+
+    /**
+     * Get Local Meter
+     *
+     * <p>Get the in-process meter, which is present only if it is enabled by
+     * {@link ClientConfiguration#isLocalMetricsEnabled()}.
+     *
+     * @return in-process meter, whose histograms could be read at any time.
+     */
+    Optional<LocalMeter> getLocalMeter();
 }
\ No newline at end of file
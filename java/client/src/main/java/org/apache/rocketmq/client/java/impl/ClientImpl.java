@@ -22,10 +22,10 @@ import java.security.NoSuchAlgorithmException;
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
@@ -36,9 +36,7 @@ import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantLock;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.stream.Collectors;
 
 import apache.rocketmq.v2.Code;
@@ -71,17 +69,23 @@ import org.apache.rocketmq.client.apis.ClientConfiguration;
 import org.apache.rocketmq.client.apis.ClientException;
 import org.apache.rocketmq.client.java.exception.InternalErrorException;
 import org.apache.rocketmq.client.java.exception.StatusChecker;
+import org.apache.rocketmq.client.java.hook.CompositedMessageInterceptor;
+import org.apache.rocketmq.client.java.hook.MessageHookPoints;
 import org.apache.rocketmq.client.java.hook.MessageInterceptor;
 import org.apache.rocketmq.client.java.hook.MessageInterceptorContext;
 import org.apache.rocketmq.client.java.impl.producer.ClientSessionHandler;
 import org.apache.rocketmq.client.java.message.GeneralMessage;
+import org.apache.rocketmq.client.java.metrics.ClientMeterManager;
+import org.apache.rocketmq.client.java.metrics.LocalMeter;
+import org.apache.rocketmq.client.java.metrics.MessageMeterInterceptor;
+import org.apache.rocketmq.client.java.metrics.Metric;
 import org.apache.rocketmq.client.java.misc.ClientId;
 import org.apache.rocketmq.client.java.misc.ExecutorServices;
 import org.apache.rocketmq.client.java.misc.Utilities;
 import org.apache.rocketmq.client.java.route.Endpoints;
 import org.apache.rocketmq.client.java.route.TopicRouteData;
 import org.apache.rocketmq.client.java.rpc.RpcFuture;
-import org.apache.rocketmq.client.java.rpc.Signature;
+import org.apache.rocketmq.client.java.rpc.Signer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -103,12 +107,13 @@ public abstract class ClientImpl extends AbstractIdleService implements Client,
     // Thread-safe set.
     protected final Set<Endpoints> isolated;
     protected final ExecutorService clientCallbackExecutor;
-    //protected final ClientMeterManager clientMeterManager;
-    ///**
-    // * Telemetry command executor, which aims to execute commands from the remote.
-    // */
+    protected final ClientMeterManager clientMeterManager;
+    /**
+     * Telemetry command executor, which aims to execute commands from the remote.
+     */
     protected final ExecutorService telemetryCommandExecutor;
     protected final ClientId clientId;
+    private final Signer signer;
 
     private final ClientManager clientManager;
     private volatile ScheduledFuture<?> updateRouteCacheFuture;
@@ -118,11 +123,12 @@ public abstract class ClientImpl extends AbstractIdleService implements Client,
     private final Map<String /* topic */, Set<SettableFuture<TopicRouteData>>> inflightRouteFutureTable;
     private final Lock inflightRouteFutureLock;
 
-    @GuardedBy("sessionsLock")
-    private final Map<Endpoints, ClientSessionImpl> sessionsTable;
-    private final ReadWriteLock sessionsLock;
+    private final ConcurrentMap<Endpoints, ClientSessionImpl> sessionsTable;
 
-    //private final CompositedMessageInterceptor compositedMessageInterceptor;
+    /**
+     * Interceptors are replaced as a whole once any interceptor is registered.
+     */
+    private volatile CompositedMessageInterceptor compositedMessageInterceptor;
 
     public ClientImpl(ClientConfiguration clientConfiguration, Set<String> topics) {
         this.clientConfiguration = checkNotNull(clientConfiguration, "clientConfiguration should not be null");
@@ -130,14 +136,15 @@ public abstract class ClientImpl extends AbstractIdleService implements Client,
         this.topics = topics;
         // Generate client id firstly.
         this.clientId = new ClientId();
+        this.signer = new Signer(clientConfiguration, clientId);
 
         this.topicRouteCache = new ConcurrentHashMap<>();
 
         this.inflightRouteFutureTable = new ConcurrentHashMap<>();
         this.inflightRouteFutureLock = new ReentrantLock();
 
-        this.sessionsTable = new HashMap<>();
-        this.sessionsLock = new ReentrantReadWriteLock();
+        this.sessionsTable = new ConcurrentHashMap<>();
+        this.compositedMessageInterceptor = new CompositedMessageInterceptor(Collections.emptyList());
 
         this.isolated = Collections.newSetFromMap(new ConcurrentHashMap<>());
 
@@ -155,13 +162,11 @@ public abstract class ClientImpl extends AbstractIdleService implements Client,
         //    new LinkedBlockingQueue<>(),
         //    new ThreadFactoryImpl("ClientCallbackWorker", clientIdIndex));
 
-        log.warn("clientMeterManager of clientIdIndex : {}  DISABLED !!! ",clientIdIndex);
-        //this.clientMeterManager = new ClientMeterManager(clientId, clientConfiguration);
-        //
-        //this.compositedMessageInterceptor =
-        //    new CompositedMessageInterceptor(Collections.singletonList(new MessageMeterInterceptor(this,
-        //        clientMeterManager)));
-        //
+        this.clientMeterManager = new ClientMeterManager(clientId, clientConfiguration);
+        this.compositedMessageInterceptor =
+            new CompositedMessageInterceptor(Collections.singletonList(new MessageMeterInterceptor(this,
+                clientMeterManager)));
+
         this.telemetryCommandExecutor =
                 Executors.newThreadPerTaskExecutor(
                         Thread.ofVirtual().name("telemetryCommandVirtual" + clientIdIndex).factory()
@@ -228,28 +233,65 @@ public abstract class ClientImpl extends AbstractIdleService implements Client,
         if (!ExecutorServices.awaitTerminated(clientCallbackExecutor)) {
             log.error("[Bug] Timeout to shutdown the client callback executor, clientId={}", clientId);
         }
-        //clientMeterManager.shutdown();
-        //log.info("Shutdown the rocketmq client successfully, clientId={}", clientId);
+        clientMeterManager.shutdown();
+        log.info("Shutdown the rocketmq client successfully, clientId={}", clientId);
+    }
+
+    /**
+     * Register the message interceptor, which is invoked after all interceptors registered before it.
+     *
+     * @param messageInterceptor message interceptor to register.
+     */
+    public synchronized void registerMessageInterceptor(MessageInterceptor messageInterceptor) {
+        checkNotNull(messageInterceptor, "messageInterceptor should not be null");
+        final List<MessageInterceptor> interceptors =
+            new ArrayList<>(compositedMessageInterceptor.getInterceptors());
+        interceptors.add(messageInterceptor);
+        this.compositedMessageInterceptor =
+            new CompositedMessageInterceptor(Collections.unmodifiableList(interceptors));
+    }
+
+    /**
+     * Rebuild the interceptors, so that hook points which they subscribe to are re-evaluated, e.g. after the meter
+     * is switched by the settings from the remote.
+     */
+    private synchronized void refreshMessageInterceptors() {
+        this.compositedMessageInterceptor =
+            new CompositedMessageInterceptor(compositedMessageInterceptor.getInterceptors());
+    }
+
+    @Override
+    public Optional<LocalMeter> getLocalMeter() {
+        return clientMeterManager.getLocalMeter();
+    }
+
+    /**
+     * Callers are supposed to check it before creating the context and the messages for interception, so that
+     * nothing is allocated at the hook points which no interceptor subscribes to.
+     */
+    @Override
+    public boolean isSubscribed(MessageHookPoints messageHookPoints) {
+        return compositedMessageInterceptor.isSubscribed(messageHookPoints);
     }
 
     @Override
     public void doBefore(MessageInterceptorContext context, List<GeneralMessage> generalMessages) {
-        //try {
-        //    compositedMessageInterceptor.doBefore(context, generalMessages);
-        //} catch (Throwable t) {
-        //    // Should never reach here.
-        //    log.error("[Bug] Exception raised while handling messages, clientId={}", clientId, t);
-        //}
+        try {
+            compositedMessageInterceptor.doBefore(context, generalMessages);
+        } catch (Throwable t) {
+            // Should never reach here.
+            log.error("[Bug] Exception raised while handling messages, clientId={}", clientId, t);
+        }
     }
 
     @Override
     public void doAfter(MessageInterceptorContext context, List<GeneralMessage> generalMessages) {
-        //try {
-        //    compositedMessageInterceptor.doAfter(context, generalMessages);
-        //} catch (Throwable t) {
-        //    // Should never reach here.
-        //    log.error("[Bug] Exception raised while handling messages, clientId={}", clientId, t);
-        //}
+        try {
+            compositedMessageInterceptor.doAfter(context, generalMessages);
+        } catch (Throwable t) {
+            // Should never reach here.
+            log.error("[Bug] Exception raised while handling messages, clientId={}", clientId, t);
+        }
     }
 
     @Override
@@ -319,9 +361,9 @@ public abstract class ClientImpl extends AbstractIdleService implements Client,
      */
     @Override
     public final void onSettingsCommand(Endpoints endpoints, apache.rocketmq.v2.Settings settings) {
-        log.info("clientMeterManager DISABLED !!! Ignore reset metric settings");
-        //final Metric metric = new Metric(settings.getMetric());
-        //clientMeterManager.reset(metric);
+        final Metric metric = new Metric(settings.getMetric());
+        clientMeterManager.reset(metric);
+        refreshMessageInterceptors();
         this.getSettings().sync(settings);
     }
 
@@ -352,46 +394,30 @@ public abstract class ClientImpl extends AbstractIdleService implements Client,
     }
 
     private void releaseClientSessions() {
-        sessionsLock.readLock().lock();
-        try {
-            sessionsTable.values().forEach(ClientSessionImpl::release);
-        } finally {
-            sessionsLock.readLock().unlock();
-        }
+        sessionsTable.values().forEach(ClientSessionImpl::release);
     }
 
     public void removeClientSession(Endpoints endpoints, ClientSessionImpl clientSession) {
-        sessionsLock.writeLock().lock();
-        try {
-            log.info("Remove client session, clientId={}, endpoints={}", clientId, endpoints);
-            sessionsTable.remove(endpoints, clientSession);
-        } finally {
-            sessionsLock.writeLock().unlock();
-        }
+        log.info("Remove client session, clientId={}, endpoints={}", clientId, endpoints);
+        sessionsTable.remove(endpoints, clientSession);
     }
 
     private ClientSessionImpl getClientSession(Endpoints endpoints) throws ClientException {
-        sessionsLock.readLock().lock();
-        try {
-            final ClientSessionImpl session = sessionsTable.get(endpoints);
-            if (null != session) {
-                return session;
-            }
-        } finally {
-            sessionsLock.readLock().unlock();
-        }
-        sessionsLock.writeLock().lock();
-        try {
-            ClientSessionImpl session = sessionsTable.get(endpoints);
-            if (null != session) {
-                return session;
-            }
-            session = new ClientSessionImpl(this, clientConfiguration.getRequestTimeout(), endpoints);
-            sessionsTable.put(endpoints, session);
+        final ClientSessionImpl session = sessionsTable.get(endpoints);
+        if (null != session) {
             return session;
-        } finally {
-            sessionsLock.writeLock().unlock();
         }
+        // Construct the session outside the table, which opens the telemetry stream and may even create the
+        // channels, so that the other endpoints are never blocked by it.
+        final ClientSessionImpl newSession = new ClientSessionImpl(this, clientConfiguration.getRequestTimeout(),
+            endpoints);
+        final ClientSessionImpl existedSession = sessionsTable.putIfAbsent(endpoints, newSession);
+        if (null == existedSession) {
+            return newSession;
+        }
+        // Session has been published by others concurrently.
+        newSession.discard();
+        return existedSession;
     }
 
     /**
@@ -528,11 +554,11 @@ public abstract class ClientImpl extends AbstractIdleService implements Client,
     }
 
     /**
-     * Real-time signature generation
+     * Real-time signature generation, the date time and its signature are reused within the same second.
      */
     @Override
     public Metadata sign() throws NoSuchAlgorithmException, InvalidKeyException {
-        return Signature.sign(clientConfiguration, clientId);
+        return signer.sign();
     }
 
     @Override
@@ -738,6 +764,7 @@ public abstract class ClientImpl extends AbstractIdleService implements Client,
         }
     }
 
+    @Override
     public ClientConfiguration getClientConfiguration() {
         return clientConfiguration;
     }
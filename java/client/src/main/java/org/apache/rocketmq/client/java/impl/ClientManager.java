@@ -43,6 +43,7 @@ import io.grpc.stub.StreamObserver;
 import java.time.Duration;
 import java.util.List;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.function.Consumer;
 import org.apache.rocketmq.client.apis.ClientException;
 import org.apache.rocketmq.client.java.route.Endpoints;
 import org.apache.rocketmq.client.java.rpc.RpcFuture;
@@ -113,6 +114,19 @@ public abstract class ClientManager extends AbstractIdleService {
     public abstract RpcFuture<ReceiveMessageRequest, List<ReceiveMessageResponse>> receiveMessage(Endpoints endpoints,
         ReceiveMessageRequest request, Duration duration);
 
+    /**
+     * Receiving messages asynchronously from the server in streaming mode, each response is handed over to the
+     * consumer as soon as it arrives, the method ensures no throwable.
+     *
+     * @param endpoints        requested endpoints.
+     * @param request          receive message request.
+     * @param duration         request max duration.
+     * @param responseConsumer consumer of each response, which is invoked serially.
+     * @return invocation of future which is completed once the stream is completed.
+     */
+    public abstract RpcFuture<ReceiveMessageRequest, Void> receiveMessage(Endpoints endpoints,
+        ReceiveMessageRequest request, Duration duration, Consumer<ReceiveMessageResponse> responseConsumer);
+
     /**
      * Ack message asynchronously after the success of consumption, the method ensures no throwable.
      *
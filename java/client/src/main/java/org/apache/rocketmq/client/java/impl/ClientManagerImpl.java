@@ -39,15 +39,15 @@ import apache.rocketmq.v2.SendMessageRequest;
 import apache.rocketmq.v2.SendMessageResponse;
 import apache.rocketmq.v2.TelemetryCommand;
 import com.google.common.util.concurrent.ListenableFuture;
-import com.google.errorprone.annotations.concurrent.GuardedBy;
 import io.grpc.Metadata;
 import io.grpc.stub.StreamObserver;
 import java.io.IOException;
 import java.time.Duration;
-import java.util.HashMap;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.LinkedBlockingQueue;
@@ -55,9 +55,9 @@ import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledThreadPoolExecutor;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
-import java.util.concurrent.locks.ReadWriteLock;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
 import javax.net.ssl.SSLException;
+import org.apache.rocketmq.client.apis.ClientConfiguration;
 import org.apache.rocketmq.client.apis.ClientException;
 import org.apache.rocketmq.client.java.exception.InternalErrorException;
 import org.apache.rocketmq.client.java.misc.ClientId;
@@ -68,7 +68,7 @@ import org.apache.rocketmq.client.java.misc.Utilities;
 import org.apache.rocketmq.client.java.route.Endpoints;
 import org.apache.rocketmq.client.java.rpc.Context;
 import org.apache.rocketmq.client.java.rpc.RpcClient;
-import org.apache.rocketmq.client.java.rpc.RpcClientImpl;
+import org.apache.rocketmq.client.java.rpc.RpcClientPool;
 import org.apache.rocketmq.client.java.rpc.RpcFuture;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -95,9 +95,7 @@ public class ClientManagerImpl extends ClientManager {
 
     private final Client client;
 
-    @GuardedBy("rpcClientTableLock")
-    private final Map<Endpoints, RpcClient> rpcClientTable;
-    private final ReadWriteLock rpcClientTableLock;
+    private final ConcurrentMap<Endpoints, RpcClient> rpcClientTable;
 
     /**
      * In charge of all scheduled tasks.
@@ -111,8 +109,7 @@ public class ClientManagerImpl extends ClientManager {
 
     public ClientManagerImpl(Client client) {
         this.client = client;
-        this.rpcClientTable = new HashMap<>();
-        this.rpcClientTableLock = new ReentrantReadWriteLock();
+        this.rpcClientTable = new ConcurrentHashMap<>();
         final long clientIndex = client.getClientId().getIndex();
         this.scheduler = Executors.newSingleThreadScheduledExecutor(
                 Thread.ofVirtual().name("ClientSchedulerVirtual" + clientIndex).factory()
@@ -138,25 +135,19 @@ public class ClientManagerImpl extends ClientManager {
      * @throws InterruptedException if the thread has been interrupted
      */
     private void clearIdleRpcClients() throws InterruptedException {
-        rpcClientTableLock.writeLock().lock();
-        try {
-            final Iterator<Map.Entry<Endpoints, RpcClient>> it = rpcClientTable.entrySet().iterator();
-            while (it.hasNext()) {
-                final Map.Entry<Endpoints, RpcClient> entry = it.next();
-                final Endpoints endpoints = entry.getKey();
-                final RpcClient rpcClient = entry.getValue();
-
-                final Duration idleDuration = rpcClient.idleDuration();
-                if (idleDuration.compareTo(RPC_CLIENT_MAX_IDLE_DURATION) > 0) {
-                    it.remove();
-                    rpcClient.shutdown();
-                    log.info("Rpc client has been idle for a long time, endpoints={}, idleDuration={}, " +
-                            "rpcClientMaxIdleDuration={}, clientId={}", endpoints, idleDuration,
-                        RPC_CLIENT_MAX_IDLE_DURATION, client.getClientId());
-                }
+        for (Map.Entry<Endpoints, RpcClient> entry : rpcClientTable.entrySet()) {
+            final Endpoints endpoints = entry.getKey();
+            final RpcClient rpcClient = entry.getValue();
+
+            final Duration idleDuration = rpcClient.idleDuration();
+            // Only remove the rpc client which is still mapped, in case of replaced concurrently.
+            if (idleDuration.compareTo(RPC_CLIENT_MAX_IDLE_DURATION) > 0
+                && rpcClientTable.remove(endpoints, rpcClient)) {
+                rpcClient.shutdown();
+                log.info("Rpc client has been idle for a long time, endpoints={}, idleDuration={}, " +
+                        "rpcClientMaxIdleDuration={}, clientId={}", endpoints, idleDuration,
+                    RPC_CLIENT_MAX_IDLE_DURATION, client.getClientId());
             }
-        } finally {
-            rpcClientTableLock.writeLock().unlock();
         }
     }
 
@@ -168,32 +159,24 @@ public class ClientManagerImpl extends ClientManager {
      * @return RPC client.
      */
     private RpcClient getRpcClient(Endpoints endpoints) throws ClientException {
-        RpcClient rpcClient;
-        rpcClientTableLock.readLock().lock();
-        try {
-            rpcClient = rpcClientTable.get(endpoints);
-            if (null != rpcClient) {
-                return rpcClient;
-            }
-        } finally {
-            rpcClientTableLock.readLock().unlock();
+        final RpcClient rpcClient = rpcClientTable.get(endpoints);
+        if (null != rpcClient) {
+            return rpcClient;
         }
-        rpcClientTableLock.writeLock().lock();
         try {
-            rpcClient = rpcClientTable.get(endpoints);
-            if (null != rpcClient) {
-                return rpcClient;
-            }
-            try {
-                rpcClient = new RpcClientImpl(endpoints, client.isSslEnabled());
-            } catch (SSLException e) {
-                log.error("Failed to get RPC client, endpoints={}, clientId={}", endpoints, client.getClientId(), e);
-                throw new ClientException("Failed to generate RPC client", e);
-            }
-            rpcClientTable.put(endpoints, rpcClient);
-            return rpcClient;
-        } finally {
-            rpcClientTableLock.writeLock().unlock();
+            return rpcClientTable.computeIfAbsent(endpoints, endpoints0 -> {
+                try {
+                    final ClientConfiguration clientConfiguration = client.getClientConfiguration();
+                    return new RpcClientPool(endpoints0, client.isSslEnabled(), clientConfiguration.getChannelCount(),
+                        clientConfiguration.getTransportConfiguration());
+                } catch (SSLException e) {
+                    throw new CompletionException(e);
+                }
+            });
+        } catch (CompletionException e) {
+            log.error("Failed to get RPC client, endpoints={}, clientId={}", endpoints, client.getClientId(),
+                e.getCause());
+            throw new ClientException("Failed to generate RPC client", e.getCause());
         }
     }
 
@@ -271,6 +254,21 @@ public class ClientManagerImpl extends ClientManager {
         }
     }
 
+    @Override
+    public RpcFuture<ReceiveMessageRequest, Void> receiveMessage(Endpoints endpoints, ReceiveMessageRequest request,
+        Duration duration, Consumer<ReceiveMessageResponse> responseConsumer) {
+        try {
+            final Metadata metadata = client.sign();
+            final Context context = new Context(endpoints, metadata);
+            final RpcClient rpcClient = getRpcClient(endpoints);
+            final ListenableFuture<Void> future =
+                rpcClient.receiveMessage(metadata, request, asyncWorker, duration, responseConsumer);
+            return new RpcFuture<>(context, request, future);
+        } catch (Throwable t) {
+            return new RpcFuture<>(t);
+        }
+    }
+
     @Override
     public RpcFuture<AckMessageRequest, AckMessageResponse> ackMessage(Endpoints endpoints, AckMessageRequest request,
         Duration duration) {
@@ -439,17 +437,11 @@ public class ClientManagerImpl extends ClientManager {
             } else {
                 log.info("Shutdown the client scheduler successfully, clientId={}", clientId);
             }
-            rpcClientTableLock.writeLock().lock();
-            try {
-                final Iterator<Map.Entry<Endpoints, RpcClient>> it = rpcClientTable.entrySet().iterator();
-                while (it.hasNext()) {
-                    final Map.Entry<Endpoints, RpcClient> entry = it.next();
-                    final RpcClient rpcClient = entry.getValue();
-                    it.remove();
+            for (Map.Entry<Endpoints, RpcClient> entry : rpcClientTable.entrySet()) {
+                final RpcClient rpcClient = entry.getValue();
+                if (rpcClientTable.remove(entry.getKey(), rpcClient)) {
                     rpcClient.shutdown();
                 }
-            } finally {
-                rpcClientTableLock.writeLock().unlock();
             }
             log.info("Shutdown all rpc client(s) successfully, clientId={}", clientId);
             asyncWorker.shutdown();
@@ -47,6 +47,7 @@ public class ClientSessionImpl implements StreamObserver<TelemetryCommand> {
     private final Endpoints endpoints;
     private final SettableFuture<Settings> future;
     private volatile StreamObserver<TelemetryCommand> requestObserver;
+    private volatile boolean discarded = false;
 
     @SuppressWarnings("UnstableApiUsage")
     protected ClientSessionImpl(ClientSessionHandler sessionHandler, Duration tolerance, Endpoints endpoints)
@@ -61,6 +62,11 @@ public class ClientSessionImpl implements StreamObserver<TelemetryCommand> {
 
     private void renewRequestObserver() {
         final ClientId clientId = sessionHandler.getClientId();
+        if (discarded) {
+            log.info("Client session is discarded, no longer to renew requestObserver, endpoints={}, clientId={}",
+                endpoints, clientId);
+            return;
+        }
         try {
             if (sessionHandler.isEndpointsDeprecated(endpoints)) {
                 log.info("Endpoints is deprecated, no longer to renew requestObserver, endpoints={}, clientId={}",
@@ -110,6 +116,15 @@ public class ClientSessionImpl implements StreamObserver<TelemetryCommand> {
         }
     }
 
+    /**
+     * Release the telemetry session for good, which is never renewed afterwards, e.g. it is not published because
+     * another session to the same endpoints has been published concurrently.
+     */
+    void discard() {
+        discarded = true;
+        release();
+    }
+
     void write(TelemetryCommand command) {
         if (null == requestObserver) {
             log.error("[Bug] Request observer does not exist, ignore current command, endpoints={}, command={}, "
@@ -0,0 +1,211 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.rocketmq.client.java.impl.consumer;
+
+import apache.rocketmq.v2.AckMessageRequest;
+import apache.rocketmq.v2.AckMessageResponse;
+import com.google.common.base.Objects;
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.SettableFuture;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import org.apache.rocketmq.client.java.message.MessageViewImpl;
+import org.apache.rocketmq.client.java.route.Endpoints;
+import org.apache.rocketmq.client.java.rpc.RpcFuture;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Accumulates acknowledgements of the push consumer into batches, each batch is sent by one
+ * {@link AckMessageRequest} with multiple entries and the result of each entry is mapped back to its message.
+ *
+ * <p>Messages are grouped by endpoints and topic, the consumer group is the same for all of them, a batch is flushed
+ * once any threshold of {@link AckBatchingPolicy} is reached. Retrying is left to the caller, so that each failed
+ * entry is retried on its own and may be merged into another batch.
+ */
+@SuppressWarnings({"UnstableApiUsage", "NullableProblems"})
+class AckAccumulator {
+    private static final Logger log = LoggerFactory.getLogger(AckAccumulator.class);
+
+    private final ConsumerImpl consumer;
+    private final AckBatchingPolicy policy;
+    private final ConcurrentMap<BatchKey, Batch> batches;
+    /**
+     * Indicates whether {@link #flushAll()} is invoked, acknowledgements are not lingered anymore after that.
+     */
+    private volatile boolean closed;
+
+    AckAccumulator(ConsumerImpl consumer, AckBatchingPolicy policy) {
+        this.consumer = consumer;
+        this.policy = policy;
+        this.batches = new ConcurrentHashMap<>();
+        this.closed = false;
+    }
+
+    /**
+     * Append the acknowledgement of message to the batch it belongs to.
+     *
+     * @param messageView message to acknowledge.
+     * @return future of the ack result of the message, which is completed once the whole batch is sent.
+     */
+    ListenableFuture<AckMessageResult> append(MessageViewImpl messageView) {
+        final BatchKey key = new BatchKey(messageView.getEndpoints(), messageView.getTopic());
+        final SettableFuture<AckMessageResult> future = SettableFuture.create();
+        final Batch[] readyBatch = new Batch[1];
+        batches.compute(key, (k, batch) -> {
+            if (null == batch) {
+                batch = new Batch(k);
+                if (closed) {
+                    // The scheduler may be shutdown already, and the batch is flushed below.
+                    readyBatch[0] = batch;
+                    batch.messageViews.add(messageView);
+                    batch.futures.add(future);
+                    return null;
+                }
+                final Batch lingerBatch = batch;
+                batch.lingerFuture = consumer.getScheduler().schedule(() -> expire(lingerBatch),
+                    policy.getLingerDuration().toNanos(), TimeUnit.NANOSECONDS);
+            }
+            batch.messageViews.add(messageView);
+            batch.futures.add(future);
+            if (batch.messageViews.size() >= policy.getMaxBatchAckCount()) {
+                readyBatch[0] = batch;
+                return null;
+            }
+            return batch;
+        });
+        if (null != readyBatch[0]) {
+            flush(readyBatch[0]);
+        }
+        // The acknowledgement may be appended while flushAll() is running, if so, the batch may be missed by it and
+        // is flushed here.
+        if (closed) {
+            final Batch batch = batches.remove(key);
+            if (null != batch) {
+                flush(batch);
+            }
+        }
+        return future;
+    }
+
+    /**
+     * Flush all accumulated batches immediately, which is invoked before the consumer is shutdown, acknowledgements
+     * appended afterwards are sent without lingering.
+     */
+    void flushAll() {
+        closed = true;
+        for (BatchKey key : batches.keySet()) {
+            final Batch batch = batches.remove(key);
+            if (null != batch) {
+                flush(batch);
+            }
+        }
+    }
+
+    private void expire(Batch batch) {
+        // The batch may be flushed already because of size threshold.
+        if (batches.remove(batch.key, batch)) {
+            flush(batch);
+        }
+    }
+
+    private void flush(Batch batch) {
+        final ScheduledFuture<?> lingerFuture = batch.lingerFuture;
+        if (null != lingerFuture) {
+            lingerFuture.cancel(false);
+        }
+        final List<MessageViewImpl> messageViews = batch.messageViews;
+        final List<SettableFuture<AckMessageResult>> futures = batch.futures;
+        final RpcFuture<AckMessageRequest, AckMessageResponse> future;
+        try {
+            future = consumer.ackMessage(batch.key.endpoints, messageViews);
+        } catch (Throwable t) {
+            // Should never reach here.
+            log.error("[Bug] Exception raised while acknowledging batch, topic={}, endpoints={}, clientId={}",
+                batch.key.topic, batch.key.endpoints, consumer.getClientId(), t);
+            futures.forEach(f -> f.setException(t));
+            return;
+        }
+        Futures.addCallback(future, new FutureCallback<AckMessageResponse>() {
+            @Override
+            public void onSuccess(AckMessageResponse response) {
+                final String requestId = future.getContext().getRequestId();
+                final List<AckMessageResult> results = AckMessageResult.fromResponse(requestId, response,
+                    messageViews);
+                for (int i = 0; i < futures.size(); i++) {
+                    futures.get(i).set(results.get(i));
+                }
+            }
+
+            @Override
+            public void onFailure(Throwable t) {
+                futures.forEach(f -> f.setException(t));
+            }
+        }, MoreExecutors.directExecutor());
+    }
+
+    /**
+     * Acknowledgements in the same batch, which is only mutated while it is held by {@link #batches}.
+     */
+    private static class Batch {
+        private final BatchKey key;
+        private final List<MessageViewImpl> messageViews;
+        private final List<SettableFuture<AckMessageResult>> futures;
+        private volatile ScheduledFuture<?> lingerFuture;
+
+        private Batch(BatchKey key) {
+            this.key = key;
+            this.messageViews = new ArrayList<>();
+            this.futures = new ArrayList<>();
+        }
+    }
+
+    private static class BatchKey {
+        private final Endpoints endpoints;
+        private final String topic;
+
+        private BatchKey(Endpoints endpoints, String topic) {
+            this.endpoints = endpoints;
+            this.topic = topic;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            BatchKey that = (BatchKey) o;
+            return Objects.equal(endpoints, that.endpoints) && Objects.equal(topic, that.topic);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hashCode(endpoints, topic);
+        }
+    }
+}
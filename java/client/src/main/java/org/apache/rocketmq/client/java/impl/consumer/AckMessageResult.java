@@ -0,0 +1,81 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.rocketmq.client.java.impl.consumer;
+
+import apache.rocketmq.v2.AckMessageResponse;
+import apache.rocketmq.v2.AckMessageResultEntry;
+import apache.rocketmq.v2.Code;
+import apache.rocketmq.v2.Status;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import javax.annotation.concurrent.Immutable;
+import org.apache.rocketmq.client.java.message.MessageViewImpl;
+
+/**
+ * Result of acknowledging one message, no matter whether it is acknowledged alone or in a batch.
+ */
+@Immutable
+class AckMessageResult {
+    private final String requestId;
+    private final Status status;
+
+    AckMessageResult(String requestId, Status status) {
+        this.requestId = requestId;
+        this.status = status;
+    }
+
+    /**
+     * Map the response of a multi-entry ack request back to each message by receipt handle, the status of the whole
+     * request applies if the entry is absent or the request itself failed.
+     *
+     * @param requestId    request id of the ack request.
+     * @param response     response of the ack request.
+     * @param messageViews messages acknowledged by the request.
+     * @return ack results in the same order as {@code messageViews}.
+     */
+    static List<AckMessageResult> fromResponse(String requestId, AckMessageResponse response,
+        List<MessageViewImpl> messageViews) {
+        final Status status = response.getStatus();
+        final Code code = status.getCode();
+        Map<String /* receipt handle */, Status> entryStatuses = new HashMap<>();
+        // Entry status only makes sense if the request itself is handled.
+        if (Code.OK.equals(code) || Code.MULTIPLE_RESULTS.equals(code)) {
+            for (AckMessageResultEntry entry : response.getEntriesList()) {
+                if (entry.hasStatus()) {
+                    entryStatuses.put(entry.getReceiptHandle(), entry.getStatus());
+                }
+            }
+        }
+        List<AckMessageResult> results = new ArrayList<>(messageViews.size());
+        for (MessageViewImpl messageView : messageViews) {
+            final Status entryStatus = entryStatuses.getOrDefault(messageView.getReceiptHandle(), status);
+            results.add(new AckMessageResult(requestId, entryStatus));
+        }
+        return results;
+    }
+
+    String getRequestId() {
+        return requestId;
+    }
+
+    Status getStatus() {
+        return status;
+    }
+}
@@ -0,0 +1,210 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.rocketmq.client.java.impl.consumer;
+
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.errorprone.annotations.concurrent.GuardedBy;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import org.apache.rocketmq.client.apis.consumer.BatchConsumeResult;
+import org.apache.rocketmq.client.apis.consumer.BatchMessageListener;
+import org.apache.rocketmq.client.apis.consumer.ConsumeResult;
+import org.apache.rocketmq.client.apis.consumer.MessageListener;
+import org.apache.rocketmq.client.java.hook.MessageInterceptor;
+import org.apache.rocketmq.client.java.message.MessageViewImpl;
+import org.apache.rocketmq.client.java.misc.ClientId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Consume service which accumulates messages from all process queues and hands them to {@link BatchMessageListener}
+ * in batches, once any threshold of {@link BatchConsumePolicy} is reached.
+ *
+ * <p>Each message is still erased from its own {@link ProcessQueue} according to its own consume result.
+ */
+@SuppressWarnings({"NullableProblems", "UnstableApiUsage"})
+class BatchConsumeService extends ConsumeService {
+    private static final Logger log = LoggerFactory.getLogger(BatchConsumeService.class);
+
+    private final BatchMessageListener batchMessageListener;
+    private final BatchConsumePolicy policy;
+
+    private final Object lock = new Object();
+    @GuardedBy("lock")
+    private List<PendingMessage> pendingMessages = new ArrayList<>();
+    @GuardedBy("lock")
+    private long pendingBytes = 0;
+    /**
+     * Sequence of the accumulating batch, which prevents the wait timer of a consumed batch from flushing the next.
+     */
+    @GuardedBy("lock")
+    private long batchSequence = 0;
+    @GuardedBy("lock")
+    private ScheduledFuture<?> waitFuture = null;
+    @GuardedBy("lock")
+    private boolean shutdown = false;
+
+    public BatchConsumeService(ClientId clientId, BatchMessageListener batchMessageListener, BatchConsumePolicy policy,
+        ThreadPoolExecutor consumptionExecutor, MessageInterceptor messageInterceptor,
+        ScheduledExecutorService scheduler) {
+        super(clientId, toMessageListener(batchMessageListener), consumptionExecutor, messageInterceptor, scheduler);
+        this.batchMessageListener = batchMessageListener;
+        this.policy = policy;
+    }
+
+    /**
+     * Adapt {@link BatchMessageListener} to consume single message, which is used by FIFO consumption and message
+     * verification.
+     */
+    static MessageListener toMessageListener(BatchMessageListener batchMessageListener) {
+        return messageView -> {
+            final BatchConsumeResult batchConsumeResult =
+                batchMessageListener.consume(Collections.singletonList(messageView));
+            return null == batchConsumeResult ? ConsumeResult.FAILURE : batchConsumeResult.getConsumeResult(0);
+        };
+    }
+
+    @Override
+    public void consume(ProcessQueue pq, List<MessageViewImpl> messageViews) {
+        List<List<PendingMessage>> readyBatches = new ArrayList<>();
+        synchronized (lock) {
+            for (MessageViewImpl messageView : messageViews) {
+                pendingMessages.add(new PendingMessage(pq, messageView));
+                pendingBytes += messageView.getBody().remaining();
+                if (pendingMessages.size() >= policy.getMaxBatchMessageCount()
+                    || pendingBytes >= policy.getMaxBatchSizeInBytes()) {
+                    readyBatches.add(takePendingMessages());
+                }
+            }
+            if (shutdown && !pendingMessages.isEmpty()) {
+                readyBatches.add(takePendingMessages());
+            }
+            if (!pendingMessages.isEmpty() && null == waitFuture) {
+                final long sequence = batchSequence;
+                waitFuture = scheduler.schedule(() -> onWaitExpired(sequence),
+                    policy.getMaxWaitDuration().toNanos(), TimeUnit.NANOSECONDS);
+            }
+        }
+        for (List<PendingMessage> batch : readyBatches) {
+            consumeBatch(batch);
+        }
+    }
+
+    /**
+     * Consume the pending batch at once rather than waiting for the timer, which could otherwise fire after the
+     * consumption executor is shut down.
+     */
+    @Override
+    public void shutdown() {
+        final List<PendingMessage> batch;
+        synchronized (lock) {
+            shutdown = true;
+            if (pendingMessages.isEmpty()) {
+                return;
+            }
+            batch = takePendingMessages();
+        }
+        log.info("Flush pending messages of batch consumption before shutdown, count={}, clientId={}", batch.size(),
+            clientId);
+        consumeBatch(batch);
+    }
+
+    @GuardedBy("lock")
+    private List<PendingMessage> takePendingMessages() {
+        final List<PendingMessage> batch = pendingMessages;
+        pendingMessages = new ArrayList<>();
+        pendingBytes = 0;
+        batchSequence++;
+        if (null != waitFuture) {
+            waitFuture.cancel(false);
+            waitFuture = null;
+        }
+        return batch;
+    }
+
+    private void onWaitExpired(long sequence) {
+        final List<PendingMessage> batch;
+        synchronized (lock) {
+            // The batch has been consumed because of other thresholds.
+            if (sequence != batchSequence || pendingMessages.isEmpty()) {
+                return;
+            }
+            batch = takePendingMessages();
+        }
+        consumeBatch(batch);
+    }
+
+    private void consumeBatch(List<PendingMessage> batch) {
+        final List<PendingMessage> intactMessages = new ArrayList<>(batch.size());
+        final ListenableFuture<List<ConsumeResult>> future =
+            MoreExecutors.listeningDecorator(consumptionExecutor).submit(() -> {
+                // Verify the checksum on the consumption thread rather than the thread of message reception.
+                List<MessageViewImpl> messageViews = new ArrayList<>(batch.size());
+                for (PendingMessage pendingMessage : batch) {
+                    final MessageViewImpl messageView = pendingMessage.messageView;
+                    // Discard corrupted message.
+                    if (messageView.isCorrupted()) {
+                        log.error("Message is corrupted for batch consumption, prepare to discard it, mq={}, "
+                                + "messageId={}, clientId={}", pendingMessage.pq.getMessageQueue(),
+                            messageView.getMessageId(), clientId);
+                        pendingMessage.pq.discardMessage(messageView);
+                        continue;
+                    }
+                    intactMessages.add(pendingMessage);
+                    messageViews.add(messageView);
+                }
+                if (messageViews.isEmpty()) {
+                    return Collections.<ConsumeResult>emptyList();
+                }
+                return new BatchConsumeTask(clientId, batchMessageListener, messageViews, messageInterceptor).call();
+            });
+        Futures.addCallback(future, new FutureCallback<List<ConsumeResult>>() {
+            @Override
+            public void onSuccess(List<ConsumeResult> consumeResults) {
+                for (int i = 0; i < intactMessages.size(); i++) {
+                    final PendingMessage pendingMessage = intactMessages.get(i);
+                    pendingMessage.pq.eraseMessage(pendingMessage.messageView, consumeResults.get(i));
+                }
+            }
+
+            @Override
+            public void onFailure(Throwable t) {
+                // Should never reach here.
+                log.error("[Bug] Exception raised in batch consumption callback, clientId={}", clientId, t);
+            }
+        }, MoreExecutors.directExecutor());
+    }
+
+    private static class PendingMessage {
+        private final ProcessQueue pq;
+        private final MessageViewImpl messageView;
+
+        private PendingMessage(ProcessQueue pq, MessageViewImpl messageView) {
+            this.pq = pq;
+            this.messageView = messageView;
+        }
+    }
+}
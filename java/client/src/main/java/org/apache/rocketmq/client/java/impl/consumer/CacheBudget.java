@@ -0,0 +1,150 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.rocketmq.client.java.impl.consumer;
+
+import com.google.common.base.MoreObjects;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * Consumer-wide cache budget, which is shared by all {@link ProcessQueue}s dynamically rather than divided evenly.
+ *
+ * <p>Each process queue reserves credits before message reception, and each cached message holds one credit until it
+ * is evicted, so hot queues could borrow the credits that idle queues leave unused while the total quantity of cached
+ * messages never exceeds the threshold. The body size of messages could not be known before reception, so bytes are
+ * accounted once messages are cached, and the reception batch size is estimated from the average message size to fit
+ * the free bytes.
+ *
+ * <p>Credits are held by a reception for the whole long polling, so a single reception never reserves more than its
+ * fair share of the budget among all receptions which may be in flight, otherwise receptions of idle queues would
+ * starve the hot ones. Hot queues still borrow more by holding the credits of their cached messages.
+ */
+@ThreadSafe
+class CacheBudget {
+    private final int maxMessageCount;
+    private final long maxMessageBytes;
+
+    /**
+     * Credits held by pending receptions and cached messages.
+     */
+    private final AtomicInteger reservedCount;
+    private final AtomicInteger cachedCount;
+    private final AtomicLong cachedBytes;
+    /**
+     * Quantity of receptions which may be in flight simultaneously, which is the sum of the receive pipeline depth
+     * of all process queues.
+     */
+    private final AtomicInteger receptionSlots;
+
+    CacheBudget(int maxMessageCount, long maxMessageBytes) {
+        this.maxMessageCount = maxMessageCount;
+        this.maxMessageBytes = maxMessageBytes;
+        this.reservedCount = new AtomicInteger(0);
+        this.cachedCount = new AtomicInteger(0);
+        this.cachedBytes = new AtomicLong(0);
+        this.receptionSlots = new AtomicInteger(0);
+    }
+
+    void addReceptionSlots(int slots) {
+        receptionSlots.addAndGet(slots);
+    }
+
+    void removeReceptionSlots(int slots) {
+        receptionSlots.addAndGet(-slots);
+    }
+
+    /**
+     * Try to reserve credits for the next message reception.
+     *
+     * @param maxBatchSize max batch size of message reception.
+     * @return credits reserved, which is also the batch size of message reception, 0 means the budget is exhausted.
+     */
+    int tryReserve(int maxBatchSize) {
+        final long freeBytes = maxMessageBytes - cachedBytes.get();
+        if (freeBytes <= 0) {
+            return 0;
+        }
+        int desired = maxBatchSize;
+        final int slots = receptionSlots.get();
+        if (slots > 0) {
+            desired = Math.min(desired, Math.max(1, maxMessageCount / slots));
+        }
+        final int count = cachedCount.get();
+        if (count > 0) {
+            final long averageBytes = Math.max(1, cachedBytes.get() / count);
+            desired = (int) Math.min(desired, Math.max(1, freeBytes / averageBytes));
+        }
+        while (true) {
+            final int reserved = reservedCount.get();
+            final int credits = Math.min(desired, maxMessageCount - reserved);
+            if (credits <= 0) {
+                return 0;
+            }
+            if (reservedCount.compareAndSet(reserved, reserved + credits)) {
+                return credits;
+            }
+        }
+    }
+
+    /**
+     * Settle the credits reserved once message reception is over, unused credits are returned to the budget, and
+     * the cached messages keep holding theirs.
+     *
+     * @param reserved credits reserved before message reception.
+     * @param cached   quantity of messages cached after message reception.
+     */
+    void settle(int reserved, int cached) {
+        reservedCount.addAndGet(cached - reserved);
+    }
+
+    void onCached(long bytes) {
+        cachedCount.incrementAndGet();
+        cachedBytes.addAndGet(bytes);
+    }
+
+    void onEvicted(long bytes) {
+        cachedCount.decrementAndGet();
+        cachedBytes.addAndGet(-bytes);
+        reservedCount.decrementAndGet();
+    }
+
+    boolean isExhausted() {
+        return reservedCount.get() >= maxMessageCount || cachedBytes.get() >= maxMessageBytes;
+    }
+
+    int getReservedCount() {
+        return reservedCount.get();
+    }
+
+    long getCachedBytes() {
+        return cachedBytes.get();
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+            .add("maxMessageCount", maxMessageCount)
+            .add("maxMessageBytes", maxMessageBytes)
+            .add("reservedCount", reservedCount.get())
+            .add("cachedCount", cachedCount.get())
+            .add("cachedBytes", cachedBytes.get())
+            .add("receptionSlots", receptionSlots.get())
+            .toString();
+    }
+}
@@ -42,9 +42,9 @@ public abstract class ConsumeService {
 
     protected final ClientId clientId;
     private final MessageListener messageListener;
-    private final ThreadPoolExecutor consumptionExecutor;
-    private final MessageInterceptor messageInterceptor;
-    private final ScheduledExecutorService scheduler;
+    protected final ThreadPoolExecutor consumptionExecutor;
+    protected final MessageInterceptor messageInterceptor;
+    protected final ScheduledExecutorService scheduler;
 
     public ConsumeService(ClientId clientId, MessageListener messageListener, ThreadPoolExecutor consumptionExecutor,
         MessageInterceptor messageInterceptor, ScheduledExecutorService scheduler) {
@@ -57,6 +57,28 @@ public abstract class ConsumeService {
 
     public abstract void consume(ProcessQueue pq, List<MessageViewImpl> messageViews);
 
+    /**
+     * Whether messages could be dispatched one by one as soon as they arrive, rather than after the whole batch is
+     * received.
+     */
+    public boolean isIncrementalDispatchSupported() {
+        return true;
+    }
+
+    /**
+     * Hand the messages which are still held by the service to the consumption executor, it is invoked before the
+     * executor is shut down, messages which arrive afterwards are handed over at once.
+     */
+    public void shutdown() {
+    }
+
+    /**
+     * Consume the message on the current thread, which is supposed to be one of the consumption executor.
+     */
+    protected ConsumeResult consumeInline(MessageViewImpl messageView) {
+        return new ConsumeTask(clientId, messageListener, messageView, messageInterceptor).call();
+    }
+
     public ListenableFuture<ConsumeResult> consume(MessageViewImpl messageView) {
         return consume(messageView, Duration.ZERO);
     }
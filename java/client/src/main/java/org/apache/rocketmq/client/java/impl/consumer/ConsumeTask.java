@@ -57,9 +57,14 @@ public class ConsumeTask implements Callable<ConsumeResult> {
     @Override
     public ConsumeResult call() {
         ConsumeResult consumeResult;
-        final List<GeneralMessage> generalMessages = Collections.singletonList(new GeneralMessageImpl(messageView));
-        MessageInterceptorContextImpl context = new MessageInterceptorContextImpl(MessageHookPoints.CONSUME);
-        messageInterceptor.doBefore(context, generalMessages);
+        final boolean intercepted = messageInterceptor.isSubscribed(MessageHookPoints.CONSUME);
+        final List<GeneralMessage> generalMessages = intercepted ?
+            Collections.singletonList(new GeneralMessageImpl(messageView)) : null;
+        MessageInterceptorContextImpl context = intercepted ?
+            new MessageInterceptorContextImpl(MessageHookPoints.CONSUME) : null;
+        if (intercepted) {
+            messageInterceptor.doBefore(context, generalMessages);
+        }
         try {
             consumeResult = messageListener.consume(messageView);
         } catch (Throwable t) {
@@ -68,10 +73,12 @@ public class ConsumeTask implements Callable<ConsumeResult> {
             // If exception was thrown during the period of message consumption, mark it as failure.
             consumeResult = ConsumeResult.FAILURE;
         }
-        MessageHookPointsStatus status = ConsumeResult.SUCCESS.equals(consumeResult) ? MessageHookPointsStatus.OK :
-            MessageHookPointsStatus.ERROR;
-        context = new MessageInterceptorContextImpl(context, status);
-        messageInterceptor.doAfter(context, generalMessages);
+        if (intercepted) {
+            MessageHookPointsStatus status = ConsumeResult.SUCCESS.equals(consumeResult) ?
+                MessageHookPointsStatus.OK : MessageHookPointsStatus.ERROR;
+            context = new MessageInterceptorContextImpl(context, status);
+            messageInterceptor.doAfter(context, generalMessages);
+        }
         // Make sure that the return value is the subset of messageViews.
         return consumeResult;
     }
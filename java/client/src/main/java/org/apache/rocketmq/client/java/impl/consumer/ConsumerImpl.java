@@ -43,10 +43,16 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Set;
 import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import javax.annotation.Nullable;
 import org.apache.rocketmq.client.apis.ClientConfiguration;
+import org.apache.rocketmq.client.apis.consumer.ChecksumVerification;
 import org.apache.rocketmq.client.apis.consumer.FilterExpression;
 import org.apache.rocketmq.client.apis.message.MessageId;
+import org.apache.rocketmq.client.apis.message.MessageView;
 import org.apache.rocketmq.client.java.exception.StatusChecker;
 import org.apache.rocketmq.client.java.hook.MessageHookPoints;
 import org.apache.rocketmq.client.java.hook.MessageHookPointsStatus;
@@ -76,7 +82,6 @@ abstract class ConsumerImpl extends ClientImpl {
     @SuppressWarnings("SameParameterValue")
     protected ListenableFuture<ReceiveMessageResult> receiveMessage(ReceiveMessageRequest request,
         MessageQueueImpl mq, Duration awaitDuration) {
-        List<MessageViewImpl> messages = new ArrayList<>();
         try {
             final Endpoints endpoints = mq.getBroker().getEndpoints();
             final Duration tolerance = clientConfiguration.getRequestTimeout();
@@ -85,34 +90,43 @@ abstract class ConsumerImpl extends ClientImpl {
             final RpcFuture<ReceiveMessageRequest, List<ReceiveMessageResponse>> future =
                 clientManager.receiveMessage(endpoints, request, timeout);
             return Futures.transformAsync(future, responses -> {
-                Status status = Status.newBuilder().setCode(Code.INTERNAL_SERVER_ERROR)
-                    .setMessage("status was not set by server")
-                    .build();
-                Long transportDeliveryTimestamp = null;
-                List<Message> messageList = new ArrayList<>();
-                for (ReceiveMessageResponse response : responses) {
-                    switch (response.getContentCase()) {
-                        case STATUS:
-                            status = response.getStatus();
-                            break;
-                        case MESSAGE:
-                            messageList.add(response.getMessage());
-                            break;
-                        case DELIVERY_TIMESTAMP:
-                            final Timestamp deliveryTimestamp = response.getDeliveryTimestamp();
-                            transportDeliveryTimestamp = Timestamps.toMillis(deliveryTimestamp);
-                            break;
-                        default:
-                            log.warn("[Bug] Not recognized content for receive message response, mq={}, " +
-                                "clientId={}, response={}", mq, clientId, response);
-                    }
-                }
-                for (Message message : messageList) {
-                    final MessageViewImpl view = MessageViewImpl.fromProtobuf(message, mq, transportDeliveryTimestamp);
-                    messages.add(view);
-                }
-                StatusChecker.check(status, future);
-                final ReceiveMessageResult receiveMessageResult = new ReceiveMessageResult(endpoints, messages);
+                final ReceiveMessageResponseHandler handler = new ReceiveMessageResponseHandler(mq, null);
+                responses.forEach(handler);
+                StatusChecker.check(handler.getStatus(), future);
+                final ReceiveMessageResult receiveMessageResult = new ReceiveMessageResult(endpoints,
+                    handler.getMessageViews());
+                return Futures.immediateFuture(receiveMessageResult);
+            }, MoreExecutors.directExecutor());
+        } catch (Throwable t) {
+            // Should never reach here.
+            log.error("[Bug] Exception raised during message receiving, mq={}, clientId={}", mq, clientId, t);
+            return Futures.immediateFailedFuture(t);
+        }
+    }
+
+    /**
+     * Receive message in streaming mode, each message is decoded and handed over to the listener as soon as it
+     * arrives, rather than after the whole batch is received. The status is applied once the stream is completed.
+     *
+     * <p>Messages are not retained once they are handed over, so the message views of the result are always empty,
+     * the listener is supposed to keep them if required.
+     *
+     * @param messageListener listener of each message, which is invoked serially.
+     */
+    protected ListenableFuture<ReceiveMessageResult> receiveMessage(ReceiveMessageRequest request,
+        MessageQueueImpl mq, Duration awaitDuration, Consumer<MessageViewImpl> messageListener) {
+        try {
+            final Endpoints endpoints = mq.getBroker().getEndpoints();
+            final Duration tolerance = clientConfiguration.getRequestTimeout();
+            final Duration timeout = awaitDuration.plus(tolerance);
+            final ClientManager clientManager = this.getClientManager();
+            final ReceiveMessageResponseHandler handler = new ReceiveMessageResponseHandler(mq, messageListener);
+            final RpcFuture<ReceiveMessageRequest, Void> future =
+                clientManager.receiveMessage(endpoints, request, timeout, handler);
+            return Futures.transformAsync(future, v -> {
+                StatusChecker.check(handler.getStatus(), future);
+                final ReceiveMessageResult receiveMessageResult = new ReceiveMessageResult(endpoints,
+                    handler.getMessageViews());
                 return Futures.immediateFuture(receiveMessageResult);
             }, MoreExecutors.directExecutor());
         } catch (Throwable t) {
@@ -122,17 +136,91 @@ abstract class ConsumerImpl extends ClientImpl {
         }
     }
 
-    private AckMessageRequest wrapAckMessageRequest(MessageViewImpl messageView) {
+    /**
+     * Handler of the responses of message reception, which are supposed to be handled serially.
+     *
+     * <p>Messages are decoded and handed over once they arrive if the message listener is present, otherwise they are
+     * decoded after all responses are handled.
+     */
+    private class ReceiveMessageResponseHandler implements Consumer<ReceiveMessageResponse> {
+        private final MessageQueueImpl mq;
+        @Nullable
+        private final Consumer<MessageViewImpl> messageListener;
+        private final List<Message> pendingMessages = new ArrayList<>();
+        private final List<MessageViewImpl> messageViews = new ArrayList<>();
+        private Status status = Status.newBuilder().setCode(Code.INTERNAL_SERVER_ERROR)
+            .setMessage("status was not set by server")
+            .build();
+        private Long transportDeliveryTimestamp = null;
+
+        ReceiveMessageResponseHandler(MessageQueueImpl mq, @Nullable Consumer<MessageViewImpl> messageListener) {
+            this.mq = mq;
+            this.messageListener = messageListener;
+        }
+
+        @Override
+        public void accept(ReceiveMessageResponse response) {
+            switch (response.getContentCase()) {
+                case STATUS:
+                    status = response.getStatus();
+                    break;
+                case MESSAGE:
+                    if (null == messageListener) {
+                        pendingMessages.add(response.getMessage());
+                        break;
+                    }
+                    final MessageViewImpl view = MessageViewImpl.fromProtobuf(response.getMessage(), mq,
+                        transportDeliveryTimestamp, getChecksumVerification());
+                    try {
+                        messageListener.accept(view);
+                    } catch (Throwable t) {
+                        // Should never reach here.
+                        log.error("[Bug] Exception raised while handling received message, mq={}, messageId={}, "
+                            + "clientId={}", mq, view.getMessageId(), clientId, t);
+                    }
+                    break;
+                case DELIVERY_TIMESTAMP:
+                    final Timestamp deliveryTimestamp = response.getDeliveryTimestamp();
+                    transportDeliveryTimestamp = Timestamps.toMillis(deliveryTimestamp);
+                    break;
+                default:
+                    log.warn("[Bug] Not recognized content for receive message response, mq={}, " +
+                        "clientId={}, response={}", mq, clientId, response);
+            }
+        }
+
+        Status getStatus() {
+            return status;
+        }
+
+        List<MessageViewImpl> getMessageViews() {
+            for (Message message : pendingMessages) {
+                messageViews.add(MessageViewImpl.fromProtobuf(message, mq, transportDeliveryTimestamp,
+                    getChecksumVerification()));
+            }
+            pendingMessages.clear();
+            return messageViews;
+        }
+    }
+
+    /**
+     * Wrap the ack request of messages, all of which are supposed to belong to the same topic.
+     */
+    private AckMessageRequest wrapAckMessageRequest(List<MessageViewImpl> messageViews) {
         final Resource topicResource = Resource.newBuilder()
             .setResourceNamespace(clientConfiguration.getNamespace())
-            .setName(messageView.getTopic())
+            .setName(messageViews.get(0).getTopic())
             .build();
-        final AckMessageEntry entry = AckMessageEntry.newBuilder()
-            .setMessageId(messageView.getMessageId().toString())
-            .setReceiptHandle(messageView.getReceiptHandle())
-            .build();
-        return AckMessageRequest.newBuilder().setGroup(getProtobufGroup()).setTopic(topicResource)
-            .addEntries(entry).build();
+        final AckMessageRequest.Builder builder = AckMessageRequest.newBuilder().setGroup(getProtobufGroup())
+            .setTopic(topicResource);
+        for (MessageViewImpl messageView : messageViews) {
+            final AckMessageEntry entry = AckMessageEntry.newBuilder()
+                .setMessageId(messageView.getMessageId().toString())
+                .setReceiptHandle(messageView.getReceiptHandle())
+                .build();
+            builder.addEntries(entry);
+        }
+        return builder.build();
     }
 
     private ChangeInvisibleDurationRequest wrapChangeInvisibleDuration(MessageViewImpl messageView,
@@ -148,18 +236,39 @@ abstract class ConsumerImpl extends ClientImpl {
     }
 
     protected RpcFuture<AckMessageRequest, AckMessageResponse> ackMessage(MessageViewImpl messageView) {
-        final Endpoints endpoints = messageView.getEndpoints();
+        return ackMessage(messageView.getEndpoints(), Collections.singletonList(messageView));
+    }
+
+    /**
+     * Acknowledge messages in one request, the result of each message is carried by
+     * {@link AckMessageResponse#getEntriesList()}.
+     *
+     * @param endpoints    endpoints which all messages are received from.
+     * @param messageViews messages to acknowledge, which must belong to the same topic.
+     * @return future of the ack response.
+     */
+    RpcFuture<AckMessageRequest, AckMessageResponse> ackMessage(Endpoints endpoints,
+        List<MessageViewImpl> messageViews) {
         RpcFuture<AckMessageRequest, AckMessageResponse> future;
-        final List<GeneralMessage> generalMessages = Collections.singletonList(new GeneralMessageImpl(messageView));
-        final MessageInterceptorContextImpl context = new MessageInterceptorContextImpl(MessageHookPoints.ACK);
-        doBefore(context, generalMessages);
+        final boolean intercepted = isSubscribed(MessageHookPoints.ACK);
+        final List<GeneralMessage> generalMessages = intercepted ? messageViews.stream()
+            .map((Function<MessageView, GeneralMessage>) GeneralMessageImpl::new)
+            .collect(Collectors.toList()) : null;
+        final MessageInterceptorContextImpl context = intercepted ?
+            new MessageInterceptorContextImpl(MessageHookPoints.ACK) : null;
+        if (intercepted) {
+            doBefore(context, generalMessages);
+        }
         try {
-            final AckMessageRequest request = wrapAckMessageRequest(messageView);
+            final AckMessageRequest request = wrapAckMessageRequest(messageViews);
             final Duration requestTimeout = clientConfiguration.getRequestTimeout();
             future = this.getClientManager().ackMessage(endpoints, request, requestTimeout);
         } catch (Throwable t) {
             future = new RpcFuture<>(t);
         }
+        if (!intercepted) {
+            return future;
+        }
         Futures.addCallback(future, new FutureCallback<AckMessageResponse>() {
             @Override
             public void onSuccess(AckMessageResponse response) {
@@ -185,10 +294,14 @@ abstract class ConsumerImpl extends ClientImpl {
         MessageViewImpl messageView, Duration invisibleDuration) {
         final Endpoints endpoints = messageView.getEndpoints();
         RpcFuture<ChangeInvisibleDurationRequest, ChangeInvisibleDurationResponse> future;
-        final List<GeneralMessage> generalMessages = Collections.singletonList(new GeneralMessageImpl(messageView));
-        final MessageInterceptorContextImpl context =
-            new MessageInterceptorContextImpl(MessageHookPoints.CHANGE_INVISIBLE_DURATION);
-        doBefore(context, generalMessages);
+        final boolean intercepted = isSubscribed(MessageHookPoints.CHANGE_INVISIBLE_DURATION);
+        final List<GeneralMessage> generalMessages = intercepted ?
+            Collections.singletonList(new GeneralMessageImpl(messageView)) : null;
+        final MessageInterceptorContextImpl context = intercepted ?
+            new MessageInterceptorContextImpl(MessageHookPoints.CHANGE_INVISIBLE_DURATION) : null;
+        if (intercepted) {
+            doBefore(context, generalMessages);
+        }
         final ChangeInvisibleDurationRequest request = wrapChangeInvisibleDuration(messageView, invisibleDuration);
         final Duration requestTimeout = clientConfiguration.getRequestTimeout();
         future = this.getClientManager().changeInvisibleDuration(endpoints, request, requestTimeout);
@@ -204,16 +317,20 @@ abstract class ConsumerImpl extends ClientImpl {
                     log.error("Failed to change message invisible duration, messageId={}, endpoints={}, code={}, " +
                         "status message=[{}], clientId={}", messageId, endpoints, code, status.getMessage(), clientId);
                 }
-                MessageInterceptorContextImpl context0 = new MessageInterceptorContextImpl(context,
-                    hookPointsStatus);
-                doAfter(context0, generalMessages);
+                if (intercepted) {
+                    MessageInterceptorContextImpl context0 = new MessageInterceptorContextImpl(context,
+                        hookPointsStatus);
+                    doAfter(context0, generalMessages);
+                }
             }
 
             @Override
             public void onFailure(Throwable t) {
-                MessageInterceptorContextImpl context0 = new MessageInterceptorContextImpl(context,
-                    MessageHookPointsStatus.ERROR);
-                doAfter(context0, generalMessages);
+                if (intercepted) {
+                    MessageInterceptorContextImpl context0 = new MessageInterceptorContextImpl(context,
+                        MessageHookPointsStatus.ERROR);
+                    doAfter(context0, generalMessages);
+                }
                 log.error("Exception raised while changing message invisible duration, messageId={}, endpoints={}, "
                         + "clientId={}",
                     messageId, endpoints, clientId, t);
@@ -223,6 +340,10 @@ abstract class ConsumerImpl extends ClientImpl {
         return future;
     }
 
+    protected ChecksumVerification getChecksumVerification() {
+        return ChecksumVerification.EAGER;
+    }
+
     protected Resource getProtobufGroup() {
         return Resource.newBuilder()
             .setResourceNamespace(clientConfiguration.getNamespace())
@@ -20,8 +20,11 @@ package org.apache.rocketmq.client.java.impl.consumer;
 import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.ListenableFuture;
 import com.google.common.util.concurrent.MoreExecutors;
+import java.util.ArrayList;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ThreadPoolExecutor;
 import org.apache.rocketmq.client.apis.consumer.ConsumeResult;
@@ -36,15 +39,56 @@ import org.slf4j.LoggerFactory;
 class FifoConsumeService extends ConsumeService {
     private static final Logger log = LoggerFactory.getLogger(FifoConsumeService.class);
 
+    /**
+     * Consume messages of different message groups concurrently if enabled, the order of messages in the same message
+     * group is always kept.
+     */
+    private final boolean enableFifoConsumeAccelerator;
+
     public FifoConsumeService(ClientId clientId, MessageListener messageListener,
         ThreadPoolExecutor consumptionExecutor, MessageInterceptor messageInterceptor,
         ScheduledExecutorService scheduler) {
+        this(clientId, messageListener, consumptionExecutor, messageInterceptor, scheduler, false);
+    }
+
+    public FifoConsumeService(ClientId clientId, MessageListener messageListener,
+        ThreadPoolExecutor consumptionExecutor, MessageInterceptor messageInterceptor,
+        ScheduledExecutorService scheduler, boolean enableFifoConsumeAccelerator) {
         super(clientId, messageListener, consumptionExecutor, messageInterceptor, scheduler);
+        this.enableFifoConsumeAccelerator = enableFifoConsumeAccelerator;
+    }
+
+    /**
+     * Messages of the same batch are consumed one after another, so the whole batch is required in advance.
+     */
+    @Override
+    public boolean isIncrementalDispatchSupported() {
+        return false;
     }
 
     @Override
     public void consume(ProcessQueue pq, List<MessageViewImpl> messageViews) {
-        consumeIteratively(pq, messageViews.iterator());
+        if (!enableFifoConsumeAccelerator || messageViews.size() <= 1) {
+            consumeIteratively(pq, messageViews.iterator());
+            return;
+        }
+        // Messages in the same batch are in order within each message group, which is the only order to keep.
+        Map<String /* message group */, List<MessageViewImpl>> messageViewsGroupByMessageGroup = new LinkedHashMap<>();
+        List<MessageViewImpl> messageViewsWithoutMessageGroup = new ArrayList<>();
+        for (MessageViewImpl messageView : messageViews) {
+            final String messageGroup = messageView.getMessageGroup().orElse(null);
+            if (null == messageGroup || messageGroup.isEmpty()) {
+                messageViewsWithoutMessageGroup.add(messageView);
+                continue;
+            }
+            messageViewsGroupByMessageGroup.computeIfAbsent(messageGroup, k -> new ArrayList<>()).add(messageView);
+        }
+        log.debug("FifoConsumeService accelerator enabled, messageCount={}, groupCount={}, mq={}, clientId={}",
+            messageViews.size(), messageViewsGroupByMessageGroup.size(), pq.getMessageQueue(), clientId);
+        for (List<MessageViewImpl> list : messageViewsGroupByMessageGroup.values()) {
+            consumeIteratively(pq, list.iterator());
+        }
+        consumeIteratively(pq, messageViewsWithoutMessageGroup.iterator());
     }
 
     public void consumeIteratively(ProcessQueue pq, Iterator<MessageViewImpl> iterator) {
@@ -52,11 +96,20 @@ class FifoConsumeService extends ConsumeService {
             return;
         }
         final MessageViewImpl messageView = iterator.next();
-        if (messageView.isCorrupted()) {
-            // Discard corrupted message.
-            log.error("Message is corrupted for FIFO consumption, prepare to discard it, mq={}, messageId={}, "
-                + "clientId={}", pq.getMessageQueue(), messageView.getMessageId(), clientId);
-            pq.discardFifoMessage(messageView);
+        if (!messageView.isCorruptionDetermined()) {
+            // Verify the checksum on the consumption thread rather than the thread of message reception, then
+            // consume the message right there instead of submitting it again.
+            consumptionExecutor.execute(() -> {
+                if (discardIfCorrupted(pq, messageView)) {
+                    consumeIteratively(pq, iterator);
+                    return;
+                }
+                final ListenableFuture<Void> future = pq.eraseFifoMessage(messageView, consumeInline(messageView));
+                future.addListener(() -> consumeIteratively(pq, iterator), MoreExecutors.directExecutor());
+            });
+            return;
+        }
+        if (discardIfCorrupted(pq, messageView)) {
             consumeIteratively(pq, iterator);
             return;
         }
@@ -65,4 +118,14 @@ class FifoConsumeService extends ConsumeService {
             result), MoreExecutors.directExecutor());
         future.addListener(() -> consumeIteratively(pq, iterator), MoreExecutors.directExecutor());
     }
+
+    private boolean discardIfCorrupted(ProcessQueue pq, MessageViewImpl messageView) {
+        if (!messageView.isCorrupted()) {
+            return false;
+        }
+        log.error("Message is corrupted for FIFO consumption, prepare to discard it, mq={}, messageId={}, "
+            + "clientId={}", pq.getMessageQueue(), messageView.getMessageId(), clientId);
+        pq.discardFifoMessage(messageView);
+        return true;
+    }
 }
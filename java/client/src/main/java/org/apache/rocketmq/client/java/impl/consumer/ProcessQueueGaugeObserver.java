@@ -17,7 +17,6 @@
 
 package org.apache.rocketmq.client.java.impl.consumer;
 
-import io.opentelemetry.api.common.Attributes;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -25,7 +24,7 @@ import java.util.Map;
 import java.util.concurrent.ConcurrentMap;
 import org.apache.rocketmq.client.java.metrics.GaugeEnum;
 import org.apache.rocketmq.client.java.metrics.GaugeObserver;
-import org.apache.rocketmq.client.java.metrics.MetricLabels;
+import org.apache.rocketmq.client.java.metrics.MetricKey;
 import org.apache.rocketmq.client.java.misc.ClientId;
 import org.apache.rocketmq.client.java.route.MessageQueueImpl;
 
@@ -51,36 +50,28 @@ public class ProcessQueueGaugeObserver implements GaugeObserver {
     }
 
     @Override
-    public Map<Attributes, Double> getValues(GaugeEnum gauge) {
+    public Map<MetricKey, Double> getValues(GaugeEnum gauge) {
         switch (gauge) {
             case CONSUMER_CACHED_MESSAGES:
-                Map<Attributes, Double> cachedMessageCountMap = new HashMap<>();
+                Map<MetricKey, Double> cachedMessageCountMap = new HashMap<>();
                 for (ProcessQueue pq : processQueueTable.values()) {
                     final String topic = pq.getMessageQueue().getTopic();
-                    Attributes attributes = Attributes.builder()
-                        .put(MetricLabels.TOPIC, topic)
-                        .put(MetricLabels.CONSUMER_GROUP, consumerGroup)
-                        .put(MetricLabels.CLIENT_ID, clientId.toString())
-                        .build();
-                    double count = cachedMessageCountMap.containsKey(attributes) ?
-                        cachedMessageCountMap.get(attributes) : 0;
+                    MetricKey key = new MetricKey(topic, clientId.toString(), consumerGroup, null);
+                    double count = cachedMessageCountMap.containsKey(key) ?
+                        cachedMessageCountMap.get(key) : 0;
                     count += pq.getCachedMessageCount();
-                    cachedMessageCountMap.put(attributes, count);
+                    cachedMessageCountMap.put(key, count);
                 }
                 return cachedMessageCountMap;
             case CONSUMER_CACHED_BYTES:
-                Map<Attributes, Double> cachedMessageBytesMap = new HashMap<>();
+                Map<MetricKey, Double> cachedMessageBytesMap = new HashMap<>();
                 for (ProcessQueue pq : processQueueTable.values()) {
                     final String topic = pq.getMessageQueue().getTopic();
-                    Attributes attributes = Attributes.builder()
-                        .put(MetricLabels.TOPIC, topic)
-                        .put(MetricLabels.CONSUMER_GROUP, consumerGroup)
-                        .put(MetricLabels.CLIENT_ID, clientId.toString())
-                        .build();
-                    double bytes = cachedMessageBytesMap.containsKey(attributes) ?
-                        cachedMessageBytesMap.get(attributes) : 0;
+                    MetricKey key = new MetricKey(topic, clientId.toString(), consumerGroup, null);
+                    double bytes = cachedMessageBytesMap.containsKey(key) ?
+                        cachedMessageBytesMap.get(key) : 0;
                     bytes += pq.getCachedMessageBytes();
-                    cachedMessageBytesMap.put(attributes, bytes);
+                    cachedMessageBytesMap.put(key, bytes);
                 }
                 return cachedMessageBytesMap;
             default:
@@ -31,18 +31,19 @@ import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.ListenableFuture;
 import com.google.common.util.concurrent.MoreExecutors;
 import com.google.common.util.concurrent.SettableFuture;
-import com.google.errorprone.annotations.concurrent.GuardedBy;
 import io.grpc.StatusRuntimeException;
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
-import java.util.concurrent.locks.ReadWriteLock;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import org.apache.rocketmq.client.apis.consumer.ConsumeResult;
@@ -96,12 +97,29 @@ class ProcessQueueImpl implements ProcessQueue {
 
     /**
      * Messages which is pending means have been cached, but are not taken by consumer dispatcher yet.
+     *
+     * <p>{@link MessageViewImpl} does not override {@link Object#equals(Object)}, so the set is keyed by identity,
+     * which makes both caching and eviction O(1) without any lock.
      */
-    @GuardedBy("cachedMessageLock")
-    private final List<MessageViewImpl> cachedMessages;
-    private final ReadWriteLock cachedMessageLock;
+    private final Set<MessageViewImpl> cachedMessages;
 
+    private final AtomicInteger cachedMessagesCount;
     private final AtomicLong cachedMessagesBytes;
+    private final CacheBudget cacheBudget;
+
+    /**
+     * Max quantity of receptions in pipeline, each of them keeps receiving messages one batch after another with its
+     * own attempt id.
+     */
+    private final int receivePipelineDepth;
+    /**
+     * Quantity of receptions in pipeline which are started by {@link #fetchMessageImmediately()}.
+     */
+    private final AtomicInteger pipelinedReceptions;
+    /**
+     * Indicates whether the reception slots of the pipeline are added to the {@link #cacheBudget}.
+     */
+    private final AtomicBoolean receptionSlotsAdded;
 
     private final AtomicLong receptionTimes;
     private final AtomicLong receivedMessagesQuantity;
@@ -114,9 +132,13 @@ class ProcessQueueImpl implements ProcessQueue {
         this.dropped = false;
         this.mq = mq;
         this.filterExpression = filterExpression;
-        this.cachedMessages = new ArrayList<>();
-        this.cachedMessageLock = new ReentrantReadWriteLock();
+        this.cachedMessages = ConcurrentHashMap.newKeySet();
+        this.cachedMessagesCount = new AtomicInteger(0);
         this.cachedMessagesBytes = new AtomicLong();
+        this.cacheBudget = consumer.getCacheBudget();
+        this.receivePipelineDepth = consumer.getReceivePipelineDepth();
+        this.pipelinedReceptions = new AtomicInteger(0);
+        this.receptionSlotsAdded = new AtomicBoolean(false);
         this.receptionTimes = new AtomicLong(0);
         this.receivedMessagesQuantity = new AtomicLong(0);
     }
@@ -129,6 +151,9 @@ class ProcessQueueImpl implements ProcessQueue {
     @Override
     public void drop() {
         this.dropped = true;
+        if (receptionSlotsAdded.compareAndSet(true, false)) {
+            cacheBudget.removeReceptionSlots(receivePipelineDepth);
+        }
     }
 
     @Override
@@ -149,27 +174,68 @@ class ProcessQueueImpl implements ProcessQueue {
         return true;
     }
 
-    void cacheMessages(List<MessageViewImpl> messageList) {
-        cachedMessageLock.writeLock().lock();
-        try {
-            for (MessageViewImpl messageView : messageList) {
-                cachedMessages.add(messageView);
-                cachedMessagesBytes.addAndGet(messageView.getBody().remaining());
+    /**
+     * Cache messages.
+     *
+     * @return quantity of messages which are cached actually.
+     */
+    int cacheMessages(List<MessageViewImpl> messageList) {
+        int cached = 0;
+        for (MessageViewImpl messageView : messageList) {
+            if (cachedMessages.add(messageView)) {
+                final int bytes = messageView.getBody().remaining();
+                cachedMessagesCount.incrementAndGet();
+                cachedMessagesBytes.addAndGet(bytes);
+                cacheBudget.onCached(bytes);
+                cached++;
             }
-        } finally {
-            cachedMessageLock.writeLock().unlock();
         }
-    }
-
-    private int getReceptionBatchSize() {
-        int bufferSize = consumer.cacheMessageCountThresholdPerQueue() - this.cachedMessagesCount();
-        bufferSize = Math.max(bufferSize, 1);
-        return Math.min(bufferSize, consumer.getPushConsumerSettings().getReceiveBatchSize());
+        return cached;
     }
 
     @Override
     public void fetchMessageImmediately() {
-        receiveMessageImmediately();
+        // Credits of cache budget are still required, which may be held by other process queues.
+        if (receptionSlotsAdded.compareAndSet(false, true)) {
+            cacheBudget.addReceptionSlots(receivePipelineDepth);
+        }
+        for (int i = 0; i < receivePipelineDepth; i++) {
+            pipelinedReceptions.incrementAndGet();
+            receiveMessage();
+        }
+    }
+
+    /**
+     * Start receptions to fill the pipeline again if any of them was retired because of the exhausted budget.
+     */
+    private void replenishReceptions() {
+        while (true) {
+            final int receptions = pipelinedReceptions.get();
+            // The reception which is not started by the pipeline never replenishes it.
+            if (receptions <= 0 || receptions >= receivePipelineDepth || cacheBudget.isExhausted()) {
+                return;
+            }
+            if (pipelinedReceptions.compareAndSet(receptions, receptions + 1)) {
+                receiveMessage();
+            }
+        }
+    }
+
+    /**
+     * Retire the reception if other receptions are still in pipeline, so that only one of them polls the budget.
+     *
+     * @return true if the reception is retired.
+     */
+    private boolean tryRetireReception() {
+        while (true) {
+            final int receptions = pipelinedReceptions.get();
+            if (receptions <= 1) {
+                return false;
+            }
+            if (pipelinedReceptions.compareAndSet(receptions, receptions - 1)) {
+                return true;
+            }
+        }
     }
 
     /**
@@ -213,51 +279,80 @@ class ProcessQueueImpl implements ProcessQueue {
             log.info("Process queue has been dropped, no longer receive message, mq={}, clientId={}", mq, clientId);
             return;
         }
-        if (this.isCacheFull()) {
-            log.warn("Process queue cache is full, would receive message later, mq={}, clientId={}", mq, clientId);
+        // Reserve credits before reception, the batch size adapts to the free budget.
+        final int batchSize = cacheBudget.tryReserve(consumer.getPushConsumerSettings().getReceiveBatchSize());
+        if (batchSize <= 0) {
+            if (tryRetireReception()) {
+                log.debug("Cache budget of consumer is exhausted, retire the pipelined reception, mq={}, "
+                    + "budget={}, clientId={}", mq, cacheBudget, clientId);
+                return;
+            }
+            log.warn("Cache budget of consumer is exhausted, would receive message later, mq={}, budget={}, "
+                + "clientId={}", mq, cacheBudget, clientId);
+            cacheFullNanoTime = System.nanoTime();
             receiveMessageLater(RECEIVING_BACKOFF_DELAY_WHEN_CACHE_IS_FULL, attemptId);
             return;
         }
-        receiveMessageImmediately(attemptId);
-    }
-
-    private void receiveMessageImmediately() {
-        receiveMessageImmediately(this.generateAttemptId());
+        receiveMessageImmediately(attemptId, batchSize);
     }
 
-    private void receiveMessageImmediately(String attemptId) {
+    private void receiveMessageImmediately(String attemptId, int batchSize) {
         final ClientId clientId = consumer.getClientId();
         if (!consumer.isRunning()) {
             log.info("Stop to receive message because consumer is not running, mq={}, clientId={}", mq, clientId);
+            cacheBudget.settle(batchSize, 0);
             return;
         }
+        final AtomicInteger dispatchedCachedCount = new AtomicInteger();
         try {
             final Endpoints endpoints = mq.getBroker().getEndpoints();
-            final int batchSize = this.getReceptionBatchSize();
             final Duration longPollingTimeout = consumer.getPushConsumerSettings().getLongPollingTimeout();
             final ReceiveMessageRequest request = consumer.wrapReceiveMessageRequest(batchSize, mq, filterExpression,
                 longPollingTimeout, attemptId);
             activityNanoTime = System.nanoTime();
 
             // Intercept before message reception.
-            final MessageInterceptorContextImpl context = new MessageInterceptorContextImpl(MessageHookPoints.RECEIVE);
-            consumer.doBefore(context, Collections.emptyList());
+            final boolean intercepted = consumer.isSubscribed(MessageHookPoints.RECEIVE);
+            final MessageInterceptorContextImpl context = intercepted ?
+                new MessageInterceptorContextImpl(MessageHookPoints.RECEIVE) : null;
+            if (intercepted) {
+                consumer.doBefore(context, Collections.emptyList());
+            }
+            // Count before the reception is issued, since the callback which settles the credits may run inline.
+            receptionTimes.getAndIncrement();
+            consumer.getReceptionTimes().getAndIncrement();
 
-            final ListenableFuture<ReceiveMessageResult> future = consumer.receiveMessage(request, mq,
-                longPollingTimeout);
+            // Dispatch messages as soon as they arrive unless the whole batch is required by consumption.
+            final boolean incremental = consumer.getConsumeService().isIncrementalDispatchSupported();
+            // Messages dispatched so far, which are only kept for the interceptor. The listener is invoked serially
+            // before the future is completed.
+            final List<MessageViewImpl> dispatchedMessageViews = incremental && intercepted ? new ArrayList<>() : null;
+            final ListenableFuture<ReceiveMessageResult> future = incremental ?
+                consumer.receiveMessage(request, mq, longPollingTimeout, messageView -> {
+                    if (null != dispatchedMessageViews) {
+                        dispatchedMessageViews.add(messageView);
+                    }
+                    dispatchedCachedCount.addAndGet(dispatchMessages(Collections.singletonList(messageView)));
+                }) :
+                consumer.receiveMessage(request, mq, longPollingTimeout);
             Futures.addCallback(future, new FutureCallback<ReceiveMessageResult>() {
                 @Override
                 public void onSuccess(ReceiveMessageResult result) {
                     // Intercept after message reception.
-                    final List<GeneralMessage> generalMessages = result.getMessageViewImpls().stream()
-                        .map((Function<MessageView, GeneralMessage>) GeneralMessageImpl::new)
-                        .collect(Collectors.toList());
-                    final MessageInterceptorContextImpl context0 =
-                        new MessageInterceptorContextImpl(context, MessageHookPointsStatus.OK);
-                    consumer.doAfter(context0, generalMessages);
+                    if (intercepted) {
+                        final List<MessageViewImpl> messageViews = incremental ? dispatchedMessageViews :
+                            result.getMessageViewImpls();
+                        final MessageInterceptorContextImpl context0 =
+                            new MessageInterceptorContextImpl(context, MessageHookPointsStatus.OK);
+                        consumer.doAfter(context0, toGeneralMessages(messageViews));
+                    }
 
                     try {
-                        onReceiveMessageResult(result);
+                        if (incremental) {
+                            onReceiveMessageCompleted(batchSize, dispatchedCachedCount.get());
+                        } else {
+                            onReceiveMessageResult(result, batchSize);
+                        }
                     } catch (Throwable t) {
                         // Should never reach here.
                         log.error("[Bug] Exception raised while handling receive result, mq={}, endpoints={}, "
@@ -269,16 +364,23 @@ class ProcessQueueImpl implements ProcessQueue {
                 @Override
                 public void onFailure(Throwable t) {
                     String nextAttemptId = null;
-                    if (t instanceof StatusRuntimeException) {
+                    // Reuse the attempt id only if no message has been handed over to consumption, otherwise the
+                    // server would redeliver the messages of the same attempt, which are consumed again.
+                    if (t instanceof StatusRuntimeException && 0 == dispatchedCachedCount.get()) {
                         StatusRuntimeException exception = (StatusRuntimeException) t;
                         if (io.grpc.Status.DEADLINE_EXCEEDED.getCode() == exception.getStatus().getCode()) {
                             nextAttemptId = request.getAttemptId();
                         }
                     }
-                    // Intercept after message reception.
-                    final MessageInterceptorContextImpl context0 =
-                        new MessageInterceptorContextImpl(context, MessageHookPointsStatus.ERROR);
-                    consumer.doAfter(context0, Collections.emptyList());
+                    // Intercept after message reception, messages dispatched before failure are received as well.
+                    if (intercepted) {
+                        final MessageInterceptorContextImpl context0 =
+                            new MessageInterceptorContextImpl(context, MessageHookPointsStatus.ERROR);
+                        consumer.doAfter(context0, null == dispatchedMessageViews ? Collections.emptyList() :
+                            toGeneralMessages(dispatchedMessageViews));
+                    }
+                    // Messages which are dispatched before failure keep holding their credits.
+                    cacheBudget.settle(batchSize, dispatchedCachedCount.get());
 
                     log.error("Exception raised during message reception, mq={}, endpoints={}, attemptId={}, " +
                             "nextAttemptId={}, clientId={}", mq, endpoints, request.getAttemptId(), nextAttemptId,
@@ -286,34 +388,21 @@ class ProcessQueueImpl implements ProcessQueue {
                     onReceiveMessageException(t, nextAttemptId);
                 }
             }, MoreExecutors.directExecutor());
-            receptionTimes.getAndIncrement();
-            consumer.getReceptionTimes().getAndIncrement();
         } catch (Throwable t) {
             log.error("Exception raised during message reception, mq={}, clientId={}", mq, clientId, t);
+            cacheBudget.settle(batchSize, dispatchedCachedCount.get());
             onReceiveMessageException(t, attemptId);
         }
     }
 
+    private static List<GeneralMessage> toGeneralMessages(List<MessageViewImpl> messageViews) {
+        return messageViews.stream()
+            .map((Function<MessageView, GeneralMessage>) GeneralMessageImpl::new)
+            .collect(Collectors.toList());
+    }
+
     public boolean isCacheFull() {
-        final int cacheMessageCountThresholdPerQueue = consumer.cacheMessageCountThresholdPerQueue();
-        final long actualMessagesQuantity = this.cachedMessagesCount();
-        final ClientId clientId = consumer.getClientId();
-        if (cacheMessageCountThresholdPerQueue <= actualMessagesQuantity) {
-            log.warn("Process queue total cached messages quantity exceeds the threshold, threshold={}, actual={}," +
-                " mq={}, clientId={}", cacheMessageCountThresholdPerQueue, actualMessagesQuantity, mq, clientId);
-            cacheFullNanoTime = System.nanoTime();
-            return true;
-        }
-        final int cacheMessageBytesThresholdPerQueue = consumer.cacheMessageBytesThresholdPerQueue();
-        final long actualCachedMessagesBytes = this.cachedMessageBytes();
-        if (cacheMessageBytesThresholdPerQueue <= actualCachedMessagesBytes) {
-            log.warn("Process queue total cached messages memory exceeds the threshold, threshold={} bytes," +
-                    " actual={} bytes, mq={}, clientId={}", cacheMessageBytesThresholdPerQueue,
-                actualCachedMessagesBytes, mq, clientId);
-            cacheFullNanoTime = System.nanoTime();
-            return true;
-        }
-        return false;
+        return cacheBudget.isExhausted();
     }
 
     @Override
@@ -333,37 +422,44 @@ class ProcessQueueImpl implements ProcessQueue {
     }
 
     public int cachedMessagesCount() {
-        cachedMessageLock.readLock().lock();
-        try {
-            return cachedMessages.size();
-        } finally {
-            cachedMessageLock.readLock().unlock();
-        }
+        return cachedMessagesCount.get();
     }
 
     public long cachedMessageBytes() {
         return cachedMessagesBytes.get();
     }
 
-    private void onReceiveMessageResult(ReceiveMessageResult result) {
+    private void onReceiveMessageResult(ReceiveMessageResult result, int reserved) {
         final List<MessageViewImpl> messages = result.getMessageViewImpls();
-        if (!messages.isEmpty()) {
-            cacheMessages(messages);
-            receivedMessagesQuantity.getAndAdd(messages.size());
-            consumer.getReceivedMessagesQuantity().getAndAdd(messages.size());
-            consumer.getConsumeService().consume(this, messages);
-        }
+        onReceiveMessageCompleted(reserved, messages.isEmpty() ? 0 : dispatchMessages(messages));
+    }
+
+    private void onReceiveMessageCompleted(int reserved, int cached) {
+        // Return the unused credits, cached messages hold theirs until evicted.
+        cacheBudget.settle(reserved, cached);
         receiveMessage();
+        replenishReceptions();
+    }
+
+    /**
+     * Cache messages and dispatch them to the consume service.
+     *
+     * @return quantity of messages which are cached actually.
+     */
+    private int dispatchMessages(List<MessageViewImpl> messages) {
+        final int cached = cacheMessages(messages);
+        receivedMessagesQuantity.getAndAdd(messages.size());
+        consumer.getReceivedMessagesQuantity().getAndAdd(messages.size());
+        consumer.getConsumeService().consume(this, messages);
+        return cached;
     }
 
     private void evictCache(MessageViewImpl messageView) {
-        cachedMessageLock.writeLock().lock();
-        try {
-            if (cachedMessages.remove(messageView)) {
-                cachedMessagesBytes.addAndGet(-messageView.getBody().remaining());
-            }
-        } finally {
-            cachedMessageLock.writeLock().unlock();
+        if (cachedMessages.remove(messageView)) {
+            final int bytes = messageView.getBody().remaining();
+            cachedMessagesCount.decrementAndGet();
+            cachedMessagesBytes.addAndGet(-bytes);
+            cacheBudget.onEvicted(bytes);
         }
     }
 
@@ -578,13 +674,12 @@ class ProcessQueueImpl implements ProcessQueue {
         final String consumerGroup = consumer.getConsumerGroup();
         final MessageId messageId = messageView.getMessageId();
         final Endpoints endpoints = messageView.getEndpoints();
-        final RpcFuture<AckMessageRequest, AckMessageResponse> future =
-            consumer.ackMessage(messageView);
-        Futures.addCallback(future, new FutureCallback<AckMessageResponse>() {
+        final ListenableFuture<AckMessageResult> future = ackMessage0(messageView);
+        Futures.addCallback(future, new FutureCallback<AckMessageResult>() {
             @Override
-            public void onSuccess(AckMessageResponse response) {
-                final String requestId = future.getContext().getRequestId();
-                final Status status = response.getStatus();
+            public void onSuccess(AckMessageResult result) {
+                final String requestId = result.getRequestId();
+                final Status status = result.getStatus();
                 final Code code = status.getCode();
                 if (Code.INVALID_RECEIPT_HANDLE.equals(code)) {
                     log.error("Failed to ack message due to the invalid receipt handle, forgive to retry, "
@@ -627,6 +722,19 @@ class ProcessQueueImpl implements ProcessQueue {
         }, MoreExecutors.directExecutor());
     }
 
+    /**
+     * Acknowledge message through the {@link AckAccumulator} if ack batching is enabled, or in a standalone request.
+     */
+    private ListenableFuture<AckMessageResult> ackMessage0(final MessageViewImpl messageView) {
+        final AckAccumulator ackAccumulator = consumer.getAckAccumulator();
+        if (null != ackAccumulator) {
+            return ackAccumulator.append(messageView);
+        }
+        final RpcFuture<AckMessageRequest, AckMessageResponse> future = consumer.ackMessage(messageView);
+        return Futures.transform(future, response -> new AckMessageResult(future.getContext().getRequestId(),
+            response.getStatus()), MoreExecutors.directExecutor());
+    }
+
     private void ackMessageLater(final MessageViewImpl messageView, final int attempt,
         final SettableFuture<Void> future) {
         final MessageId messageId = messageView.getMessageId();
@@ -647,12 +755,7 @@ class ProcessQueueImpl implements ProcessQueue {
 
     @Override
     public long getCachedMessageCount() {
-        cachedMessageLock.readLock().lock();
-        try {
-            return cachedMessages.size();
-        } finally {
-            cachedMessageLock.readLock().unlock();
-        }
+        return cachedMessagesCount.get();
     }
 
     @Override
@@ -21,26 +21,42 @@ import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
 import static org.apache.rocketmq.client.java.impl.consumer.ConsumerImpl.CONSUMER_GROUP_PATTERN;
 
+import com.google.common.annotations.Beta;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import org.apache.rocketmq.client.apis.ClientConfiguration;
 import org.apache.rocketmq.client.apis.ClientException;
+import org.apache.rocketmq.client.apis.consumer.BatchMessageListener;
+import org.apache.rocketmq.client.apis.consumer.ChecksumVerification;
 import org.apache.rocketmq.client.apis.consumer.FilterExpression;
 import org.apache.rocketmq.client.apis.consumer.MessageListener;
 import org.apache.rocketmq.client.apis.consumer.PushConsumer;
 import org.apache.rocketmq.client.apis.consumer.PushConsumerBuilder;
+import org.apache.rocketmq.client.java.hook.MessageInterceptor;
 
 /**
  * Implementation of {@link PushConsumerBuilder}
  */
 public class PushConsumerBuilderImpl implements PushConsumerBuilder {
+    private static final int MAX_RECEIVE_PIPELINE_DEPTH = 4;
+
     private ClientConfiguration clientConfiguration = null;
     private String consumerGroup = null;
     private Map<String, FilterExpression> subscriptionExpressions = new ConcurrentHashMap<>();
     private MessageListener messageListener = null;
+    private BatchMessageListener batchMessageListener = null;
+    private BatchConsumePolicy batchConsumePolicy = null;
     private int maxCacheMessageCount = 1024;
     private int maxCacheMessageSizeInBytes = 64 * 1024 * 1024;
     private int consumptionThreadCount = 20;
+    private AckBatchingPolicy ackBatchingPolicy = null;
+    private boolean enableFifoConsumeAccelerator = false;
+    private ChecksumVerification checksumVerification = ChecksumVerification.EAGER;
+    private int receivePipelineDepth = 1;
+    private final List<MessageInterceptor> messageInterceptors = new ArrayList<>();
 
     /**
      * @see PushConsumerBuilder#setClientConfiguration(ClientConfiguration)
@@ -83,6 +99,22 @@ public class PushConsumerBuilderImpl implements PushConsumerBuilder {
         return this;
     }
 
+    /**
+     * @see PushConsumerBuilder#setBatchMessageListener(BatchMessageListener, int, int, Duration)
+     */
+    @Override
+    public PushConsumerBuilder setBatchMessageListener(BatchMessageListener batchMessageListener,
+        int maxBatchMessageCount, int maxBatchSizeInBytes, Duration maxWaitDuration) {
+        checkNotNull(batchMessageListener, "batchMessageListener should not be null");
+        checkArgument(maxBatchMessageCount > 0, "maxBatchMessageCount should be positive");
+        checkArgument(maxBatchSizeInBytes > 0, "maxBatchSizeInBytes should be positive");
+        checkNotNull(maxWaitDuration, "maxWaitDuration should not be null");
+        checkArgument(!maxWaitDuration.isNegative(), "maxWaitDuration should not be negative");
+        this.batchMessageListener = batchMessageListener;
+        this.batchConsumePolicy = new BatchConsumePolicy(maxBatchMessageCount, maxBatchSizeInBytes, maxWaitDuration);
+        return this;
+    }
+
     /**
      * @see PushConsumerBuilder#setMaxCacheMessageCount(int)
      */
@@ -113,6 +145,60 @@ public class PushConsumerBuilderImpl implements PushConsumerBuilder {
         return this;
     }
 
+    /**
+     * @see PushConsumerBuilder#enableAckBatching(int, Duration)
+     */
+    @Override
+    public PushConsumerBuilder enableAckBatching(int maxBatchAckCount, Duration lingerDuration) {
+        checkArgument(maxBatchAckCount > 0, "maxBatchAckCount should be positive");
+        checkNotNull(lingerDuration, "lingerDuration should not be null");
+        checkArgument(!lingerDuration.isNegative(), "lingerDuration should not be negative");
+        this.ackBatchingPolicy = new AckBatchingPolicy(maxBatchAckCount, lingerDuration);
+        return this;
+    }
+
+    /**
+     * @see PushConsumerBuilder#setEnableFifoConsumeAccelerator(boolean)
+     */
+    @Override
+    public PushConsumerBuilder setEnableFifoConsumeAccelerator(boolean enableFifoConsumeAccelerator) {
+        this.enableFifoConsumeAccelerator = enableFifoConsumeAccelerator;
+        return this;
+    }
+
+    /**
+     * @see PushConsumerBuilder#setChecksumVerification(ChecksumVerification)
+     */
+    @Override
+    public PushConsumerBuilder setChecksumVerification(ChecksumVerification checksumVerification) {
+        this.checksumVerification = checkNotNull(checksumVerification, "checksumVerification should not be null");
+        return this;
+    }
+
+    /**
+     * @see PushConsumerBuilder#setReceivePipelineDepth(int)
+     */
+    @Override
+    public PushConsumerBuilder setReceivePipelineDepth(int receivePipelineDepth) {
+        checkArgument(receivePipelineDepth >= 1 && receivePipelineDepth <= MAX_RECEIVE_PIPELINE_DEPTH,
+            "receivePipelineDepth should be between 1 and " + MAX_RECEIVE_PIPELINE_DEPTH);
+        this.receivePipelineDepth = receivePipelineDepth;
+        return this;
+    }
+
+    /**
+     * Register the message interceptor to the client before it starts, interceptors are invoked in the order of
+     * registration.
+     *
+     * @param messageInterceptor message interceptor to register.
+     * @return the builder instance.
+     */
+    @Beta
+    public PushConsumerBuilder addMessageInterceptor(MessageInterceptor messageInterceptor) {
+        messageInterceptors.add(checkNotNull(messageInterceptor, "messageInterceptor should not be null"));
+        return this;
+    }
+
     /**
      * @see PushConsumerBuilder#build()
      */
@@ -120,11 +206,18 @@ public class PushConsumerBuilderImpl implements PushConsumerBuilder {
     public PushConsumer build() throws ClientException {
         checkNotNull(clientConfiguration, "clientConfiguration has not been set yet");
         checkNotNull(consumerGroup, "consumerGroup has not been set yet");
-        checkNotNull(messageListener, "messageListener has not been set yet");
+        if (null == batchMessageListener) {
+            checkNotNull(messageListener, "messageListener has not been set yet");
+        } else {
+            checkArgument(null == messageListener, "messageListener and batchMessageListener should not be set "
+                + "at the same time");
+        }
         checkArgument(!subscriptionExpressions.isEmpty(), "subscriptionExpressions have not been set yet");
         final PushConsumerImpl pushConsumer = new PushConsumerImpl(clientConfiguration, consumerGroup,
             subscriptionExpressions, messageListener, maxCacheMessageCount, maxCacheMessageSizeInBytes,
-            consumptionThreadCount);
+            consumptionThreadCount, ackBatchingPolicy, enableFifoConsumeAccelerator, batchMessageListener,
+            batchConsumePolicy, checksumVerification, receivePipelineDepth);
+        messageInterceptors.forEach(pushConsumer::registerMessageInterceptor);
         pushConsumer.startAsync().awaitRunning();
         return pushConsumer;
     }
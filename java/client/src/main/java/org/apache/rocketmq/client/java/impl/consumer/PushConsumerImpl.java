@@ -50,9 +50,12 @@ import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
+import javax.annotation.Nullable;
 import org.apache.rocketmq.client.apis.ClientConfiguration;
 import org.apache.rocketmq.client.apis.ClientException;
 import org.apache.rocketmq.client.apis.consumer.ConsumeResult;
+import org.apache.rocketmq.client.apis.consumer.BatchMessageListener;
+import org.apache.rocketmq.client.apis.consumer.ChecksumVerification;
 import org.apache.rocketmq.client.apis.consumer.FilterExpression;
 import org.apache.rocketmq.client.apis.consumer.MessageListener;
 import org.apache.rocketmq.client.apis.consumer.PushConsumer;
@@ -100,8 +103,13 @@ class PushConsumerImpl extends ConsumerImpl implements PushConsumer {
     private final Map<String /* topic */, FilterExpression> subscriptionExpressions;
     private final ConcurrentMap<String /* topic */, Assignments> cacheAssignments;
     private final MessageListener messageListener;
-    private final int maxCacheMessageCount;
-    private final int maxCacheMessageSizeInBytes;
+    @Nullable
+    private final BatchMessageListener batchMessageListener;
+    @Nullable
+    private final BatchConsumePolicy batchConsumePolicy;
+    private final boolean enableFifoConsumeAccelerator;
+    private final ChecksumVerification checksumVerification;
+    private final int receivePipelineDepth;
 
     /**
      * Indicates the times of message reception.
@@ -114,6 +122,9 @@ class PushConsumerImpl extends ConsumerImpl implements PushConsumer {
 
     private final ThreadPoolExecutor consumptionExecutor;
     private final ConcurrentMap<MessageQueueImpl, ProcessQueue> processQueueTable;
+    private final CacheBudget cacheBudget;
+    @Nullable
+    private final AckAccumulator ackAccumulator;
     private ConsumeService consumeService;
 
     private volatile ScheduledFuture<?> scanAssignmentsFuture;
@@ -125,6 +136,21 @@ class PushConsumerImpl extends ConsumerImpl implements PushConsumer {
     public PushConsumerImpl(ClientConfiguration clientConfiguration, String consumerGroup,
         Map<String, FilterExpression> subscriptionExpressions, MessageListener messageListener,
         int maxCacheMessageCount, int maxCacheMessageSizeInBytes, int consumptionThreadCount) {
+        this(clientConfiguration, consumerGroup, subscriptionExpressions, messageListener, maxCacheMessageCount,
+            maxCacheMessageSizeInBytes, consumptionThreadCount, null, false, null, null, ChecksumVerification.EAGER,
+            1);
+    }
+
+    /**
+     * The caller is supposed to have validated the arguments and handled throwing exception or
+     * logging warnings already, so we avoid repeating args check here.
+     */
+    public PushConsumerImpl(ClientConfiguration clientConfiguration, String consumerGroup,
+        Map<String, FilterExpression> subscriptionExpressions, MessageListener messageListener,
+        int maxCacheMessageCount, int maxCacheMessageSizeInBytes, int consumptionThreadCount,
+        @Nullable AckBatchingPolicy ackBatchingPolicy, boolean enableFifoConsumeAccelerator,
+        @Nullable BatchMessageListener batchMessageListener, @Nullable BatchConsumePolicy batchConsumePolicy,
+        ChecksumVerification checksumVerification, int receivePipelineDepth) {
         super(clientConfiguration, consumerGroup, subscriptionExpressions.keySet());
         this.clientConfiguration = clientConfiguration;
         Resource groupResource = new Resource(clientConfiguration.getNamespace(), consumerGroup);
@@ -133,9 +159,13 @@ class PushConsumerImpl extends ConsumerImpl implements PushConsumer {
         this.consumerGroup = consumerGroup;
         this.subscriptionExpressions = subscriptionExpressions;
         this.cacheAssignments = new ConcurrentHashMap<>();
-        this.messageListener = messageListener;
-        this.maxCacheMessageCount = maxCacheMessageCount;
-        this.maxCacheMessageSizeInBytes = maxCacheMessageSizeInBytes;
+        this.batchMessageListener = batchMessageListener;
+        this.batchConsumePolicy = batchConsumePolicy;
+        this.messageListener = null == batchMessageListener ? messageListener :
+            BatchConsumeService.toMessageListener(batchMessageListener);
+        this.enableFifoConsumeAccelerator = enableFifoConsumeAccelerator;
+        this.checksumVerification = checksumVerification;
+        this.receivePipelineDepth = receivePipelineDepth;
 
         this.receptionTimes = new AtomicLong(0);
         this.receivedMessagesQuantity = new AtomicLong(0);
@@ -143,6 +173,8 @@ class PushConsumerImpl extends ConsumerImpl implements PushConsumer {
         this.consumptionErrorQuantity = new AtomicLong(0);
 
         this.processQueueTable = new ConcurrentHashMap<>();
+        this.cacheBudget = new CacheBudget(maxCacheMessageCount, maxCacheMessageSizeInBytes);
+        this.ackAccumulator = null == ackBatchingPolicy ? null : new AckAccumulator(this, ackBatchingPolicy);
 
         this.consumptionExecutor = new ThreadPoolExecutor(
             consumptionThreadCount,
@@ -157,9 +189,8 @@ class PushConsumerImpl extends ConsumerImpl implements PushConsumer {
     protected void startUp() throws Exception {
         try {
             log.info("Begin to start the rocketmq push consumer, clientId={}", clientId);
-            log.warn("[ Disable ClientMeterManager ] for ProcessQueueGaugeObserver");
-            //GaugeObserver gaugeObserver = new ProcessQueueGaugeObserver(processQueueTable, clientId, consumerGroup);
-            //this.clientMeterManager.setGaugeObserver(gaugeObserver);
+            GaugeObserver gaugeObserver = new ProcessQueueGaugeObserver(processQueueTable, clientId, consumerGroup);
+            this.clientMeterManager.setGaugeObserver(gaugeObserver);
             super.startUp();
             final ScheduledExecutorService scheduler = this.getClientManager().getScheduler();
             this.consumeService = createConsumeService();
@@ -185,17 +216,33 @@ class PushConsumerImpl extends ConsumerImpl implements PushConsumer {
         if (null != scanAssignmentsFuture) {
             scanAssignmentsFuture.cancel(false);
         }
-        super.shutDown();
+        // Hand over messages held by the consume service while the consumption executor still accepts tasks.
+        if (null != consumeService) {
+            consumeService.shutdown();
+        }
         this.consumptionExecutor.shutdown();
         ExecutorServices.awaitTerminated(consumptionExecutor);
+        // Flush after consumption is drained, so that acknowledgements of in-flight consumption are not left behind.
+        if (null != ackAccumulator) {
+            ackAccumulator.flushAll();
+        }
+        super.shutDown();
         log.info("Shutdown the rocketmq push consumer successfully, clientId={}", clientId);
     }
 
     private ConsumeService createConsumeService() {
         final ScheduledExecutorService scheduler = this.getClientManager().getScheduler();
         if (pushSubscriptionSettings.isFifo()) {
-            log.info("Create FIFO consume service, consumerGroup={}, clientId={}", consumerGroup, clientId);
-            return new FifoConsumeService(clientId, messageListener, consumptionExecutor, this, scheduler);
+            log.info("Create FIFO consume service, consumerGroup={}, enableFifoConsumeAccelerator={}, clientId={}",
+                consumerGroup, enableFifoConsumeAccelerator, clientId);
+            return new FifoConsumeService(clientId, messageListener, consumptionExecutor, this, scheduler,
+                enableFifoConsumeAccelerator);
+        }
+        if (null != batchMessageListener) {
+            log.info("Create batch consume service, consumerGroup={}, policy={}, clientId={}", consumerGroup,
+                batchConsumePolicy, clientId);
+            return new BatchConsumeService(clientId, batchMessageListener, batchConsumePolicy, consumptionExecutor,
+                this, scheduler);
         }
         log.info("Create standard consume service, consumerGroup={}, clientId={}", consumerGroup, clientId);
         return new StandardConsumeService(clientId, messageListener, consumptionExecutor, this, scheduler);
@@ -209,6 +256,11 @@ class PushConsumerImpl extends ConsumerImpl implements PushConsumer {
         return consumerGroup;
     }
 
+    @Override
+    protected ChecksumVerification getChecksumVerification() {
+        return checksumVerification;
+    }
+
     public PushSubscriptionSettings getPushConsumerSettings() {
         return pushSubscriptionSettings;
     }
@@ -437,22 +489,18 @@ class PushConsumerImpl extends ConsumerImpl implements PushConsumer {
         return processQueueTable.size();
     }
 
-    int cacheMessageBytesThresholdPerQueue() {
-        final int size = this.getQueueSize();
-        // ALl process queues are removed, no need to cache messages.
-        if (size <= 0) {
-            return 0;
-        }
-        return Math.max(1, maxCacheMessageSizeInBytes / size);
+    /**
+     * Get the cache budget shared by all process queues dynamically.
+     */
+    CacheBudget getCacheBudget() {
+        return cacheBudget;
     }
 
-    int cacheMessageCountThresholdPerQueue() {
-        final int size = this.getQueueSize();
-        // All process queues are removed, no need to cache messages.
-        if (size <= 0) {
-            return 0;
-        }
-        return Math.max(1, maxCacheMessageCount / size);
+    /**
+     * Messages of the FIFO queue are received one batch after another, so that they are consumed in order.
+     */
+    int getReceivePipelineDepth() {
+        return pushSubscriptionSettings.isFifo() ? 1 : receivePipelineDepth;
     }
 
     public AtomicLong getReceptionTimes() {
@@ -467,6 +515,11 @@ class PushConsumerImpl extends ConsumerImpl implements PushConsumer {
         return consumeService;
     }
 
+    @Nullable
+    AckAccumulator getAckAccumulator() {
+        return ackAccumulator;
+    }
+
     @Override
     public void onVerifyMessageCommand(Endpoints endpoints, VerifyMessageCommand verifyMessageCommand) {
         final String nonce = verifyMessageCommand.getNonce();
@@ -518,9 +571,14 @@ class PushConsumerImpl extends ConsumerImpl implements PushConsumer {
     public RpcFuture<ForwardMessageToDeadLetterQueueRequest, ForwardMessageToDeadLetterQueueResponse>
     forwardMessageToDeadLetterQueue(final MessageViewImpl messageView) {
         // Intercept before forwarding message to DLQ.
-        final List<GeneralMessage> generalMessages = Collections.singletonList(new GeneralMessageImpl(messageView));
-        MessageInterceptorContextImpl context = new MessageInterceptorContextImpl(MessageHookPoints.FORWARD_TO_DLQ);
-        doBefore(context, generalMessages);
+        final boolean intercepted = isSubscribed(MessageHookPoints.FORWARD_TO_DLQ);
+        final List<GeneralMessage> generalMessages = intercepted ?
+            Collections.singletonList(new GeneralMessageImpl(messageView)) : null;
+        MessageInterceptorContextImpl context = intercepted ?
+            new MessageInterceptorContextImpl(MessageHookPoints.FORWARD_TO_DLQ) : null;
+        if (intercepted) {
+            doBefore(context, generalMessages);
+        }
 
         final Endpoints endpoints = messageView.getEndpoints();
         RpcFuture<ForwardMessageToDeadLetterQueueRequest, ForwardMessageToDeadLetterQueueResponse> future;
@@ -528,6 +586,9 @@ class PushConsumerImpl extends ConsumerImpl implements PushConsumer {
             wrapForwardMessageToDeadLetterQueueRequest(messageView);
         future = this.getClientManager().forwardMessageToDeadLetterQueue(endpoints, request,
             clientConfiguration.getRequestTimeout());
+        if (!intercepted) {
+            return future;
+        }
         Futures.addCallback(future, new FutureCallback<ForwardMessageToDeadLetterQueueResponse>() {
             @Override
             public void onSuccess(ForwardMessageToDeadLetterQueueResponse response) {
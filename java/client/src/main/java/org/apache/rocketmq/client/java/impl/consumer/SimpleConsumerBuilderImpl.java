@@ -21,7 +21,10 @@ import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
 import static org.apache.rocketmq.client.java.impl.consumer.ConsumerImpl.CONSUMER_GROUP_PATTERN;
 
+import com.google.common.annotations.Beta;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import org.apache.rocketmq.client.apis.ClientConfiguration;
@@ -29,12 +32,14 @@ import org.apache.rocketmq.client.apis.ClientException;
 import org.apache.rocketmq.client.apis.consumer.FilterExpression;
 import org.apache.rocketmq.client.apis.consumer.SimpleConsumer;
 import org.apache.rocketmq.client.apis.consumer.SimpleConsumerBuilder;
+import org.apache.rocketmq.client.java.hook.MessageInterceptor;
 
 public class SimpleConsumerBuilderImpl implements SimpleConsumerBuilder {
     private ClientConfiguration clientConfiguration = null;
     private String consumerGroup = null;
     private Map<String, FilterExpression> subscriptionExpressions = new ConcurrentHashMap<>();
     private Duration awaitDuration = null;
+    private final List<MessageInterceptor> messageInterceptors = new ArrayList<>();
 
     /**
      * @see SimpleConsumerBuilder#setClientConfiguration(ClientConfiguration)
@@ -71,6 +76,19 @@ public class SimpleConsumerBuilderImpl implements SimpleConsumerBuilder {
         return this;
     }
 
+    /**
+     * Register the message interceptor to the client before it starts, interceptors are invoked in the order of
+     * registration.
+     *
+     * @param messageInterceptor message interceptor to register.
+     * @return the builder instance.
+     */
+    @Beta
+    public SimpleConsumerBuilder addMessageInterceptor(MessageInterceptor messageInterceptor) {
+        messageInterceptors.add(checkNotNull(messageInterceptor, "messageInterceptor should not be null"));
+        return this;
+    }
+
     @Override
     public SimpleConsumer build() throws ClientException {
         checkNotNull(clientConfiguration, "clientConfiguration has not been set yet");
@@ -79,6 +97,7 @@ public class SimpleConsumerBuilderImpl implements SimpleConsumerBuilder {
         checkNotNull(awaitDuration, "awaitDuration has not been set yet");
         final SimpleConsumerImpl consumer = new SimpleConsumerImpl(clientConfiguration, consumerGroup, awaitDuration,
             subscriptionExpressions);
+        messageInterceptors.forEach(consumer::registerMessageInterceptor);
         consumer.startAsync().awaitRunning();
         return consumer;
     }
@@ -31,17 +31,21 @@ import com.google.common.util.concurrent.ListenableFuture;
 import com.google.common.util.concurrent.MoreExecutors;
 import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
 import net.javacrumbs.futureconverter.java8guava.FutureConverter;
 import org.apache.commons.lang3.RandomUtils;
 import org.apache.rocketmq.client.apis.ClientConfiguration;
 import org.apache.rocketmq.client.apis.ClientException;
+import org.apache.rocketmq.client.apis.consumer.BatchAckException;
 import org.apache.rocketmq.client.apis.consumer.FilterExpression;
 import org.apache.rocketmq.client.apis.consumer.SimpleConsumer;
 import org.apache.rocketmq.client.apis.message.MessageView;
@@ -49,6 +53,7 @@ import org.apache.rocketmq.client.java.exception.StatusChecker;
 import org.apache.rocketmq.client.java.impl.Settings;
 import org.apache.rocketmq.client.java.message.MessageViewImpl;
 import org.apache.rocketmq.client.java.message.protocol.Resource;
+import org.apache.rocketmq.client.java.route.Endpoints;
 import org.apache.rocketmq.client.java.route.MessageQueueImpl;
 import org.apache.rocketmq.client.java.route.TopicRouteData;
 import org.apache.rocketmq.client.java.rpc.RpcFuture;
@@ -249,6 +254,66 @@ class SimpleConsumerImpl extends ConsumerImpl implements SimpleConsumer {
         }, clientCallbackExecutor);
     }
 
+    /**
+     * @see SimpleConsumer#ack(List)
+     */
+    @Override
+    public void ack(List<MessageView> messageViews) throws ClientException {
+        final ListenableFuture<Void> future = ack0(messageViews);
+        handleClientFuture(future);
+    }
+
+    /**
+     * @see SimpleConsumer#ackAsync(List)
+     */
+    @Override
+    public CompletableFuture<Void> ackAsync(List<MessageView> messageViews) {
+        final ListenableFuture<Void> future = ack0(messageViews);
+        return FutureConverter.toCompletableFuture(future);
+    }
+
+    private ListenableFuture<Void> ack0(List<MessageView> messageViews) {
+        // Check consumer status.
+        if (!this.isRunning()) {
+            log.error("Unable to ack messages because simple consumer is not running, state={}, clientId={}",
+                this.state(), clientId);
+            final IllegalStateException e = new IllegalStateException("Simple consumer is not running now");
+            return Futures.immediateFailedFuture(e);
+        }
+        final List<MessageViewImpl> impls;
+        try {
+            impls = downcast(messageViews);
+        } catch (IllegalArgumentException e) {
+            return Futures.immediateFailedFuture(e);
+        }
+        // Group messages by endpoints and topic, which are exactly the constraints of one ack request.
+        Map<Endpoints, Map<String /* topic */, List<Integer>>> groups = new HashMap<>();
+        for (int i = 0; i < impls.size(); i++) {
+            final MessageViewImpl impl = impls.get(i);
+            groups.computeIfAbsent(impl.getEndpoints(), endpoints -> new HashMap<>())
+                .computeIfAbsent(impl.getTopic(), topic -> new ArrayList<>()).add(i);
+        }
+        List<ListenableFuture<Void>> futures = new ArrayList<>(Collections.nCopies(impls.size(), null));
+        for (Map.Entry<Endpoints, Map<String, List<Integer>>> entry : groups.entrySet()) {
+            final Endpoints endpoints = entry.getKey();
+            for (List<Integer> indexes : entry.getValue().values()) {
+                final List<MessageViewImpl> group = indexes.stream().map(impls::get).collect(Collectors.toList());
+                final RpcFuture<AckMessageRequest, AckMessageResponse> future = ackMessage(endpoints, group);
+                final ListenableFuture<List<AckMessageResult>> resultsFuture = Futures.transform(future,
+                    response -> AckMessageResult.fromResponse(future.getContext().getRequestId(), response, group),
+                    MoreExecutors.directExecutor());
+                for (int i = 0; i < indexes.size(); i++) {
+                    final int index = i;
+                    futures.set(indexes.get(i), Futures.transformAsync(resultsFuture, results -> {
+                        StatusChecker.check(results.get(index).getStatus(), future);
+                        return Futures.immediateVoidFuture();
+                    }, MoreExecutors.directExecutor()));
+                }
+            }
+        }
+        return allHandled(futures, "Failed to ack some or all of the messages");
+    }
+
     /**
      * @see SimpleConsumer#changeInvisibleDuration(MessageView, Duration)
      */
@@ -292,6 +357,88 @@ class SimpleConsumerImpl extends ConsumerImpl implements SimpleConsumer {
         }, MoreExecutors.directExecutor());
     }
 
+    /**
+     * @see SimpleConsumer#changeInvisibleDuration(List, Duration)
+     */
+    @Override
+    public void changeInvisibleDuration(List<MessageView> messageViews, Duration invisibleDuration)
+        throws ClientException {
+        final ListenableFuture<Void> future = changeInvisibleDuration0(messageViews, invisibleDuration);
+        handleClientFuture(future);
+    }
+
+    /**
+     * @see SimpleConsumer#changeInvisibleDurationAsync(List, Duration)
+     */
+    @Override
+    public CompletableFuture<Void> changeInvisibleDurationAsync(List<MessageView> messageViews,
+        Duration invisibleDuration) {
+        final ListenableFuture<Void> future = changeInvisibleDuration0(messageViews, invisibleDuration);
+        return FutureConverter.toCompletableFuture(future);
+    }
+
+    private ListenableFuture<Void> changeInvisibleDuration0(List<MessageView> messageViews,
+        Duration invisibleDuration) {
+        // Check consumer status.
+        if (!this.isRunning()) {
+            log.error("Unable to change invisible duration because simple consumer is not running, state={}, "
+                + "clientId={}", this.state(), clientId);
+            final IllegalStateException e = new IllegalStateException("Simple consumer is not running now");
+            return Futures.immediateFailedFuture(e);
+        }
+        try {
+            downcast(messageViews);
+        } catch (IllegalArgumentException e) {
+            return Futures.immediateFailedFuture(e);
+        }
+        // Change invisible duration request only carries one message, send them concurrently.
+        List<ListenableFuture<Void>> futures = new ArrayList<>(messageViews.size());
+        for (MessageView messageView : messageViews) {
+            futures.add(changeInvisibleDuration0(messageView, invisibleDuration));
+        }
+        return allHandled(futures, "Failed to change invisible duration of some or all of the messages");
+    }
+
+    private List<MessageViewImpl> downcast(List<MessageView> messageViews) {
+        if (messageViews.isEmpty()) {
+            throw new IllegalArgumentException("messageViews should not be empty");
+        }
+        List<MessageViewImpl> impls = new ArrayList<>(messageViews.size());
+        for (MessageView messageView : messageViews) {
+            if (!(messageView instanceof MessageViewImpl)) {
+                throw new IllegalArgumentException("Failed downcasting for messageView");
+            }
+            impls.add((MessageViewImpl) messageView);
+        }
+        return impls;
+    }
+
+    /**
+     * Combine the futures of messages, {@link BatchAckException} is raised if any of them failed.
+     */
+    private ListenableFuture<Void> allHandled(List<ListenableFuture<Void>> futures, String errorMessage) {
+        return Futures.whenAllComplete(futures).callAsync(() -> {
+            List<ClientException> failures = new ArrayList<>(futures.size());
+            boolean failed = false;
+            for (ListenableFuture<Void> future : futures) {
+                try {
+                    Futures.getDone(future);
+                    failures.add(null);
+                } catch (ExecutionException e) {
+                    final Throwable cause = e.getCause();
+                    failures.add(cause instanceof ClientException ? (ClientException) cause :
+                        new ClientException(cause));
+                    failed = true;
+                }
+            }
+            if (!failed) {
+                return Futures.immediateVoidFuture();
+            }
+            return Futures.immediateFailedFuture(new BatchAckException(errorMessage + ", clientId=" + clientId,
+                failures));
+        }, clientCallbackExecutor);
+    }
+
     /**
      * @see SimpleConsumer#close()
      */
@@ -45,26 +45,45 @@ public class StandardConsumeService extends ConsumeService {
     @Override
     public void consume(ProcessQueue pq, List<MessageViewImpl> messageViews) {
         for (MessageViewImpl messageView : messageViews) {
-            // Discard corrupted message.
-            if (messageView.isCorrupted()) {
-                log.error("Message is corrupted for standard consumption, prepare to discard it, mq={}, "
-                    + "messageId={}, clientId={}", pq.getMessageQueue(), messageView.getMessageId(), clientId);
-                pq.discardMessage(messageView);
+            if (!messageView.isCorruptionDetermined()) {
+                // Verify the checksum on the consumption thread rather than the thread of message reception, then
+                // consume the message right there instead of submitting it again.
+                consumptionExecutor.execute(() -> {
+                    if (!discardIfCorrupted(pq, messageView)) {
+                        pq.eraseMessage(messageView, consumeInline(messageView));
+                    }
+                });
                 continue;
             }
-            final ListenableFuture<ConsumeResult> future = consume(messageView);
-            Futures.addCallback(future, new FutureCallback<ConsumeResult>() {
-                @Override
-                public void onSuccess(ConsumeResult consumeResult) {
-                    pq.eraseMessage(messageView, consumeResult);
-                }
+            if (!discardIfCorrupted(pq, messageView)) {
+                consume(pq, messageView);
+            }
+        }
+    }
 
-                @Override
-                public void onFailure(Throwable t) {
-                    // Should never reach here.
-                    log.error("[Bug] Exception raised in consumption callback, clientId={}", clientId, t);
-                }
-            }, MoreExecutors.directExecutor());
+    private boolean discardIfCorrupted(ProcessQueue pq, MessageViewImpl messageView) {
+        if (!messageView.isCorrupted()) {
+            return false;
         }
+        log.error("Message is corrupted for standard consumption, prepare to discard it, mq={}, "
+            + "messageId={}, clientId={}", pq.getMessageQueue(), messageView.getMessageId(), clientId);
+        pq.discardMessage(messageView);
+        return true;
+    }
+
+    private void consume(ProcessQueue pq, MessageViewImpl messageView) {
+        final ListenableFuture<ConsumeResult> future = consume(messageView);
+        Futures.addCallback(future, new FutureCallback<ConsumeResult>() {
+            @Override
+            public void onSuccess(ConsumeResult consumeResult) {
+                pq.eraseMessage(messageView, consumeResult);
+            }
+
+            @Override
+            public void onFailure(Throwable t) {
+                // Should never reach here.
+                log.error("[Bug] Exception raised in consumption callback, clientId={}", clientId, t);
+            }
+        }, MoreExecutors.directExecutor());
     }
 }
@@ -0,0 +1,59 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.rocketmq.client.java.impl.producer;
+
+import com.google.common.base.MoreObjects;
+import java.time.Duration;
+import javax.annotation.concurrent.Immutable;
+
+/**
+ * Thresholds to flush the batch accumulated by {@link SendBatchAccumulator}, whichever is reached first.
+ */
+@Immutable
+class AutoBatchingPolicy {
+    private final int maxBatchMessageCount;
+    private final int maxBatchSizeInBytes;
+    private final Duration lingerDuration;
+
+    AutoBatchingPolicy(int maxBatchMessageCount, int maxBatchSizeInBytes, Duration lingerDuration) {
+        this.maxBatchMessageCount = maxBatchMessageCount;
+        this.maxBatchSizeInBytes = maxBatchSizeInBytes;
+        this.lingerDuration = lingerDuration;
+    }
+
+    int getMaxBatchMessageCount() {
+        return maxBatchMessageCount;
+    }
+
+    int getMaxBatchSizeInBytes() {
+        return maxBatchSizeInBytes;
+    }
+
+    Duration getLingerDuration() {
+        return lingerDuration;
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+            .add("maxBatchMessageCount", maxBatchMessageCount)
+            .add("maxBatchSizeInBytes", maxBatchSizeInBytes)
+            .add("lingerDuration", lingerDuration)
+            .toString();
+    }
+}
@@ -0,0 +1,61 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.rocketmq.client.java.impl.producer;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.apache.rocketmq.client.java.metrics.GaugeEnum;
+import org.apache.rocketmq.client.java.metrics.GaugeObserver;
+import org.apache.rocketmq.client.java.metrics.MetricKey;
+import org.apache.rocketmq.client.java.misc.ClientId;
+
+public class InflightGaugeObserver implements GaugeObserver {
+    private final InflightLimiter inflightLimiter;
+    private final MetricKey key;
+    private final List<GaugeEnum> gauges;
+
+    InflightGaugeObserver(InflightLimiter inflightLimiter, ClientId clientId) {
+        this.inflightLimiter = inflightLimiter;
+        this.key = new MetricKey(null, clientId.toString(), null, null);
+        this.gauges = new ArrayList<>();
+        gauges.add(GaugeEnum.PRODUCER_INFLIGHT_MESSAGES);
+        gauges.add(GaugeEnum.PRODUCER_INFLIGHT_BYTES);
+    }
+
+    @Override
+    public List<GaugeEnum> getGauges() {
+        return gauges;
+    }
+
+    @Override
+    public Map<MetricKey, Double> getValues(GaugeEnum gauge) {
+        Map<MetricKey, Double> map = new HashMap<>();
+        switch (gauge) {
+            case PRODUCER_INFLIGHT_MESSAGES:
+                map.put(key, (double) inflightLimiter.getInflightMessageCount());
+                return map;
+            case PRODUCER_INFLIGHT_BYTES:
+                map.put(key, (double) inflightLimiter.getInflightBytes());
+                return map;
+            default:
+                return map;
+        }
+    }
+}
@@ -0,0 +1,204 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.rocketmq.client.java.impl.producer;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.SettableFuture;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.rocketmq.client.apis.producer.BackpressurePolicy;
+import org.apache.rocketmq.client.java.exception.InflightLimitExceededException;
+
+/**
+ * Limits the count and total body size of in-flight messages of the producer.
+ *
+ * <p>Permits acquired by {@link #acquire(int, int)} must be returned by {@link #release(int, int)} with the same
+ * arguments once the send result is determined. Permits of a single request are capped by the limit, so that an
+ * oversized request would not wait forever.
+ */
+@SuppressWarnings("UnstableApiUsage")
+class InflightLimiter {
+    private final int maxMessageCount;
+    private final int maxSizeInBytes;
+    private final BackpressurePolicy policy;
+
+    private final Semaphore messagePermits;
+    private final Semaphore bytePermits;
+
+    /**
+     * Waiters of {@link BackpressurePolicy#ASYNC_WAIT} in arrival order.
+     */
+    private final Queue<Waiter> waiters;
+    /**
+     * Message count of waiters, which is bounded by {@link #maxMessageCount} as well, so that messages held by the
+     * producer never exceed twice the limit.
+     */
+    private final AtomicInteger waitingMessageCount;
+    private final AtomicInteger drainWip;
+
+    InflightLimiter(int maxMessageCount, int maxSizeInBytes, BackpressurePolicy policy) {
+        this.maxMessageCount = maxMessageCount;
+        this.maxSizeInBytes = maxSizeInBytes;
+        this.policy = policy;
+        this.messagePermits = new Semaphore(maxMessageCount);
+        this.bytePermits = new Semaphore(maxSizeInBytes);
+        this.waiters = new ConcurrentLinkedQueue<>();
+        this.waitingMessageCount = new AtomicInteger(0);
+        this.drainWip = new AtomicInteger(0);
+    }
+
+    /**
+     * Acquire permits for messages according to the {@link BackpressurePolicy}.
+     *
+     * @param count message count.
+     * @param bytes total body size of messages.
+     * @return future which is completed once permits are acquired.
+     */
+    ListenableFuture<Void> acquire(int count, int bytes) {
+        final int messages = Math.min(count, maxMessageCount);
+        final int size = Math.min(bytes, maxSizeInBytes);
+        switch (policy) {
+            case BLOCK:
+                try {
+                    messagePermits.acquire(messages);
+                    try {
+                        bytePermits.acquire(size);
+                    } catch (InterruptedException e) {
+                        messagePermits.release(messages);
+                        throw e;
+                    }
+                    return Futures.immediateVoidFuture();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return Futures.immediateFailedFuture(e);
+                }
+            case FAIL_FAST:
+                if (tryAcquire(messages, size)) {
+                    return Futures.immediateVoidFuture();
+                }
+                return Futures.immediateFailedFuture(new InflightLimitExceededException("In-flight messages exceed "
+                    + "the limit, maxMessageCount=" + maxMessageCount + ", maxSizeInBytes=" + maxSizeInBytes));
+            case ASYNC_WAIT:
+            default:
+                // Keep the arrival order if there are waiters already.
+                if (waiters.isEmpty() && tryAcquire(messages, size)) {
+                    return Futures.immediateVoidFuture();
+                }
+                if (!tryAddWaitingMessages(messages)) {
+                    return Futures.immediateFailedFuture(new InflightLimitExceededException("Messages waiting for "
+                        + "in-flight permits exceed the limit, maxMessageCount=" + maxMessageCount));
+                }
+                final Waiter waiter = new Waiter(messages, size);
+                waiters.add(waiter);
+                drain();
+                return waiter.future;
+        }
+    }
+
+    void release(int count, int bytes) {
+        messagePermits.release(Math.min(count, maxMessageCount));
+        bytePermits.release(Math.min(bytes, maxSizeInBytes));
+        if (!waiters.isEmpty()) {
+            drain();
+        }
+    }
+
+    int getInflightMessageCount() {
+        return maxMessageCount - messagePermits.availablePermits();
+    }
+
+    int getInflightBytes() {
+        return maxSizeInBytes - bytePermits.availablePermits();
+    }
+
+    private boolean tryAddWaitingMessages(int messages) {
+        while (true) {
+            final int waiting = waitingMessageCount.get();
+            if (waiting + messages > maxMessageCount) {
+                return false;
+            }
+            if (waitingMessageCount.compareAndSet(waiting, waiting + messages)) {
+                return true;
+            }
+        }
+    }
+
+    int getWaitingMessageCount() {
+        return waitingMessageCount.get();
+    }
+
+    private boolean tryAcquire(int messages, int size) {
+        if (!messagePermits.tryAcquire(messages)) {
+            return false;
+        }
+        if (!bytePermits.tryAcquire(size)) {
+            messagePermits.release(messages);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Hand over permits to waiters in order, only one thread drains at a time and the others leave a mark to make
+     * it drain once again.
+     */
+    private void drain() {
+        if (0 != drainWip.getAndIncrement()) {
+            return;
+        }
+        int missed = 1;
+        do {
+            Waiter waiter;
+            while (null != (waiter = waiters.peek()) && tryAcquire(waiter.messages, waiter.size)) {
+                waiters.poll();
+                waitingMessageCount.addAndGet(-waiter.messages);
+                // The waiter may be cancelled already.
+                if (!waiter.future.set(null)) {
+                    messagePermits.release(waiter.messages);
+                    bytePermits.release(waiter.size);
+                }
+            }
+            missed = drainWip.addAndGet(-missed);
+        } while (0 != missed);
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+            .add("maxMessageCount", maxMessageCount)
+            .add("maxSizeInBytes", maxSizeInBytes)
+            .add("policy", policy)
+            .toString();
+    }
+
+    private static class Waiter {
+        private final int messages;
+        private final int size;
+        private final SettableFuture<Void> future;
+
+        private Waiter(int messages, int size) {
+            this.messages = messages;
+            this.size = size;
+            this.future = SettableFuture.create();
+        }
+    }
+}
@@ -20,14 +20,23 @@ package org.apache.rocketmq.client.java.impl.producer;
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
 
+import com.google.common.annotations.Beta;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
+import java.util.zip.Deflater;
 import org.apache.rocketmq.client.apis.ClientConfiguration;
+import org.apache.rocketmq.client.apis.producer.BackpressurePolicy;
+import org.apache.rocketmq.client.apis.producer.CompressionCodec;
 import org.apache.rocketmq.client.apis.producer.Producer;
 import org.apache.rocketmq.client.apis.producer.ProducerBuilder;
 import org.apache.rocketmq.client.apis.producer.TransactionChecker;
+import org.apache.rocketmq.client.java.hook.MessageInterceptor;
+import org.apache.rocketmq.client.java.message.CompressionPolicy;
 import org.apache.rocketmq.client.java.message.MessageBuilderImpl;
 
 /**
@@ -38,6 +47,12 @@ public class ProducerBuilderImpl implements ProducerBuilder {
     private final Set<String> topics = new HashSet<>();
     private int maxAttempts = 3;
     private TransactionChecker checker = null;
+    private AutoBatchingPolicy autoBatchingPolicy = null;
+    private int maxInflightMessageCount = 0;
+    private int maxInflightSizeInBytes = 0;
+    private BackpressurePolicy backpressurePolicy = null;
+    private CompressionPolicy compressionPolicy = null;
+    private final List<MessageInterceptor> messageInterceptors = new ArrayList<>();
 
     public ProducerBuilderImpl() {
     }
@@ -83,13 +98,71 @@ public class ProducerBuilderImpl implements ProducerBuilder {
         return this;
     }
 
+    /**
+     * @see ProducerBuilder#enableAutoBatching(int, int, Duration)
+     */
+    @Override
+    public ProducerBuilder enableAutoBatching(int maxBatchMessageCount, int maxBatchSizeInBytes,
+        Duration lingerDuration) {
+        checkArgument(maxBatchMessageCount > 0, "maxBatchMessageCount should be positive");
+        checkArgument(maxBatchSizeInBytes > 0, "maxBatchSizeInBytes should be positive");
+        checkNotNull(lingerDuration, "lingerDuration should not be null");
+        checkArgument(!lingerDuration.isNegative(), "lingerDuration should not be negative");
+        this.autoBatchingPolicy = new AutoBatchingPolicy(maxBatchMessageCount, maxBatchSizeInBytes, lingerDuration);
+        return this;
+    }
+
+    /**
+     * @see ProducerBuilder#setInflightLimit(int, int, BackpressurePolicy)
+     */
+    @Override
+    public ProducerBuilder setInflightLimit(int maxInflightMessageCount, int maxInflightSizeInBytes,
+        BackpressurePolicy policy) {
+        checkArgument(maxInflightMessageCount > 0, "maxInflightMessageCount should be positive");
+        checkArgument(maxInflightSizeInBytes > 0, "maxInflightSizeInBytes should be positive");
+        this.backpressurePolicy = checkNotNull(policy, "policy should not be null");
+        this.maxInflightMessageCount = maxInflightMessageCount;
+        this.maxInflightSizeInBytes = maxInflightSizeInBytes;
+        return this;
+    }
+
+    /**
+     * @see ProducerBuilder#enableCompression(int, CompressionCodec, int)
+     */
+    @Override
+    public ProducerBuilder enableCompression(int thresholdSizeInBytes, CompressionCodec codec, int level) {
+        checkArgument(thresholdSizeInBytes >= 0, "thresholdSizeInBytes should not be negative");
+        checkNotNull(codec, "codec should not be null");
+        checkArgument(level >= Deflater.BEST_SPEED && level <= Deflater.BEST_COMPRESSION,
+            "level should be in [1, 9]");
+        this.compressionPolicy = new CompressionPolicy(thresholdSizeInBytes, codec, level);
+        return this;
+    }
+
+    /**
+     * Register the message interceptor to the client before it starts, interceptors are invoked in the order of
+     * registration.
+     *
+     * @param messageInterceptor message interceptor to register.
+     * @return the builder instance.
+     */
+    @Beta
+    public ProducerBuilder addMessageInterceptor(MessageInterceptor messageInterceptor) {
+        messageInterceptors.add(checkNotNull(messageInterceptor, "messageInterceptor should not be null"));
+        return this;
+    }
+
     /**
      * @see ProducerBuilder#build()
      */
     @Override
     public Producer build() {
         checkNotNull(clientConfiguration, "clientConfiguration has not been set yet");
-        final ProducerImpl producer = new ProducerImpl(clientConfiguration, topics, maxAttempts, checker);
+        final InflightLimiter inflightLimiter = null == backpressurePolicy ? null :
+            new InflightLimiter(maxInflightMessageCount, maxInflightSizeInBytes, backpressurePolicy);
+        final ProducerImpl producer = new ProducerImpl(clientConfiguration, topics, maxAttempts, checker,
+            autoBatchingPolicy, inflightLimiter, compressionPolicy);
+        messageInterceptors.forEach(producer::registerMessageInterceptor);
         producer.startAsync().awaitRunning();
         return producer;
     }
@@ -48,12 +48,15 @@ import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
+import javax.annotation.Nullable;
 import net.javacrumbs.futureconverter.java8guava.FutureConverter;
 import org.apache.rocketmq.client.apis.ClientConfiguration;
 import org.apache.rocketmq.client.apis.ClientException;
 import org.apache.rocketmq.client.apis.message.Message;
 import org.apache.rocketmq.client.apis.message.MessageId;
+import org.apache.rocketmq.client.apis.producer.BatchSendException;
 import org.apache.rocketmq.client.apis.producer.Producer;
 import org.apache.rocketmq.client.apis.producer.SendReceipt;
 import org.apache.rocketmq.client.apis.producer.Transaction;
@@ -66,11 +69,13 @@ import org.apache.rocketmq.client.java.hook.MessageHookPointsStatus;
 import org.apache.rocketmq.client.java.hook.MessageInterceptorContextImpl;
 import org.apache.rocketmq.client.java.impl.ClientImpl;
 import org.apache.rocketmq.client.java.impl.Settings;
+import org.apache.rocketmq.client.java.message.CompressionPolicy;
 import org.apache.rocketmq.client.java.message.GeneralMessage;
 import org.apache.rocketmq.client.java.message.GeneralMessageImpl;
 import org.apache.rocketmq.client.java.message.MessageType;
 import org.apache.rocketmq.client.java.message.MessageViewImpl;
 import org.apache.rocketmq.client.java.message.PublishingMessageImpl;
+import org.apache.rocketmq.client.java.metrics.GaugeObserver;
 import org.apache.rocketmq.client.java.retry.ExponentialBackoffRetryPolicy;
 import org.apache.rocketmq.client.java.retry.RetryPolicy;
 import org.apache.rocketmq.client.java.route.Endpoints;
@@ -92,25 +97,45 @@ class ProducerImpl extends ClientImpl implements Producer {
     protected final PublishingSettings publishingSettings;
     final ConcurrentMap<String/* topic */, PublishingLoadBalancer> publishingRouteDataCache;
     private final TransactionChecker checker;
+    @Nullable
+    private final SendBatchAccumulator sendBatchAccumulator;
+    @Nullable
+    private final InflightLimiter inflightLimiter;
+    @Nullable
+    final CompressionPolicy compressionPolicy;
+
+    ProducerImpl(ClientConfiguration clientConfiguration, Set<String> topics, int maxAttempts,
+        TransactionChecker checker) {
+        this(clientConfiguration, topics, maxAttempts, checker, null, null, null);
+    }
 
     /**
      * The caller is supposed to have validated the arguments and handled throwing exception or
      * logging warnings already, so we avoid repeating args check here.
      */
     ProducerImpl(ClientConfiguration clientConfiguration, Set<String> topics, int maxAttempts,
-        TransactionChecker checker) {
+        TransactionChecker checker, @Nullable AutoBatchingPolicy autoBatchingPolicy,
+        @Nullable InflightLimiter inflightLimiter, @Nullable CompressionPolicy compressionPolicy) {
         super(clientConfiguration, topics);
         ExponentialBackoffRetryPolicy retryPolicy = ExponentialBackoffRetryPolicy.immediatelyRetryPolicy(maxAttempts);
         this.publishingSettings = new PublishingSettings(clientConfiguration.getNamespace(), clientId, endpoints,
             retryPolicy, clientConfiguration.getRequestTimeout(), topics);
         this.checker = checker;
         this.publishingRouteDataCache = new ConcurrentHashMap<>();
+        this.sendBatchAccumulator = null == autoBatchingPolicy ? null :
+            new SendBatchAccumulator(this, autoBatchingPolicy);
+        this.inflightLimiter = inflightLimiter;
+        this.compressionPolicy = compressionPolicy;
     }
 
     @Override
     protected void startUp() throws Exception {
         try {
             log.info("Begin to start the rocketmq producer, clientId={}", clientId);
+            if (null != inflightLimiter) {
+                GaugeObserver gaugeObserver = new InflightGaugeObserver(inflightLimiter, clientId);
+                this.clientMeterManager.setGaugeObserver(gaugeObserver);
+            }
             super.startUp();
             log.info("The rocketmq producer starts successfully, clientId={}", clientId);
         } catch (Throwable t) {
@@ -123,6 +148,9 @@ class ProducerImpl extends ClientImpl implements Producer {
     @Override
     protected void shutDown() throws InterruptedException {
         log.info("Begin to shutdown the rocketmq producer, clientId={}", clientId);
+        if (null != sendBatchAccumulator) {
+            sendBatchAccumulator.flushAll();
+        }
         super.shutDown();
         log.info("Shutdown the rocketmq producer successfully, clientId={}", clientId);
     }
@@ -231,11 +259,34 @@ class ProducerImpl extends ClientImpl implements Producer {
      */
     @Override
     public CompletableFuture<SendReceipt> sendAsync(Message message) {
+        if (null != sendBatchAccumulator) {
+            return FutureConverter.toCompletableFuture(sendWithBatching(message));
+        }
         final ListenableFuture<SendReceipt> future = Futures.transform(send(Collections.singletonList(message), false),
             sendReceipts -> sendReceipts.iterator().next(), MoreExecutors.directExecutor());
         return FutureConverter.toCompletableFuture(future);
     }
 
+    /**
+     * @see Producer#send(List)
+     */
+    @Override
+    public List<SendReceipt> send(List<Message> messages) throws ClientException {
+        final ListenableFuture<List<SendReceipt>> future = Futures.transform(send(messages, false),
+            ArrayList::new, MoreExecutors.directExecutor());
+        return handleClientFuture(future);
+    }
+
+    /**
+     * @see Producer#sendAsync(List)
+     */
+    @Override
+    public CompletableFuture<List<SendReceipt>> sendAsync(List<Message> messages) {
+        final ListenableFuture<List<SendReceipt>> future = Futures.transform(send(messages, false),
+            ArrayList::new, MoreExecutors.directExecutor());
+        return FutureConverter.toCompletableFuture(future);
+    }
+
     /**
      * @see Producer#beginTransaction()
      */
@@ -275,33 +326,39 @@ class ProducerImpl extends ClientImpl implements Producer {
         }
         final Duration requestTimeout = clientConfiguration.getRequestTimeout();
         final EndTransactionRequest request = builder.build();
-        final List<GeneralMessage> generalMessages = Collections.singletonList(generalMessage);
         MessageHookPoints messageHookPoints = TransactionResolution.COMMIT.equals(resolution) ?
             MessageHookPoints.COMMIT_TRANSACTION : MessageHookPoints.ROLLBACK_TRANSACTION;
-        final MessageInterceptorContextImpl context = new MessageInterceptorContextImpl(messageHookPoints);
-        doBefore(context, generalMessages);
+        final boolean intercepted = isSubscribed(messageHookPoints);
+        final List<GeneralMessage> generalMessages = intercepted ? Collections.singletonList(generalMessage) : null;
+        final MessageInterceptorContextImpl context = intercepted ?
+            new MessageInterceptorContextImpl(messageHookPoints) : null;
+        if (intercepted) {
+            doBefore(context, generalMessages);
+        }
 
         final RpcFuture<EndTransactionRequest, EndTransactionResponse> future =
             this.getClientManager().endTransaction(endpoints, request, requestTimeout);
-        Futures.addCallback(future, new FutureCallback<EndTransactionResponse>() {
-            @Override
-            public void onSuccess(EndTransactionResponse response) {
-                final Status status = response.getStatus();
-                final Code code = status.getCode();
-                MessageHookPointsStatus hookPointsStatus = Code.OK.equals(code) ? MessageHookPointsStatus.OK :
-                    MessageHookPointsStatus.ERROR;
-                final MessageInterceptorContextImpl context0 = new MessageInterceptorContextImpl(context,
-                    hookPointsStatus);
-                doAfter(context0, generalMessages);
-            }
+        if (intercepted) {
+            Futures.addCallback(future, new FutureCallback<EndTransactionResponse>() {
+                @Override
+                public void onSuccess(EndTransactionResponse response) {
+                    final Status status = response.getStatus();
+                    final Code code = status.getCode();
+                    MessageHookPointsStatus hookPointsStatus = Code.OK.equals(code) ? MessageHookPointsStatus.OK :
+                        MessageHookPointsStatus.ERROR;
+                    final MessageInterceptorContextImpl context0 = new MessageInterceptorContextImpl(context,
+                        hookPointsStatus);
+                    doAfter(context0, generalMessages);
+                }
 
-            @Override
-            public void onFailure(Throwable t) {
-                final MessageInterceptorContextImpl context0 = new MessageInterceptorContextImpl(context,
-                    MessageHookPointsStatus.ERROR);
-                doAfter(context0, generalMessages);
-            }
-        }, MoreExecutors.directExecutor());
+                @Override
+                public void onFailure(Throwable t) {
+                    final MessageInterceptorContextImpl context0 = new MessageInterceptorContextImpl(context,
+                        MessageHookPointsStatus.ERROR);
+                    doAfter(context0, generalMessages);
+                }
+            }, MoreExecutors.directExecutor());
+        }
         final EndTransactionResponse response = handleClientFuture(future);
         final Status status = response.getStatus();
         final Code code = status.getCode();
@@ -328,6 +385,54 @@ class ProducerImpl extends ClientImpl implements Producer {
         return result.takeMessageQueues(isolated, this.getRetryPolicy().getMaxAttempts());
     }
 
+    private ListenableFuture<SendReceipt> sendWithBatching(Message message) {
+        // Check producer state before message accumulating.
+        if (!this.isRunning()) {
+            final IllegalStateException e = new IllegalStateException("Producer is not running now");
+            log.error("Unable to send message because producer is not running, state={}, clientId={}",
+                this.state(), clientId);
+            return Futures.immediateFailedFuture(e);
+        }
+        final PublishingMessageImpl pubMessage;
+        try {
+            pubMessage = new PublishingMessageImpl(message, publishingSettings, false, compressionPolicy);
+        } catch (Throwable t) {
+            // Failed to refine message, no need to proceed.
+            log.error("Failed to refine message to send, clientId={}, message={}", clientId, message, t);
+            return Futures.immediateFailedFuture(t);
+        }
+        return sendWithinInflightLimit(Collections.singletonList(pubMessage),
+            () -> sendBatchAccumulator.append(pubMessage));
+    }
+
+    /**
+     * Send messages once the permits of in-flight messages are acquired, and release them after the send result is
+     * determined.
+     */
+    private <T> ListenableFuture<T> sendWithinInflightLimit(List<PublishingMessageImpl> pubMessages,
+        Supplier<ListenableFuture<T>> sender) {
+        if (null == inflightLimiter) {
+            return sender.get();
+        }
+        final int count = pubMessages.size();
+        int bytes = 0;
+        for (PublishingMessageImpl pubMessage : pubMessages) {
+            bytes += pubMessage.getBody().remaining();
+        }
+        final int totalBytes = bytes;
+        return Futures.transformAsync(inflightLimiter.acquire(count, totalBytes), ignored -> {
+            final ListenableFuture<T> future;
+            try {
+                future = sender.get();
+            } catch (Throwable t) {
+                inflightLimiter.release(count, totalBytes);
+                throw t;
+            }
+            future.addListener(() -> inflightLimiter.release(count, totalBytes), MoreExecutors.directExecutor());
+            return future;
+        }, MoreExecutors.directExecutor());
+    }
+
     private ListenableFuture<List<SendReceiptImpl>> send(List<Message> messages, boolean txEnabled) {
         SettableFuture<List<SendReceiptImpl>> future = SettableFuture.create();
 
@@ -340,11 +445,17 @@ class ProducerImpl extends ClientImpl implements Producer {
             return future;
         }
 
+        if (messages.isEmpty()) {
+            final IllegalArgumentException e = new IllegalArgumentException("Messages to send should not be empty");
+            future.setException(e);
+            return future;
+        }
+
         List<PublishingMessageImpl> pubMessages = new ArrayList<>();
         for (Message message : messages) {
             try {
                 final PublishingMessageImpl pubMessage = new PublishingMessageImpl(message, publishingSettings,
-                    txEnabled);
+                    txEnabled, compressionPolicy);
                 pubMessages.add(pubMessage);
             } catch (Throwable t) {
                 // Failed to refine message, no need to proceed.
@@ -401,7 +512,14 @@ class ProducerImpl extends ClientImpl implements Producer {
         } else {
             messageGroup = null;
         }
+        return sendWithinInflightLimit(pubMessages, () -> send(topic, messageType, messageGroup, pubMessages));
+    }
 
+    /**
+     * The caller is supposed to make sure different messages have the same topic, message type and message group.
+     */
+    ListenableFuture<List<SendReceiptImpl>> send(String topic, MessageType messageType, @Nullable String messageGroup,
+        List<PublishingMessageImpl> pubMessages) {
         this.topics.add(topic);
         // Get publishing topic route.
         final ListenableFuture<PublishingLoadBalancer> routeFuture = getPublishingLoadBalancer(topic);
@@ -454,11 +572,16 @@ class ProducerImpl extends ClientImpl implements Producer {
         final ListenableFuture<List<SendReceiptImpl>> future = send0(endpoints, messages, mq);
         final int maxAttempts = this.getRetryPolicy().getMaxAttempts();
 
-        // Intercept before message publishing.
-        final List<GeneralMessage> generalMessages = messages.stream().map((Function<PublishingMessageImpl,
-            GeneralMessage>) GeneralMessageImpl::new).collect(Collectors.toList());
-        final MessageInterceptorContextImpl context = new MessageInterceptorContextImpl(MessageHookPoints.SEND);
-        doBefore(context, generalMessages);
+        // Intercept before message publishing, nothing is created for interception unless it is subscribed.
+        final boolean intercepted = isSubscribed(MessageHookPoints.SEND);
+        final List<GeneralMessage> generalMessages = intercepted ? messages.stream()
+            .map((Function<PublishingMessageImpl, GeneralMessage>) GeneralMessageImpl::new)
+            .collect(Collectors.toList()) : null;
+        final MessageInterceptorContextImpl context = intercepted ?
+            new MessageInterceptorContextImpl(MessageHookPoints.SEND) : null;
+        if (intercepted) {
+            doBefore(context, generalMessages);
+        }
 
         Futures.addCallback(future, new FutureCallback<List<SendReceiptImpl>>() {
             @Override
@@ -471,16 +594,20 @@ class ProducerImpl extends ClientImpl implements Producer {
                     future0.setException(e);
 
                     // Intercept after message publishing.
-                    final MessageInterceptorContextImpl context0 = new MessageInterceptorContextImpl(context,
-                        MessageHookPointsStatus.ERROR);
-                    doAfter(context0, generalMessages);
+                    if (intercepted) {
+                        final MessageInterceptorContextImpl context0 = new MessageInterceptorContextImpl(context,
+                            MessageHookPointsStatus.ERROR);
+                        doAfter(context0, generalMessages);
+                    }
 
                     return;
                 }
                 // Intercept after message publishing.
-                final MessageInterceptorContextImpl context0 = new MessageInterceptorContextImpl(context,
-                    MessageHookPointsStatus.OK);
-                doAfter(context0, generalMessages);
+                if (intercepted) {
+                    final MessageInterceptorContextImpl context0 = new MessageInterceptorContextImpl(context,
+                        MessageHookPointsStatus.OK);
+                    doAfter(context0, generalMessages);
+                }
 
                 // No need more attempts.
                 future0.set(sendReceipts);
@@ -501,15 +628,25 @@ class ProducerImpl extends ClientImpl implements Producer {
             @Override
             public void onFailure(Throwable t) {
                 // Intercept after message publishing.
-                final MessageInterceptorContextImpl context0 = new MessageInterceptorContextImpl(context,
-                    MessageHookPointsStatus.ERROR);
-                doAfter(context0, generalMessages);
+                if (intercepted) {
+                    final MessageInterceptorContextImpl context0 = new MessageInterceptorContextImpl(context,
+                        MessageHookPointsStatus.ERROR);
+                    doAfter(context0, generalMessages);
+                }
 
                 // Collect messageId(s) for logging.
                 List<MessageId> messageIds = new ArrayList<>();
                 for (PublishingMessageImpl message : messages) {
                     messageIds.add(message.getMessageId());
                 }
+                // No need more attempts because part of messages have been accepted by the server.
+                if (t instanceof BatchSendException) {
+                    future0.setException(t);
+                    log.error("Failed to send part of messages, no need to resend them, attempt={}, topic={}, "
+                        + "messageId(s)={}, endpoints={}, clientId={}", attempt, topic, messageIds, endpoints,
+                        clientId, t);
+                    return;
+                }
                 // Isolate endpoints because of sending failure.
                 isolate(endpoints);
                 if (attempt >= maxAttempts) {
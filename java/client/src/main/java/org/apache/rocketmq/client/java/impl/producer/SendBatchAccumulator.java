@@ -0,0 +1,234 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.rocketmq.client.java.impl.producer;
+
+import com.google.common.base.Objects;
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.SettableFuture;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.Nullable;
+import org.apache.rocketmq.client.apis.producer.BatchSendException;
+import org.apache.rocketmq.client.apis.producer.SendReceipt;
+import org.apache.rocketmq.client.java.message.MessageType;
+import org.apache.rocketmq.client.java.message.PublishingMessageImpl;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Accumulates messages sent asynchronously into batches, each batch is published by one {@link
+ * apache.rocketmq.v2.SendMessageRequest} and its send receipts are fanned out to the message futures.
+ *
+ * <p>Messages are grouped by topic, message type and message group, which are exactly the constraints of one send
+ * request, a batch is flushed once any threshold of {@link AutoBatchingPolicy} is reached.
+ */
+@SuppressWarnings({"UnstableApiUsage", "NullableProblems"})
+class SendBatchAccumulator {
+    private static final Logger log = LoggerFactory.getLogger(SendBatchAccumulator.class);
+
+    private final ProducerImpl producer;
+    private final AutoBatchingPolicy policy;
+    private final ConcurrentMap<BatchKey, Batch> batches;
+    /**
+     * Indicates whether {@link #flushAll()} is invoked, messages are not accepted anymore after that.
+     */
+    private volatile boolean closed;
+
+    SendBatchAccumulator(ProducerImpl producer, AutoBatchingPolicy policy) {
+        this.producer = producer;
+        this.policy = policy;
+        this.batches = new ConcurrentHashMap<>();
+        this.closed = false;
+    }
+
+    /**
+     * Append message to the batch it belongs to.
+     *
+     * @param message message to send.
+     * @return future of the send receipt, which is completed once the whole batch is sent, or failed if the
+     * accumulator is closed.
+     */
+    ListenableFuture<SendReceipt> append(PublishingMessageImpl message) {
+        if (closed) {
+            return Futures.immediateFailedFuture(new IllegalStateException("Producer is not running now"));
+        }
+        final BatchKey key = new BatchKey(message.getTopic(), message.getMessageType(),
+            message.getMessageGroup().orElse(null));
+        final SettableFuture<SendReceipt> future = SettableFuture.create();
+        final int bodySize = message.getBody().remaining();
+        // At most two batches are ready: the previous one without room for the message, and the new one.
+        final Batch[] readyBatches = new Batch[2];
+        batches.compute(key, (k, batch) -> {
+            if (null != batch && batch.sizeInBytes + bodySize > policy.getMaxBatchSizeInBytes()) {
+                readyBatches[0] = batch;
+                batch = null;
+            }
+            if (null == batch) {
+                batch = new Batch(k);
+                final Batch lingerBatch = batch;
+                batch.lingerFuture = producer.getScheduler().schedule(() -> expire(lingerBatch),
+                    policy.getLingerDuration().toNanos(), TimeUnit.NANOSECONDS);
+            }
+            batch.messages.add(message);
+            batch.futures.add(future);
+            batch.sizeInBytes += bodySize;
+            if (batch.messages.size() >= policy.getMaxBatchMessageCount()
+                || batch.sizeInBytes >= policy.getMaxBatchSizeInBytes()) {
+                readyBatches[1] = batch;
+                return null;
+            }
+            return batch;
+        });
+        for (Batch batch : readyBatches) {
+            if (null != batch) {
+                flush(batch);
+            }
+        }
+        // The message may be appended while flushAll() is running, if so, the batch may be missed by it and is
+        // flushed here. Otherwise the message is appended before flushAll() starts, which must see the batch.
+        if (closed) {
+            final Batch batch = batches.remove(key);
+            if (null != batch) {
+                flush(batch);
+            }
+        }
+        return future;
+    }
+
+    /**
+     * Flush all accumulated batches immediately and reject messages appended afterwards, which is invoked before the
+     * producer is shutdown.
+     */
+    void flushAll() {
+        closed = true;
+        for (BatchKey key : batches.keySet()) {
+            final Batch batch = batches.remove(key);
+            if (null != batch) {
+                flush(batch);
+            }
+        }
+    }
+
+    private void expire(Batch batch) {
+        // The batch may be flushed already because of size threshold.
+        if (batches.remove(batch.key, batch)) {
+            flush(batch);
+        }
+    }
+
+    private void flush(Batch batch) {
+        final ScheduledFuture<?> lingerFuture = batch.lingerFuture;
+        if (null != lingerFuture) {
+            lingerFuture.cancel(false);
+        }
+        final List<SettableFuture<SendReceipt>> futures = batch.futures;
+        final ListenableFuture<List<SendReceiptImpl>> future;
+        try {
+            future = producer.send(batch.key.topic, batch.key.messageType, batch.key.messageGroup, batch.messages);
+        } catch (Throwable t) {
+            // Should never reach here.
+            log.error("[Bug] Exception raised while sending batch, topic={}, clientId={}", batch.key.topic,
+                producer.getClientId(), t);
+            futures.forEach(f -> f.setException(t));
+            return;
+        }
+        Futures.addCallback(future, new FutureCallback<List<SendReceiptImpl>>() {
+            @Override
+            public void onSuccess(List<SendReceiptImpl> sendReceipts) {
+                // Receipts are in the same order as messages, the quantity is verified before.
+                for (int i = 0; i < futures.size(); i++) {
+                    futures.get(i).set(sendReceipts.get(i));
+                }
+            }
+
+            @Override
+            public void onFailure(Throwable t) {
+                if (!(t instanceof BatchSendException)) {
+                    futures.forEach(f -> f.setException(t));
+                    return;
+                }
+                // Part of the messages are sent successfully.
+                final BatchSendException e = (BatchSendException) t;
+                for (int i = 0; i < futures.size(); i++) {
+                    final SendReceipt sendReceipt = e.getSendReceipts().get(i);
+                    if (null != sendReceipt) {
+                        futures.get(i).set(sendReceipt);
+                        continue;
+                    }
+                    futures.get(i).setException(e.getFailures().get(i));
+                }
+            }
+        }, MoreExecutors.directExecutor());
+    }
+
+    /**
+     * Messages in the same batch, which is only mutated while it is held by {@link #batches}.
+     */
+    private static class Batch {
+        private final BatchKey key;
+        private final List<PublishingMessageImpl> messages;
+        private final List<SettableFuture<SendReceipt>> futures;
+        private int sizeInBytes;
+        private volatile ScheduledFuture<?> lingerFuture;
+
+        private Batch(BatchKey key) {
+            this.key = key;
+            this.messages = new ArrayList<>();
+            this.futures = new ArrayList<>();
+            this.sizeInBytes = 0;
+        }
+    }
+
+    private static class BatchKey {
+        private final String topic;
+        private final MessageType messageType;
+        @Nullable
+        private final String messageGroup;
+
+        private BatchKey(String topic, MessageType messageType, @Nullable String messageGroup) {
+            this.topic = topic;
+            this.messageType = messageType;
+            this.messageGroup = messageGroup;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            BatchKey that = (BatchKey) o;
+            return Objects.equal(topic, that.topic) && messageType == that.messageType
+                && Objects.equal(messageGroup, that.messageGroup);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hashCode(topic, messageType, messageGroup);
+        }
+    }
+}
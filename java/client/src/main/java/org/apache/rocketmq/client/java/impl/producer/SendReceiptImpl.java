@@ -29,6 +29,7 @@ import java.util.List;
 import java.util.Optional;
 import org.apache.rocketmq.client.apis.ClientException;
 import org.apache.rocketmq.client.apis.message.MessageId;
+import org.apache.rocketmq.client.apis.producer.BatchSendException;
 import org.apache.rocketmq.client.apis.producer.SendReceipt;
 import org.apache.rocketmq.client.java.exception.StatusChecker;
 import org.apache.rocketmq.client.java.message.MessageIdCodec;
@@ -76,6 +77,12 @@ public class SendReceiptImpl implements SendReceipt {
         Status status = response.getStatus();
         List<SendReceiptImpl> sendReceipts = new ArrayList<>();
         final List<SendResultEntry> entries = response.getEntriesList();
+        final long abnormalCount = entries.stream().filter(entry -> !Code.OK.equals(entry.getStatus().getCode()))
+            .count();
+        // Part of the messages are accepted by the server, which should not be retried as a whole.
+        if (0 < abnormalCount && abnormalCount < entries.size() && isOk(status)) {
+            throw toBatchSendException(mq, entries, future);
+        }
         // Filter abnormal status.
         final Optional<Status> abnormalStatus = entries.stream()
             .map(SendResultEntry::getStatus).filter((Predicate<Status>) s -> !s.getCode().equals(Code.OK)).findFirst();
@@ -93,6 +100,30 @@ public class SendReceiptImpl implements SendReceipt {
         return sendReceipts;
     }
 
+    private static boolean isOk(Status status) {
+        final Code code = status.getCode();
+        return Code.OK.equals(code) || Code.MULTIPLE_RESULTS.equals(code);
+    }
+
+    private static BatchSendException toBatchSendException(MessageQueueImpl mq, List<SendResultEntry> entries,
+        RpcFuture<SendMessageRequest, SendMessageResponse> future) {
+        List<SendReceipt> sendReceipts = new ArrayList<>(entries.size());
+        List<ClientException> failures = new ArrayList<>(entries.size());
+        for (SendResultEntry entry : entries) {
+            try {
+                StatusChecker.check(entry.getStatus(), future);
+                final MessageId messageId = MessageIdCodec.getInstance().decode(entry.getMessageId());
+                sendReceipts.add(new SendReceiptImpl(messageId, entry.getTransactionId(), mq, entry.getOffset()));
+                failures.add(null);
+            } catch (ClientException e) {
+                sendReceipts.add(null);
+                failures.add(e);
+            }
+        }
+        return new BatchSendException("Part of the messages failed to send, requestId="
+            + future.getContext().getRequestId(), sendReceipts, failures);
+    }
+
     @Override
     public String toString() {
         return MoreObjects.toStringHelper(this)
@@ -67,7 +67,7 @@ class TransactionImpl implements Transaction {
                     MAX_MESSAGE_NUM);
             }
             final PublishingMessageImpl publishingMessage = new PublishingMessageImpl(message,
-                producerImpl.publishingSettings, true);
+                producerImpl.publishingSettings, true, producerImpl.compressionPolicy);
             messages.add(publishingMessage);
             return publishingMessage;
         } finally {
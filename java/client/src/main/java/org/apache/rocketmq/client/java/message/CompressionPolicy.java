@@ -0,0 +1,90 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.rocketmq.client.java.message;
+
+import com.google.common.base.MoreObjects;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.Immutable;
+import org.apache.rocketmq.client.apis.producer.CompressionCodec;
+import org.apache.rocketmq.client.java.message.protocol.Encoding;
+import org.apache.rocketmq.client.java.misc.DeflaterPool;
+
+/**
+ * Policy to compress the message body before publishing.
+ */
+@Immutable
+public class CompressionPolicy {
+    private final int thresholdSizeInBytes;
+    private final CompressionCodec codec;
+    private final int level;
+
+    public CompressionPolicy(int thresholdSizeInBytes, CompressionCodec codec, int level) {
+        this.thresholdSizeInBytes = thresholdSizeInBytes;
+        this.codec = codec;
+        this.level = level;
+    }
+
+    /**
+     * Compress the message body if it is worthwhile.
+     *
+     * @param body message body.
+     * @return compressed body, or null if the body is supposed to be sent as it is.
+     */
+    @Nullable
+    byte[] compress(byte[] body) {
+        if (body.length < thresholdSizeInBytes) {
+            return null;
+        }
+        switch (codec) {
+            case GZIP:
+                return DeflaterPool.getInstance(level).compress(body);
+            default:
+                return null;
+        }
+    }
+
+    Encoding getEncoding() {
+        switch (codec) {
+            case GZIP:
+                return Encoding.GZIP;
+            default:
+                return Encoding.IDENTITY;
+        }
+    }
+
+    public int getThresholdSizeInBytes() {
+        return thresholdSizeInBytes;
+    }
+
+    public CompressionCodec getCodec() {
+        return codec;
+    }
+
+    public int getLevel() {
+        return level;
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+            .add("thresholdSizeInBytes", thresholdSizeInBytes)
+            .add("codec", codec)
+            .add("level", level)
+            .toString();
+    }
+}
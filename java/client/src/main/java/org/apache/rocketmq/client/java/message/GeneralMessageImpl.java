@@ -17,6 +17,8 @@
 
 package org.apache.rocketmq.client.java.message;
 
+import com.google.protobuf.ByteString;
+import com.google.protobuf.UnsafeByteOperations;
 import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Collection;
@@ -30,7 +32,7 @@ import org.apache.rocketmq.client.apis.message.MessageView;
 public class GeneralMessageImpl implements GeneralMessage {
     private final String topic;
     private final MessageId messageId;
-    private final byte[] body;
+    private final ByteString body;
     private final Map<String, String> properties;
     private final String tag;
     private final Collection<String> keys;
@@ -47,12 +49,10 @@ public class GeneralMessageImpl implements GeneralMessage {
         this.messageId = null;
         if (message instanceof MessageImpl) {
             MessageImpl impl = (MessageImpl) message;
-            this.body = impl.body;
+            this.body = UnsafeByteOperations.unsafeWrap(impl.body);
         } else {
             // Should never reach here.
-            final ByteBuffer byteBuffer = message.getBody();
-            this.body = new byte[byteBuffer.remaining()];
-            byteBuffer.get(body);
+            this.body = ByteString.copyFrom(message.getBody());
         }
         this.properties = message.getProperties();
         this.tag = message.getTag().orElse(null);
@@ -69,7 +69,7 @@ public class GeneralMessageImpl implements GeneralMessage {
     public GeneralMessageImpl(MessageView message) {
         this.topic = message.getTopic();
         this.messageId = message.getMessageId();
-        byte[] messageBody;
+        ByteString messageBody;
         Long messageDecodeTimestamp;
         Long messageTransportDeliveryTimestamp;
         if (message instanceof MessageViewImpl) {
@@ -79,9 +79,7 @@ public class GeneralMessageImpl implements GeneralMessage {
             messageTransportDeliveryTimestamp = impl.getTransportDeliveryTimestamp().orElse(null);
         } else {
             // Should never reach here.
-            final ByteBuffer byteBuffer = message.getBody();
-            messageBody = new byte[byteBuffer.remaining()];
-            byteBuffer.get(messageBody);
+            messageBody = ByteString.copyFrom(message.getBody());
             // Could not get accurate decode timestamp.
             messageDecodeTimestamp = null;
             // Could not get accurate transport delivery timestamp.
@@ -113,7 +111,7 @@ public class GeneralMessageImpl implements GeneralMessage {
 
     @Override
     public ByteBuffer getBody() {
-        return ByteBuffer.wrap(body).asReadOnlyBuffer();
+        return body.asReadOnlyByteBuffer();
     }
 
     @Override
@@ -19,6 +19,7 @@ package org.apache.rocketmq.client.java.message;
 
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
 import java.util.Calendar;
 import java.util.TimeZone;
 import java.util.concurrent.TimeUnit;
@@ -68,11 +69,22 @@ public class MessageIdCodec {
 
     private static final MessageIdCodec INSTANCE = new MessageIdCodec();
 
+    private static final byte[] HEX_DIGITS = {'0', '1', '2', '3', '4', '5', '6', '7', '8', '9', 'A', 'B', 'C', 'D',
+        'E', 'F'};
+    /**
+     * Offset of the seconds in the message id, which is followed by the sequence number.
+     */
+    private static final int SECONDS_OFFSET_V1 = 18;
+    private static final int SEQUENCE_OFFSET_V1 = 26;
+
     private final String processFixedStringV1;
     private final long secondsSinceCustomEpoch;
     private final long secondsStartTimestamp;
-    private long seconds;
     private final AtomicInteger sequence;
+    /**
+     * Version and process fixed part of the message id in ASCII, which is shared by all message ids generated.
+     */
+    private final byte[] messageIdPrefixV1;
 
     private MessageIdCodec() {
         ByteBuffer buffer = ByteBuffer.allocate(8);
@@ -94,9 +106,9 @@ public class MessageIdCodec {
 
         secondsSinceCustomEpoch = TimeUnit.MILLISECONDS.toSeconds(System.currentTimeMillis() - customEpochMillis());
         secondsStartTimestamp = TimeUnit.NANOSECONDS.toSeconds(System.nanoTime());
-        seconds = deltaSeconds();
 
         sequence = new AtomicInteger(0);
+        messageIdPrefixV1 = (MESSAGE_ID_VERSION_V1 + processFixedStringV1).getBytes(StandardCharsets.US_ASCII);
     }
 
     public static MessageIdCodec getInstance() {
@@ -121,29 +133,42 @@ public class MessageIdCodec {
         return TimeUnit.NANOSECONDS.toSeconds(System.nanoTime()) - secondsStartTimestamp + secondsSinceCustomEpoch;
     }
 
+    /**
+     * Generate the next message id, which is thread-safe.
+     *
+     * <p>Only the seconds and the sequence number are kept, and the string is rendered once it is required, so the
+     * message id itself is the only allocation here.
+     */
     public MessageId nextMessageId() {
-        ByteBuffer buffer = ByteBuffer.allocate(8);
-        buffer.order(ByteOrder.BIG_ENDIAN);
+        // Lower 4 bytes of the seconds.
+        return new MessageIdImpl(this, (int) deltaSeconds(), sequence.getAndIncrement());
+    }
 
-        final ByteBuffer deltaSecondsBuffer = ByteBuffer.allocate(8);
-        deltaSecondsBuffer.order(ByteOrder.BIG_ENDIAN);
-        final long deltaSeconds = deltaSeconds();
-        if (seconds != deltaSeconds) {
-            seconds = deltaSeconds;
-        }
-        deltaSecondsBuffer.putLong(seconds);
-        buffer.put(deltaSecondsBuffer.array(), 4, 4);
-        buffer.putInt(sequence.getAndIncrement());
+    /**
+     * Render the message id of V1 from the seconds and the sequence number.
+     */
+    String render(int seconds, int sequence) {
+        final byte[] bytes = new byte[MESSAGE_ID_LENGTH_FOR_V1_OR_LATER];
+        System.arraycopy(messageIdPrefixV1, 0, bytes, 0, messageIdPrefixV1.length);
+        putHex(bytes, SECONDS_OFFSET_V1, seconds);
+        putHex(bytes, SEQUENCE_OFFSET_V1, sequence);
+        return new String(bytes, StandardCharsets.US_ASCII);
+    }
 
-        buffer.flip();
-        final String suffix = processFixedStringV1 + Utilities.encodeHexString(buffer, false);
-        return new MessageIdImpl(MESSAGE_ID_VERSION_V1, suffix);
+    /**
+     * Write the int as 8 hex digits in big endian.
+     */
+    private static void putHex(byte[] dst, int offset, int value) {
+        for (int i = offset + 7; i >= offset; i--) {
+            dst[i] = HEX_DIGITS[value & 0xF];
+            value >>>= 4;
+        }
     }
 
     public MessageId decode(String messageId) {
         if (MESSAGE_ID_LENGTH_FOR_V1_OR_LATER != messageId.length()) {
             return new MessageIdImpl(MESSAGE_ID_VERSION_V0, messageId);
         }
-        return new MessageIdImpl(messageId.substring(0, 2), messageId.substring(2));
+        return new MessageIdImpl(messageId);
     }
 }
@@ -18,15 +18,54 @@
 package org.apache.rocketmq.client.java.message;
 
 import com.google.common.base.Objects;
+import javax.annotation.Nullable;
 import org.apache.rocketmq.client.apis.message.MessageId;
 
 public class MessageIdImpl implements MessageId {
     private final String version;
-    private final String suffix;
+    /**
+     * Codec which renders the generated message id lazily, null if the message id is decoded.
+     */
+    @Nullable
+    private final MessageIdCodec codec;
+    private final int seconds;
+    private final int sequence;
+    /**
+     * The whole message id, which is exactly what {@link #toString()} returns. Races on rendering only lead to
+     * redundant rendering of the same string, which is harmless.
+     */
+    private String messageId;
 
     public MessageIdImpl(String version, String suffix) {
         this.version = version;
-        this.suffix = suffix;
+        // Use suffix directly for V0
+        this.messageId = MessageIdCodec.MESSAGE_ID_VERSION_V0.equals(version) ? suffix : version + suffix;
+        this.codec = null;
+        this.seconds = 0;
+        this.sequence = 0;
+    }
+
+    /**
+     * Construct the message id of V1 or later, whose first two characters are the version.
+     */
+    MessageIdImpl(String messageId) {
+        this.version = messageId.startsWith(MessageIdCodec.MESSAGE_ID_VERSION_V1) ?
+            MessageIdCodec.MESSAGE_ID_VERSION_V1 : messageId.substring(0, 2);
+        this.messageId = messageId;
+        this.codec = null;
+        this.seconds = 0;
+        this.sequence = 0;
+    }
+
+    /**
+     * Construct the message id of V1 generated by the codec, which is rendered on demand.
+     */
+    MessageIdImpl(MessageIdCodec codec, int seconds, int sequence) {
+        this.version = MessageIdCodec.MESSAGE_ID_VERSION_V1;
+        this.codec = codec;
+        this.seconds = seconds;
+        this.sequence = sequence;
+        this.messageId = null;
     }
 
     /**
@@ -42,11 +81,12 @@ public class MessageIdImpl implements MessageId {
      */
     @Override
     public String toString() {
-        // Use suffix directly for V0
-        if (MessageIdCodec.MESSAGE_ID_VERSION_V0.equals(version)) {
-            return suffix;
+        String rendered = messageId;
+        if (null == rendered) {
+            rendered = codec.render(seconds, sequence);
+            messageId = rendered;
         }
-        return version + suffix;
+        return rendered;
     }
 
     @Override
@@ -57,12 +97,12 @@ public class MessageIdImpl implements MessageId {
         if (o == null || getClass() != o.getClass()) {
             return false;
         }
-        MessageIdImpl messageId = (MessageIdImpl) o;
-        return Objects.equal(version, messageId.version) && Objects.equal(suffix, messageId.suffix);
+        MessageIdImpl that = (MessageIdImpl) o;
+        return Objects.equal(version, that.version) && Objects.equal(toString(), that.toString());
     }
 
     @Override
     public int hashCode() {
-        return Objects.hashCode(version, suffix);
+        return Objects.hashCode(version, toString());
     }
 }
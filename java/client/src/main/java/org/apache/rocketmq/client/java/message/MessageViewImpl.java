@@ -25,18 +25,23 @@ import apache.rocketmq.v2.Encoding;
 import apache.rocketmq.v2.Message;
 import apache.rocketmq.v2.SystemProperties;
 import com.google.common.base.MoreObjects;
+import com.google.protobuf.ByteString;
 import com.google.protobuf.ProtocolStringList;
+import com.google.protobuf.UnsafeByteOperations;
 import com.google.protobuf.util.Timestamps;
 import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
+import org.apache.rocketmq.client.apis.consumer.ChecksumVerification;
 import org.apache.rocketmq.client.apis.message.MessageId;
 import org.apache.rocketmq.client.apis.message.MessageView;
+import org.apache.rocketmq.client.java.misc.InflaterPool;
 import org.apache.rocketmq.client.java.misc.Utilities;
 import org.apache.rocketmq.client.java.route.Endpoints;
 import org.apache.rocketmq.client.java.route.MessageQueueImpl;
@@ -46,7 +51,10 @@ import org.slf4j.LoggerFactory;
 public class MessageViewImpl implements MessageView {
     private static final Logger log = LoggerFactory.getLogger(MessageViewImpl.class);
 
-    final byte[] body;
+    /**
+     * Read-only view of message body, which is never copied once decoded.
+     */
+    final ByteString body;
     private final MessageId messageId;
     private final String topic;
     private final String tag;
@@ -61,11 +69,29 @@ public class MessageViewImpl implements MessageView {
     private final Endpoints endpoints;
     private volatile String receiptHandle;
     private final long offset;
-    private final boolean corrupted;
+    private volatile boolean corrupted;
+    /**
+     * Digest whose verification is deferred until {@link #isCorrupted()}, null once determined.
+     */
+    private volatile Digest pendingDigest;
+    /**
+     * Body on the wire that the pending digest is verified against.
+     */
+    private ByteString pendingBody;
     private final long decodeTimestamp;
     private final Long transportDeliveryTimestamp;
 
     public MessageViewImpl(MessageId messageId, String topic, byte[] body, String tag, String messageGroup,
+        Long deliveryTimestamp, Collection<String> keys, Map<String, String> properties,
+        String bornHost, long bornTimestamp, int deliveryAttempt, MessageQueueImpl messageQueue,
+        String receiptHandle, long offset, boolean corrupted,
+        Long transportDeliveryTimestamp) {
+        this(messageId, topic, UnsafeByteOperations.unsafeWrap(checkNotNull(body, "body should not be null")), tag,
+            messageGroup, deliveryTimestamp, keys, properties, bornHost, bornTimestamp, deliveryAttempt, messageQueue,
+            receiptHandle, offset, corrupted, transportDeliveryTimestamp);
+    }
+
+    MessageViewImpl(MessageId messageId, String topic, ByteString body, String tag, String messageGroup,
         Long deliveryTimestamp, Collection<String> keys, Map<String, String> properties,
         String bornHost, long bornTimestamp, int deliveryAttempt, MessageQueueImpl messageQueue,
         String receiptHandle, long offset, boolean corrupted,
@@ -111,7 +137,7 @@ public class MessageViewImpl implements MessageView {
      */
     @Override
     public ByteBuffer getBody() {
-        return ByteBuffer.wrap(body).asReadOnlyBuffer();
+        return body.asReadOnlyByteBuffer();
     }
 
     /**
@@ -204,10 +230,36 @@ public class MessageViewImpl implements MessageView {
         return offset;
     }
 
+    /**
+     * Check whether the message is corrupted, the deferred checksum verification is performed on the calling
+     * thread if there is any.
+     */
     public boolean isCorrupted() {
+        if (null != pendingDigest) {
+            verifyPendingDigest();
+        }
         return corrupted;
     }
 
+    /**
+     * @return true if no checksum verification is deferred to {@link #isCorrupted()}.
+     */
+    public boolean isCorruptionDetermined() {
+        return null == pendingDigest;
+    }
+
+    private synchronized void verifyPendingDigest() {
+        final Digest digest = pendingDigest;
+        if (null == digest) {
+            return;
+        }
+        if (!verifyChecksum(digest, pendingBody, topic, messageId)) {
+            corrupted = true;
+        }
+        pendingBody = null;
+        pendingDigest = null;
+    }
+
     public long getDecodeTimestamp() {
         return decodeTimestamp;
     }
@@ -226,55 +278,26 @@ public class MessageViewImpl implements MessageView {
 
     public static MessageViewImpl fromProtobuf(Message message, MessageQueueImpl mq,
         Long transportDeliveryTimestamp) {
+        return fromProtobuf(message, mq, transportDeliveryTimestamp, ChecksumVerification.EAGER);
+    }
+
+    public static MessageViewImpl fromProtobuf(Message message, MessageQueueImpl mq,
+        Long transportDeliveryTimestamp, ChecksumVerification checksumVerification) {
         final SystemProperties systemProperties = message.getSystemProperties();
         final String topic = message.getTopic().getName();
         final MessageId messageId = MessageIdCodec.getInstance().decode(systemProperties.getMessageId());
         final Digest bodyDigest = systemProperties.getBodyDigest();
-        byte[] body = message.getBody().toByteArray();
+        final ByteString rawBody = message.getBody();
+        ByteString body = rawBody;
         boolean corrupted = false;
-        final String checksum = bodyDigest.getChecksum();
-        String expectedChecksum;
-        final DigestType digestType = bodyDigest.getType();
-        switch (digestType) {
-            case CRC32:
-                expectedChecksum = Utilities.crc32CheckSum(body);
-                if (!expectedChecksum.equals(checksum)) {
-                    corrupted = true;
-                }
-                break;
-            case MD5:
-                try {
-                    expectedChecksum = Utilities.md5CheckSum(body);
-                    if (!expectedChecksum.equals(checksum)) {
-                        corrupted = true;
-                    }
-                } catch (NoSuchAlgorithmException e) {
-                    corrupted = true;
-                    log.error("MD5 is not supported unexpectedly, skip it, topic={}, messageId={}", topic,
-                        messageId);
-                }
-                break;
-            case SHA1:
-                try {
-                    expectedChecksum = Utilities.sha1CheckSum(body);
-                    if (!expectedChecksum.equals(checksum)) {
-                        corrupted = true;
-                    }
-                } catch (NoSuchAlgorithmException e) {
-                    corrupted = true;
-                    log.error("SHA-1 is not supported unexpectedly, skip it, topic={}, messageId={}", topic,
-                        messageId);
-                }
-                break;
-            default:
-                log.error("Unsupported message body digest algorithm, digestType={}, topic={}, messageId={}",
-                    digestType, topic, messageId);
+        if (ChecksumVerification.EAGER.equals(checksumVerification)) {
+            corrupted = !verifyChecksum(bodyDigest, rawBody, topic, messageId);
         }
         final Encoding bodyEncoding = systemProperties.getBodyEncoding();
         switch (bodyEncoding) {
             case GZIP:
                 try {
-                    body = Utilities.uncompressBytesGzip(body);
+                    body = InflaterPool.getInstance().decompress(body);
                 } catch (IOException e) {
                     log.error("Failed to uncompress message body, topic={}, messageId={}", topic, messageId);
                     corrupted = true;
@@ -298,8 +321,57 @@ public class MessageViewImpl implements MessageView {
         final long offset = systemProperties.getQueueOffset();
         final Map<String, String> properties = message.getUserPropertiesMap();
         final String receiptHandle = systemProperties.getReceiptHandle();
-        return new MessageViewImpl(messageId, topic, body, tag, messageGroup, deliveryTimestamp, keys, properties,
-            bornHost, bornTimestamp, deliveryAttempt, mq, receiptHandle, offset, corrupted, transportDeliveryTimestamp);
+        final MessageViewImpl messageView = new MessageViewImpl(messageId, topic, body, tag, messageGroup,
+            deliveryTimestamp, keys, properties, bornHost, bornTimestamp, deliveryAttempt, mq, receiptHandle, offset,
+            corrupted, transportDeliveryTimestamp);
+        if (ChecksumVerification.ON_CONSUMPTION.equals(checksumVerification) && !corrupted) {
+            messageView.pendingBody = rawBody;
+            messageView.pendingDigest = bodyDigest;
+        }
+        return messageView;
+    }
+
+    /**
+     * Verify the checksum against the body on the wire, raw values are compared rather than their hex strings.
+     *
+     * @return true if the checksum matches or could not be verified due to an unsupported algorithm.
+     */
+    static boolean verifyChecksum(Digest bodyDigest, ByteString body, String topic, MessageId messageId) {
+        final String checksum = bodyDigest.getChecksum();
+        final DigestType digestType = bodyDigest.getType();
+        switch (digestType) {
+            case CRC32:
+                try {
+                    return Long.parseLong(checksum, 16) == Utilities.crc32(body);
+                } catch (NumberFormatException e) {
+                    return false;
+                }
+            case MD5:
+                try {
+                    return verifyDigest(checksum, Utilities.digest(body, "MD5"));
+                } catch (NoSuchAlgorithmException e) {
+                    log.error("MD5 is not supported unexpectedly, skip it, topic={}, messageId={}", topic,
+                        messageId);
+                    return false;
+                }
+            case SHA1:
+                try {
+                    return verifyDigest(checksum, Utilities.digest(body, "SHA-1"));
+                } catch (NoSuchAlgorithmException e) {
+                    log.error("SHA-1 is not supported unexpectedly, skip it, topic={}, messageId={}", topic,
+                        messageId);
+                    return false;
+                }
+            default:
+                log.error("Unsupported message body digest algorithm, digestType={}, topic={}, messageId={}",
+                    digestType, topic, messageId);
+                return true;
+        }
+    }
+
+    private static boolean verifyDigest(String checksum, byte[] digest) {
+        final byte[] expected = Utilities.decodeHex(checksum);
+        return null != expected && MessageDigest.isEqual(expected, digest);
     }
 
     @Override
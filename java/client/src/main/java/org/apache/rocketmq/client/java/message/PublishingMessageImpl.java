@@ -19,9 +19,10 @@ package org.apache.rocketmq.client.java.message;
 
 import apache.rocketmq.v2.Resource;
 import apache.rocketmq.v2.SystemProperties;
-import com.google.protobuf.ByteString;
+import com.google.protobuf.UnsafeByteOperations;
 import com.google.protobuf.util.Timestamps;
 import java.io.IOException;
+import javax.annotation.Nullable;
 import org.apache.rocketmq.client.apis.message.Message;
 import org.apache.rocketmq.client.apis.message.MessageId;
 import org.apache.rocketmq.client.java.impl.producer.PublishingSettings;
@@ -36,15 +37,38 @@ import org.apache.rocketmq.client.java.route.MessageQueueImpl;
 public class PublishingMessageImpl extends MessageImpl {
     private final MessageId messageId;
     private final MessageType messageType;
+    /**
+     * Body to publish, which is compressed according to {@link CompressionPolicy} once.
+     */
+    private final byte[] encodedBody;
+    private final Encoding bodyEncoding;
+    /**
+     * Message in protocol buffer without born time and queue id, which is built lazily.
+     */
+    private volatile apache.rocketmq.v2.Message protobufPrototype = null;
 
     public PublishingMessageImpl(Message message, PublishingSettings publishingSettings, boolean txEnabled)
         throws IOException {
+        this(message, publishingSettings, txEnabled, null);
+    }
+
+    public PublishingMessageImpl(Message message, PublishingSettings publishingSettings, boolean txEnabled,
+        @Nullable CompressionPolicy compressionPolicy) throws IOException {
         super(message);
         final int length = message.getBody().remaining();
         final int maxBodySizeBytes = publishingSettings.getMaxBodySizeBytes();
         if (length > maxBodySizeBytes) {
             throw new IOException("Message body size exceeds the threshold, max size=" + maxBodySizeBytes + " bytes");
         }
+        // Compress message body only once rather than for each attempt.
+        final byte[] compressedBody = null == compressionPolicy ? null : compressionPolicy.compress(body);
+        if (null == compressedBody) {
+            this.encodedBody = body;
+            this.bodyEncoding = Encoding.IDENTITY;
+        } else {
+            this.encodedBody = compressedBody;
+            this.bodyEncoding = compressionPolicy.getEncoding();
+        }
         // Generate message id.
         this.messageId = MessageIdCodec.getInstance().nextMessageId();
         // Normal message.
@@ -86,22 +110,41 @@ public class PublishingMessageImpl extends MessageImpl {
      *
      * <p>This method should be invoked before each message sending, because the born time is reset before each
      * invocation, which means that it should not be invoked ahead of time.
+     *
+     * <p>Only the born time and the queue id vary for each sending, so the rest is built only once and reused across
+     * retry attempts.
      */
     public apache.rocketmq.v2.Message toProtobuf(String namespace, MessageQueueImpl mq) {
+        apache.rocketmq.v2.Message prototype = this.protobufPrototype;
+        if (null == prototype) {
+            // Racing here is benign, since the prototype is immutable.
+            prototype = buildProtobufPrototype(namespace);
+            this.protobufPrototype = prototype;
+        }
+        final SystemProperties systemProperties = prototype.getSystemProperties().toBuilder()
+            // Born time should be reset before each sending
+            .setBornTimestamp(Timestamps.fromMillis(System.currentTimeMillis()))
+            // Queue id
+            .setQueueId(mq.getQueueId())
+            .build();
+        return prototype.toBuilder().setSystemProperties(systemProperties).build();
+    }
+
+    /**
+     * Build the message in protocol buffer except the born time and queue id, the namespace is supposed to be the
+     * same for each sending.
+     */
+    private apache.rocketmq.v2.Message buildProtobufPrototype(String namespace) {
         final apache.rocketmq.v2.SystemProperties.Builder systemPropertiesBuilder =
             apache.rocketmq.v2.SystemProperties.newBuilder()
                 // Message keys
                 .addAllKeys(keys)
                 // Message Id
                 .setMessageId(messageId.toString())
-                // Born time should be reset before each sending
-                .setBornTimestamp(Timestamps.fromMillis(System.currentTimeMillis()))
                 // Born host
                 .setBornHost(Utilities.hostName())
                 // Body encoding
-                .setBodyEncoding(Encoding.toProtobuf(Encoding.IDENTITY))
-                // Queue id
-                .setQueueId(mq.getQueueId())
+                .setBodyEncoding(Encoding.toProtobuf(bodyEncoding))
                 // Message type
                 .setMessageType(MessageType.toProtobuf(messageType));
         // Message tag
@@ -116,8 +159,8 @@ public class PublishingMessageImpl extends MessageImpl {
         return apache.rocketmq.v2.Message.newBuilder()
             // Topic
             .setTopic(topicResource)
-            // Message body
-            .setBody(ByteString.copyFrom(getBody()))
+            // Message body, which is immutable once built, so wrap it without copying
+            .setBody(UnsafeByteOperations.unsafeWrap(encodedBody))
             // System properties
             .setSystemProperties(systemProperties)
             // User properties
@@ -20,67 +20,169 @@ package org.apache.rocketmq.client.java.metrics;
 import static com.google.common.base.Preconditions.checkNotNull;
 
 import com.google.common.base.MoreObjects;
+import io.grpc.ManagedChannel;
+import io.grpc.netty.GrpcSslContexts;
+import io.grpc.netty.NettyChannelBuilder;
+import io.netty.handler.ssl.SslContext;
+import io.netty.handler.ssl.SslContextBuilder;
+import io.netty.handler.ssl.util.InsecureTrustManagerFactory;
 import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.common.AttributesBuilder;
 import io.opentelemetry.api.metrics.DoubleHistogram;
 import io.opentelemetry.api.metrics.Meter;
+import io.opentelemetry.exporter.otlp.metrics.OtlpGrpcMetricExporter;
+import io.opentelemetry.sdk.OpenTelemetrySdk;
+import io.opentelemetry.sdk.metrics.Aggregation;
+import io.opentelemetry.sdk.metrics.InstrumentSelector;
+import io.opentelemetry.sdk.metrics.InstrumentType;
 import io.opentelemetry.sdk.metrics.SdkMeterProvider;
+import io.opentelemetry.sdk.metrics.SdkMeterProviderBuilder;
+import io.opentelemetry.sdk.metrics.View;
+import io.opentelemetry.sdk.metrics.export.PeriodicMetricReader;
+import io.opentelemetry.sdk.resources.Resource;
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.CountDownLatch;
+import javax.net.ssl.SSLException;
+import org.apache.rocketmq.client.apis.ClientConfiguration;
 import org.apache.rocketmq.client.java.misc.ClientId;
 import org.apache.rocketmq.client.java.route.Endpoints;
+import org.apache.rocketmq.client.java.rpc.AuthInterceptor;
+import org.apache.rocketmq.client.java.rpc.IpNameResolverFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-public class ClientMeter {
+/**
+ * Backend which exports histograms to the remote through OTLP, which is switched by the settings from the server.
+ *
+ * <p>This is the only class which refers to OpenTelemetry, it must not be loaded unless OpenTelemetry is present,
+ * see {@link ClientMeterManager}.
+ */
+public class ClientMeter implements MeterBackend {
     private static final Logger log = LoggerFactory.getLogger(ClientMeter.class);
 
-    private final boolean enabled;
+    private static final Duration METRIC_EXPORTER_RPC_TIMEOUT = Duration.ofSeconds(5);
+    private static final Duration METRIC_READER_INTERVAL = Duration.ofMinutes(1);
+    private static final String METRIC_INSTRUMENTATION_NAME = "org.apache.rocketmq.message";
+
     private final Meter meter;
     private final Endpoints endpoints;
     private final SdkMeterProvider provider;
     private final ClientId clientId;
     private final ConcurrentMap<String /* histogram name */, DoubleHistogram> histogramMap;
+    private final ConcurrentMap<MetricKey, Attributes> attributesTable;
 
     public ClientMeter(Meter meter, Endpoints endpoints, SdkMeterProvider provider, ClientId clientId) {
-        this.enabled = true;
         this.meter = checkNotNull(meter, "meter should not be null");
         this.endpoints = checkNotNull(endpoints, "endpoints should not be null");
         this.provider = checkNotNull(provider, "provider should not be null");
         this.clientId = checkNotNull(clientId, "clientId should not be null");
         this.histogramMap = new ConcurrentHashMap<>();
+        this.attributesTable = new ConcurrentHashMap<>();
     }
 
-    private ClientMeter(ClientId clientId) {
-        this.enabled = false;
-        this.meter = null;
-        this.endpoints = null;
-        this.provider = null;
-        this.clientId = checkNotNull(clientId, "clientId should not be null");
-        this.histogramMap = new ConcurrentHashMap<>();
+    /**
+     * Create the meter which exports histograms and gauges to the given endpoints.
+     */
+    @SuppressWarnings("deprecation")
+    static MeterBackend create(Endpoints endpoints, ClientConfiguration clientConfiguration, ClientId clientId,
+        GaugeObserver gaugeObserver) throws SSLException {
+        final NettyChannelBuilder channelBuilder = NettyChannelBuilder.forTarget(endpoints.getGrpcTarget())
+            .intercept(new AuthInterceptor(clientConfiguration, clientId));
+
+        if (clientConfiguration.isSslEnabled()) {
+            final SslContextBuilder builder = GrpcSslContexts.forClient();
+            builder.trustManager(InsecureTrustManagerFactory.INSTANCE);
+            SslContext sslContext = builder.build();
+            channelBuilder.sslContext(sslContext);
+        } else {
+            channelBuilder.usePlaintext();
+        }
+
+        final List<InetSocketAddress> socketAddresses = endpoints.toSocketAddresses();
+        if (null != socketAddresses) {
+            IpNameResolverFactory metricResolverFactory = new IpNameResolverFactory(socketAddresses);
+            channelBuilder.nameResolverFactory(metricResolverFactory);
+        }
+        ManagedChannel channel = channelBuilder.build();
+        OtlpGrpcMetricExporter exporter = OtlpGrpcMetricExporter.builder().setChannel(channel)
+            .setTimeout(METRIC_EXPORTER_RPC_TIMEOUT)
+            .build();
+
+        PeriodicMetricReader reader = PeriodicMetricReader.builder(exporter)
+            .setInterval(METRIC_READER_INTERVAL).build();
+
+        final SdkMeterProviderBuilder providerBuilder = SdkMeterProvider.builder()
+            .setResource(Resource.empty())
+            .registerMetricReader(reader);
+        for (HistogramEnum histogramEnum : HistogramEnum.values()) {
+            InstrumentSelector selector = InstrumentSelector.builder()
+                .setType(InstrumentType.HISTOGRAM).setName(histogramEnum.getName()).build();
+            final View view = View.builder()
+                .setAggregation(Aggregation.explicitBucketHistogram(histogramEnum.getBoundaries())).build();
+            providerBuilder.registerView(selector, view);
+        }
+        final SdkMeterProvider provider = providerBuilder.build();
+
+        final OpenTelemetrySdk openTelemetry = OpenTelemetrySdk.builder().setMeterProvider(provider).build();
+        Meter meter = openTelemetry.getMeter(METRIC_INSTRUMENTATION_NAME);
+        final ClientMeter clientMeter = new ClientMeter(meter, endpoints, provider, clientId);
+
+        final List<GaugeEnum> gauges = gaugeObserver.getGauges();
+        for (GaugeEnum gauge : gauges) {
+            meter.gaugeBuilder(gauge.getName()).buildWithCallback(measurement -> {
+                final Map<MetricKey, Double> map = gaugeObserver.getValues(gauge);
+                if (map.isEmpty()) {
+                    return;
+                }
+                for (Map.Entry<MetricKey, Double> entry : map.entrySet()) {
+                    final Attributes attributes = clientMeter.getAttributes(entry.getKey());
+                    final Double value = entry.getValue();
+                    measurement.record(value, attributes);
+                }
+            });
+        }
+        return clientMeter;
+    }
+
+    static Attributes toAttributes(MetricKey key) {
+        final AttributesBuilder builder = Attributes.builder();
+        key.getTopic().ifPresent(topic -> builder.put(MetricLabels.TOPIC, topic));
+        builder.put(MetricLabels.CLIENT_ID, key.getClientId());
+        key.getConsumerGroup().ifPresent(consumerGroup -> builder.put(MetricLabels.CONSUMER_GROUP, consumerGroup));
+        key.getInvocationStatus().ifPresent(status -> builder.put(MetricLabels.INVOCATION_STATUS, status.getName()));
+        return builder.build();
     }
 
-    static ClientMeter disabledInstance(ClientId clientId) {
-        return new ClientMeter(clientId);
+    private Attributes getAttributes(MetricKey key) {
+        final Attributes attributes = attributesTable.get(key);
+        if (null != attributes) {
+            return attributes;
+        }
+        return attributesTable.computeIfAbsent(key, ClientMeter::toAttributes);
     }
 
+    @Override
     public boolean isEnabled() {
-        return enabled;
+        return true;
     }
 
-    public void record(HistogramEnum histogramEnum, Attributes attributes, double value) {
-        final DoubleHistogram histogram = histogramMap.computeIfAbsent(histogramEnum.getName(), name -> enabled ?
-            meter.histogramBuilder(histogramEnum.getName()).build() : null);
+    @Override
+    public void record(HistogramEnum histogramEnum, MetricKey key, double value) {
+        DoubleHistogram histogram = histogramMap.get(histogramEnum.getName());
         if (null == histogram) {
-            return;
+            histogram = histogramMap.computeIfAbsent(histogramEnum.getName(),
+                name -> meter.histogramBuilder(name).build());
         }
-        histogram.record(value, attributes);
+        histogram.record(value, getAttributes(key));
     }
 
+    @Override
     public void shutdown() {
-        if (!enabled) {
-            return;
-        }
         log.info("Begin to shutdown client meter, clientId={}, endpoints={}", clientId, endpoints);
         final CountDownLatch latch = new CountDownLatch(1);
         provider.shutdown().whenComplete(latch::countDown);
@@ -92,17 +194,9 @@ public class ClientMeter {
         }
     }
 
-    public boolean satisfy(Metric metric) {
-        if (enabled && metric.isOn() && endpoints.equals(metric.getEndpoints())) {
-            return true;
-        }
-        return !enabled && !metric.isOn();
-    }
-
     @Override
     public String toString() {
         return MoreObjects.toStringHelper(this)
-            .add("enabled", enabled)
             .add("meter", meter)
             .add("endpoints", endpoints)
             .add("provider", provider)
@@ -19,154 +19,129 @@ package org.apache.rocketmq.client.java.metrics;
 
 import static com.google.common.base.Preconditions.checkNotNull;
 
-import io.grpc.ManagedChannel;
-import io.grpc.netty.GrpcSslContexts;
-import io.grpc.netty.NettyChannelBuilder;
-import io.netty.handler.ssl.SslContext;
-import io.netty.handler.ssl.SslContextBuilder;
-import io.netty.handler.ssl.util.InsecureTrustManagerFactory;
-import io.opentelemetry.api.common.Attributes;
-import io.opentelemetry.api.metrics.Meter;
-import io.opentelemetry.exporter.otlp.metrics.OtlpGrpcMetricExporter;
-import io.opentelemetry.sdk.OpenTelemetrySdk;
-import io.opentelemetry.sdk.metrics.InstrumentSelector;
-import io.opentelemetry.sdk.metrics.InstrumentType;
-import io.opentelemetry.sdk.metrics.SdkMeterProvider;
-import io.opentelemetry.sdk.metrics.View;
-import io.opentelemetry.sdk.metrics.export.PeriodicMetricReader;
-import io.opentelemetry.sdk.resources.Resource;
-import java.net.InetSocketAddress;
-import java.time.Duration;
-import java.util.List;
-import java.util.Map;
+import com.google.common.annotations.VisibleForTesting;
+import java.util.Optional;
+import javax.annotation.Nullable;
 import org.apache.rocketmq.client.apis.ClientConfiguration;
 import org.apache.rocketmq.client.java.misc.ClientId;
 import org.apache.rocketmq.client.java.route.Endpoints;
-import org.apache.rocketmq.client.java.rpc.AuthInterceptor;
-import org.apache.rocketmq.client.java.rpc.IpNameResolverFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+/**
+ * Manager of meter backends, histograms are recorded to the OTLP exporter which is switched by the settings from the
+ * server, and to the in-process {@link LocalMeter} if it is enabled by
+ * {@link ClientConfiguration#isLocalMetricsEnabled()}.
+ *
+ * <p>OpenTelemetry is an optional dependency, so this class must not refer to any of its types. The OTLP exporter is
+ * only created through {@link ClientMeter} once OpenTelemetry is found on the classpath, otherwise metrics from the
+ * server are ignored.
+ */
 public class ClientMeterManager {
     private static final Logger log = LoggerFactory.getLogger(ClientMeterManager.class);
 
-    private static final Duration METRIC_EXPORTER_RPC_TIMEOUT = Duration.ofSeconds(5);
-    private static final Duration METRIC_READER_INTERVAL = Duration.ofMinutes(1);
-    private static final String METRIC_INSTRUMENTATION_NAME = "org.apache.rocketmq.message";
+    private static final boolean OTLP_EXPORTER_PRESENT = isPresent("io.opentelemetry.sdk.metrics.SdkMeterProvider")
+        && isPresent("io.opentelemetry.exporter.otlp.metrics.OtlpGrpcMetricExporter");
 
     private final ClientId clientId;
     private final ClientConfiguration clientConfiguration;
-    private volatile ClientMeter clientMeter;
+    /**
+     * Meter which exports to {@link #exportEndpoints}, null if metrics is off.
+     */
+    @Nullable
+    private volatile MeterBackend clientMeter;
+    @Nullable
+    private volatile Endpoints exportEndpoints;
+    @Nullable
+    private final LocalMeter localMeter;
     private volatile GaugeObserver gaugeObserver = GaugeObserver.EMPTY;
 
     public ClientMeterManager(ClientId clientId, ClientConfiguration clientConfiguration) {
         this.clientId = clientId;
         this.clientConfiguration = clientConfiguration;
-        this.clientMeter = ClientMeter.disabledInstance(clientId);
+        this.clientMeter = null;
+        this.exportEndpoints = null;
+        this.localMeter = clientConfiguration.isLocalMetricsEnabled() ? new LocalMeter() : null;
+    }
+
+    private static boolean isPresent(String className) {
+        try {
+            Class.forName(className, false, ClientMeterManager.class.getClassLoader());
+            return true;
+        } catch (Throwable t) {
+            return false;
+        }
     }
 
     public void setGaugeObserver(GaugeObserver gaugeObserver) {
         this.gaugeObserver = checkNotNull(gaugeObserver, "gaugeObserver should not be null");
     }
 
-    public void record(HistogramEnum histogramEnum, Attributes attributes, double value) {
-        clientMeter.record(histogramEnum, attributes, value);
+    public void record(HistogramEnum histogramEnum, MetricKey key, double value) {
+        final MeterBackend meter = clientMeter;
+        if (null != meter) {
+            meter.record(histogramEnum, key, value);
+        }
+        if (null != localMeter) {
+            localMeter.record(histogramEnum, key, value);
+        }
+    }
+
+    public Optional<LocalMeter> getLocalMeter() {
+        return Optional.ofNullable(localMeter);
     }
 
     public void shutdown() {
-        clientMeter.shutdown();
+        final MeterBackend meter = clientMeter;
+        if (null != meter) {
+            meter.shutdown();
+        }
+        if (null != localMeter) {
+            localMeter.shutdown();
+        }
+    }
+
+    /**
+     * @return true if the meter which exports to the given endpoints, null if metrics is off, satisfies the metric.
+     */
+    @VisibleForTesting
+    static boolean satisfy(@Nullable Endpoints exportEndpoints, Metric metric) {
+        if (!metric.isOn()) {
+            return null == exportEndpoints;
+        }
+        return metric.getEndpoints().equals(exportEndpoints);
     }
 
-    @SuppressWarnings({"deprecation", "resource"})
     public synchronized void reset(Metric metric) {
         try {
-            if (clientMeter.satisfy(metric)) {
+            if (satisfy(exportEndpoints, metric)) {
                 log.info("Metric settings is satisfied by the current message meter, metric={}, clientId={}",
                     metric, clientId);
                 return;
             }
-            if (!metric.isOn()) {
-                log.info("Metric is off, clientId={}", clientId);
-                clientMeter.shutdown();
-                clientMeter = ClientMeter.disabledInstance(clientId);
+            final MeterBackend existedClientMeter = clientMeter;
+            if (!metric.isOn() || !OTLP_EXPORTER_PRESENT) {
+                if (metric.isOn()) {
+                    log.warn("Metric is on but OpenTelemetry is absent, ignore it, metric={}, clientId={}", metric,
+                        clientId);
+                } else {
+                    log.info("Metric is off, clientId={}", clientId);
+                }
+                clientMeter = null;
+                exportEndpoints = null;
+                if (null != existedClientMeter) {
+                    existedClientMeter.shutdown();
+                }
                 return;
             }
             final Endpoints endpoints = metric.getEndpoints();
-            final NettyChannelBuilder channelBuilder = NettyChannelBuilder.forTarget(endpoints.getGrpcTarget())
-                .intercept(new AuthInterceptor(clientConfiguration, clientId));
-
-            if (clientConfiguration.isSslEnabled()) {
-                final SslContextBuilder builder = GrpcSslContexts.forClient();
-                builder.trustManager(InsecureTrustManagerFactory.INSTANCE);
-                SslContext sslContext = builder.build();
-                channelBuilder.sslContext(sslContext);
-            } else {
-                channelBuilder.usePlaintext();
-            }
-
-            final List<InetSocketAddress> socketAddresses = endpoints.toSocketAddresses();
-            if (null != socketAddresses) {
-                IpNameResolverFactory metricResolverFactory = new IpNameResolverFactory(socketAddresses);
-                channelBuilder.nameResolverFactory(metricResolverFactory);
-            }
-            ManagedChannel channel = channelBuilder.build();
-            OtlpGrpcMetricExporter exporter = OtlpGrpcMetricExporter.builder().setChannel(channel)
-                .setTimeout(METRIC_EXPORTER_RPC_TIMEOUT)
-                .build();
-
-            InstrumentSelector sendSuccessCostTimeInstrumentSelector = InstrumentSelector.builder()
-                .setType(InstrumentType.HISTOGRAM).setName(HistogramEnum.SEND_COST_TIME.getName()).build();
-            final View sendSuccessCostTimeView = View.builder()
-                .setAggregation(HistogramEnum.SEND_COST_TIME.getBucket()).build();
-
-            InstrumentSelector deliveryLatencyInstrumentSelector = InstrumentSelector.builder()
-                .setType(InstrumentType.HISTOGRAM).setName(HistogramEnum.DELIVERY_LATENCY.getName()).build();
-            final View deliveryLatencyView = View.builder().setAggregation(HistogramEnum.DELIVERY_LATENCY.getBucket())
-                .build();
-
-            InstrumentSelector awaitTimeInstrumentSelector = InstrumentSelector.builder()
-                .setType(InstrumentType.HISTOGRAM).setName(HistogramEnum.AWAIT_TIME.getName()).build();
-            final View awaitTimeView = View.builder().setAggregation(HistogramEnum.AWAIT_TIME.getBucket()).build();
-
-            InstrumentSelector processTimeInstrumentSelector = InstrumentSelector.builder()
-                .setType(InstrumentType.HISTOGRAM).setName(HistogramEnum.PROCESS_TIME.getName()).build();
-            final View processTimeView = View.builder().setAggregation(HistogramEnum.PROCESS_TIME.getBucket()).build();
-
-            PeriodicMetricReader reader = PeriodicMetricReader.builder(exporter)
-                .setInterval(METRIC_READER_INTERVAL).build();
-
-            final SdkMeterProvider provider = SdkMeterProvider.builder()
-                .setResource(Resource.empty())
-                .registerMetricReader(reader)
-                .registerView(sendSuccessCostTimeInstrumentSelector, sendSuccessCostTimeView)
-                .registerView(deliveryLatencyInstrumentSelector, deliveryLatencyView)
-                .registerView(awaitTimeInstrumentSelector, awaitTimeView)
-                .registerView(processTimeInstrumentSelector, processTimeView)
-                .build();
-
-            final OpenTelemetrySdk openTelemetry = OpenTelemetrySdk.builder().setMeterProvider(provider).build();
-            Meter meter = openTelemetry.getMeter(METRIC_INSTRUMENTATION_NAME);
-
             // Reset message meter.
-            ClientMeter existedClientMeter = clientMeter;
-            clientMeter = new ClientMeter(meter, endpoints, provider, clientId);
-            existedClientMeter.shutdown();
-            log.info("Metrics is on, endpoints={}, clientId={}", endpoints, clientId);
-
-            final List<GaugeEnum> gauges = gaugeObserver.getGauges();
-            for (GaugeEnum gauge : gauges) {
-                meter.gaugeBuilder(gauge.getName()).buildWithCallback(measurement -> {
-                    final Map<Attributes, Double> map = gaugeObserver.getValues(gauge);
-                    if (map.isEmpty()) {
-                        return;
-                    }
-                    for (Map.Entry<Attributes, Double> entry : map.entrySet()) {
-                        final Attributes attributes = entry.getKey();
-                        final Double value = entry.getValue();
-                        measurement.record(value, attributes);
-                    }
-                });
+            clientMeter = ClientMeter.create(endpoints, clientConfiguration, clientId, gaugeObserver);
+            exportEndpoints = endpoints;
+            if (null != existedClientMeter) {
+                existedClientMeter.shutdown();
             }
+            log.info("Metrics is on, endpoints={}, clientId={}", endpoints, clientId);
         } catch (Throwable t) {
             log.error("Exception raised when resetting message meter, clientId={}", clientId, t);
         }
@@ -174,6 +149,6 @@ public class ClientMeterManager {
 
     @SuppressWarnings("BooleanMethodIsAlwaysInverted")
     public boolean isEnabled() {
-        return clientMeter.isEnabled();
+        return null != clientMeter || null != localMeter;
     }
 }
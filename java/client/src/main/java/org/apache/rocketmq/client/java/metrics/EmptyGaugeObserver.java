@@ -17,7 +17,6 @@
 
 package org.apache.rocketmq.client.java.metrics;
 
-import io.opentelemetry.api.common.Attributes;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -30,7 +29,7 @@ public class EmptyGaugeObserver implements GaugeObserver {
     }
 
     @Override
-    public Map<Attributes, Double> getValues(GaugeEnum gauge) {
+    public Map<MetricKey, Double> getValues(GaugeEnum gauge) {
         return new HashMap<>();
     }
 }
@@ -29,7 +29,19 @@ public enum GaugeEnum {
      *
      * <p>Labels: {@link MetricLabels#TOPIC}, {@link MetricLabels#CLIENT_ID}, {@link MetricLabels#CONSUMER_GROUP}.
      */
-    CONSUMER_CACHED_BYTES("rocketmq_consumer_cached_bytes");
+    CONSUMER_CACHED_BYTES("rocketmq_consumer_cached_bytes"),
+    /**
+     * A gauge that records the in-flight message count of producer.
+     *
+     * <p>Labels: {@link MetricLabels#CLIENT_ID}.
+     */
+    PRODUCER_INFLIGHT_MESSAGES("rocketmq_producer_inflight_messages"),
+    /**
+     * A gauge that records the in-flight message bytes of producer.
+     *
+     * <p>Labels: {@link MetricLabels#CLIENT_ID}.
+     */
+    PRODUCER_INFLIGHT_BYTES("rocketmq_producer_inflight_bytes");
 
     private final String name;
 
@@ -17,7 +17,6 @@
 
 package org.apache.rocketmq.client.java.metrics;
 
-import io.opentelemetry.api.common.Attributes;
 import java.util.List;
 import java.util.Map;
 
@@ -26,5 +25,5 @@ public interface GaugeObserver {
 
     List<GaugeEnum> getGauges();
 
-    Map<Attributes, Double> getValues(GaugeEnum gauge);
+    Map<MetricKey, Double> getValues(GaugeEnum gauge);
 }
@@ -0,0 +1,140 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.rocketmq.client.java.metrics;
+
+import com.google.common.base.MoreObjects;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free histogram of non-negative long values in the manner of HdrHistogram, whose buckets are linear within
+ * each power of two, so the relative error of any value is no more than 1/{@value #SUB_BUCKET_COUNT}.
+ *
+ * <p>Recording only increments the counter of the bucket, reading is not atomic with concurrent recording, which
+ * is acceptable for monitoring.
+ */
+public class LocalHistogram {
+    private static final int SUB_BUCKET_BITS = 5;
+    static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    private static final int SUB_BUCKET_MASK = SUB_BUCKET_COUNT - 1;
+    /**
+     * Values less than {@link #SUB_BUCKET_COUNT} are tracked exactly, each larger power of two shares
+     * {@link #SUB_BUCKET_COUNT} buckets.
+     */
+    private static final int BUCKET_COUNT = (Long.SIZE - SUB_BUCKET_BITS) * SUB_BUCKET_COUNT;
+
+    private final AtomicLongArray counts;
+    private final LongAdder totalCount;
+    private final LongAdder sum;
+    private final LongAccumulator max;
+
+    public LocalHistogram() {
+        this.counts = new AtomicLongArray(BUCKET_COUNT);
+        this.totalCount = new LongAdder();
+        this.sum = new LongAdder();
+        this.max = new LongAccumulator(Math::max, 0);
+    }
+
+    /**
+     * Record the value, negative value is recorded as zero.
+     */
+    public void record(long value) {
+        if (value < 0) {
+            value = 0;
+        }
+        counts.incrementAndGet(indexOf(value));
+        totalCount.increment();
+        sum.add(value);
+        max.accumulate(value);
+    }
+
+    static int indexOf(long value) {
+        if (value < SUB_BUCKET_COUNT) {
+            return (int) value;
+        }
+        final int shift = Long.SIZE - 1 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+        // The top bits of value are in [SUB_BUCKET_COUNT, 2 * SUB_BUCKET_COUNT).
+        return shift * SUB_BUCKET_COUNT + (int) (value >>> shift);
+    }
+
+    /**
+     * @return the largest value which is recorded to the same bucket as the index.
+     */
+    static long highestEquivalentValue(int index) {
+        if (index < 2 * SUB_BUCKET_COUNT) {
+            return index;
+        }
+        final int shift = index / SUB_BUCKET_COUNT - 1;
+        final long lowest = (long) ((index & SUB_BUCKET_MASK) + SUB_BUCKET_COUNT) << shift;
+        return lowest + (1L << shift) - 1;
+    }
+
+    public long getTotalCount() {
+        return totalCount.sum();
+    }
+
+    public long getMax() {
+        return max.get();
+    }
+
+    public double getMean() {
+        final long count = totalCount.sum();
+        return 0 == count ? 0 : (double) sum.sum() / count;
+    }
+
+    /**
+     * Get the value at the percentile, which is the highest value equivalent to the bucket that the percentile
+     * falls in and never exceeds the max.
+     *
+     * @param percentile percentile in [0, 100].
+     * @return value at the percentile, or 0 if nothing is recorded.
+     */
+    public long getValueAtPercentile(double percentile) {
+        long total = 0;
+        final long[] snapshot = new long[BUCKET_COUNT];
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            snapshot[i] = counts.get(i);
+            total += snapshot[i];
+        }
+        if (0 == total) {
+            return 0;
+        }
+        final double ratio = Math.min(Math.max(percentile, 0), 100) / 100;
+        final long target = Math.max(1, (long) Math.ceil(ratio * total));
+        long accumulated = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            accumulated += snapshot[i];
+            if (accumulated >= target) {
+                return Math.min(highestEquivalentValue(i), getMax());
+            }
+        }
+        return getMax();
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+            .add("totalCount", getTotalCount())
+            .add("mean", getMean())
+            .add("p50", getValueAtPercentile(50))
+            .add("p99", getValueAtPercentile(99))
+            .add("max", getMax())
+            .toString();
+    }
+}
@@ -0,0 +1,124 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.rocketmq.client.java.metrics;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import org.apache.rocketmq.client.apis.ClientConfigurationBuilder;
+import org.apache.rocketmq.client.apis.consumer.PushConsumer;
+import org.apache.rocketmq.client.apis.consumer.SimpleConsumer;
+import org.apache.rocketmq.client.apis.producer.Producer;
+import org.apache.rocketmq.client.java.impl.Client;
+
+/**
+ * Backend which keeps histograms in process, so that they could be read through {@link #getHistograms} without
+ * any exporter.
+ *
+ * <p>The meter of each client is enabled by {@link ClientConfigurationBuilder#enableLocalMetrics(boolean)}, and
+ * could be got by {@link #of(Producer)}, {@link #of(PushConsumer)} or {@link #of(SimpleConsumer)}.
+ */
+public class LocalMeter implements MeterBackend {
+    private final Map<HistogramEnum, ConcurrentMap<MetricKey, LocalHistogram>> histogramTable;
+
+    public LocalMeter() {
+        final Map<HistogramEnum, ConcurrentMap<MetricKey, LocalHistogram>> table = new EnumMap<>(HistogramEnum.class);
+        for (HistogramEnum histogramEnum : HistogramEnum.values()) {
+            table.put(histogramEnum, new ConcurrentHashMap<>());
+        }
+        this.histogramTable = Collections.unmodifiableMap(table);
+    }
+
+    /**
+     * Get the in-process meter of the producer.
+     *
+     * @param producer producer which is built by this client.
+     * @return in-process meter, which is present only if local metrics are enabled.
+     */
+    public static Optional<LocalMeter> of(Producer producer) {
+        return of((Object) producer);
+    }
+
+    /**
+     * Get the in-process meter of the push consumer.
+     *
+     * @param pushConsumer push consumer which is built by this client.
+     * @return in-process meter, which is present only if local metrics are enabled.
+     */
+    public static Optional<LocalMeter> of(PushConsumer pushConsumer) {
+        return of((Object) pushConsumer);
+    }
+
+    /**
+     * Get the in-process meter of the simple consumer.
+     *
+     * @param simpleConsumer simple consumer which is built by this client.
+     * @return in-process meter, which is present only if local metrics are enabled.
+     */
+    public static Optional<LocalMeter> of(SimpleConsumer simpleConsumer) {
+        return of((Object) simpleConsumer);
+    }
+
+    private static Optional<LocalMeter> of(Object client) {
+        checkNotNull(client, "client should not be null");
+        checkArgument(client instanceof Client, "client should be built by ClientServiceProvider");
+        return ((Client) client).getLocalMeter();
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return true;
+    }
+
+    /**
+     * Record the value which is rounded to long, milliseconds for all histograms for now.
+     */
+    @Override
+    public void record(HistogramEnum histogramEnum, MetricKey key, double value) {
+        final ConcurrentMap<MetricKey, LocalHistogram> histograms = histogramTable.get(histogramEnum);
+        LocalHistogram histogram = histograms.get(key);
+        if (null == histogram) {
+            final LocalHistogram newHistogram = new LocalHistogram();
+            histogram = histograms.putIfAbsent(key, newHistogram);
+            if (null == histogram) {
+                histogram = newHistogram;
+            }
+        }
+        histogram.record(Math.round(value));
+    }
+
+    /**
+     * Get histograms of all keys which have been recorded.
+     *
+     * @param histogramEnum histogram to get.
+     * @return read-only map of histograms, which are still being recorded.
+     */
+    public Map<MetricKey, LocalHistogram> getHistograms(HistogramEnum histogramEnum) {
+        return Collections.unmodifiableMap(histogramTable.get(histogramEnum));
+    }
+
+    @Override
+    public void shutdown() {
+    }
+}
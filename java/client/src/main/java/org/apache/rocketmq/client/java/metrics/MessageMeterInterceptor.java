@@ -18,10 +18,11 @@
 package org.apache.rocketmq.client.java.metrics;
 
 import com.google.common.base.Stopwatch;
-import io.opentelemetry.api.common.Attributes;
-import java.time.Duration;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import javax.annotation.Nullable;
 import org.apache.rocketmq.client.apis.consumer.PushConsumer;
 import org.apache.rocketmq.client.apis.consumer.SimpleConsumer;
 import org.apache.rocketmq.client.java.hook.Attribute;
@@ -35,6 +36,10 @@ import org.apache.rocketmq.client.java.message.GeneralMessage;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+/**
+ * Interceptor which records histograms of messages, attributes are built once per topic and reused for all
+ * messages of it.
+ */
 public class MessageMeterInterceptor implements MessageInterceptor {
     static final AttributeKey<Stopwatch> SEND_STOPWATCH_KEY = AttributeKey.create("send_stopwatch");
     static final AttributeKey<Stopwatch> CONSUME_STOPWATCH_KEY = AttributeKey.create("consume_stopwatch");
@@ -43,10 +48,33 @@ public class MessageMeterInterceptor implements MessageInterceptor {
 
     private final Client client;
     private final ClientMeterManager meterManager;
+    private final ConcurrentMap<String /* topic */, TopicKeys> topicKeysTable;
 
     public MessageMeterInterceptor(Client client, ClientMeterManager meterManager) {
         this.client = client;
         this.meterManager = meterManager;
+        this.topicKeysTable = new ConcurrentHashMap<>();
+    }
+
+    @Nullable
+    private String getConsumerGroup() {
+        if (client instanceof PushConsumer) {
+            return ((PushConsumer) client).getConsumerGroup();
+        }
+        if (client instanceof SimpleConsumer) {
+            return ((SimpleConsumer) client).getConsumerGroup();
+        }
+        return null;
+    }
+
+    private TopicKeys getTopicKeys(String topic) {
+        final TopicKeys topicKeys = topicKeysTable.get(topic);
+        if (null != topicKeys) {
+            return topicKeys;
+        }
+        final TopicKeys newTopicKeys = new TopicKeys(topic, client.getClientId().toString(), getConsumerGroup());
+        final TopicKeys existed = topicKeysTable.putIfAbsent(topic, newTopicKeys);
+        return null == existed ? newTopicKeys : existed;
     }
 
     private void doBeforeSendMessage(MessageInterceptorContext context) {
@@ -60,14 +88,12 @@ public class MessageMeterInterceptor implements MessageInterceptor {
             // Should never reach here.
             return;
         }
+        final boolean success = MessageHookPointsStatus.OK.equals(context.getStatus());
+        final long costTimeMillis = stopwatchAttr.get().elapsed().toMillis();
         for (GeneralMessage message : messages) {
-            final Duration duration = stopwatchAttr.get().elapsed();
-            InvocationStatus status = MessageHookPointsStatus.OK.equals(context.getStatus()) ?
-                InvocationStatus.SUCCESS : InvocationStatus.FAILURE;
-            Attributes attributes = Attributes.builder().put(MetricLabels.TOPIC, message.getTopic())
-                .put(MetricLabels.CLIENT_ID, client.getClientId().toString())
-                .put(MetricLabels.INVOCATION_STATUS, status.getName()).build();
-            meterManager.record(HistogramEnum.SEND_COST_TIME, attributes, duration.toMillis());
+            final TopicKeys topicKeys = getTopicKeys(message.getTopic());
+            final MetricKey key = success ? topicKeys.sendSuccess : topicKeys.sendFailure;
+            meterManager.record(HistogramEnum.SEND_COST_TIME, key, costTimeMillis);
         }
     }
 
@@ -75,18 +101,12 @@ public class MessageMeterInterceptor implements MessageInterceptor {
         if (messages.isEmpty()) {
             return;
         }
-        String consumerGroup = null;
-        if (client instanceof PushConsumer) {
-            consumerGroup = ((PushConsumer) client).getConsumerGroup();
-        }
-        if (client instanceof SimpleConsumer) {
-            consumerGroup = ((SimpleConsumer) client).getConsumerGroup();
-        }
-        if (null == consumerGroup) {
+        final GeneralMessage message = messages.iterator().next();
+        final MetricKey key = getTopicKeys(message.getTopic()).consume;
+        if (null == key) {
             log.error("[Bug] consumerGroup is not recognized, clientId={}", client.getClientId());
             return;
         }
-        final GeneralMessage message = messages.iterator().next();
         final Optional<Long> optionalTransportDeliveryTimestamp = message.getTransportDeliveryTimestamp();
         if (!optionalTransportDeliveryTimestamp.isPresent()) {
             return;
@@ -99,10 +119,7 @@ public class MessageMeterInterceptor implements MessageInterceptor {
                 latency, currentTimeMillis, transportDeliveryTimestamp);
             return;
         }
-        final Attributes attributes = Attributes.builder().put(MetricLabels.TOPIC, message.getTopic())
-            .put(MetricLabels.CONSUMER_GROUP, consumerGroup)
-            .put(MetricLabels.CLIENT_ID, client.getClientId().toString()).build();
-        meterManager.record(HistogramEnum.DELIVERY_LATENCY, attributes, latency);
+        meterManager.record(HistogramEnum.DELIVERY_LATENCY, key, latency);
     }
 
     private void doBeforeConsumeMessage(MessageInterceptorContext context, List<GeneralMessage> messages) {
@@ -110,25 +127,19 @@ public class MessageMeterInterceptor implements MessageInterceptor {
             // Should never reach here.
             return;
         }
-        String consumerGroup = null;
-        if (client instanceof PushConsumer) {
-            consumerGroup = ((PushConsumer) client).getConsumerGroup();
-        }
-        if (null == consumerGroup) {
+        final GeneralMessage message = messages.iterator().next();
+        final MetricKey key = getTopicKeys(message.getTopic()).consume;
+        if (null == key) {
             log.error("[Bug] consumerGroup is not recognized, clientId={}", client.getClientId());
             return;
         }
-        final GeneralMessage message = messages.iterator().next();
         final Optional<Long> optionalDecodeTimestamp = message.getDecodeTimestamp();
         if (!optionalDecodeTimestamp.isPresent()) {
             return;
         }
         final long decodeTimestamp = optionalDecodeTimestamp.get();
-        Attributes attributes = Attributes.builder().put(MetricLabels.TOPIC, message.getTopic())
-            .put(MetricLabels.CONSUMER_GROUP, consumerGroup)
-            .put(MetricLabels.CLIENT_ID, client.getClientId().toString()).build();
         final long latency = System.currentTimeMillis() - decodeTimestamp;
-        meterManager.record(HistogramEnum.AWAIT_TIME, attributes, latency);
+        meterManager.record(HistogramEnum.AWAIT_TIME, key, latency);
         // Record the time before consuming message.
         context.putAttribute(CONSUME_STOPWATCH_KEY, Attribute.create(Stopwatch.createStarted()));
     }
@@ -144,18 +155,27 @@ public class MessageMeterInterceptor implements MessageInterceptor {
             // Should never reach here.
             return;
         }
-        PushConsumer pushConsumer = (PushConsumer) client;
-        final MessageHookPointsStatus status = context.getStatus();
+        final boolean success = MessageHookPointsStatus.OK.equals(context.getStatus());
+        final long processTimeMillis = stopwatchAttr.get().elapsed().toMillis();
         for (GeneralMessage message : messages) {
-            InvocationStatus invocationStatus = MessageHookPointsStatus.OK.equals(status) ? InvocationStatus.SUCCESS :
-                InvocationStatus.FAILURE;
-            Attributes attributes = Attributes.builder().put(MetricLabels.TOPIC, message.getTopic())
-                .put(MetricLabels.CONSUMER_GROUP, pushConsumer.getConsumerGroup())
-                .put(MetricLabels.CLIENT_ID, client.getClientId().toString())
-                .put(MetricLabels.INVOCATION_STATUS, invocationStatus.getName())
-                .build();
-            final Duration duration = stopwatchAttr.get().elapsed();
-            meterManager.record(HistogramEnum.PROCESS_TIME, attributes, duration.toMillis());
+            final TopicKeys topicKeys = getTopicKeys(message.getTopic());
+            final MetricKey key = success ? topicKeys.processSuccess : topicKeys.processFailure;
+            meterManager.record(HistogramEnum.PROCESS_TIME, key, processTimeMillis);
+        }
+    }
+
+    @Override
+    public boolean isSubscribed(MessageHookPoints messageHookPoints) {
+        if (!meterManager.isEnabled()) {
+            return false;
+        }
+        switch (messageHookPoints) {
+            case SEND:
+            case RECEIVE:
+            case CONSUME:
+                return true;
+            default:
+                return false;
         }
     }
 
@@ -202,4 +222,33 @@ public class MessageMeterInterceptor implements MessageInterceptor {
                 break;
         }
     }
+
+    /**
+     * Precomputed keys of the topic, keys of the consumer are null if the client is not a consumer.
+     */
+    private static class TopicKeys {
+        private final MetricKey sendSuccess;
+        private final MetricKey sendFailure;
+        @Nullable
+        private final MetricKey consume;
+        @Nullable
+        private final MetricKey processSuccess;
+        @Nullable
+        private final MetricKey processFailure;
+
+        TopicKeys(String topic, String clientId, @Nullable String consumerGroup) {
+            final MetricKey base = new MetricKey(topic, clientId, null, null);
+            this.sendSuccess = base.withInvocationStatus(InvocationStatus.SUCCESS);
+            this.sendFailure = base.withInvocationStatus(InvocationStatus.FAILURE);
+            if (null == consumerGroup) {
+                this.consume = null;
+                this.processSuccess = null;
+                this.processFailure = null;
+                return;
+            }
+            this.consume = new MetricKey(topic, clientId, consumerGroup, null);
+            this.processSuccess = consume.withInvocationStatus(InvocationStatus.SUCCESS);
+            this.processFailure = consume.withInvocationStatus(InvocationStatus.FAILURE);
+        }
+    }
 }
@@ -0,0 +1,98 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.rocketmq.client.java.metrics;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Objects;
+import java.util.Optional;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.Immutable;
+
+/**
+ * Labels of the metric, which are plain values rather than the attributes of any exporter, so that metrics could be
+ * recorded and read in process even if OpenTelemetry is absent from the classpath.
+ *
+ * <p>See {@link MetricLabels} for the names of labels once they are exported.
+ */
+@Immutable
+public final class MetricKey {
+    @Nullable
+    private final String topic;
+    private final String clientId;
+    @Nullable
+    private final String consumerGroup;
+    @Nullable
+    private final InvocationStatus invocationStatus;
+
+    public MetricKey(@Nullable String topic, String clientId, @Nullable String consumerGroup,
+        @Nullable InvocationStatus invocationStatus) {
+        this.topic = topic;
+        this.clientId = clientId;
+        this.consumerGroup = consumerGroup;
+        this.invocationStatus = invocationStatus;
+    }
+
+    public MetricKey withInvocationStatus(InvocationStatus invocationStatus) {
+        return new MetricKey(topic, clientId, consumerGroup, invocationStatus);
+    }
+
+    public Optional<String> getTopic() {
+        return Optional.ofNullable(topic);
+    }
+
+    public String getClientId() {
+        return clientId;
+    }
+
+    public Optional<String> getConsumerGroup() {
+        return Optional.ofNullable(consumerGroup);
+    }
+
+    public Optional<InvocationStatus> getInvocationStatus() {
+        return Optional.ofNullable(invocationStatus);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        MetricKey that = (MetricKey) o;
+        return Objects.equal(topic, that.topic) && Objects.equal(clientId, that.clientId)
+            && Objects.equal(consumerGroup, that.consumerGroup) && invocationStatus == that.invocationStatus;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hashCode(topic, clientId, consumerGroup, invocationStatus);
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+            .omitNullValues()
+            .add("topic", topic)
+            .add("clientId", clientId)
+            .add("consumerGroup", consumerGroup)
+            .add("invocationStatus", null == invocationStatus ? null : invocationStatus.getName())
+            .toString();
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.rocketmq.client.java.misc;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * Bounded pool of reusable objects, which are created on demand once the pool is empty and disposed of once the pool
+ * is full, so that no borrower ever waits.
+ *
+ * @param <T> type of pooled objects.
+ */
+@ThreadSafe
+class BoundedPool<T> {
+    static final int DEFAULT_CAPACITY = Math.max(4, Runtime.getRuntime().availableProcessors());
+
+    private final int capacity;
+    private final Supplier<T> factory;
+    private final Consumer<T> reset;
+    private final Consumer<T> dispose;
+    private final Queue<T> objects;
+    private final AtomicInteger pooledCount;
+
+    /**
+     * @param capacity max quantity of pooled objects.
+     * @param factory  creates the object if the pool is empty.
+     * @param reset    resets the released object before it is pooled.
+     * @param dispose  releases the resources of the object which exceeds the capacity.
+     */
+    BoundedPool(int capacity, Supplier<T> factory, Consumer<T> reset, Consumer<T> dispose) {
+        this.capacity = capacity;
+        this.factory = factory;
+        this.reset = reset;
+        this.dispose = dispose;
+        this.objects = new ConcurrentLinkedQueue<>();
+        this.pooledCount = new AtomicInteger(0);
+    }
+
+    T borrow() {
+        final T object = objects.poll();
+        if (null == object) {
+            return factory.get();
+        }
+        pooledCount.decrementAndGet();
+        return object;
+    }
+
+    void release(T object) {
+        reset.accept(object);
+        if (pooledCount.incrementAndGet() <= capacity) {
+            objects.offer(object);
+            return;
+        }
+        pooledCount.decrementAndGet();
+        dispose.accept(object);
+    }
+
+    int getPooledCount() {
+        return pooledCount.get();
+    }
+}
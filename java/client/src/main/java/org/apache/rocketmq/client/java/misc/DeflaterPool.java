@@ -0,0 +1,83 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.rocketmq.client.java.misc;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import java.util.Arrays;
+import java.util.zip.Deflater;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * Bounded pool of {@link Deflater}s for each compression level, which saves the native zlib stream allocated for
+ * each compression.
+ */
+@ThreadSafe
+public class DeflaterPool {
+    private static final DeflaterPool[] POOLS = new DeflaterPool[Deflater.BEST_COMPRESSION + 1];
+
+    static {
+        for (int level = Deflater.NO_COMPRESSION; level <= Deflater.BEST_COMPRESSION; level++) {
+            POOLS[level] = new DeflaterPool(level, BoundedPool.DEFAULT_CAPACITY);
+        }
+    }
+
+    private final BoundedPool<Deflater> deflaters;
+
+    DeflaterPool(int level, int capacity) {
+        this.deflaters = new BoundedPool<>(capacity, () -> new Deflater(level), Deflater::reset, Deflater::end);
+    }
+
+    public static DeflaterPool getInstance(int level) {
+        checkArgument(level >= Deflater.NO_COMPRESSION && level <= Deflater.BEST_COMPRESSION,
+            "level should be in [0, 9]");
+        return POOLS[level];
+    }
+
+    /**
+     * Compress the bytes in zlib format.
+     *
+     * @param src bytes to compress.
+     * @return compressed bytes, or null if they would not be smaller than the source.
+     */
+    @Nullable
+    public byte[] compress(byte[] src) {
+        final Deflater deflater = deflaters.borrow();
+        try {
+            deflater.setInput(src);
+            deflater.finish();
+            // Output which is not smaller than the source is useless, so the buffer is never grown.
+            final byte[] buffer = new byte[src.length];
+            int length = 0;
+            while (!deflater.finished() && length < buffer.length) {
+                length += deflater.deflate(buffer, length, buffer.length - length);
+            }
+            if (!deflater.finished() || length >= src.length) {
+                return null;
+            }
+            return Arrays.copyOf(buffer, length);
+        } finally {
+            deflaters.release(deflater);
+        }
+    }
+
+    int getPooledCount() {
+        return deflaters.getPooledCount();
+    }
+}
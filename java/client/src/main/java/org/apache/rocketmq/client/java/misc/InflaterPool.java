@@ -0,0 +1,114 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.rocketmq.client.java.misc;
+
+import com.google.protobuf.ByteString;
+import com.google.protobuf.UnsafeByteOperations;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * Bounded pool of {@link Inflater}s, which saves the native zlib stream allocated for each decompression.
+ */
+@ThreadSafe
+public class InflaterPool {
+    private static final InflaterPool INSTANCE = new InflaterPool(BoundedPool.DEFAULT_CAPACITY);
+
+    private static final int MIN_OUTPUT_SIZE = 64;
+    /**
+     * Estimated compression ratio, which decides the initial size of output.
+     */
+    private static final int ESTIMATED_COMPRESSION_RATIO = 4;
+    private static final int MAX_INPUT_BUFFER_SIZE = 8 * 1024;
+    /**
+     * Output is trimmed once the unused part exceeds 1/8 of it, so that the retained array, which is never counted by
+     * the cache budget, stays close to the decompressed size.
+     */
+    private static final int MAX_SLACK_SHIFT = 3;
+
+    private final BoundedPool<Inflater> inflaters;
+
+    InflaterPool(int capacity) {
+        this.inflaters = new BoundedPool<>(capacity, Inflater::new, Inflater::reset, Inflater::end);
+    }
+
+    public static InflaterPool getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Decompress the bytes in zlib format, which are read from the view of {@link ByteString} without copying.
+     *
+     * <p>The output is inflated into one array directly, and the returned {@link ByteString} is a view of the inflated
+     * part of it. The array is only copied to trim it if the unused part is significant, since the view pins the whole
+     * array for as long as the message is cached.
+     *
+     * @param src bytes to decompress.
+     * @return decompressed bytes.
+     * @throws IOException if the bytes are corrupted.
+     */
+    public ByteString decompress(ByteString src) throws IOException {
+        final Inflater inflater = inflaters.borrow();
+        try (InputStream in = new InflaterInputStream(src.newInput(), inflater,
+            Math.max(1, Math.min(src.size(), MAX_INPUT_BUFFER_SIZE)))) {
+            byte[] output = new byte[Math.max(MIN_OUTPUT_SIZE, estimateOutputSize(src.size()))];
+            int length = 0;
+            int n;
+            while ((n = in.read(output, length, output.length - length)) >= 0) {
+                length += n;
+                if (length == output.length) {
+                    if (inflater.finished()) {
+                        break;
+                    }
+                    output = Arrays.copyOf(output, grow(output.length));
+                }
+            }
+            return UnsafeByteOperations.unsafeWrap(trim(output, length), 0, length);
+        } finally {
+            inflaters.release(inflater);
+        }
+    }
+
+    static byte[] trim(byte[] output, int length) {
+        final int slack = output.length - length;
+        if (slack <= MIN_OUTPUT_SIZE || slack <= output.length >>> MAX_SLACK_SHIFT) {
+            return output;
+        }
+        return Arrays.copyOf(output, length);
+    }
+
+    private static int estimateOutputSize(int inputSize) {
+        final long size = (long) inputSize * ESTIMATED_COMPRESSION_RATIO;
+        return (int) Math.min(size, Integer.MAX_VALUE - 8);
+    }
+
+    private static int grow(int size) throws IOException {
+        if (size >= Integer.MAX_VALUE - 8) {
+            throw new IOException("Decompressed bytes exceed the max array size");
+        }
+        return (int) Math.min((long) size << 1, Integer.MAX_VALUE - 8);
+    }
+
+    int getPooledCount() {
+        return inflaters.getPooledCount();
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.rocketmq.client.java.misc;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * Bounded pool of {@link MessageDigest}s for each algorithm, which saves the lookup of providers and the allocation
+ * of digest state for each checksum, and is shared by virtual threads which never reuse thread-local instances.
+ */
+@ThreadSafe
+public class MessageDigestPool {
+    private static final ConcurrentMap<String, MessageDigestPool> POOLS = new ConcurrentHashMap<>();
+
+    private final BoundedPool<MessageDigest> digests;
+
+    MessageDigestPool(String algorithm, int capacity) {
+        this.digests = new BoundedPool<>(capacity, () -> newDigest(algorithm), MessageDigest::reset, digest -> {
+            // Digest holds no native resource, leave it to the garbage collector.
+        });
+    }
+
+    public static MessageDigestPool getInstance(String algorithm) throws NoSuchAlgorithmException {
+        final MessageDigestPool pool = POOLS.get(algorithm);
+        if (null != pool) {
+            return pool;
+        }
+        // Fail fast for the unsupported algorithm, so that no pool is created for it.
+        MessageDigest.getInstance(algorithm);
+        return POOLS.computeIfAbsent(algorithm, key -> new MessageDigestPool(key, BoundedPool.DEFAULT_CAPACITY));
+    }
+
+    private static MessageDigest newDigest(String algorithm) {
+        try {
+            return MessageDigest.getInstance(algorithm);
+        } catch (NoSuchAlgorithmException e) {
+            // Should never reach here, the algorithm is verified before the pool is created.
+            throw new IllegalStateException("Unsupported digest algorithm, algorithm=" + algorithm, e);
+        }
+    }
+
+    MessageDigest borrow() {
+        return digests.borrow();
+    }
+
+    void release(MessageDigest digest) {
+        digests.release(digest);
+    }
+
+    int getPooledCount() {
+        return digests.getPooledCount();
+    }
+}
@@ -17,16 +17,56 @@
 
 package org.apache.rocketmq.client.java.misc;
 
-import java.util.UUID;
+import java.security.SecureRandom;
+import java.util.concurrent.atomic.AtomicLongArray;
+import javax.annotation.concurrent.ThreadSafe;
+import org.apache.rocketmq.client.apis.RequestIdProvider;
 
-public class RequestIdGenerator {
+/**
+ * Default {@link RequestIdProvider}, the request id is only used to trace the remote procedure call.
+ *
+ * <p>Each generator owns a random prefix, and the sequences are striped by the calling thread, so concurrent calls
+ * rarely contend on the same counter and never contend on {@link SecureRandom} like
+ * {@link java.util.UUID#randomUUID()} does. Each client creates its own generator unless a
+ * {@link RequestIdProvider} is configured.
+ */
+@ThreadSafe
+public class RequestIdGenerator implements RequestIdProvider {
+    private static final int MAX_STRIPES = 64;
+    /**
+     * Adjacent sequences are padded away from each other to avoid false sharing.
+     */
+    private static final int PADDING = 8;
+    private static final int STRIPES = stripes();
     private static final RequestIdGenerator INSTANCE = new RequestIdGenerator();
 
+    private final String prefix;
+    private final AtomicLongArray sequences;
+
+    public RequestIdGenerator() {
+        final byte[] bytes = new byte[8];
+        new SecureRandom().nextBytes(bytes);
+        this.prefix = Utilities.encodeHexString(bytes, false) + "-";
+        this.sequences = new AtomicLongArray(STRIPES * PADDING);
+    }
+
+    /**
+     * Get the process-wide generator, which is only used when there is no client at hand.
+     */
     public static RequestIdGenerator getInstance() {
         return INSTANCE;
     }
 
-    public String next() {
-        return UUID.randomUUID().toString();
+    private static int stripes() {
+        final int desired = 2 * Runtime.getRuntime().availableProcessors();
+        return Math.min(MAX_STRIPES, Integer.highestOneBit(desired - 1) << 1);
+    }
+
+    @Override
+    public String nextRequestId() {
+        final long h = Thread.currentThread().threadId() * 0x9E3779B97F4A7C15L;
+        final int stripe = (int) (h >>> 32) & (STRIPES - 1);
+        final long sequence = sequences.getAndIncrement(stripe * PADDING);
+        return prefix + Integer.toHexString(stripe) + "-" + Long.toHexString(sequence);
     }
 }
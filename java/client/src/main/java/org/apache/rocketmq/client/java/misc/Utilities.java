@@ -18,9 +18,13 @@
 package org.apache.rocketmq.client.java.misc;
 
 import apache.rocketmq.v2.ReceiveMessageRequest;
-import java.io.ByteArrayInputStream;
+import com.google.protobuf.ByteOutput;
+import com.google.protobuf.ByteString;
+import com.google.protobuf.UnsafeByteOperations;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.lang.management.ManagementFactory;
 import java.lang.management.RuntimeMXBean;
 import java.net.InetAddress;
@@ -36,6 +40,7 @@ import java.util.Random;
 import java.util.zip.CRC32;
 import java.util.zip.DeflaterOutputStream;
 import java.util.zip.InflaterInputStream;
+import javax.annotation.Nullable;
 import org.apache.commons.lang3.StringUtils;
 
 public class Utilities {
@@ -53,10 +58,6 @@ public class Utilities {
 
     private static final String HOST_NAME_NOT_FOUND = "HOST_NAME_NOT_FOUND";
 
-    private static final ThreadLocal<String> PROTOCOL_VERSION_THREAD_LOCAL = new ThreadLocal<>();
-    private static final ThreadLocal<String> HOST_NAME_THREAD_LOCAL = new ThreadLocal<>();
-    private static final ThreadLocal<byte[]> MAC_ADDRESS_THREAD_LOCAL = new ThreadLocal<>();
-
     /**
      * Used to build output as Hex
      */
@@ -72,11 +73,27 @@ public class Utilities {
     private Utilities() {
     }
 
+    /**
+     * Values below never change during the lifetime of the process, so they are resolved lazily once and shared by
+     * all threads, rather than cached per thread which is useless for virtual threads created per task.
+     */
+    private static class MacAddressHolder {
+        private static final byte[] MAC_ADDRESS = lookupMacAddress();
+    }
+
+    private static class HostNameHolder {
+        private static final String HOST_NAME = lookupHostName();
+    }
+
+    private static class ProtocolVersionHolder {
+        private static final String PROTOCOL_VERSION = ReceiveMessageRequest.class.getName().split("\\.")[2];
+    }
+
     public static byte[] macAddress() {
-        byte[] macAddress = MAC_ADDRESS_THREAD_LOCAL.get();
-        if (null != macAddress) {
-            return macAddress.clone();
-        }
+        return MacAddressHolder.MAC_ADDRESS.clone();
+    }
+
+    private static byte[] lookupMacAddress() {
         try {
             final Enumeration<NetworkInterface> networkInterfaces = NetworkInterface.getNetworkInterfaces();
             while (networkInterfaces.hasMoreElements()) {
@@ -85,28 +102,18 @@ public class Utilities {
                 if (null == mac) {
                     continue;
                 }
-                macAddress = mac;
-                MAC_ADDRESS_THREAD_LOCAL.set(macAddress);
-                return macAddress.clone();
+                return mac;
             }
         } catch (Throwable ignore) {
             // Ignore on purpose.
         }
         byte[] randomBytes = new byte[6];
         RANDOM.nextBytes(randomBytes);
-        macAddress = randomBytes;
-        MAC_ADDRESS_THREAD_LOCAL.set(macAddress);
-        return macAddress.clone();
+        return randomBytes;
     }
 
     public static String getProtocolVersion() {
-        String protocolVersion = PROTOCOL_VERSION_THREAD_LOCAL.get();
-        if (null != protocolVersion) {
-            return protocolVersion;
-        }
-        protocolVersion = ReceiveMessageRequest.class.getName().split("\\.")[2];
-        PROTOCOL_VERSION_THREAD_LOCAL.set(protocolVersion);
-        return protocolVersion;
+        return ProtocolVersionHolder.PROTOCOL_VERSION;
     }
 
     public static int processId() {
@@ -125,18 +132,14 @@ public class Utilities {
     }
 
     public static String hostName() {
-        String hostName = HOST_NAME_THREAD_LOCAL.get();
-        if (null != hostName) {
-            return hostName;
-        }
+        return HostNameHolder.HOST_NAME;
+    }
+
+    private static String lookupHostName() {
         try {
-            hostName = InetAddress.getLocalHost().getHostName();
-            HOST_NAME_THREAD_LOCAL.set(hostName);
-            return hostName;
+            return InetAddress.getLocalHost().getHostName();
         } catch (Throwable ignore) {
-            hostName = HOST_NAME_NOT_FOUND;
-            HOST_NAME_THREAD_LOCAL.set(hostName);
-            return hostName;
+            return HOST_NAME_NOT_FOUND;
         }
     }
 
@@ -162,11 +165,18 @@ public class Utilities {
     }
 
     public static byte[] uncompressBytesGzip(final byte[] src) throws IOException {
-        byte[] uncompressData = new byte[src.length];
+        return uncompressBytesGzip(UnsafeByteOperations.unsafeWrap(src));
+    }
 
-        ByteArrayInputStream byteArrayInputStream = new ByteArrayInputStream(src);
-        InflaterInputStream inflaterInputStream = new InflaterInputStream(byteArrayInputStream);
-        ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream(src.length);
+    /**
+     * Uncompress the bytes, which are read from the view of {@link ByteString} without copying.
+     */
+    public static byte[] uncompressBytesGzip(final ByteString src) throws IOException {
+        byte[] uncompressData = new byte[src.size()];
+
+        InputStream inputStream = src.newInput();
+        InflaterInputStream inflaterInputStream = new InflaterInputStream(inputStream);
+        ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream(src.size());
 
         try {
             int length;
@@ -178,7 +188,7 @@ public class Utilities {
             return byteArrayOutputStream.toByteArray();
         } finally {
             try {
-                byteArrayInputStream.close();
+                inputStream.close();
             } catch (IOException ignore) {
                 // Exception not expected here.
             }
@@ -245,6 +255,111 @@ public class Utilities {
         return encodeHexString(digest.digest(), false);
     }
 
+    public static String crc32CheckSum(ByteString bytes) {
+        return Long.toHexString(crc32(bytes)).toUpperCase(LOCALE);
+    }
+
+    public static String md5CheckSum(ByteString bytes) throws NoSuchAlgorithmException {
+        return encodeHexString(digest(bytes, "MD5"), false);
+    }
+
+    public static String sha1CheckSum(ByteString bytes) throws NoSuchAlgorithmException {
+        return encodeHexString(digest(bytes, "SHA-1"), false);
+    }
+
+    /**
+     * Raw CRC32 value of bytes, {@link CRC32} is intrinsified by the JIT on mainstream platforms.
+     */
+    public static long crc32(ByteString bytes) {
+        CRC32 crc32 = new CRC32();
+        update(bytes, crc32::update);
+        return crc32.getValue();
+    }
+
+    /**
+     * Raw digest of bytes, the instance of {@link MessageDigest} is borrowed from {@link MessageDigestPool}.
+     */
+    public static byte[] digest(ByteString bytes, String algorithm) throws NoSuchAlgorithmException {
+        final MessageDigestPool pool = MessageDigestPool.getInstance(algorithm);
+        final MessageDigest digest = pool.borrow();
+        try {
+            update(bytes, digest::update);
+            return digest.digest();
+        } finally {
+            pool.release(digest);
+        }
+    }
+
+    /**
+     * Decode hex string in either case.
+     *
+     * @return decoded bytes, or null if the string is not a well-formed hex string.
+     */
+    @Nullable
+    public static byte[] decodeHex(String hex) {
+        final int length = hex.length();
+        if ((length & 1) != 0) {
+            return null;
+        }
+        final byte[] bytes = new byte[length >> 1];
+        for (int i = 0; i < length; i += 2) {
+            final int high = Character.digit(hex.charAt(i), 16);
+            final int low = Character.digit(hex.charAt(i + 1), 16);
+            if (high < 0 || low < 0) {
+                return null;
+            }
+            bytes[i >> 1] = (byte) ((high << 4) | low);
+        }
+        return bytes;
+    }
+
+    private interface BytesUpdater {
+        void update(byte[] bytes, int offset, int length);
+    }
+
+    /**
+     * Feed the underlying chunks of {@link ByteString} to the updater without copying them.
+     */
+    private static void update(ByteString bytes, BytesUpdater updater) {
+        try {
+            UnsafeByteOperations.unsafeWriteTo(bytes, new ByteOutput() {
+                @Override
+                public void write(byte value) {
+                    updater.update(new byte[] {value}, 0, 1);
+                }
+
+                @Override
+                public void write(byte[] value, int offset, int length) {
+                    updater.update(value, offset, length);
+                }
+
+                @Override
+                public void writeLazy(byte[] value, int offset, int length) {
+                    updater.update(value, offset, length);
+                }
+
+                @Override
+                public void write(ByteBuffer value) {
+                    if (value.hasArray()) {
+                        updater.update(value.array(), value.arrayOffset() + value.position(), value.remaining());
+                        return;
+                    }
+                    final byte[] array = new byte[value.remaining()];
+                    value.duplicate().get(array);
+                    updater.update(array, 0, array.length);
+                }
+
+                @Override
+                public void writeLazy(ByteBuffer value) {
+                    write(value);
+                }
+            });
+        } catch (IOException e) {
+            // Should never reach here.
+            throw new UncheckedIOException(e);
+        }
+    }
+
     public static String stackTrace() {
         return stackTrace(Thread.getAllStackTraces());
     }
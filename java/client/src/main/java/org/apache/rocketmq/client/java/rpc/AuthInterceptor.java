@@ -32,17 +32,17 @@ import org.slf4j.LoggerFactory;
 public class AuthInterceptor implements ClientInterceptor {
     private static final Logger log = LoggerFactory.getLogger(AuthInterceptor.class);
 
-    private final ClientConfiguration clientConfiguration;
     private final ClientId clientId;
+    private final Signer signer;
 
     public AuthInterceptor(ClientConfiguration clientConfiguration, ClientId clientId) {
-        this.clientConfiguration = clientConfiguration;
         this.clientId = clientId;
+        this.signer = new Signer(clientConfiguration, clientId);
     }
 
     private void customMetadata(Metadata headers) {
         try {
-            final Metadata metadata = Signature.sign(clientConfiguration, clientId);
+            final Metadata metadata = signer.sign();
             headers.merge(metadata);
         } catch (Throwable t) {
             log.error("Failed to sign headers, clientId={}", clientId, t);
@@ -25,12 +25,14 @@ import io.grpc.ForwardingClientCall;
 import io.grpc.ForwardingClientCallListener;
 import io.grpc.Metadata;
 import io.grpc.MethodDescriptor;
-import java.util.UUID;
+import org.apache.rocketmq.client.java.misc.RequestIdGenerator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
  * The client log interceptor based on grpc can track any remote procedure call that interacts with the client locally.
+ *
+ * <p>It is skipped entirely unless the trace level is enabled.
  */
 public class LoggingInterceptor implements ClientInterceptor {
     private static final Logger log = LoggerFactory.getLogger(LoggingInterceptor.class);
@@ -45,7 +47,10 @@ public class LoggingInterceptor implements ClientInterceptor {
     public <T, E> ClientCall<T, E> interceptCall(MethodDescriptor<T, E> method,
         CallOptions callOptions, Channel next) {
 
-        final String rpcId = UUID.randomUUID().toString();
+        if (!log.isTraceEnabled()) {
+            return next.newCall(method, callOptions);
+        }
+        final String rpcId = RequestIdGenerator.getInstance().nextRequestId();
         final String authority = next.authority();
         final String serviceName = method.getServiceName();
         final String methodName = method.getBareMethodName();
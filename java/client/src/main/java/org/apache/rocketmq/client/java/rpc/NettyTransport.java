@@ -0,0 +1,147 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.rocketmq.client.java.rpc;
+
+import io.grpc.netty.NettyChannelBuilder;
+import io.netty.channel.Channel;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.nio.NioSocketChannel;
+import io.netty.util.concurrent.DefaultThreadFactory;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.Nullable;
+import org.apache.rocketmq.client.apis.TransportConfiguration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Netty transport of channels, which applies {@link TransportConfiguration} to {@link NettyChannelBuilder}.
+ *
+ * <p>Native epoll transport is loaded reflectively, so netty-transport-native-epoll stays an optional dependency.
+ */
+class NettyTransport {
+    private static final Logger log = LoggerFactory.getLogger(NettyTransport.class);
+
+    private static final String EPOLL_CLASS_NAME = "io.netty.channel.epoll.Epoll";
+    private static final String EPOLL_EVENT_LOOP_GROUP_CLASS_NAME = "io.netty.channel.epoll.EpollEventLoopGroup";
+    private static final String EPOLL_SOCKET_CHANNEL_CLASS_NAME = "io.netty.channel.epoll.EpollSocketChannel";
+
+    private static final String EVENT_LOOP_THREAD_NAME = "RocketmqClientEventLoop";
+
+    /**
+     * Event loop groups shared across all clients in the JVM, which are never shutdown.
+     */
+    private static final ConcurrentMap<String, NettyTransport> SHARED_TRANSPORTS = new ConcurrentHashMap<>();
+
+    private final TransportConfiguration config;
+    /**
+     * Null means the default event loop group of gRPC.
+     */
+    @Nullable
+    private final EventLoopGroup eventLoopGroup;
+    @Nullable
+    private final Class<? extends Channel> channelType;
+    private final boolean shared;
+
+    private NettyTransport(TransportConfiguration config, @Nullable EventLoopGroup eventLoopGroup,
+        @Nullable Class<? extends Channel> channelType, boolean shared) {
+        this.config = config;
+        this.eventLoopGroup = eventLoopGroup;
+        this.channelType = channelType;
+        this.shared = shared;
+    }
+
+    static NettyTransport create(TransportConfiguration config) {
+        final boolean nativeTransport = config.isNativeTransportEnabled() && isEpollAvailable();
+        if (!nativeTransport && config.getEventLoopThreadCount() <= 0) {
+            return new NettyTransport(config, null, null, true);
+        }
+        if (!config.isEventLoopGroupShared()) {
+            return createEventLoopGroup(config, nativeTransport, false);
+        }
+        final String key = (nativeTransport ? "epoll" : "nio") + "-" + config.getEventLoopThreadCount();
+        final NettyTransport sharedTransport = SHARED_TRANSPORTS.computeIfAbsent(key,
+            k -> createEventLoopGroup(config, nativeTransport, true));
+        // Event loop group is shared, while other options are specific.
+        return new NettyTransport(config, sharedTransport.eventLoopGroup, sharedTransport.channelType, true);
+    }
+
+    private static NettyTransport createEventLoopGroup(TransportConfiguration config, boolean nativeTransport,
+        boolean shared) {
+        final int threadCount = Math.max(config.getEventLoopThreadCount(), 0);
+        final ThreadFactory threadFactory = new DefaultThreadFactory(EVENT_LOOP_THREAD_NAME, true);
+        if (nativeTransport) {
+            try {
+                final EventLoopGroup group = (EventLoopGroup) Class.forName(EPOLL_EVENT_LOOP_GROUP_CLASS_NAME)
+                    .getConstructor(int.class, ThreadFactory.class).newInstance(threadCount, threadFactory);
+                @SuppressWarnings("unchecked") final Class<? extends Channel> channelType =
+                    (Class<? extends Channel>) Class.forName(EPOLL_SOCKET_CHANNEL_CLASS_NAME);
+                return new NettyTransport(config, group, channelType, shared);
+            } catch (Throwable t) {
+                log.warn("Failed to create native epoll transport, fall back to NIO transport", t);
+            }
+        }
+        return new NettyTransport(config, new NioEventLoopGroup(threadCount, threadFactory), NioSocketChannel.class,
+            shared);
+    }
+
+    static boolean isEpollAvailable() {
+        try {
+            return (Boolean) Class.forName(EPOLL_CLASS_NAME).getMethod("isAvailable").invoke(null);
+        } catch (Throwable t) {
+            return false;
+        }
+    }
+
+    void apply(NettyChannelBuilder channelBuilder) {
+        if (null != eventLoopGroup) {
+            channelBuilder.eventLoopGroup(eventLoopGroup).channelType(channelType);
+        }
+        if (config.getFlowControlWindow() > 0) {
+            channelBuilder.flowControlWindow(config.getFlowControlWindow());
+        }
+        config.getKeepAliveTime().ifPresent(keepAliveTime -> {
+            channelBuilder.keepAliveTime(keepAliveTime.toNanos(), TimeUnit.NANOSECONDS);
+            if (config.isKeepAliveWithoutCalls()) {
+                channelBuilder.keepAliveWithoutCalls(true);
+            }
+        });
+        config.getKeepAliveTimeout().ifPresent(keepAliveTimeout ->
+            channelBuilder.keepAliveTimeout(keepAliveTimeout.toNanos(), TimeUnit.NANOSECONDS));
+        if (config.getMaxInboundMetadataSize() > 0) {
+            channelBuilder.maxInboundMetadataSize(config.getMaxInboundMetadataSize());
+        }
+    }
+
+    @Nullable
+    EventLoopGroup getEventLoopGroup() {
+        return eventLoopGroup;
+    }
+
+    /**
+     * Release the event loop group if it is not shared, which should be called after all channels are shutdown.
+     */
+    void release() {
+        if (!shared && null != eventLoopGroup) {
+            eventLoopGroup.shutdownGracefully(0, 0, TimeUnit.SECONDS);
+        }
+    }
+}
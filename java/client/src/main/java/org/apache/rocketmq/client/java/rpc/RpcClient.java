@@ -45,6 +45,7 @@ import java.time.Duration;
 import java.util.List;
 import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
+import java.util.function.Consumer;
 
 /**
  * Client for all explicit RPCs in RocketMQ.
@@ -126,6 +127,20 @@ public interface RpcClient {
     ListenableFuture<List<ReceiveMessageResponse>> receiveMessage(Metadata metadata,
         ReceiveMessageRequest request, ExecutorService executor, Duration duration);
 
+    /**
+     * Receiving message asynchronously from server in streaming mode, each response is handed over to the consumer
+     * as soon as it arrives.
+     *
+     * @param metadata         gRPC request header metadata.
+     * @param request          receiving message request.
+     * @param executor         gRPC asynchronous executor.
+     * @param duration         request max duration.
+     * @param responseConsumer consumer of each response, which is invoked serially.
+     * @return future which is completed once the stream is completed.
+     */
+    ListenableFuture<Void> receiveMessage(Metadata metadata, ReceiveMessageRequest request, ExecutorService executor,
+        Duration duration, Consumer<ReceiveMessageResponse> responseConsumer);
+
     /**
      * Ack message asynchronously after success of consumption.
      *
@@ -39,7 +39,9 @@ import apache.rocketmq.v2.ReceiveMessageResponse;
 import apache.rocketmq.v2.SendMessageRequest;
 import apache.rocketmq.v2.SendMessageResponse;
 import apache.rocketmq.v2.TelemetryCommand;
+import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
 import com.google.common.util.concurrent.SettableFuture;
 import io.grpc.ClientInterceptor;
 import io.grpc.ManagedChannel;
@@ -59,7 +61,9 @@ import java.util.List;
 import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 import javax.net.ssl.SSLException;
+import org.apache.rocketmq.client.apis.TransportConfiguration;
 import org.apache.rocketmq.client.java.route.Endpoints;
 
 public class RpcClientImpl implements RpcClient {
@@ -70,15 +74,20 @@ public class RpcClientImpl implements RpcClient {
     private final MessagingServiceGrpc.MessagingServiceFutureStub futureStub;
     private final MessagingServiceGrpc.MessagingServiceStub stub;
 
-    private long activityNanoTime;
+    private volatile long activityNanoTime;
 
-    @SuppressWarnings("deprecation")
     public RpcClientImpl(Endpoints endpoints, boolean sslEnabled) throws SSLException {
+        this(endpoints, sslEnabled, NettyTransport.create(TransportConfiguration.newBuilder().build()));
+    }
+
+    @SuppressWarnings("deprecation")
+    RpcClientImpl(Endpoints endpoints, boolean sslEnabled, NettyTransport transport) throws SSLException {
         final NettyChannelBuilder channelBuilder =
             NettyChannelBuilder.forTarget(endpoints.getGrpcTarget())
                 .withOption(ChannelOption.CONNECT_TIMEOUT_MILLIS, CONNECT_TIMEOUT_MILLIS)
                 .maxInboundMessageSize(GRPC_MAX_MESSAGE_SIZE)
                 .intercept(LoggingInterceptor.getInstance());
+        transport.apply(channelBuilder);
 
         if (sslEnabled) {
             final SslContextBuilder builder = GrpcSslContexts.forClient();
@@ -147,15 +156,22 @@ public class RpcClientImpl implements RpcClient {
     @Override
     public ListenableFuture<List<ReceiveMessageResponse>> receiveMessage(Metadata metadata,
         ReceiveMessageRequest request, ExecutorService executor, Duration duration) {
-        this.activityNanoTime = System.nanoTime();
-        SettableFuture<List<ReceiveMessageResponse>> future = SettableFuture.create();
         List<ReceiveMessageResponse> responses = new ArrayList<>();
+        final ListenableFuture<Void> future = receiveMessage(metadata, request, executor, duration, responses::add);
+        return Futures.transform(future, v -> responses, MoreExecutors.directExecutor());
+    }
+
+    @Override
+    public ListenableFuture<Void> receiveMessage(Metadata metadata, ReceiveMessageRequest request,
+        ExecutorService executor, Duration duration, Consumer<ReceiveMessageResponse> responseConsumer) {
+        this.activityNanoTime = System.nanoTime();
+        SettableFuture<Void> future = SettableFuture.create();
         stub.withInterceptors(MetadataUtils.newAttachHeadersInterceptor(metadata)).withExecutor(executor)
             .withDeadlineAfter(duration.toNanos(), TimeUnit.NANOSECONDS)
             .receiveMessage(request, new StreamObserver<ReceiveMessageResponse>() {
                 @Override
                 public void onNext(ReceiveMessageResponse response) {
-                    responses.add(response);
+                    responseConsumer.accept(response);
                 }
 
                 @Override
@@ -165,7 +181,7 @@ public class RpcClientImpl implements RpcClient {
 
                 @Override
                 public void onCompleted() {
-                    future.set(responses);
+                    future.set(null);
                 }
             });
         return future;
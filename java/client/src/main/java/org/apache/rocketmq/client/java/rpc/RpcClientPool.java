@@ -0,0 +1,304 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.rocketmq.client.java.rpc;
+
+import apache.rocketmq.v2.AckMessageRequest;
+import apache.rocketmq.v2.AckMessageResponse;
+import apache.rocketmq.v2.ChangeInvisibleDurationRequest;
+import apache.rocketmq.v2.ChangeInvisibleDurationResponse;
+import apache.rocketmq.v2.EndTransactionRequest;
+import apache.rocketmq.v2.EndTransactionResponse;
+import apache.rocketmq.v2.ForwardMessageToDeadLetterQueueRequest;
+import apache.rocketmq.v2.ForwardMessageToDeadLetterQueueResponse;
+import apache.rocketmq.v2.HeartbeatRequest;
+import apache.rocketmq.v2.HeartbeatResponse;
+import apache.rocketmq.v2.NotifyClientTerminationRequest;
+import apache.rocketmq.v2.NotifyClientTerminationResponse;
+import apache.rocketmq.v2.QueryAssignmentRequest;
+import apache.rocketmq.v2.QueryAssignmentResponse;
+import apache.rocketmq.v2.QueryRouteRequest;
+import apache.rocketmq.v2.QueryRouteResponse;
+import apache.rocketmq.v2.ReceiveMessageRequest;
+import apache.rocketmq.v2.ReceiveMessageResponse;
+import apache.rocketmq.v2.SendMessageRequest;
+import apache.rocketmq.v2.SendMessageResponse;
+import apache.rocketmq.v2.TelemetryCommand;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
+import io.grpc.Metadata;
+import io.grpc.stub.StreamObserver;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import javax.annotation.Nullable;
+import javax.net.ssl.SSLException;
+import org.apache.rocketmq.client.apis.TransportConfiguration;
+import org.apache.rocketmq.client.java.route.Endpoints;
+
+/**
+ * Pool of {@link RpcClient}s to the same {@link Endpoints}, each of which holds its own channel.
+ *
+ * <p>Ordinary RPCs are dispatched to the channel with the least outstanding RPCs, while long-polling message
+ * reception uses a separate channel, so that it never shares the stream limit and the flow-control window of the
+ * HTTP/2 connection with latency-sensitive RPCs. The long-polling channel is only created once the first message is
+ * received, so that clients which never receive messages, such as producers, do not hold it. The telemetry stream
+ * carries little traffic and stays on the first ordinary channel.
+ */
+public class RpcClientPool implements RpcClient {
+    private final RpcClient[] rpcClients;
+    private final AtomicIntegerArray outstandingRpcs;
+    private final RpcClientFactory longPollingRpcClientFactory;
+    private volatile RpcClient longPollingRpcClient = null;
+    private boolean shutdown = false;
+    @Nullable
+    private final NettyTransport transport;
+
+    public RpcClientPool(Endpoints endpoints, boolean sslEnabled, int channelCount,
+        TransportConfiguration transportConfiguration) throws SSLException {
+        this(endpoints, sslEnabled, channelCount, NettyTransport.create(transportConfiguration));
+    }
+
+    private RpcClientPool(Endpoints endpoints, boolean sslEnabled, int channelCount, NettyTransport transport)
+        throws SSLException {
+        this(createRpcClients(channelCount, () -> new RpcClientImpl(endpoints, sslEnabled, transport), transport),
+            () -> new RpcClientImpl(endpoints, sslEnabled, transport), transport);
+    }
+
+    RpcClientPool(RpcClient[] rpcClients, RpcClientFactory longPollingRpcClientFactory,
+        @Nullable NettyTransport transport) {
+        this.rpcClients = rpcClients;
+        this.outstandingRpcs = new AtomicIntegerArray(rpcClients.length);
+        this.longPollingRpcClientFactory = longPollingRpcClientFactory;
+        this.transport = transport;
+    }
+
+    interface RpcClientFactory {
+        RpcClient create() throws SSLException;
+    }
+
+    /**
+     * Create the ordinary channels, the channels which have been created and the transport are released if any of
+     * them fails, otherwise the event loop threads of the transport would leak on each failed construction.
+     */
+    static RpcClient[] createRpcClients(int channelCount, RpcClientFactory rpcClientFactory,
+        @Nullable NettyTransport transport) throws SSLException {
+        final RpcClient[] rpcClients = new RpcClient[channelCount];
+        int created = 0;
+        try {
+            for (; created < channelCount; created++) {
+                rpcClients[created] = rpcClientFactory.create();
+            }
+            return rpcClients;
+        } catch (Throwable t) {
+            for (int i = 0; i < created; i++) {
+                try {
+                    rpcClients[i].shutdown();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            if (null != transport) {
+                transport.release();
+            }
+            throw t;
+        }
+    }
+
+    /**
+     * Select the index of channel with the least outstanding RPCs, ties are broken by a random start.
+     */
+    int select() {
+        final int count = rpcClients.length;
+        if (count == 1) {
+            return 0;
+        }
+        final int start = ThreadLocalRandom.current().nextInt(count);
+        int selected = start;
+        int least = outstandingRpcs.get(start);
+        for (int i = 1; i < count && least > 0; i++) {
+            final int index = (start + i) % count;
+            final int outstanding = outstandingRpcs.get(index);
+            if (outstanding < least) {
+                selected = index;
+                least = outstanding;
+            }
+        }
+        return selected;
+    }
+
+    int outstandingRpcs(int index) {
+        return outstandingRpcs.get(index);
+    }
+
+    @Nullable
+    RpcClient longPollingRpcClient() {
+        return longPollingRpcClient;
+    }
+
+    private RpcClient getLongPollingRpcClient() throws SSLException {
+        RpcClient rpcClient = longPollingRpcClient;
+        if (null != rpcClient) {
+            return rpcClient;
+        }
+        synchronized (this) {
+            if (shutdown) {
+                throw new IllegalStateException("Rpc client pool has been shutdown");
+            }
+            if (null == longPollingRpcClient) {
+                longPollingRpcClient = longPollingRpcClientFactory.create();
+            }
+            return longPollingRpcClient;
+        }
+    }
+
+    private <T> ListenableFuture<T> longPolling(Function<RpcClient, ListenableFuture<T>> rpc) {
+        final RpcClient rpcClient;
+        try {
+            rpcClient = getLongPollingRpcClient();
+        } catch (Throwable t) {
+            return Futures.immediateFailedFuture(t);
+        }
+        return rpc.apply(rpcClient);
+    }
+
+    private <T> ListenableFuture<T> dispatch(Function<RpcClient, ListenableFuture<T>> rpc) {
+        final int index = select();
+        outstandingRpcs.incrementAndGet(index);
+        final ListenableFuture<T> future;
+        try {
+            future = rpc.apply(rpcClients[index]);
+        } catch (Throwable t) {
+            outstandingRpcs.decrementAndGet(index);
+            throw t;
+        }
+        future.addListener(() -> outstandingRpcs.decrementAndGet(index), MoreExecutors.directExecutor());
+        return future;
+    }
+
+    @Override
+    public Duration idleDuration() {
+        final RpcClient longPollingRpcClient = this.longPollingRpcClient;
+        Duration idleDuration = null == longPollingRpcClient ? rpcClients[0].idleDuration()
+            : longPollingRpcClient.idleDuration();
+        for (RpcClient rpcClient : rpcClients) {
+            final Duration duration = rpcClient.idleDuration();
+            if (duration.compareTo(idleDuration) < 0) {
+                idleDuration = duration;
+            }
+        }
+        return idleDuration;
+    }
+
+    @Override
+    public void shutdown() throws InterruptedException {
+        for (RpcClient rpcClient : rpcClients) {
+            rpcClient.shutdown();
+        }
+        final RpcClient longPollingRpcClient;
+        synchronized (this) {
+            shutdown = true;
+            longPollingRpcClient = this.longPollingRpcClient;
+        }
+        if (null != longPollingRpcClient) {
+            longPollingRpcClient.shutdown();
+        }
+        if (null != transport) {
+            transport.release();
+        }
+    }
+
+    @Override
+    public ListenableFuture<QueryRouteResponse> queryRoute(Metadata metadata, QueryRouteRequest request,
+        Executor executor, Duration duration) {
+        return dispatch(rpcClient -> rpcClient.queryRoute(metadata, request, executor, duration));
+    }
+
+    @Override
+    public ListenableFuture<HeartbeatResponse> heartbeat(Metadata metadata, HeartbeatRequest request,
+        Executor executor, Duration duration) {
+        return dispatch(rpcClient -> rpcClient.heartbeat(metadata, request, executor, duration));
+    }
+
+    @Override
+    public ListenableFuture<SendMessageResponse> sendMessage(Metadata metadata, SendMessageRequest request,
+        Executor executor, Duration duration) {
+        return dispatch(rpcClient -> rpcClient.sendMessage(metadata, request, executor, duration));
+    }
+
+    @Override
+    public ListenableFuture<QueryAssignmentResponse> queryAssignment(Metadata metadata,
+        QueryAssignmentRequest request, Executor executor, Duration duration) {
+        return dispatch(rpcClient -> rpcClient.queryAssignment(metadata, request, executor, duration));
+    }
+
+    @Override
+    public ListenableFuture<List<ReceiveMessageResponse>> receiveMessage(Metadata metadata,
+        ReceiveMessageRequest request, ExecutorService executor, Duration duration) {
+        return longPolling(rpcClient -> rpcClient.receiveMessage(metadata, request, executor, duration));
+    }
+
+    @Override
+    public ListenableFuture<Void> receiveMessage(Metadata metadata, ReceiveMessageRequest request,
+        ExecutorService executor, Duration duration, Consumer<ReceiveMessageResponse> responseConsumer) {
+        return longPolling(rpcClient -> rpcClient.receiveMessage(metadata, request, executor, duration,
+            responseConsumer));
+    }
+
+    @Override
+    public ListenableFuture<AckMessageResponse> ackMessage(Metadata metadata, AckMessageRequest request,
+        Executor executor, Duration duration) {
+        return dispatch(rpcClient -> rpcClient.ackMessage(metadata, request, executor, duration));
+    }
+
+    @Override
+    public ListenableFuture<ChangeInvisibleDurationResponse> changeInvisibleDuration(Metadata metadata,
+        ChangeInvisibleDurationRequest request, Executor executor, Duration duration) {
+        return dispatch(rpcClient -> rpcClient.changeInvisibleDuration(metadata, request, executor, duration));
+    }
+
+    @Override
+    public ListenableFuture<ForwardMessageToDeadLetterQueueResponse> forwardMessageToDeadLetterQueue(
+        Metadata metadata, ForwardMessageToDeadLetterQueueRequest request, Executor executor, Duration duration) {
+        return dispatch(rpcClient -> rpcClient.forwardMessageToDeadLetterQueue(metadata, request, executor,
+            duration));
+    }
+
+    @Override
+    public ListenableFuture<EndTransactionResponse> endTransaction(Metadata metadata, EndTransactionRequest request,
+        Executor executor, Duration duration) {
+        return dispatch(rpcClient -> rpcClient.endTransaction(metadata, request, executor, duration));
+    }
+
+    @Override
+    public ListenableFuture<NotifyClientTerminationResponse> notifyClientTermination(Metadata metadata,
+        NotifyClientTerminationRequest request, Executor executor, Duration duration) {
+        return dispatch(rpcClient -> rpcClient.notifyClientTermination(metadata, request, executor, duration));
+    }
+
+    @Override
+    public StreamObserver<TelemetryCommand> telemetry(Metadata metadata, Executor executor, Duration duration,
+        StreamObserver<TelemetryCommand> responseObserver) {
+        return rpcClients[0].telemetry(metadata, executor, duration, responseObserver);
+    }
+}
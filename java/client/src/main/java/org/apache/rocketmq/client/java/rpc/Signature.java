@@ -21,8 +21,11 @@ import io.grpc.Metadata;
 import java.security.InvalidKeyException;
 import java.security.NoSuchAlgorithmException;
 import java.text.SimpleDateFormat;
-import java.util.Date;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
 import java.util.Optional;
+import javax.annotation.Nullable;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.rocketmq.client.apis.ClientConfiguration;
 import org.apache.rocketmq.client.apis.SessionCredentials;
@@ -51,41 +54,81 @@ public class Signature {
     public static final String SIGNATURE = "Signature";
     public static final String DATE_TIME_FORMAT = "yyyyMMdd'T'HHmmss'Z'";
 
+    static final Metadata.Key<String> LANGUAGE_METADATA_KEY =
+        Metadata.Key.of(LANGUAGE_KEY, Metadata.ASCII_STRING_MARSHALLER);
+    static final Metadata.Key<String> PROTOCOL_VERSION_METADATA_KEY =
+        Metadata.Key.of(PROTOCOL_VERSION, Metadata.ASCII_STRING_MARSHALLER);
+    static final Metadata.Key<String> CLIENT_VERSION_METADATA_KEY =
+        Metadata.Key.of(CLIENT_VERSION_KEY, Metadata.ASCII_STRING_MARSHALLER);
+    static final Metadata.Key<String> DATE_TIME_METADATA_KEY =
+        Metadata.Key.of(DATE_TIME_KEY, Metadata.ASCII_STRING_MARSHALLER);
+    static final Metadata.Key<String> REQUEST_ID_METADATA_KEY =
+        Metadata.Key.of(REQUEST_ID_KEY, Metadata.ASCII_STRING_MARSHALLER);
+    static final Metadata.Key<String> CLIENT_ID_METADATA_KEY =
+        Metadata.Key.of(CLIENT_ID_KEY, Metadata.ASCII_STRING_MARSHALLER);
+    static final Metadata.Key<String> NAMESPACE_METADATA_KEY =
+        Metadata.Key.of(NAMESPACE_KEY, Metadata.ASCII_STRING_MARSHALLER);
+    static final Metadata.Key<String> SESSION_TOKEN_METADATA_KEY =
+        Metadata.Key.of(SESSION_TOKEN_KEY, Metadata.ASCII_STRING_MARSHALLER);
+    static final Metadata.Key<String> AUTHORIZATION_METADATA_KEY =
+        Metadata.Key.of(AUTHORIZATION_KEY, Metadata.ASCII_STRING_MARSHALLER);
+
+    /**
+     * Same as {@link SimpleDateFormat} with {@link #DATE_TIME_FORMAT} in the default time zone, but thread-safe.
+     */
+    private static final DateTimeFormatter DATE_TIME_FORMATTER =
+        DateTimeFormatter.ofPattern(DATE_TIME_FORMAT).withZone(ZoneId.systemDefault());
+
     private Signature() {
     }
 
     public static Metadata sign(ClientConfiguration config, ClientId clientId) throws
         NoSuchAlgorithmException, InvalidKeyException {
-        Metadata metadata = new Metadata();
-
-        metadata.put(Metadata.Key.of(LANGUAGE_KEY, Metadata.ASCII_STRING_MARSHALLER), "JAVA");
-        metadata.put(Metadata.Key.of(PROTOCOL_VERSION, Metadata.ASCII_STRING_MARSHALLER),
-            Utilities.getProtocolVersion());
-        metadata.put(Metadata.Key.of(CLIENT_VERSION_KEY, Metadata.ASCII_STRING_MARSHALLER), MetadataUtils.getVersion());
-
-        String dateTime = new SimpleDateFormat(DATE_TIME_FORMAT).format(new Date());
-        metadata.put(Metadata.Key.of(DATE_TIME_KEY, Metadata.ASCII_STRING_MARSHALLER), dateTime);
+        Metadata metadata = staticMetadata(config, clientId);
+        metadata.put(REQUEST_ID_METADATA_KEY, RequestIdGenerator.getInstance().nextRequestId());
+        final String dateTime = formatDateTime(System.currentTimeMillis());
+        metadata.merge(signedMetadata(dateTime, sessionCredentials(config)));
+        return metadata;
+    }
 
-        final String requestId = RequestIdGenerator.getInstance().next();
-        metadata.put(Metadata.Key.of(REQUEST_ID_KEY, Metadata.ASCII_STRING_MARSHALLER), requestId);
+    /**
+     * Headers which never change during the lifetime of the client.
+     */
+    static Metadata staticMetadata(ClientConfiguration config, ClientId clientId) {
+        Metadata metadata = new Metadata();
+        metadata.put(LANGUAGE_METADATA_KEY, "JAVA");
+        metadata.put(PROTOCOL_VERSION_METADATA_KEY, Utilities.getProtocolVersion());
+        metadata.put(CLIENT_VERSION_METADATA_KEY, MetadataUtils.getVersion());
+        metadata.put(CLIENT_ID_METADATA_KEY, clientId.toString());
+        metadata.put(NAMESPACE_METADATA_KEY, config.getNamespace());
+        return metadata;
+    }
 
-        metadata.put(Metadata.Key.of(CLIENT_ID_KEY, Metadata.ASCII_STRING_MARSHALLER), clientId.toString());
-        metadata.put(Metadata.Key.of(NAMESPACE_KEY, Metadata.ASCII_STRING_MARSHALLER), config.getNamespace());
+    static String formatDateTime(long epochMillis) {
+        return DATE_TIME_FORMATTER.format(Instant.ofEpochMilli(epochMillis));
+    }
 
+    @Nullable
+    static SessionCredentials sessionCredentials(ClientConfiguration config) {
         final Optional<SessionCredentialsProvider> optionalSessionCredentialsProvider =
             config.getCredentialsProvider();
-        if (!optionalSessionCredentialsProvider.isPresent()) {
-            return metadata;
-        }
-        final SessionCredentialsProvider provider = optionalSessionCredentialsProvider.get();
-        final SessionCredentials credentials = provider.getSessionCredentials();
+        return optionalSessionCredentialsProvider.map(SessionCredentialsProvider::getSessionCredentials)
+            .orElse(null);
+    }
+
+    /**
+     * Headers which depend on the date time and the session credentials.
+     */
+    static Metadata signedMetadata(String dateTime, @Nullable SessionCredentials credentials)
+        throws NoSuchAlgorithmException, InvalidKeyException {
+        Metadata metadata = new Metadata();
+        metadata.put(DATE_TIME_METADATA_KEY, dateTime);
         if (null == credentials) {
             return metadata;
         }
 
         final Optional<String> optionalSecurityToken = credentials.tryGetSecurityToken();
-        optionalSecurityToken.ifPresent(s -> metadata.put(Metadata.Key.of(SESSION_TOKEN_KEY,
-            Metadata.ASCII_STRING_MARSHALLER), s));
+        optionalSecurityToken.ifPresent(s -> metadata.put(SESSION_TOKEN_METADATA_KEY, s));
 
         final String accessKey = credentials.getAccessKey();
         final String accessSecret = credentials.getAccessSecret();
@@ -114,7 +157,7 @@ public class Signature {
             + "="
             + sign;
 
-        metadata.put(Metadata.Key.of(AUTHORIZATION_KEY, Metadata.ASCII_STRING_MARSHALLER), authorization);
+        metadata.put(AUTHORIZATION_METADATA_KEY, authorization);
         return metadata;
     }
-}
\ No newline at end of file
+}
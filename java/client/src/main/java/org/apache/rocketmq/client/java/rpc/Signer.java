@@ -0,0 +1,107 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.rocketmq.client.java.rpc;
+
+import io.grpc.Metadata;
+import java.security.InvalidKeyException;
+import java.security.NoSuchAlgorithmException;
+import java.util.Objects;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.ThreadSafe;
+import org.apache.rocketmq.client.apis.ClientConfiguration;
+import org.apache.rocketmq.client.apis.RequestIdProvider;
+import org.apache.rocketmq.client.apis.SessionCredentials;
+import org.apache.rocketmq.client.java.misc.ClientId;
+import org.apache.rocketmq.client.java.misc.RequestIdGenerator;
+
+/**
+ * Signer of the client, which produces the same headers as {@link Signature#sign(ClientConfiguration, ClientId)}.
+ *
+ * <p>Headers which never change are built once, and the date time and its signature are computed at most once per
+ * second for the same session credentials, so only the request id is generated for each call.
+ */
+@ThreadSafe
+public class Signer {
+    private final ClientConfiguration config;
+    private final Metadata staticMetadata;
+    private final RequestIdProvider requestIdProvider;
+    private volatile SignedMetadata signedMetadata = null;
+
+    public Signer(ClientConfiguration config, ClientId clientId) {
+        this.config = config;
+        this.staticMetadata = Signature.staticMetadata(config, clientId);
+        this.requestIdProvider = config.getRequestIdProvider().orElseGet(RequestIdGenerator::new);
+    }
+
+    public Metadata sign() throws NoSuchAlgorithmException, InvalidKeyException {
+        Metadata metadata = new Metadata();
+        metadata.merge(staticMetadata);
+        metadata.put(Signature.REQUEST_ID_METADATA_KEY, requestIdProvider.nextRequestId());
+        metadata.merge(signedMetadata());
+        return metadata;
+    }
+
+    private Metadata signedMetadata() throws NoSuchAlgorithmException, InvalidKeyException {
+        final long epochMillis = System.currentTimeMillis();
+        final long epochSecond = epochMillis / 1000;
+        final SessionCredentials credentials = Signature.sessionCredentials(config);
+        SignedMetadata cached = this.signedMetadata;
+        if (null != cached && cached.matches(epochSecond, credentials)) {
+            return cached.metadata;
+        }
+        // Races here only lead to redundant signing, which is harmless.
+        final String dateTime = Signature.formatDateTime(epochMillis);
+        cached = new SignedMetadata(epochSecond, credentials, Signature.signedMetadata(dateTime, credentials));
+        this.signedMetadata = cached;
+        return cached.metadata;
+    }
+
+    private static class SignedMetadata {
+        private final long epochSecond;
+        @Nullable
+        private final String accessKey;
+        @Nullable
+        private final String accessSecret;
+        @Nullable
+        private final String securityToken;
+        private final Metadata metadata;
+
+        private SignedMetadata(long epochSecond, @Nullable SessionCredentials credentials, Metadata metadata) {
+            this.epochSecond = epochSecond;
+            this.accessKey = null == credentials ? null : credentials.getAccessKey();
+            this.accessSecret = null == credentials ? null : credentials.getAccessSecret();
+            this.securityToken = null == credentials ? null : credentials.tryGetSecurityToken().orElse(null);
+            this.metadata = metadata;
+        }
+
+        /**
+         * Credentials are compared by value, because providers are free to create new instances on each call.
+         */
+        private boolean matches(long epochSecond, @Nullable SessionCredentials credentials) {
+            if (this.epochSecond != epochSecond) {
+                return false;
+            }
+            if (null == credentials) {
+                return null == accessKey && null == accessSecret && null == securityToken;
+            }
+            return Objects.equals(accessKey, credentials.getAccessKey())
+                && Objects.equals(accessSecret, credentials.getAccessSecret())
+                && Objects.equals(securityToken, credentials.tryGetSecurityToken().orElse(null));
+        }
+    }
+}
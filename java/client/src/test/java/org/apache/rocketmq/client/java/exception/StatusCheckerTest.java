@@ -39,7 +39,7 @@ public class StatusCheckerTest extends TestBase {
         final Endpoints endpoints = fakeEndpoints();
         Metadata metadata = new Metadata();
         metadata.put(Metadata.Key.of(Signature.REQUEST_ID_KEY, Metadata.ASCII_STRING_MARSHALLER),
-            RequestIdGenerator.getInstance().next());
+            RequestIdGenerator.getInstance().nextRequestId());
         return new Context(endpoints, metadata);
     }
 
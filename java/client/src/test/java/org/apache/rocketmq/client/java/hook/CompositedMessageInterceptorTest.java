@@ -0,0 +1,92 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.rocketmq.client.java.hook;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.apache.rocketmq.client.java.message.GeneralMessage;
+import org.junit.Test;
+
+public class CompositedMessageInterceptorTest {
+    private static final AttributeKey<String> KEY = AttributeKey.create("key");
+
+    private static class RecordingInterceptor implements MessageInterceptor {
+        private final String name;
+        private final MessageHookPoints subscribedHookPoints;
+        private final List<String> records;
+
+        RecordingInterceptor(String name, MessageHookPoints subscribedHookPoints, List<String> records) {
+            this.name = name;
+            this.subscribedHookPoints = subscribedHookPoints;
+            this.records = records;
+        }
+
+        @Override
+        public boolean isSubscribed(MessageHookPoints messageHookPoints) {
+            return subscribedHookPoints.equals(messageHookPoints);
+        }
+
+        @Override
+        public void doBefore(MessageInterceptorContext context, List<GeneralMessage> messages) {
+            context.putAttribute(KEY, Attribute.create(name));
+            records.add("before-" + name);
+        }
+
+        @Override
+        public void doAfter(MessageInterceptorContext context, List<GeneralMessage> messages) {
+            // Each interceptor only sees the attributes put by itself.
+            records.add("after-" + context.getAttribute(KEY).get());
+        }
+    }
+
+    @Test
+    public void testIsSubscribed() {
+        final CompositedMessageInterceptor empty = new CompositedMessageInterceptor(Collections.emptyList());
+        for (MessageHookPoints messageHookPoints : MessageHookPoints.values()) {
+            assertFalse(empty.isSubscribed(messageHookPoints));
+        }
+        final List<String> records = new ArrayList<>();
+        final CompositedMessageInterceptor interceptor = new CompositedMessageInterceptor(Arrays.asList(
+            new RecordingInterceptor("a", MessageHookPoints.SEND, records),
+            new RecordingInterceptor("b", MessageHookPoints.ACK, records)));
+        assertTrue(interceptor.isSubscribed(MessageHookPoints.SEND));
+        assertTrue(interceptor.isSubscribed(MessageHookPoints.ACK));
+        assertFalse(interceptor.isSubscribed(MessageHookPoints.CONSUME));
+        assertFalse(interceptor.isSubscribed(MessageHookPoints.RECEIVE));
+    }
+
+    @Test
+    public void testInterceptWithSubscribedInterceptorsOnly() {
+        final List<String> records = new ArrayList<>();
+        final CompositedMessageInterceptor interceptor = new CompositedMessageInterceptor(Arrays.asList(
+            new RecordingInterceptor("a", MessageHookPoints.SEND, records),
+            new RecordingInterceptor("b", MessageHookPoints.ACK, records),
+            new RecordingInterceptor("c", MessageHookPoints.SEND, records)));
+        final MessageInterceptorContextImpl context = new MessageInterceptorContextImpl(MessageHookPoints.SEND);
+        interceptor.doBefore(context, Collections.emptyList());
+        interceptor.doAfter(new MessageInterceptorContextImpl(context, MessageHookPointsStatus.OK),
+            Collections.emptyList());
+        assertEquals(Arrays.asList("before-a", "before-c", "after-c", "after-a"), records);
+    }
+}
@@ -29,6 +29,7 @@ import apache.rocketmq.v2.ReceiveMessageRequest;
 import apache.rocketmq.v2.SendMessageRequest;
 import io.grpc.Metadata;
 import java.time.Duration;
+import org.apache.rocketmq.client.apis.ClientConfiguration;
 import org.apache.rocketmq.client.java.misc.ClientId;
 import org.apache.rocketmq.client.java.tool.TestBase;
 import org.junit.AfterClass;
@@ -46,6 +47,9 @@ public class ClientManagerImplTest extends TestBase {
         Mockito.doReturn(metadata).when(client).sign();
         final ClientId clientId = new ClientId();
         Mockito.doReturn(clientId).when(client).getClientId();
+        final ClientConfiguration clientConfiguration = ClientConfiguration.newBuilder()
+            .setEndpoints(FAKE_ENDPOINTS).setChannelCount(2).build();
+        Mockito.doReturn(clientConfiguration).when(client).getClientConfiguration();
         CLIENT_MANAGER = new ClientManagerImpl(client);
         Mockito.when(client.getClientId()).thenReturn(FAKE_CLIENT_ID);
         CLIENT_MANAGER.startAsync().awaitRunning();
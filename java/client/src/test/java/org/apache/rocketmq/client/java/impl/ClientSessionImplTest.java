@@ -241,4 +241,28 @@ public class ClientSessionImplTest extends TestBase {
         Mockito.verify(requestObserver, times(1)).onCompleted();
         Mockito.verify(sessionHandler, times(1)).getScheduler();
     }
-}
\ No newline at end of file
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testOnCompletedAfterDiscarded() throws ClientException {
+        final Endpoints endpoints = fakeEndpoints();
+        final ClientSessionHandler sessionHandler = Mockito.mock(ClientSessionHandler.class);
+        Mockito.doReturn(SCHEDULER).when(sessionHandler).getScheduler();
+        final StreamObserver<TelemetryCommand> requestObserver = Mockito.mock(StreamObserver.class);
+        Mockito.doReturn(requestObserver).when(sessionHandler).telemetry(any(Endpoints.class),
+            any(StreamObserver.class));
+        final ClientSessionImpl clientSession = new ClientSessionImpl(sessionHandler, Duration.ofSeconds(3), endpoints);
+        Mockito.doReturn(FAKE_CLIENT_ID).when(sessionHandler).getClientId();
+        Mockito.doReturn(true).when(sessionHandler).isRunning();
+        clientSession.discard();
+        Mockito.verify(requestObserver, times(1)).onCompleted();
+        clientSession.onCompleted();
+        // Renewal is scheduled but never happens.
+        await().during(ClientSessionImpl.REQUEST_OBSERVER_RENEW_BACKOFF_DELAY.plus(Durations.ONE_HUNDRED_MILLISECONDS))
+            .atMost(ClientSessionImpl.REQUEST_OBSERVER_RENEW_BACKOFF_DELAY.plus(Durations.ONE_SECOND))
+            .untilAsserted(() -> {
+                Mockito.verify(sessionHandler, never()).isEndpointsDeprecated(any(Endpoints.class));
+                Mockito.verify(sessionHandler, times(1)).telemetry(eq(endpoints), eq(clientSession));
+            });
+    }
+}
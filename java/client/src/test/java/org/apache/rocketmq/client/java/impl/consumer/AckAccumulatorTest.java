@@ -0,0 +1,150 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.rocketmq.client.java.impl.consumer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import apache.rocketmq.v2.AckMessageRequest;
+import apache.rocketmq.v2.AckMessageResponse;
+import apache.rocketmq.v2.AckMessageResultEntry;
+import apache.rocketmq.v2.Code;
+import apache.rocketmq.v2.Status;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.concurrent.ExecutionException;
+import org.apache.commons.lang3.RandomUtils;
+import org.apache.rocketmq.client.java.message.MessageIdCodec;
+import org.apache.rocketmq.client.java.message.MessageViewImpl;
+import org.apache.rocketmq.client.java.route.Endpoints;
+import org.apache.rocketmq.client.java.rpc.RpcFuture;
+import org.apache.rocketmq.client.java.tool.TestBase;
+import org.junit.Test;
+
+public class AckAccumulatorTest extends TestBase {
+
+    private MessageViewImpl fakeMessageViewImpl(String receiptHandle) {
+        return new MessageViewImpl(MessageIdCodec.getInstance().nextMessageId(), FAKE_TOPIC_0,
+            RandomUtils.nextBytes(1), null, null, null, new ArrayList<>(), new HashMap<>(), FAKE_HOST_0, 1, 1,
+            fakeMessageQueueImpl0(), receiptHandle, 1, false, System.currentTimeMillis());
+    }
+
+    private PushConsumerImpl mockConsumer(AckMessageResponse response) {
+        final PushConsumerImpl consumer = mock(PushConsumerImpl.class);
+        when(consumer.getScheduler()).thenReturn(SCHEDULER);
+        final RpcFuture<AckMessageRequest, AckMessageResponse> future = new RpcFuture<>(fakeRpcContext(), null,
+            Futures.immediateFuture(response));
+        when(consumer.ackMessage(any(Endpoints.class), anyList())).thenReturn(future);
+        return consumer;
+    }
+
+    private AckMessageResponse okAckMessageResponse() {
+        return AckMessageResponse.newBuilder().setStatus(Status.newBuilder().setCode(Code.OK)).build();
+    }
+
+    @Test
+    public void testFlushByAckCount() throws Exception {
+        final PushConsumerImpl consumer = mockConsumer(okAckMessageResponse());
+        final AckAccumulator accumulator = new AckAccumulator(consumer, new AckBatchingPolicy(2, Duration.ofDays(1)));
+        final ListenableFuture<AckMessageResult> future0 = accumulator.append(fakeMessageViewImpl("handle0"));
+        assertFalse(future0.isDone());
+        final ListenableFuture<AckMessageResult> future1 = accumulator.append(fakeMessageViewImpl("handle1"));
+        assertTrue(future0.isDone());
+        assertTrue(future1.isDone());
+        assertEquals(Code.OK, future0.get().getStatus().getCode());
+        assertEquals(Code.OK, future1.get().getStatus().getCode());
+        verify(consumer, times(1)).ackMessage(any(Endpoints.class), anyList());
+    }
+
+    @Test
+    public void testFlushByLinger() throws Exception {
+        final PushConsumerImpl consumer = mockConsumer(okAckMessageResponse());
+        final AckAccumulator accumulator = new AckAccumulator(consumer,
+            new AckBatchingPolicy(Integer.MAX_VALUE, Duration.ofMillis(10)));
+        final ListenableFuture<AckMessageResult> future = accumulator.append(fakeMessageViewImpl("handle0"));
+        assertEquals(Code.OK, future.get().getStatus().getCode());
+        verify(consumer, timeout(1000).times(1)).ackMessage(any(Endpoints.class), anyList());
+    }
+
+    @Test
+    public void testFlushAll() {
+        final PushConsumerImpl consumer = mockConsumer(okAckMessageResponse());
+        final AckAccumulator accumulator = new AckAccumulator(consumer,
+            new AckBatchingPolicy(Integer.MAX_VALUE, Duration.ofDays(1)));
+        final ListenableFuture<AckMessageResult> future = accumulator.append(fakeMessageViewImpl("handle0"));
+        verify(consumer, never()).ackMessage(any(Endpoints.class), anyList());
+        accumulator.flushAll();
+        assertTrue(future.isDone());
+        verify(consumer, times(1)).ackMessage(any(Endpoints.class), anyList());
+    }
+
+    @Test
+    public void testAppendAfterFlushAll() {
+        final PushConsumerImpl consumer = mockConsumer(okAckMessageResponse());
+        final AckAccumulator accumulator = new AckAccumulator(consumer, new AckBatchingPolicy(8, Duration.ofDays(1)));
+        accumulator.flushAll();
+        // Acknowledgements are sent immediately without scheduling the linger.
+        final ListenableFuture<AckMessageResult> future = accumulator.append(fakeMessageViewImpl("handle0"));
+        assertTrue(future.isDone());
+        verify(consumer, times(1)).ackMessage(any(Endpoints.class), anyList());
+        verify(consumer, never()).getScheduler();
+    }
+
+    @Test
+    public void testFlushWithMultipleResults() throws Exception {
+        final AckMessageResultEntry entry0 = AckMessageResultEntry.newBuilder().setReceiptHandle("handle0")
+            .setStatus(Status.newBuilder().setCode(Code.OK)).build();
+        final AckMessageResultEntry entry1 = AckMessageResultEntry.newBuilder().setReceiptHandle("handle1")
+            .setStatus(Status.newBuilder().setCode(Code.INVALID_RECEIPT_HANDLE)).build();
+        final AckMessageResponse response = AckMessageResponse.newBuilder()
+            .setStatus(Status.newBuilder().setCode(Code.MULTIPLE_RESULTS)).addEntries(entry0).addEntries(entry1)
+            .build();
+        final PushConsumerImpl consumer = mockConsumer(response);
+        final AckAccumulator accumulator = new AckAccumulator(consumer,
+            new AckBatchingPolicy(3, Duration.ofDays(1)));
+        final ListenableFuture<AckMessageResult> future0 = accumulator.append(fakeMessageViewImpl("handle0"));
+        final ListenableFuture<AckMessageResult> future1 = accumulator.append(fakeMessageViewImpl("handle1"));
+        final ListenableFuture<AckMessageResult> future2 = accumulator.append(fakeMessageViewImpl("handle2"));
+        assertEquals(Code.OK, future0.get().getStatus().getCode());
+        assertEquals(Code.INVALID_RECEIPT_HANDLE, future1.get().getStatus().getCode());
+        // Entry is absent, the status of the whole request applies.
+        assertEquals(Code.MULTIPLE_RESULTS, future2.get().getStatus().getCode());
+    }
+
+    @Test(expected = ExecutionException.class)
+    public void testFlushWithFailure() throws Exception {
+        final PushConsumerImpl consumer = mock(PushConsumerImpl.class);
+        when(consumer.getScheduler()).thenReturn(SCHEDULER);
+        when(consumer.ackMessage(any(Endpoints.class), anyList()))
+            .thenReturn(new RpcFuture<>(new IllegalStateException()));
+        final AckAccumulator accumulator = new AckAccumulator(consumer, new AckBatchingPolicy(1, Duration.ofDays(1)));
+        accumulator.append(fakeMessageViewImpl("handle0")).get();
+    }
+}
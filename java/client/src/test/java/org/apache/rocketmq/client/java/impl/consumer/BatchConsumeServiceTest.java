@@ -0,0 +1,202 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.rocketmq.client.java.impl.consumer;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import org.apache.rocketmq.client.apis.consumer.BatchConsumeResult;
+import org.apache.rocketmq.client.apis.consumer.BatchMessageListener;
+import org.apache.rocketmq.client.apis.consumer.ConsumeResult;
+import org.apache.rocketmq.client.apis.message.MessageView;
+import org.apache.rocketmq.client.java.hook.MessageInterceptor;
+import org.apache.rocketmq.client.java.message.MessageViewImpl;
+import org.apache.rocketmq.client.java.misc.ClientId;
+import org.apache.rocketmq.client.java.misc.ThreadFactoryImpl;
+import org.apache.rocketmq.client.java.tool.TestBase;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+public class BatchConsumeServiceTest extends TestBase {
+    private final ClientId clientId = new ClientId();
+    private final MessageInterceptor interceptor = Mockito.mock(MessageInterceptor.class);
+    private final ThreadPoolExecutor consumptionExecutor = new ThreadPoolExecutor(2, 2, 0L, TimeUnit.MILLISECONDS,
+        new LinkedBlockingQueue<>(), new ThreadFactoryImpl("TestBatchMessageConsumption"));
+
+    private ProcessQueue mockProcessQueue() {
+        final ProcessQueue pq = Mockito.mock(ProcessQueue.class);
+        when(pq.getMessageQueue()).thenReturn(fakeMessageQueueImpl0());
+        return pq;
+    }
+
+    @Test
+    public void testConsumeWhenCountReached() {
+        final List<List<MessageView>> batches = new CopyOnWriteArrayList<>();
+        final BatchMessageListener listener = messageViews -> {
+            batches.add(new ArrayList<>(messageViews));
+            return BatchConsumeResult.success();
+        };
+        final BatchConsumePolicy policy = new BatchConsumePolicy(2, Integer.MAX_VALUE, Duration.ofDays(1));
+        final BatchConsumeService service = new BatchConsumeService(clientId, listener, policy, consumptionExecutor,
+            interceptor, SCHEDULER);
+        final ProcessQueue pq0 = mockProcessQueue();
+        final ProcessQueue pq1 = mockProcessQueue();
+        final MessageViewImpl messageView0 = fakeMessageViewImpl();
+        final MessageViewImpl messageView1 = fakeMessageViewImpl();
+        service.consume(pq0, Collections.singletonList(messageView0));
+        verify(pq0, never()).eraseMessage(any(MessageViewImpl.class), any(ConsumeResult.class));
+        service.consume(pq1, Collections.singletonList(messageView1));
+        verify(pq0, timeout(1000).times(1)).eraseMessage(messageView0, ConsumeResult.SUCCESS);
+        verify(pq1, timeout(1000).times(1)).eraseMessage(messageView1, ConsumeResult.SUCCESS);
+        assertEquals(1, batches.size());
+        assertEquals(2, batches.get(0).size());
+    }
+
+    @Test
+    public void testConsumeWhenWaitElapsed() {
+        final List<List<MessageView>> batches = new CopyOnWriteArrayList<>();
+        final BatchMessageListener listener = messageViews -> {
+            batches.add(new ArrayList<>(messageViews));
+            return BatchConsumeResult.success();
+        };
+        final BatchConsumePolicy policy = new BatchConsumePolicy(16, Integer.MAX_VALUE, Duration.ofMillis(50));
+        final BatchConsumeService service = new BatchConsumeService(clientId, listener, policy, consumptionExecutor,
+            interceptor, SCHEDULER);
+        final ProcessQueue pq = mockProcessQueue();
+        final MessageViewImpl messageView0 = fakeMessageViewImpl();
+        final MessageViewImpl messageView1 = fakeMessageViewImpl();
+        service.consume(pq, Arrays.asList(messageView0, messageView1));
+        verify(pq, timeout(1000).times(1)).eraseMessage(messageView0, ConsumeResult.SUCCESS);
+        verify(pq, timeout(1000).times(1)).eraseMessage(messageView1, ConsumeResult.SUCCESS);
+        assertEquals(1, batches.size());
+        assertEquals(2, batches.get(0).size());
+    }
+
+    @Test
+    public void testShutdownFlushesPendingMessages() {
+        final List<List<MessageView>> batches = new CopyOnWriteArrayList<>();
+        final BatchMessageListener listener = messageViews -> {
+            batches.add(new ArrayList<>(messageViews));
+            return BatchConsumeResult.success();
+        };
+        final BatchConsumePolicy policy = new BatchConsumePolicy(16, Integer.MAX_VALUE, Duration.ofDays(1));
+        final BatchConsumeService service = new BatchConsumeService(clientId, listener, policy, consumptionExecutor,
+            interceptor, SCHEDULER);
+        final ProcessQueue pq = mockProcessQueue();
+        final MessageViewImpl messageView0 = fakeMessageViewImpl();
+        service.consume(pq, Collections.singletonList(messageView0));
+        verify(pq, never()).eraseMessage(any(MessageViewImpl.class), any(ConsumeResult.class));
+        service.shutdown();
+        verify(pq, timeout(1000).times(1)).eraseMessage(messageView0, ConsumeResult.SUCCESS);
+        // Messages which arrive after shutdown are not held for the wait duration.
+        final MessageViewImpl messageView1 = fakeMessageViewImpl();
+        service.consume(pq, Collections.singletonList(messageView1));
+        verify(pq, timeout(1000).times(1)).eraseMessage(messageView1, ConsumeResult.SUCCESS);
+        assertEquals(2, batches.size());
+    }
+
+    @Test
+    public void testConsumeWithPerMessageResult() {
+        final BatchMessageListener listener =
+            messageViews -> BatchConsumeResult.of(Arrays.asList(ConsumeResult.SUCCESS, ConsumeResult.FAILURE));
+        final BatchConsumePolicy policy = new BatchConsumePolicy(2, Integer.MAX_VALUE, Duration.ofDays(1));
+        final BatchConsumeService service = new BatchConsumeService(clientId, listener, policy, consumptionExecutor,
+            interceptor, SCHEDULER);
+        final ProcessQueue pq = mockProcessQueue();
+        final MessageViewImpl messageView0 = fakeMessageViewImpl();
+        final MessageViewImpl messageView1 = fakeMessageViewImpl();
+        service.consume(pq, Arrays.asList(messageView0, messageView1));
+        verify(pq, timeout(1000).times(1)).eraseMessage(messageView0, ConsumeResult.SUCCESS);
+        verify(pq, timeout(1000).times(1)).eraseMessage(messageView1, ConsumeResult.FAILURE);
+    }
+
+    @Test
+    public void testConsumeWithException() {
+        final BatchMessageListener listener = messageViews -> {
+            throw new RuntimeException();
+        };
+        final BatchConsumePolicy policy = new BatchConsumePolicy(2, Integer.MAX_VALUE, Duration.ofDays(1));
+        final BatchConsumeService service = new BatchConsumeService(clientId, listener, policy, consumptionExecutor,
+            interceptor, SCHEDULER);
+        final ProcessQueue pq = mockProcessQueue();
+        final MessageViewImpl messageView0 = fakeMessageViewImpl();
+        final MessageViewImpl messageView1 = fakeMessageViewImpl();
+        service.consume(pq, Arrays.asList(messageView0, messageView1));
+        verify(pq, timeout(1000).times(1)).eraseMessage(messageView0, ConsumeResult.FAILURE);
+        verify(pq, timeout(1000).times(1)).eraseMessage(messageView1, ConsumeResult.FAILURE);
+    }
+
+    @Test
+    public void testConsumeWithCorruptedMessage() {
+        final BatchMessageListener listener = messageViews -> BatchConsumeResult.success();
+        final BatchConsumePolicy policy = new BatchConsumePolicy(1, Integer.MAX_VALUE, Duration.ofDays(1));
+        final BatchConsumeService service = new BatchConsumeService(clientId, listener, policy, consumptionExecutor,
+            interceptor, SCHEDULER);
+        final ProcessQueue pq = mockProcessQueue();
+        final MessageViewImpl messageView = fakeMessageViewImpl(true);
+        service.consume(pq, Collections.singletonList(messageView));
+        verify(pq, timeout(1000).times(1)).discardMessage(messageView);
+        verify(pq, never()).eraseMessage(any(MessageViewImpl.class), any(ConsumeResult.class));
+    }
+
+    @Test
+    public void testConsumeBatchWithCorruptedMessage() {
+        final List<List<MessageView>> batches = new CopyOnWriteArrayList<>();
+        final BatchMessageListener listener = messageViews -> {
+            batches.add(new ArrayList<>(messageViews));
+            return BatchConsumeResult.of(Collections.singletonList(ConsumeResult.FAILURE));
+        };
+        final BatchConsumePolicy policy = new BatchConsumePolicy(2, Integer.MAX_VALUE, Duration.ofDays(1));
+        final BatchConsumeService service = new BatchConsumeService(clientId, listener, policy, consumptionExecutor,
+            interceptor, SCHEDULER);
+        final ProcessQueue pq = mockProcessQueue();
+        final MessageViewImpl messageView0 = fakeMessageViewImpl(true);
+        final MessageViewImpl messageView1 = fakeMessageViewImpl();
+        service.consume(pq, Arrays.asList(messageView0, messageView1));
+        verify(pq, timeout(1000).times(1)).discardMessage(messageView0);
+        // Results are matched to the intact messages only.
+        verify(pq, timeout(1000).times(1)).eraseMessage(messageView1, ConsumeResult.FAILURE);
+        assertEquals(1, batches.size());
+        assertEquals(Collections.singletonList(messageView1), batches.get(0));
+    }
+
+    @Test
+    public void testToMessageListener() {
+        final BatchMessageListener listener = messageViews -> {
+            assertEquals(1, messageViews.size());
+            return BatchConsumeResult.failure();
+        };
+        final ConsumeResult consumeResult = BatchConsumeService.toMessageListener(listener)
+            .consume(fakeMessageViewImpl());
+        assertEquals(ConsumeResult.FAILURE, consumeResult);
+    }
+}
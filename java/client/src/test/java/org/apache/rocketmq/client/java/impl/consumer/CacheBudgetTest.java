@@ -0,0 +1,74 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.rocketmq.client.java.impl.consumer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.apache.rocketmq.client.java.tool.TestBase;
+import org.junit.Test;
+
+public class CacheBudgetTest extends TestBase {
+
+    @Test
+    public void testTryReserve() {
+        final CacheBudget budget = new CacheBudget(8, 1024);
+        assertEquals(4, budget.tryReserve(4));
+        assertEquals(4, budget.tryReserve(32));
+        assertEquals(0, budget.tryReserve(32));
+        assertTrue(budget.isExhausted());
+        budget.settle(4, 1);
+        assertFalse(budget.isExhausted());
+        assertEquals(3, budget.tryReserve(32));
+    }
+
+    @Test
+    public void testTryReserveCappedByReceptionSlots() {
+        final CacheBudget budget = new CacheBudget(8, 1024);
+        budget.addReceptionSlots(3);
+        // Each reception takes no more than its fair share.
+        assertEquals(2, budget.tryReserve(32));
+        budget.addReceptionSlots(6);
+        assertEquals(1, budget.tryReserve(32));
+        budget.removeReceptionSlots(9);
+        assertEquals(5, budget.tryReserve(32));
+        assertTrue(budget.isExhausted());
+    }
+
+    @Test
+    public void testTryReserveAdaptsToFreeBytes() {
+        final CacheBudget budget = new CacheBudget(1024, 1024);
+        final int reserved = budget.tryReserve(2);
+        assertEquals(2, reserved);
+        budget.onCached(256);
+        budget.onCached(256);
+        budget.settle(reserved, 2);
+        // 512 bytes are free, which fits 2 messages of the average size.
+        assertEquals(2, budget.tryReserve(32));
+        budget.settle(2, 0);
+        budget.onCached(512);
+        budget.settle(0, 1);
+        assertTrue(budget.isExhausted());
+        assertEquals(0, budget.tryReserve(32));
+        budget.onEvicted(512);
+        assertFalse(budget.isExhausted());
+        assertEquals(512, budget.getCachedBytes());
+        assertEquals(2, budget.getReservedCount());
+    }
+}
@@ -21,6 +21,8 @@ import static org.junit.Assert.assertEquals;
 
 import org.apache.rocketmq.client.apis.consumer.ConsumeResult;
 import org.apache.rocketmq.client.apis.consumer.MessageListener;
+import org.apache.rocketmq.client.java.hook.MessageHookPoints;
+import org.apache.rocketmq.client.java.hook.MessageHookPointsStatus;
 import org.apache.rocketmq.client.java.hook.MessageInterceptor;
 import org.apache.rocketmq.client.java.message.MessageViewImpl;
 import org.apache.rocketmq.client.java.misc.ClientId;
@@ -53,4 +55,33 @@ public class ConsumeTaskTest extends TestBase {
         final ConsumeResult consumeResult = consumeTask.call();
         assertEquals(ConsumeResult.FAILURE, consumeResult);
     }
+
+    @Test
+    public void testCallWithoutSubscribedInterceptor() {
+        ClientId clientId = new ClientId();
+        final MessageViewImpl messageView = fakeMessageViewImpl();
+        final MessageListener messageListener = Mockito.mock(MessageListener.class);
+        Mockito.when(messageListener.consume(messageView)).thenReturn(ConsumeResult.SUCCESS);
+        final MessageInterceptor messageInterceptor = Mockito.mock(MessageInterceptor.class);
+        Mockito.when(messageInterceptor.isSubscribed(MessageHookPoints.CONSUME)).thenReturn(false);
+        final ConsumeTask consumeTask = new ConsumeTask(clientId, messageListener, messageView, messageInterceptor);
+        assertEquals(ConsumeResult.SUCCESS, consumeTask.call());
+        Mockito.verify(messageInterceptor, Mockito.never()).doBefore(Mockito.any(), Mockito.any());
+        Mockito.verify(messageInterceptor, Mockito.never()).doAfter(Mockito.any(), Mockito.any());
+    }
+
+    @Test
+    public void testCallWithSubscribedInterceptor() {
+        ClientId clientId = new ClientId();
+        final MessageViewImpl messageView = fakeMessageViewImpl();
+        final MessageListener messageListener = Mockito.mock(MessageListener.class);
+        Mockito.when(messageListener.consume(messageView)).thenReturn(ConsumeResult.SUCCESS);
+        final MessageInterceptor messageInterceptor = Mockito.mock(MessageInterceptor.class);
+        Mockito.when(messageInterceptor.isSubscribed(MessageHookPoints.CONSUME)).thenReturn(true);
+        final ConsumeTask consumeTask = new ConsumeTask(clientId, messageListener, messageView, messageInterceptor);
+        assertEquals(ConsumeResult.SUCCESS, consumeTask.call());
+        Mockito.verify(messageInterceptor, Mockito.times(1)).doBefore(Mockito.any(), Mockito.any());
+        Mockito.verify(messageInterceptor, Mockito.times(1)).doAfter(Mockito.argThat(
+            context -> MessageHookPointsStatus.OK.equals(context.getStatus())), Mockito.any());
+    }
 }
\ No newline at end of file
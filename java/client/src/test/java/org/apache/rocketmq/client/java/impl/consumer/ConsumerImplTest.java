@@ -25,12 +25,15 @@ import apache.rocketmq.v2.ChangeInvisibleDurationRequest;
 import apache.rocketmq.v2.ChangeInvisibleDurationResponse;
 import apache.rocketmq.v2.ReceiveMessageRequest;
 import apache.rocketmq.v2.ReceiveMessageResponse;
+import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.ListenableFuture;
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.ExecutionException;
+import java.util.function.Consumer;
 import org.apache.rocketmq.client.apis.ClientConfiguration;
 import org.apache.rocketmq.client.apis.consumer.ConsumeResult;
 import org.apache.rocketmq.client.apis.consumer.FilterExpression;
@@ -79,6 +82,37 @@ public class ConsumerImplTest extends TestBase {
         Assert.assertEquals(receiveMessageResult.getMessageViews().size(), receivedMessageCount);
     }
 
+    @Test
+    public void testReceiveMessageIncrementally() throws ExecutionException, InterruptedException {
+        int maxCacheMessageCount = 8;
+        int maxCacheMessageSizeInBytes = 1024;
+        int consumptionThreadCount = 4;
+        PushConsumerImpl pushConsumer = Mockito.spy(new PushConsumerImpl(clientConfiguration, FAKE_CONSUMER_GROUP_0,
+            subscriptionExpressions, messageListener, maxCacheMessageCount, maxCacheMessageSizeInBytes,
+            consumptionThreadCount));
+        final ClientManager clientManager = Mockito.mock(ClientManager.class);
+        Mockito.doReturn(clientManager).when(pushConsumer).getClientManager();
+        int receivedMessageCount = 2;
+        final List<ReceiveMessageResponse> responses =
+            okReceiveMessageResponsesFuture(FAKE_TOPIC_0, receivedMessageCount).get();
+        Mockito.doAnswer(invocation -> {
+            final Consumer<ReceiveMessageResponse> responseConsumer = invocation.getArgument(3);
+            responses.forEach(responseConsumer);
+            return new RpcFuture<>(fakeRpcContext(), null, Futures.immediateFuture(null));
+        }).when(clientManager).receiveMessage(any(Endpoints.class), any(ReceiveMessageRequest.class),
+            any(Duration.class), any());
+        final MessageQueueImpl mq = fakeMessageQueueImpl(FAKE_TOPIC_0);
+        final ReceiveMessageRequest request = pushConsumer.wrapReceiveMessageRequest(1,
+            mq, new FilterExpression(), Duration.ofSeconds(15), UUID.randomUUID().toString());
+        final List<MessageViewImpl> dispatched = new ArrayList<>();
+        final ListenableFuture<ReceiveMessageResult> future0 =
+            pushConsumer.receiveMessage(request, mq, Duration.ofSeconds(15), dispatched::add);
+        final ReceiveMessageResult receiveMessageResult = future0.get();
+        Assert.assertEquals(receivedMessageCount, dispatched.size());
+        // Messages are handed over rather than retained by the result.
+        Assert.assertTrue(receiveMessageResult.getMessageViewImpls().isEmpty());
+    }
+
     @Test
     public void testAckMessage() throws ExecutionException, InterruptedException {
         int maxCacheMessageCount = 8;
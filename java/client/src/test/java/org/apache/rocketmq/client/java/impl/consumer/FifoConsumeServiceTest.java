@@ -15,14 +15,133 @@
  * limitations under the License.
  */
 
+
 package org.apache.rocketmq.client.java.impl.consumer;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.google.common.util.concurrent.Futures;
+import com.google.protobuf.ByteString;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import org.apache.commons.lang3.RandomUtils;
+import org.apache.rocketmq.client.apis.consumer.ChecksumVerification;
+import org.apache.rocketmq.client.apis.consumer.ConsumeResult;
+import org.apache.rocketmq.client.apis.consumer.MessageListener;
+import org.apache.rocketmq.client.java.hook.MessageInterceptor;
+import org.apache.rocketmq.client.java.message.MessageIdCodec;
+import org.apache.rocketmq.client.java.message.MessageViewImpl;
+import org.apache.rocketmq.client.java.misc.ClientId;
+import org.apache.rocketmq.client.java.misc.ThreadFactoryImpl;
 import org.apache.rocketmq.client.java.tool.TestBase;
 import org.junit.Test;
+import org.mockito.Mockito;
 
 public class FifoConsumeServiceTest extends TestBase {
+    private final ClientId clientId = new ClientId();
+    private final MessageInterceptor interceptor = Mockito.mock(MessageInterceptor.class);
+    private final ThreadPoolExecutor consumptionExecutor = new ThreadPoolExecutor(4, 4, 0L, TimeUnit.MILLISECONDS,
+        new LinkedBlockingQueue<>(), new ThreadFactoryImpl("TestMessageConsumption"));
+
+    private MessageViewImpl fakeMessageViewImpl(String messageGroup) {
+        return new MessageViewImpl(MessageIdCodec.getInstance().nextMessageId(), FAKE_TOPIC_0,
+            RandomUtils.nextBytes(1), null, messageGroup, null, new ArrayList<>(), new HashMap<>(), FAKE_HOST_0, 1, 1,
+            fakeMessageQueueImpl0(), FAKE_RECEIPT_HANDLE_0, 1, false, System.currentTimeMillis());
+    }
+
+    private ProcessQueue mockProcessQueue() {
+        final ProcessQueue pq = Mockito.mock(ProcessQueue.class);
+        when(pq.getMessageQueue()).thenReturn(fakeMessageQueueImpl0());
+        when(pq.eraseFifoMessage(any(MessageViewImpl.class), any(ConsumeResult.class)))
+            .thenReturn(Futures.immediateVoidFuture());
+        return pq;
+    }
 
     @Test
     public void testDispatch() throws InterruptedException {
+        final List<MessageViewImpl> consumed = Collections.synchronizedList(new ArrayList<>());
+        final CountDownLatch latch = new CountDownLatch(3);
+        final MessageListener messageListener = messageView -> {
+            consumed.add((MessageViewImpl) messageView);
+            latch.countDown();
+            return ConsumeResult.SUCCESS;
+        };
+        final FifoConsumeService service = new FifoConsumeService(clientId, messageListener, consumptionExecutor,
+            interceptor, SCHEDULER);
+        final List<MessageViewImpl> messageViews = Arrays.asList(fakeMessageViewImpl("group0"),
+            fakeMessageViewImpl("group1"), fakeMessageViewImpl("group0"));
+        service.consume(mockProcessQueue(), messageViews);
+        assertTrue(latch.await(3, TimeUnit.SECONDS));
+        assertEquals(messageViews, consumed);
+    }
+
+    @Test
+    public void testDispatchWithAccelerator() throws InterruptedException {
+        final MessageViewImpl group0Message0 = fakeMessageViewImpl("group0");
+        final MessageViewImpl group0Message1 = fakeMessageViewImpl("group0");
+        final MessageViewImpl group1Message0 = fakeMessageViewImpl("group1");
+        final List<MessageViewImpl> consumed = Collections.synchronizedList(new ArrayList<>());
+        final CountDownLatch group1Consumed = new CountDownLatch(1);
+        final CountDownLatch allConsumed = new CountDownLatch(3);
+        final MessageListener messageListener = messageView -> {
+            // The first message of group0 blocks until group1 is consumed, which never happens if groups are
+            // consumed one by one.
+            if (group0Message0 == messageView) {
+                try {
+                    group1Consumed.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            if (group1Message0 == messageView) {
+                group1Consumed.countDown();
+            }
+            consumed.add((MessageViewImpl) messageView);
+            allConsumed.countDown();
+            return ConsumeResult.SUCCESS;
+        };
+        final FifoConsumeService service = new FifoConsumeService(clientId, messageListener, consumptionExecutor,
+            interceptor, SCHEDULER, true);
+        service.consume(mockProcessQueue(), Arrays.asList(group0Message0, group0Message1, group1Message0));
+        assertTrue(allConsumed.await(3, TimeUnit.SECONDS));
+        // Order within the same message group is kept.
+        assertTrue(consumed.indexOf(group0Message0) < consumed.indexOf(group0Message1));
+    }
+
+    @Test
+    public void testDispatchWithChecksumVerifiedOnConsumption() throws InterruptedException {
+        // Body does not match the checksum, which is only verified once the message is consumed.
+        final apache.rocketmq.v2.Message message = fakePbMessage(FAKE_TOPIC_0).toBuilder()
+            .setBody(ByteString.copyFrom("foobaz", StandardCharsets.UTF_8)).build();
+        final MessageViewImpl corruptedMessage = MessageViewImpl.fromProtobuf(message, fakeMessageQueueImpl0(),
+            null, ChecksumVerification.ON_CONSUMPTION);
+        final MessageViewImpl messageView = fakeMessageViewImpl("group0");
+        final List<MessageViewImpl> consumed = Collections.synchronizedList(new ArrayList<>());
+        final CountDownLatch latch = new CountDownLatch(1);
+        final MessageListener messageListener = messageView0 -> {
+            consumed.add((MessageViewImpl) messageView0);
+            latch.countDown();
+            return ConsumeResult.SUCCESS;
+        };
+        final FifoConsumeService service = new FifoConsumeService(clientId, messageListener, consumptionExecutor,
+            interceptor, SCHEDULER);
+        final ProcessQueue pq = mockProcessQueue();
+        service.consume(pq, Arrays.asList(corruptedMessage, messageView));
+        verify(pq, timeout(1000).times(1)).discardFifoMessage(corruptedMessage);
+        assertTrue(latch.await(3, TimeUnit.SECONDS));
+        assertEquals(Collections.singletonList(messageView), consumed);
     }
-}
\ No newline at end of file
+}
@@ -18,11 +18,16 @@
 package org.apache.rocketmq.client.java.impl.consumer;
 
 import static org.awaitility.Awaitility.await;
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.ArgumentMatchers.nullable;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -35,18 +40,28 @@ import apache.rocketmq.v2.Code;
 import apache.rocketmq.v2.ForwardMessageToDeadLetterQueueRequest;
 import apache.rocketmq.v2.ForwardMessageToDeadLetterQueueResponse;
 import apache.rocketmq.v2.ReceiveMessageRequest;
+import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.ListenableFuture;
 import com.google.common.util.concurrent.MoreExecutors;
 import com.google.common.util.concurrent.SettableFuture;
 import io.grpc.Metadata;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
 import java.lang.reflect.Field;
 import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
 import org.apache.rocketmq.client.apis.ClientConfiguration;
 import org.apache.rocketmq.client.apis.consumer.ConsumeResult;
 import org.apache.rocketmq.client.apis.consumer.FilterExpression;
+import org.apache.rocketmq.client.java.hook.MessageHookPoints;
+import org.apache.rocketmq.client.java.hook.MessageHookPointsStatus;
+import org.apache.rocketmq.client.java.hook.MessageInterceptorContext;
+import org.apache.rocketmq.client.java.message.GeneralMessage;
 import org.apache.rocketmq.client.java.message.MessageViewImpl;
 import org.apache.rocketmq.client.java.misc.RequestIdGenerator;
 import org.apache.rocketmq.client.java.retry.RetryPolicy;
@@ -57,6 +72,7 @@ import org.apache.rocketmq.client.java.tool.TestBase;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
 
@@ -75,10 +91,15 @@ public class ProcessQueueImplTest extends TestBase {
 
     private final FilterExpression filterExpression = FilterExpression.SUB_ALL;
 
+    private final int maxCacheMessageCount = 8;
+    private final CacheBudget cacheBudget = new CacheBudget(maxCacheMessageCount, 1024);
+
     private ProcessQueueImpl processQueue;
 
     @Before
     public void setup() throws IllegalAccessException, NoSuchFieldException {
+        when(pushConsumer.getCacheBudget()).thenReturn(cacheBudget);
+        when(pushConsumer.getReceivePipelineDepth()).thenReturn(1);
         this.processQueue = new ProcessQueueImpl(pushConsumer, fakeMessageQueueImpl0(), filterExpression);
         when(pushConsumer.isRunning()).thenReturn(true);
 
@@ -97,6 +118,7 @@ public class ProcessQueueImplTest extends TestBase {
 
         AtomicLong receivedMessagesQuantity = new AtomicLong(0);
         when(pushConsumer.getReceivedMessagesQuantity()).thenReturn(receivedMessagesQuantity);
+        when(pushConsumer.getReceptionTimes()).thenReturn(new AtomicLong(0));
         when(pushConsumer.getConsumeService()).thenReturn(consumeService);
     }
 
@@ -110,38 +132,220 @@ public class ProcessQueueImplTest extends TestBase {
 
     @Test
     public void testIsCacheFull() {
-        when(pushConsumer.cacheMessageCountThresholdPerQueue()).thenReturn(8);
-        when(pushConsumer.cacheMessageBytesThresholdPerQueue()).thenReturn(1024);
+        assertFalse(processQueue.isCacheFull());
+        assertEquals(maxCacheMessageCount, cacheBudget.tryReserve(32));
+        assertTrue(processQueue.isCacheFull());
+        cacheBudget.settle(maxCacheMessageCount, 0);
         assertFalse(processQueue.isCacheFull());
     }
 
     @Test
-    public void testReceiveMessageImmediately() {
-        final int cachedMessagesCountThresholdPerQueue = 8;
-        when(pushConsumer.cacheMessageCountThresholdPerQueue()).thenReturn(cachedMessagesCountThresholdPerQueue);
-        final int cachedMessageBytesThresholdPerQueue = 1024;
-        when(pushConsumer.cacheMessageBytesThresholdPerQueue()).thenReturn(cachedMessageBytesThresholdPerQueue);
+    public void testCacheBudgetSharedByProcessQueues() {
+        final ProcessQueueImpl processQueue0 = new ProcessQueueImpl(pushConsumer, fakeMessageQueueImpl0(),
+            filterExpression);
+        // One process queue could borrow the whole budget.
         List<MessageViewImpl> messageViewList = new ArrayList<>();
-        final MessageViewImpl messageView = fakeMessageViewImpl();
-        messageViewList.add(messageView);
+        for (int i = 0; i < maxCacheMessageCount; i++) {
+            messageViewList.add(fakeMessageViewImpl(2, false));
+        }
+        final int reserved = cacheBudget.tryReserve(32);
+        assertEquals(maxCacheMessageCount, reserved);
+        cacheBudget.settle(reserved, processQueue0.cacheMessages(messageViewList));
+        assertTrue(processQueue.isCacheFull());
+        // The credits are returned once the message is evicted.
+        RpcFuture<AckMessageRequest, AckMessageResponse> future0 = okAckMessageResponseFuture();
+        when(pushConsumer.ackMessage(any(MessageViewImpl.class))).thenReturn(future0);
+        processQueue0.eraseMessage(messageViewList.get(0), ConsumeResult.SUCCESS);
+        await().atMost(Duration.ofSeconds(1)).untilAsserted(() -> assertFalse(processQueue.isCacheFull()));
+        assertEquals(1, cacheBudget.tryReserve(32));
+    }
+
+    @Test
+    public void testReceiveMessageImmediately() {
         final Metadata metadata = new Metadata();
         metadata.put(Metadata.Key.of(Signature.REQUEST_ID_KEY, Metadata.ASCII_STRING_MARSHALLER),
-            RequestIdGenerator.getInstance().next());
-        ReceiveMessageResult receiveMessageResult = new ReceiveMessageResult(fakeEndpoints(), messageViewList);
-        SettableFuture<ReceiveMessageResult> future0 = SettableFuture.create();
-        future0.set(receiveMessageResult);
+            RequestIdGenerator.getInstance().nextRequestId());
+        // Each reception returns a distinct message view, just like the real server does.
         when(pushConsumer.receiveMessage(any(ReceiveMessageRequest.class), any(MessageQueueImpl.class),
-            any(Duration.class))).thenReturn(future0);
+            any(Duration.class))).thenAnswer(invocation -> {
+                List<MessageViewImpl> messageViewList = new ArrayList<>();
+                messageViewList.add(fakeMessageViewImpl());
+                ReceiveMessageResult receiveMessageResult = new ReceiveMessageResult(fakeEndpoints(), messageViewList);
+                return Futures.immediateFuture(receiveMessageResult);
+            });
         when(pushSubscriptionSettings.getReceiveBatchSize()).thenReturn(32);
         ReceiveMessageRequest request = ReceiveMessageRequest.newBuilder().build();
         when(pushConsumer.wrapReceiveMessageRequest(anyInt(), any(MessageQueueImpl.class),
             any(FilterExpression.class), any(Duration.class), nullable(String.class))).thenReturn(request);
         processQueue.fetchMessageImmediately();
         await().atMost(Duration.ofSeconds(3))
-            .untilAsserted(() -> verify(pushConsumer, times(cachedMessagesCountThresholdPerQueue))
+            .untilAsserted(() -> verify(pushConsumer, times(maxCacheMessageCount))
                 .receiveMessage(any(ReceiveMessageRequest.class), any(MessageQueueImpl.class), any(Duration.class)));
     }
 
+    @Test
+    public void testReceiveMessageInPipeline() {
+        when(pushConsumer.getReceivePipelineDepth()).thenReturn(3);
+        final ProcessQueueImpl processQueue0 = new ProcessQueueImpl(pushConsumer, fakeMessageQueueImpl0(),
+            filterExpression);
+        List<SettableFuture<ReceiveMessageResult>> futures = new ArrayList<>();
+        when(pushConsumer.receiveMessage(any(ReceiveMessageRequest.class), any(MessageQueueImpl.class),
+            any(Duration.class))).thenAnswer(invocation -> {
+                final SettableFuture<ReceiveMessageResult> future = SettableFuture.create();
+                futures.add(future);
+                return future;
+            });
+        when(pushSubscriptionSettings.getReceiveBatchSize()).thenReturn(2);
+        ReceiveMessageRequest request = ReceiveMessageRequest.newBuilder().build();
+        when(pushConsumer.wrapReceiveMessageRequest(anyInt(), any(MessageQueueImpl.class),
+            any(FilterExpression.class), any(Duration.class), nullable(String.class))).thenReturn(request);
+        processQueue0.fetchMessageImmediately();
+        // Receptions are in flight simultaneously with distinct attempt ids.
+        final ArgumentCaptor<String> attemptIdCaptor = ArgumentCaptor.forClass(String.class);
+        verify(pushConsumer, times(3)).wrapReceiveMessageRequest(eq(2), any(MessageQueueImpl.class),
+            any(FilterExpression.class), any(Duration.class), attemptIdCaptor.capture());
+        assertEquals(3, new HashSet<>(attemptIdCaptor.getAllValues()).size());
+        assertEquals(6, cacheBudget.getReservedCount());
+        // The completed reception is followed by the next one immediately.
+        futures.get(0).set(new ReceiveMessageResult(fakeEndpoints(), Collections.emptyList()));
+        verify(pushConsumer, times(4)).receiveMessage(any(ReceiveMessageRequest.class), any(MessageQueueImpl.class),
+            any(Duration.class));
+        assertEquals(6, cacheBudget.getReservedCount());
+    }
+
+    @Test
+    public void testReceiveMessageInPipelineBoundedByCacheBudget() {
+        when(pushConsumer.getReceivePipelineDepth()).thenReturn(3);
+        final ProcessQueueImpl processQueue0 = new ProcessQueueImpl(pushConsumer, fakeMessageQueueImpl0(),
+            filterExpression);
+        List<SettableFuture<ReceiveMessageResult>> futures = new ArrayList<>();
+        when(pushConsumer.receiveMessage(any(ReceiveMessageRequest.class), any(MessageQueueImpl.class),
+            any(Duration.class))).thenAnswer(invocation -> {
+                final SettableFuture<ReceiveMessageResult> future = SettableFuture.create();
+                futures.add(future);
+                return future;
+            });
+        when(pushSubscriptionSettings.getReceiveBatchSize()).thenReturn(2);
+        ReceiveMessageRequest request = ReceiveMessageRequest.newBuilder().build();
+        when(pushConsumer.wrapReceiveMessageRequest(anyInt(), any(MessageQueueImpl.class),
+            any(FilterExpression.class), any(Duration.class), nullable(String.class))).thenReturn(request);
+        // Credits held by other process queues.
+        assertEquals(4, cacheBudget.tryReserve(4));
+        processQueue0.fetchMessageImmediately();
+        // The third reception is retired since the budget is exhausted by the first two.
+        verify(pushConsumer, times(2)).receiveMessage(any(ReceiveMessageRequest.class), any(MessageQueueImpl.class),
+            any(Duration.class));
+        assertEquals(maxCacheMessageCount, cacheBudget.getReservedCount());
+        futures.get(0).set(new ReceiveMessageResult(fakeEndpoints(), Collections.emptyList()));
+        verify(pushConsumer, times(3)).receiveMessage(any(ReceiveMessageRequest.class), any(MessageQueueImpl.class),
+            any(Duration.class));
+        assertEquals(maxCacheMessageCount, cacheBudget.getReservedCount());
+        // The retired reception is started again once the budget could afford it.
+        cacheBudget.settle(4, 0);
+        futures.get(1).set(new ReceiveMessageResult(fakeEndpoints(), Collections.emptyList()));
+        verify(pushConsumer, times(5)).receiveMessage(any(ReceiveMessageRequest.class), any(MessageQueueImpl.class),
+            any(Duration.class));
+        assertEquals(6, cacheBudget.getReservedCount());
+    }
+
+    @Test
+    public void testReceiveMessageIncrementally() {
+        when(consumeService.isIncrementalDispatchSupported()).thenReturn(true);
+        // Each message is handed over to the listener before the reception is completed.
+        when(pushConsumer.receiveMessage(any(ReceiveMessageRequest.class), any(MessageQueueImpl.class),
+            any(Duration.class), any())).thenAnswer(invocation -> {
+                final Consumer<MessageViewImpl> messageListener = invocation.getArgument(3);
+                final MessageViewImpl messageView = fakeMessageViewImpl();
+                messageListener.accept(messageView);
+                ReceiveMessageResult receiveMessageResult = new ReceiveMessageResult(fakeEndpoints(),
+                    Collections.singletonList(messageView));
+                return Futures.immediateFuture(receiveMessageResult);
+            });
+        when(pushSubscriptionSettings.getReceiveBatchSize()).thenReturn(32);
+        ReceiveMessageRequest request = ReceiveMessageRequest.newBuilder().build();
+        when(pushConsumer.wrapReceiveMessageRequest(anyInt(), any(MessageQueueImpl.class),
+            any(FilterExpression.class), any(Duration.class), nullable(String.class))).thenReturn(request);
+        processQueue.fetchMessageImmediately();
+        await().atMost(Duration.ofSeconds(3))
+            .untilAsserted(() -> assertEquals(maxCacheMessageCount, processQueue.cachedMessagesCount()));
+        // Credits of dispatched messages are held, so the budget is exhausted.
+        assertTrue(processQueue.isCacheFull());
+        verify(consumeService, times(maxCacheMessageCount)).consume(eq(processQueue), anyList());
+        verify(pushConsumer, never()).receiveMessage(any(ReceiveMessageRequest.class), any(MessageQueueImpl.class),
+            any(Duration.class));
+    }
+
+    @Test
+    public void testReceiveMessageDeadlineExceededWithoutDispatch() {
+        when(consumeService.isIncrementalDispatchSupported()).thenReturn(true);
+        when(pushConsumer.receiveMessage(any(ReceiveMessageRequest.class), any(MessageQueueImpl.class),
+            any(Duration.class), any()))
+            .thenReturn(Futures.immediateFailedFuture(new StatusRuntimeException(Status.DEADLINE_EXCEEDED)))
+            .thenReturn(SettableFuture.create());
+        when(pushSubscriptionSettings.getReceiveBatchSize()).thenReturn(32);
+        ReceiveMessageRequest request = ReceiveMessageRequest.newBuilder().setAttemptId("attempt0").build();
+        when(pushConsumer.wrapReceiveMessageRequest(anyInt(), any(MessageQueueImpl.class),
+            any(FilterExpression.class), any(Duration.class), nullable(String.class))).thenReturn(request);
+        processQueue.fetchMessageImmediately();
+        final ArgumentCaptor<String> attemptIdCaptor = ArgumentCaptor.forClass(String.class);
+        await().atMost(Duration.ofSeconds(3)).untilAsserted(() -> verify(pushConsumer, times(2))
+            .wrapReceiveMessageRequest(anyInt(), any(MessageQueueImpl.class), any(FilterExpression.class),
+                any(Duration.class), attemptIdCaptor.capture()));
+        // The attempt is retried since nothing has been consumed.
+        assertEquals("attempt0", attemptIdCaptor.getAllValues().get(1));
+    }
+
+    @Test
+    public void testReceiveMessageDeadlineExceededAfterPartialDispatch() {
+        when(consumeService.isIncrementalDispatchSupported()).thenReturn(true);
+        // Part of the batch is handed over to consumption before the stream fails.
+        when(pushConsumer.receiveMessage(any(ReceiveMessageRequest.class), any(MessageQueueImpl.class),
+            any(Duration.class), any())).thenAnswer(invocation -> {
+                final Consumer<MessageViewImpl> messageListener = invocation.getArgument(3);
+                messageListener.accept(fakeMessageViewImpl());
+                return Futures.immediateFailedFuture(new StatusRuntimeException(Status.DEADLINE_EXCEEDED));
+            }).thenReturn(SettableFuture.create());
+        when(pushSubscriptionSettings.getReceiveBatchSize()).thenReturn(32);
+        ReceiveMessageRequest request = ReceiveMessageRequest.newBuilder().setAttemptId("attempt0").build();
+        when(pushConsumer.wrapReceiveMessageRequest(anyInt(), any(MessageQueueImpl.class),
+            any(FilterExpression.class), any(Duration.class), nullable(String.class))).thenReturn(request);
+        processQueue.fetchMessageImmediately();
+        final ArgumentCaptor<String> attemptIdCaptor = ArgumentCaptor.forClass(String.class);
+        await().atMost(Duration.ofSeconds(3)).untilAsserted(() -> verify(pushConsumer, times(2))
+            .wrapReceiveMessageRequest(anyInt(), any(MessageQueueImpl.class), any(FilterExpression.class),
+                any(Duration.class), attemptIdCaptor.capture()));
+        verify(consumeService, times(1)).consume(eq(processQueue), anyList());
+        // A new attempt is required, otherwise the dispatched message would be redelivered and consumed again.
+        assertNull(attemptIdCaptor.getAllValues().get(1));
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testReceiveMessageInterceptedAfterPartialDispatch() {
+        when(consumeService.isIncrementalDispatchSupported()).thenReturn(true);
+        when(pushConsumer.isSubscribed(MessageHookPoints.RECEIVE)).thenReturn(true);
+        final MessageViewImpl messageView = fakeMessageViewImpl();
+        when(pushConsumer.receiveMessage(any(ReceiveMessageRequest.class), any(MessageQueueImpl.class),
+            any(Duration.class), any())).thenAnswer(invocation -> {
+                final Consumer<MessageViewImpl> messageListener = invocation.getArgument(3);
+                messageListener.accept(messageView);
+                return Futures.immediateFailedFuture(new StatusRuntimeException(Status.INTERNAL));
+            }).thenReturn(SettableFuture.create());
+        when(pushSubscriptionSettings.getReceiveBatchSize()).thenReturn(32);
+        ReceiveMessageRequest request = ReceiveMessageRequest.newBuilder().build();
+        when(pushConsumer.wrapReceiveMessageRequest(anyInt(), any(MessageQueueImpl.class),
+            any(FilterExpression.class), any(Duration.class), nullable(String.class))).thenReturn(request);
+        processQueue.fetchMessageImmediately();
+        final ArgumentCaptor<MessageInterceptorContext> contextCaptor =
+            ArgumentCaptor.forClass(MessageInterceptorContext.class);
+        final ArgumentCaptor<List<GeneralMessage>> messagesCaptor = ArgumentCaptor.forClass(List.class);
+        verify(pushConsumer, times(1)).doAfter(contextCaptor.capture(), messagesCaptor.capture());
+        assertEquals(MessageHookPointsStatus.ERROR, contextCaptor.getValue().getStatus());
+        // Messages dispatched before the failure are reported as received.
+        assertEquals(1, messagesCaptor.getValue().size());
+        assertEquals(messageView.getMessageId(), messagesCaptor.getValue().get(0).getMessageId().get());
+    }
+
     @Test
     public void testEraseMessageWithConsumeOk() {
         List<MessageViewImpl> messageViewList = new ArrayList<>();
@@ -155,6 +359,34 @@ public class ProcessQueueImplTest extends TestBase {
             .ackMessage(eq(messageView)));
     }
 
+    @Test
+    public void testCachedMessagesEviction() {
+        List<MessageViewImpl> messageViewList = new ArrayList<>();
+        final MessageViewImpl messageView0 = fakeMessageViewImpl(2, false);
+        final MessageViewImpl messageView1 = fakeMessageViewImpl(2, false);
+        messageViewList.add(messageView0);
+        messageViewList.add(messageView1);
+        processQueue.cacheMessages(messageViewList);
+        final long bodyBytes = messageView0.getBody().remaining() + messageView1.getBody().remaining();
+        assertEquals(2, processQueue.cachedMessagesCount());
+        assertEquals(bodyBytes, processQueue.cachedMessageBytes());
+        // Caching the same message view twice should not be counted.
+        processQueue.cacheMessages(Collections.singletonList(messageView0));
+        assertEquals(2, processQueue.getCachedMessageCount());
+        RpcFuture<AckMessageRequest, AckMessageResponse> future0 = okAckMessageResponseFuture();
+        when(pushConsumer.ackMessage(any(MessageViewImpl.class))).thenReturn(future0);
+        processQueue.eraseMessage(messageView0, ConsumeResult.SUCCESS);
+        await().atMost(Duration.ofSeconds(1)).untilAsserted(() -> {
+            assertEquals(1, processQueue.cachedMessagesCount());
+            assertEquals(messageView1.getBody().remaining(), processQueue.cachedMessageBytes());
+        });
+        // Evicting the same message view twice should not be counted.
+        processQueue.eraseMessage(messageView0, ConsumeResult.SUCCESS);
+        await().atMost(Duration.ofSeconds(1)).untilAsserted(() -> verify(pushConsumer, times(2))
+            .ackMessage(eq(messageView0)));
+        assertEquals(1, processQueue.getCachedMessageCount());
+    }
+
     @Test
     public void testEraseMessageWithAckFailure() {
         List<MessageViewImpl> messageViewList = new ArrayList<>();
@@ -17,8 +17,10 @@
 
 package org.apache.rocketmq.client.java.impl.consumer;
 
+import java.time.Duration;
 import org.apache.rocketmq.client.apis.ClientConfiguration;
 import org.apache.rocketmq.client.apis.ClientException;
+import org.apache.rocketmq.client.apis.consumer.BatchConsumeResult;
 import org.apache.rocketmq.client.apis.consumer.ConsumeResult;
 import org.apache.rocketmq.client.java.tool.TestBase;
 import org.junit.Test;
@@ -43,6 +45,12 @@ public class PushConsumerBuilderImplTest extends TestBase {
         builder.setMessageListener(null);
     }
 
+    @Test(expected = NullPointerException.class)
+    public void testSetChecksumVerificationWithNull() {
+        final PushConsumerBuilderImpl builder = new PushConsumerBuilderImpl();
+        builder.setChecksumVerification(null);
+    }
+
     @Test(expected = IllegalArgumentException.class)
     public void testSetNegativeMaxCacheMessageCount() {
         final PushConsumerBuilderImpl builder = new PushConsumerBuilderImpl();
@@ -61,6 +69,80 @@ public class PushConsumerBuilderImplTest extends TestBase {
         builder.setConsumptionThreadCount(-1);
     }
 
+    @Test(expected = IllegalArgumentException.class)
+    public void testSetNonPositiveReceivePipelineDepth() {
+        final PushConsumerBuilderImpl builder = new PushConsumerBuilderImpl();
+        builder.setReceivePipelineDepth(0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testSetTooLargeReceivePipelineDepth() {
+        final PushConsumerBuilderImpl builder = new PushConsumerBuilderImpl();
+        builder.setReceivePipelineDepth(5);
+    }
+
+    @Test
+    public void testSetMaxReceivePipelineDepth() {
+        final PushConsumerBuilderImpl builder = new PushConsumerBuilderImpl();
+        builder.setReceivePipelineDepth(4);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testEnableAckBatchingWithNonPositiveCount() {
+        final PushConsumerBuilderImpl builder = new PushConsumerBuilderImpl();
+        builder.enableAckBatching(0, Duration.ofMillis(10));
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void testEnableAckBatchingWithNullLinger() {
+        final PushConsumerBuilderImpl builder = new PushConsumerBuilderImpl();
+        builder.enableAckBatching(16, null);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testEnableAckBatchingWithNegativeLinger() {
+        final PushConsumerBuilderImpl builder = new PushConsumerBuilderImpl();
+        builder.enableAckBatching(16, Duration.ofMillis(-1));
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void testSetBatchMessageListenerWithNull() {
+        final PushConsumerBuilderImpl builder = new PushConsumerBuilderImpl();
+        builder.setBatchMessageListener(null, 16, 1024, Duration.ofMillis(10));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testSetBatchMessageListenerWithNonPositiveCount() {
+        final PushConsumerBuilderImpl builder = new PushConsumerBuilderImpl();
+        builder.setBatchMessageListener(messageViews -> BatchConsumeResult.success(), 0, 1024,
+            Duration.ofMillis(10));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testSetBatchMessageListenerWithNonPositiveSize() {
+        final PushConsumerBuilderImpl builder = new PushConsumerBuilderImpl();
+        builder.setBatchMessageListener(messageViews -> BatchConsumeResult.success(), 16, 0,
+            Duration.ofMillis(10));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testSetBatchMessageListenerWithNegativeWait() {
+        final PushConsumerBuilderImpl builder = new PushConsumerBuilderImpl();
+        builder.setBatchMessageListener(messageViews -> BatchConsumeResult.success(), 16, 1024,
+            Duration.ofMillis(-1));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testBuildWithBothListeners() throws ClientException {
+        final PushConsumerBuilderImpl builder = new PushConsumerBuilderImpl();
+        ClientConfiguration clientConfiguration =
+            ClientConfiguration.newBuilder().setEndpoints(FAKE_ENDPOINTS).build();
+        builder.setClientConfiguration(clientConfiguration).setConsumerGroup(FAKE_CONSUMER_GROUP_0)
+            .setMessageListener(messageView -> ConsumeResult.SUCCESS)
+            .setBatchMessageListener(messageViews -> BatchConsumeResult.success(), 16, 1024, Duration.ofMillis(10))
+            .build();
+    }
+
     @Test(expected = IllegalArgumentException.class)
     public void testBuildWithoutExpressions() throws ClientException {
         final PushConsumerBuilderImpl builder = new PushConsumerBuilderImpl();
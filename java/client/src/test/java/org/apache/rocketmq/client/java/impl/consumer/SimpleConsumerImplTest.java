@@ -17,23 +17,35 @@
 
 package org.apache.rocketmq.client.java.impl.consumer;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import apache.rocketmq.v2.AckMessageRequest;
 import apache.rocketmq.v2.AckMessageResponse;
+import apache.rocketmq.v2.AckMessageResultEntry;
 import apache.rocketmq.v2.ChangeInvisibleDurationRequest;
 import apache.rocketmq.v2.ChangeInvisibleDurationResponse;
 import apache.rocketmq.v2.Code;
+import apache.rocketmq.v2.Status;
+import com.google.common.util.concurrent.Futures;
 import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 import org.apache.rocketmq.client.apis.ClientConfiguration;
 import org.apache.rocketmq.client.apis.ClientException;
+import org.apache.rocketmq.client.apis.consumer.BatchAckException;
 import org.apache.rocketmq.client.apis.consumer.FilterExpression;
 import org.apache.rocketmq.client.apis.message.MessageView;
 import org.apache.rocketmq.client.java.exception.BadRequestException;
@@ -45,6 +57,7 @@ import org.apache.rocketmq.client.java.exception.TooManyRequestsException;
 import org.apache.rocketmq.client.java.exception.UnauthorizedException;
 import org.apache.rocketmq.client.java.exception.UnsupportedException;
 import org.apache.rocketmq.client.java.message.MessageViewImpl;
+import org.apache.rocketmq.client.java.route.Endpoints;
 import org.apache.rocketmq.client.java.rpc.RpcFuture;
 import org.apache.rocketmq.client.java.tool.TestBase;
 import org.junit.Test;
@@ -266,6 +279,98 @@ public class SimpleConsumerImplTest extends TestBase {
         }
     }
 
+    @Test
+    public void testBatchAckAsync() throws ExecutionException, InterruptedException {
+        simpleConsumer = Mockito.spy(new SimpleConsumerImpl(clientConfiguration, FAKE_CONSUMER_GROUP_0, awaitDuration,
+            subExpressions));
+        when(simpleConsumer.isRunning()).thenReturn(true);
+        final MessageViewImpl messageView0 = fakeMessageViewImpl(false);
+        final MessageViewImpl messageView1 = fakeMessageViewImpl(false);
+        messageView1.setReceiptHandle("handle1");
+        final List<MessageView> messageViews = Arrays.asList(messageView0, messageView1);
+        {
+            doReturn(okAckMessageResponseFuture()).when(simpleConsumer).ackMessage(any(Endpoints.class), anyList());
+            final CompletableFuture<Void> future = simpleConsumer.ackAsync(messageViews);
+            future.get();
+            // Messages from the same endpoints and topic are acknowledged in one request.
+            verify(simpleConsumer, times(1)).ackMessage(any(Endpoints.class), anyList());
+        }
+        {
+            final AckMessageResultEntry entry0 = AckMessageResultEntry.newBuilder()
+                .setReceiptHandle(messageView0.getReceiptHandle())
+                .setStatus(Status.newBuilder().setCode(Code.OK)).build();
+            final AckMessageResultEntry entry1 = AckMessageResultEntry.newBuilder()
+                .setReceiptHandle(messageView1.getReceiptHandle())
+                .setStatus(Status.newBuilder().setCode(Code.INVALID_RECEIPT_HANDLE)).build();
+            final AckMessageResponse response = AckMessageResponse.newBuilder()
+                .setStatus(Status.newBuilder().setCode(Code.MULTIPLE_RESULTS)).addEntries(entry0)
+                .addEntries(entry1).build();
+            final RpcFuture<AckMessageRequest, AckMessageResponse> respFuture =
+                new RpcFuture<>(fakeRpcContext(), null, Futures.immediateFuture(response));
+            doReturn(respFuture).when(simpleConsumer).ackMessage(any(Endpoints.class), anyList());
+            final CompletableFuture<Void> future = simpleConsumer.ackAsync(messageViews);
+            try {
+                future.get();
+                fail();
+            } catch (ExecutionException e) {
+                assertTrue(e.getCause() instanceof BatchAckException);
+                final BatchAckException exception = (BatchAckException) e.getCause();
+                assertEquals(2, exception.size());
+                assertFalse(exception.getFailure(0).isPresent());
+                assertTrue(exception.getFailure(1).orElse(null) instanceof BadRequestException);
+            }
+        }
+    }
+
+    @Test
+    public void testBatchAckAsyncWithEmptyMessages() throws InterruptedException {
+        simpleConsumer = Mockito.spy(new SimpleConsumerImpl(clientConfiguration, FAKE_CONSUMER_GROUP_0, awaitDuration,
+            subExpressions));
+        when(simpleConsumer.isRunning()).thenReturn(true);
+        final CompletableFuture<Void> future = simpleConsumer.ackAsync(Collections.emptyList());
+        try {
+            future.get();
+            fail();
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof IllegalArgumentException);
+        }
+    }
+
+    @Test
+    public void testBatchChangeInvisibleDurationAsync() throws ExecutionException, InterruptedException {
+        simpleConsumer = Mockito.spy(new SimpleConsumerImpl(clientConfiguration, FAKE_CONSUMER_GROUP_0, awaitDuration,
+            subExpressions));
+        when(simpleConsumer.isRunning()).thenReturn(true);
+        final MessageViewImpl messageView0 = fakeMessageViewImpl(false);
+        final MessageViewImpl messageView1 = fakeMessageViewImpl(false);
+        final List<MessageView> messageViews = Arrays.asList(messageView0, messageView1);
+        final Duration duration = Duration.ofSeconds(3);
+        {
+            doReturn(okChangeInvisibleDurationCtxFuture()).when(simpleConsumer)
+                .changeInvisibleDuration(messageView0, duration);
+            doReturn(okChangeInvisibleDurationCtxFuture()).when(simpleConsumer)
+                .changeInvisibleDuration(messageView1, duration);
+            final CompletableFuture<Void> future = simpleConsumer.changeInvisibleDurationAsync(messageViews,
+                duration);
+            future.get();
+        }
+        {
+            doReturn(changInvisibleDurationCtxFuture(Code.BAD_REQUEST)).when(simpleConsumer)
+                .changeInvisibleDuration(messageView1, duration);
+            final CompletableFuture<Void> future = simpleConsumer.changeInvisibleDurationAsync(messageViews,
+                duration);
+            try {
+                future.get();
+                fail();
+            } catch (ExecutionException e) {
+                assertTrue(e.getCause() instanceof BatchAckException);
+                final BatchAckException exception = (BatchAckException) e.getCause();
+                assertFalse(exception.getFailure(0).isPresent());
+                assertTrue(exception.getFailure(1).orElse(null) instanceof BadRequestException);
+            }
+        }
+    }
+
     @Test
     public void testChangeInvisibleDurationAsync() throws ExecutionException, InterruptedException {
         simpleConsumer = Mockito.spy(new SimpleConsumerImpl(clientConfiguration, FAKE_CONSUMER_GROUP_0, awaitDuration,
@@ -17,12 +17,56 @@
 
 package org.apache.rocketmq.client.java.impl.consumer;
 
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Collections;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import org.apache.rocketmq.client.apis.consumer.ChecksumVerification;
+import org.apache.rocketmq.client.apis.consumer.ConsumeResult;
+import org.apache.rocketmq.client.java.hook.MessageInterceptor;
+import org.apache.rocketmq.client.java.message.MessageViewImpl;
+import org.apache.rocketmq.client.java.misc.ClientId;
+import org.apache.rocketmq.client.java.misc.ThreadFactoryImpl;
 import org.apache.rocketmq.client.java.tool.TestBase;
 import org.junit.Test;
+import org.mockito.Mockito;
 
 public class StandardConsumeServiceTest extends TestBase {
 
     @Test
     public void testDispatch() {
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testConsumeWithChecksumVerifiedOnConsumptionAfterShutdown() throws InterruptedException {
+        final ThreadPoolExecutor consumptionExecutor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+            new LinkedBlockingQueue<>(), new ThreadFactoryImpl("TestMessageConsumption"));
+        final CountDownLatch blocked = new CountDownLatch(1);
+        consumptionExecutor.execute(() -> {
+            try {
+                blocked.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        final StandardConsumeService service = new StandardConsumeService(new ClientId(),
+            messageView -> ConsumeResult.SUCCESS, consumptionExecutor, Mockito.mock(MessageInterceptor.class),
+            SCHEDULER);
+        final MessageViewImpl messageView = MessageViewImpl.fromProtobuf(fakePbMessage(FAKE_TOPIC_0),
+            fakeMessageQueueImpl0(), null, ChecksumVerification.ON_CONSUMPTION);
+        final ProcessQueue pq = Mockito.mock(ProcessQueue.class);
+        when(pq.getMessageQueue()).thenReturn(fakeMessageQueueImpl0());
+        service.consume(pq, Collections.singletonList(messageView));
+        // Tasks which are queued before shutdown still run, and must consume the message without another submission.
+        consumptionExecutor.shutdown();
+        blocked.countDown();
+        assertTrue(consumptionExecutor.awaitTermination(3, TimeUnit.SECONDS));
+        verify(pq, timeout(1000).times(1)).eraseMessage(messageView, ConsumeResult.SUCCESS);
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.rocketmq.client.java.impl.producer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import com.google.common.util.concurrent.ListenableFuture;
+import java.util.concurrent.ExecutionException;
+import org.apache.rocketmq.client.apis.producer.BackpressurePolicy;
+import org.apache.rocketmq.client.java.exception.InflightLimitExceededException;
+import org.junit.Test;
+
+public class InflightLimiterTest {
+
+    @Test
+    public void testFailFast() throws InterruptedException {
+        final InflightLimiter limiter = new InflightLimiter(2, 1024, BackpressurePolicy.FAIL_FAST);
+        assertTrue(limiter.acquire(2, 16).isDone());
+        assertEquals(2, limiter.getInflightMessageCount());
+        assertEquals(16, limiter.getInflightBytes());
+        final ListenableFuture<Void> future = limiter.acquire(1, 16);
+        try {
+            future.get();
+            fail();
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof InflightLimitExceededException);
+        }
+        limiter.release(2, 16);
+        assertEquals(0, limiter.getInflightMessageCount());
+        assertEquals(0, limiter.getInflightBytes());
+    }
+
+    @Test
+    public void testAsyncWait() {
+        final InflightLimiter limiter = new InflightLimiter(8, 64, BackpressurePolicy.ASYNC_WAIT);
+        assertTrue(limiter.acquire(1, 64).isDone());
+        final ListenableFuture<Void> future0 = limiter.acquire(1, 32);
+        final ListenableFuture<Void> future1 = limiter.acquire(1, 32);
+        assertFalse(future0.isDone());
+        assertFalse(future1.isDone());
+        limiter.release(1, 64);
+        assertTrue(future0.isDone());
+        assertTrue(future1.isDone());
+        assertEquals(2, limiter.getInflightMessageCount());
+        assertEquals(64, limiter.getInflightBytes());
+    }
+
+    @Test
+    public void testAsyncWaitWithBoundedWaiters() throws InterruptedException {
+        final InflightLimiter limiter = new InflightLimiter(2, 64, BackpressurePolicy.ASYNC_WAIT);
+        assertTrue(limiter.acquire(2, 2).isDone());
+        final ListenableFuture<Void> future0 = limiter.acquire(1, 1);
+        final ListenableFuture<Void> future1 = limiter.acquire(1, 1);
+        assertEquals(2, limiter.getWaitingMessageCount());
+        final ListenableFuture<Void> future2 = limiter.acquire(1, 1);
+        try {
+            future2.get();
+            fail();
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof InflightLimitExceededException);
+        }
+        limiter.release(2, 2);
+        assertTrue(future0.isDone());
+        assertTrue(future1.isDone());
+        assertEquals(0, limiter.getWaitingMessageCount());
+    }
+
+    @Test
+    public void testAsyncWaitWithCancellation() {
+        final InflightLimiter limiter = new InflightLimiter(1, 64, BackpressurePolicy.ASYNC_WAIT);
+        assertTrue(limiter.acquire(1, 1).isDone());
+        final ListenableFuture<Void> future = limiter.acquire(1, 1);
+        future.cancel(false);
+        limiter.release(1, 1);
+        assertEquals(0, limiter.getInflightMessageCount());
+        assertEquals(0, limiter.getInflightBytes());
+    }
+
+    @Test
+    public void testBlockWithOversizedRequest() {
+        final InflightLimiter limiter = new InflightLimiter(4, 64, BackpressurePolicy.BLOCK);
+        assertTrue(limiter.acquire(8, 128).isDone());
+        assertEquals(4, limiter.getInflightMessageCount());
+        assertEquals(64, limiter.getInflightBytes());
+        limiter.release(8, 128);
+        assertEquals(0, limiter.getInflightMessageCount());
+    }
+}
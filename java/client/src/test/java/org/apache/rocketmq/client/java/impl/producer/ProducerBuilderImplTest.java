@@ -17,8 +17,11 @@
 
 package org.apache.rocketmq.client.java.impl.producer;
 
+import java.time.Duration;
 import org.apache.rocketmq.client.apis.ClientConfiguration;
 import org.apache.rocketmq.client.apis.ClientException;
+import org.apache.rocketmq.client.apis.producer.BackpressurePolicy;
+import org.apache.rocketmq.client.apis.producer.CompressionCodec;
 import org.apache.rocketmq.client.apis.producer.TransactionResolution;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -76,6 +79,48 @@ public class ProducerBuilderImplTest {
         builder.setTransactionChecker(messageView -> TransactionResolution.COMMIT);
     }
 
+    @Test(expected = IllegalArgumentException.class)
+    public void testEnableAutoBatchingWithNonPositiveMessageCount() {
+        final ProducerBuilderImpl builder = new ProducerBuilderImpl();
+        builder.enableAutoBatching(0, 1024, Duration.ofMillis(5));
+    }
+
+    @Test
+    public void testEnableAutoBatching() {
+        final ProducerBuilderImpl builder = new ProducerBuilderImpl();
+        builder.enableAutoBatching(32, 1024 * 1024, Duration.ofMillis(5));
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void testSetInflightLimitWithNullPolicy() {
+        final ProducerBuilderImpl builder = new ProducerBuilderImpl();
+        builder.setInflightLimit(1024, 1024 * 1024, null);
+    }
+
+    @Test
+    public void testSetInflightLimit() {
+        final ProducerBuilderImpl builder = new ProducerBuilderImpl();
+        builder.setInflightLimit(1024, 1024 * 1024, BackpressurePolicy.BLOCK);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testEnableCompressionWithIllegalLevel() {
+        final ProducerBuilderImpl builder = new ProducerBuilderImpl();
+        builder.enableCompression(1024, CompressionCodec.GZIP, 10);
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void testEnableCompressionWithNullCodec() {
+        final ProducerBuilderImpl builder = new ProducerBuilderImpl();
+        builder.enableCompression(1024, null, 5);
+    }
+
+    @Test
+    public void testEnableCompression() {
+        final ProducerBuilderImpl builder = new ProducerBuilderImpl();
+        builder.enableCompression(1024, CompressionCodec.GZIP, 5);
+    }
+
     @Test(expected = NullPointerException.class)
     public void testBuildWithoutClientConfiguration() {
         final ProducerBuilderImpl builder = new ProducerBuilderImpl();
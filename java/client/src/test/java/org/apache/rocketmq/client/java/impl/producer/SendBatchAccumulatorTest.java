@@ -0,0 +1,193 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.rocketmq.client.java.impl.producer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.apache.rocketmq.client.apis.producer.SendReceipt;
+import org.apache.rocketmq.client.java.message.MessageType;
+import org.apache.rocketmq.client.java.message.PublishingMessageImpl;
+import org.apache.rocketmq.client.java.route.MessageQueueImpl;
+import org.apache.rocketmq.client.java.tool.TestBase;
+import org.junit.Test;
+
+public class SendBatchAccumulatorTest extends TestBase {
+
+    private ProducerImpl mockProducer(int receiptCount) throws Exception {
+        final ProducerImpl producer = mock(ProducerImpl.class);
+        when(producer.getScheduler()).thenReturn(SCHEDULER);
+        final MessageQueueImpl mq = fakeMessageQueueImpl(FAKE_TOPIC_0);
+        List<SendReceiptImpl> receipts = new ArrayList<>();
+        for (int i = 0; i < receiptCount; i++) {
+            receipts.add(fakeSendReceiptImpl(mq));
+        }
+        when(producer.send(anyString(), any(MessageType.class), isNull(), anyList()))
+            .thenReturn(Futures.immediateFuture(receipts));
+        return producer;
+    }
+
+    @Test
+    public void testFlushByMessageCount() throws Exception {
+        final ProducerImpl producer = mockProducer(2);
+        final AutoBatchingPolicy policy = new AutoBatchingPolicy(2, Integer.MAX_VALUE, Duration.ofDays(1));
+        final SendBatchAccumulator accumulator = new SendBatchAccumulator(producer, policy);
+        final PublishingMessageImpl message0 = new PublishingMessageImpl(fakeMessage(FAKE_TOPIC_0),
+            fakeProducerSettings(), false);
+        final PublishingMessageImpl message1 = new PublishingMessageImpl(fakeMessage(FAKE_TOPIC_0),
+            fakeProducerSettings(), false);
+        final ListenableFuture<SendReceipt> future0 = accumulator.append(message0);
+        assertFalse(future0.isDone());
+        final ListenableFuture<SendReceipt> future1 = accumulator.append(message1);
+        assertTrue(future0.isDone());
+        assertTrue(future1.isDone());
+        verify(producer, times(1)).send(anyString(), any(MessageType.class), isNull(), anyList());
+    }
+
+    @Test
+    public void testFlushByLinger() throws Exception {
+        final ProducerImpl producer = mockProducer(1);
+        final AutoBatchingPolicy policy = new AutoBatchingPolicy(Integer.MAX_VALUE, Integer.MAX_VALUE,
+            Duration.ofMillis(10));
+        final SendBatchAccumulator accumulator = new SendBatchAccumulator(producer, policy);
+        final PublishingMessageImpl message = new PublishingMessageImpl(fakeMessage(FAKE_TOPIC_0),
+            fakeProducerSettings(), false);
+        final ListenableFuture<SendReceipt> future = accumulator.append(message);
+        future.get();
+        verify(producer, timeout(1000).times(1)).send(anyString(), any(MessageType.class), isNull(), anyList());
+    }
+
+    @Test
+    public void testFlushAll() throws Exception {
+        final ProducerImpl producer = mockProducer(1);
+        final AutoBatchingPolicy policy = new AutoBatchingPolicy(Integer.MAX_VALUE, Integer.MAX_VALUE,
+            Duration.ofDays(1));
+        final SendBatchAccumulator accumulator = new SendBatchAccumulator(producer, policy);
+        final PublishingMessageImpl message = new PublishingMessageImpl(fakeMessage(FAKE_TOPIC_0),
+            fakeProducerSettings(), false);
+        final ListenableFuture<SendReceipt> future = accumulator.append(message);
+        verify(producer, never()).send(anyString(), any(MessageType.class), isNull(), anyList());
+        accumulator.flushAll();
+        assertTrue(future.isDone());
+        verify(producer, times(1)).send(anyString(), any(MessageType.class), isNull(), anyList());
+    }
+
+    @Test
+    public void testAppendAfterFlushAll() throws Exception {
+        final ProducerImpl producer = mockProducer(1);
+        final AutoBatchingPolicy policy = new AutoBatchingPolicy(Integer.MAX_VALUE, Integer.MAX_VALUE,
+            Duration.ofDays(1));
+        final SendBatchAccumulator accumulator = new SendBatchAccumulator(producer, policy);
+        accumulator.flushAll();
+        final PublishingMessageImpl message = new PublishingMessageImpl(fakeMessage(FAKE_TOPIC_0),
+            fakeProducerSettings(), false);
+        final ListenableFuture<SendReceipt> future = accumulator.append(message);
+        assertTrue(future.isDone());
+        try {
+            future.get();
+            fail();
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof IllegalStateException);
+        }
+        verify(producer, never()).send(anyString(), any(MessageType.class), isNull(), anyList());
+    }
+
+    @Test
+    public void testAppendConcurrentlyWithFlushAll() throws Exception {
+        final ProducerImpl producer = mock(ProducerImpl.class);
+        when(producer.getScheduler()).thenReturn(SCHEDULER);
+        final MessageQueueImpl mq = fakeMessageQueueImpl(FAKE_TOPIC_0);
+        when(producer.send(anyString(), any(MessageType.class), isNull(), anyList())).thenAnswer(invocation -> {
+            final List<?> messages = invocation.getArgument(3);
+            List<SendReceiptImpl> receipts = new ArrayList<>();
+            for (int i = 0; i < messages.size(); i++) {
+                receipts.add(fakeSendReceiptImpl(mq));
+            }
+            return Futures.immediateFuture(receipts);
+        });
+        final AutoBatchingPolicy policy = new AutoBatchingPolicy(Integer.MAX_VALUE, Integer.MAX_VALUE,
+            Duration.ofDays(1));
+        final SendBatchAccumulator accumulator = new SendBatchAccumulator(producer, policy);
+        final int threads = 4;
+        final int messagesPerThread = 1000;
+        final CountDownLatch latch = new CountDownLatch(1);
+        final ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<List<ListenableFuture<SendReceipt>>>> futures = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                futures.add(executor.submit(() -> {
+                    latch.await();
+                    List<ListenableFuture<SendReceipt>> receiptFutures = new ArrayList<>();
+                    for (int j = 0; j < messagesPerThread; j++) {
+                        receiptFutures.add(accumulator.append(new PublishingMessageImpl(fakeMessage(FAKE_TOPIC_0),
+                            fakeProducerSettings(), false)));
+                    }
+                    return receiptFutures;
+                }));
+            }
+            latch.countDown();
+            accumulator.flushAll();
+            int completed = 0;
+            for (Future<List<ListenableFuture<SendReceipt>>> future : futures) {
+                for (ListenableFuture<SendReceipt> receiptFuture : future.get()) {
+                    // Every message is either flushed or rejected, none of them is left behind.
+                    assertTrue(receiptFuture.isDone());
+                    completed++;
+                }
+            }
+            assertEquals(threads * messagesPerThread, completed);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test(expected = ExecutionException.class)
+    public void testFlushWithFailure() throws Exception {
+        final ProducerImpl producer = mock(ProducerImpl.class);
+        when(producer.getScheduler()).thenReturn(SCHEDULER);
+        when(producer.send(anyString(), any(MessageType.class), isNull(), anyList()))
+            .thenReturn(Futures.immediateFailedFuture(new IllegalStateException()));
+        final AutoBatchingPolicy policy = new AutoBatchingPolicy(1, Integer.MAX_VALUE, Duration.ofDays(1));
+        final SendBatchAccumulator accumulator = new SendBatchAccumulator(producer, policy);
+        final PublishingMessageImpl message = new PublishingMessageImpl(fakeMessage(FAKE_TOPIC_0),
+            fakeProducerSettings(), false);
+        accumulator.append(message).get();
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.rocketmq.client.java.impl.producer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import apache.rocketmq.v2.Code;
+import apache.rocketmq.v2.SendMessageRequest;
+import apache.rocketmq.v2.SendMessageResponse;
+import apache.rocketmq.v2.SendResultEntry;
+import apache.rocketmq.v2.Status;
+import com.google.common.util.concurrent.Futures;
+import java.util.List;
+import org.apache.rocketmq.client.apis.producer.BatchSendException;
+import org.apache.rocketmq.client.java.exception.ForbiddenException;
+import org.apache.rocketmq.client.java.message.MessageIdCodec;
+import org.apache.rocketmq.client.java.route.MessageQueueImpl;
+import org.apache.rocketmq.client.java.rpc.RpcFuture;
+import org.apache.rocketmq.client.java.tool.TestBase;
+import org.junit.Test;
+
+public class SendReceiptImplTest extends TestBase {
+
+    private RpcFuture<SendMessageRequest, SendMessageResponse> sendMessageResponseFuture(Code... entryCodes) {
+        final SendMessageResponse.Builder builder = SendMessageResponse.newBuilder()
+            .setStatus(Status.newBuilder().setCode(Code.MULTIPLE_RESULTS).build());
+        for (Code code : entryCodes) {
+            final String messageId = MessageIdCodec.getInstance().nextMessageId().toString();
+            builder.addEntries(SendResultEntry.newBuilder().setMessageId(messageId)
+                .setStatus(Status.newBuilder().setCode(code).build()).setOffset(1).build());
+        }
+        return new RpcFuture<>(fakeRpcContext(), null, Futures.immediateFuture(builder.build()));
+    }
+
+    @Test
+    public void testProcessResponseInvocation() throws Exception {
+        final MessageQueueImpl mq = fakeMessageQueueImpl(FAKE_TOPIC_0);
+        final RpcFuture<SendMessageRequest, SendMessageResponse> future = sendMessageResponseFuture(Code.OK, Code.OK);
+        final List<SendReceiptImpl> receipts = SendReceiptImpl.processResponseInvocation(mq, future.get(), future);
+        assertEquals(2, receipts.size());
+    }
+
+    @Test(expected = ForbiddenException.class)
+    public void testProcessResponseInvocationWithAllFailures() throws Exception {
+        final MessageQueueImpl mq = fakeMessageQueueImpl(FAKE_TOPIC_0);
+        final RpcFuture<SendMessageRequest, SendMessageResponse> future =
+            sendMessageResponseFuture(Code.FORBIDDEN, Code.FORBIDDEN);
+        SendReceiptImpl.processResponseInvocation(mq, future.get(), future);
+    }
+
+    @Test
+    public void testProcessResponseInvocationWithPartialFailure() throws Exception {
+        final MessageQueueImpl mq = fakeMessageQueueImpl(FAKE_TOPIC_0);
+        final RpcFuture<SendMessageRequest, SendMessageResponse> future =
+            sendMessageResponseFuture(Code.OK, Code.FORBIDDEN);
+        try {
+            SendReceiptImpl.processResponseInvocation(mq, future.get(), future);
+            fail();
+        } catch (BatchSendException e) {
+            assertEquals(2, e.size());
+            assertTrue(e.getSendReceipt(0).isPresent());
+            assertFalse(e.getFailure(0).isPresent());
+            assertFalse(e.getSendReceipt(1).isPresent());
+            assertTrue(e.getFailure(1).get() instanceof ForbiddenException);
+        }
+    }
+}
@@ -0,0 +1,54 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.rocketmq.client.java.message;
+
+import com.sun.management.ThreadMXBean;
+import java.lang.management.ManagementFactory;
+
+/**
+ * Benchmark of the allocation per generated message id, which is run by hand rather than by the unit tests, since the
+ * result depends on the object layout of the JVM, JIT warm-up and agents.
+ *
+ * <p>Only {@link MessageIdImpl} is supposed to be allocated, as the string is rendered lazily.
+ */
+public class MessageIdCodecBenchmark {
+    private static final int ITERATIONS = 1000000;
+
+    public static void main(String[] args) {
+        final ThreadMXBean bean = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+        if (!bean.isThreadAllocatedMemorySupported() || !bean.isThreadAllocatedMemoryEnabled()) {
+            System.out.println("Thread allocated memory is not supported by the JVM");
+            return;
+        }
+        final MessageIdCodec codec = MessageIdCodec.getInstance();
+        final long threadId = Thread.currentThread().threadId();
+        // Warm up.
+        for (int i = 0; i < ITERATIONS; i++) {
+            codec.nextMessageId();
+        }
+        final long start = bean.getThreadAllocatedBytes(threadId);
+        final long startNanos = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            codec.nextMessageId();
+        }
+        final long elapsedNanos = System.nanoTime() - startNanos;
+        final long allocatedBytes = bean.getThreadAllocatedBytes(threadId) - start;
+        System.out.printf("nextMessageId: %.1f ns/op, %d bytes/op%n", (double) elapsedNanos / ITERATIONS,
+            allocatedBytes / ITERATIONS);
+    }
+}
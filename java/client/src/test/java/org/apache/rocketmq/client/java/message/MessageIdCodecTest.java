@@ -17,8 +17,14 @@
 
 package org.apache.rocketmq.client.java.message;
 
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import org.apache.rocketmq.client.apis.message.MessageId;
 import org.junit.Assert;
 import org.junit.Test;
@@ -42,6 +48,78 @@ public class MessageIdCodecTest {
         Assert.assertEquals(messageIdCount, messageIds.size());
     }
 
+    @Test
+    public void testNextMessageIdConcurrently() throws InterruptedException, ExecutionException {
+        final int threadCount = 8;
+        final int messageIdCountPerThread = 10000;
+        final ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+        try {
+            List<Future<List<MessageId>>> futures = new ArrayList<>();
+            for (int i = 0; i < threadCount; i++) {
+                futures.add(executor.submit(() -> {
+                    List<MessageId> messageIds = new ArrayList<>();
+                    for (int j = 0; j < messageIdCountPerThread; j++) {
+                        messageIds.add(codec.nextMessageId());
+                    }
+                    return messageIds;
+                }));
+            }
+            Set<String> messageIds = new HashSet<>();
+            for (Future<List<MessageId>> future : futures) {
+                for (MessageId messageId : future.get()) {
+                    final String messageIdString = messageId.toString();
+                    Assert.assertEquals(MessageIdCodec.MESSAGE_ID_LENGTH_FOR_V1_OR_LATER, messageIdString.length());
+                    Assert.assertTrue(messageIdString.matches("01[0-9A-F]{32}"));
+                    messageIds.add(messageIdString);
+                }
+            }
+            Assert.assertEquals(threadCount * messageIdCountPerThread, messageIds.size());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testNextMessageIdWithSequence() {
+        final String messageId0 = codec.nextMessageId().toString();
+        final String messageId1 = codec.nextMessageId().toString();
+        // Process fixed part is never changed.
+        Assert.assertEquals(messageId0.substring(0, 18), messageId1.substring(0, 18));
+        final long sequence0 = Long.parseLong(messageId0.substring(26), 16);
+        final long sequence1 = Long.parseLong(messageId1.substring(26), 16);
+        Assert.assertEquals((sequence0 + 1) & 0xFFFFFFFFL, sequence1);
+    }
+
+    @Test
+    public void testNextMessageIdRenderedLazily() throws InterruptedException, ExecutionException {
+        final MessageId messageId = codec.nextMessageId();
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<String>> futures = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                futures.add(executor.submit(messageId::toString));
+            }
+            final String rendered = messageId.toString();
+            for (Future<String> future : futures) {
+                Assert.assertEquals(rendered, future.get());
+            }
+            // Rendered once and reused afterwards.
+            Assert.assertSame(rendered, messageId.toString());
+            Assert.assertEquals(rendered, codec.decode(rendered).toString());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testNextMessageIdEqualsDecoded() {
+        final MessageId messageId = codec.nextMessageId();
+        final MessageId decoded = codec.decode(messageId.toString());
+        Assert.assertEquals(decoded, messageId);
+        Assert.assertEquals(decoded.hashCode(), messageId.hashCode());
+        Assert.assertSame(messageId.toString(), messageId.toString());
+    }
+
     @Test
     public void testDecode() {
         String messageIdString = "0156F7E71C361B21BC024CCDBE00000000";
@@ -19,6 +19,7 @@ package org.apache.rocketmq.client.java.message;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
 import apache.rocketmq.v2.Digest;
@@ -29,6 +30,7 @@ import apache.rocketmq.v2.Resource;
 import apache.rocketmq.v2.SystemProperties;
 import com.google.protobuf.ByteString;
 import java.nio.charset.StandardCharsets;
+import org.apache.rocketmq.client.apis.consumer.ChecksumVerification;
 import org.apache.rocketmq.client.java.tool.TestBase;
 import org.junit.Test;
 
@@ -54,6 +56,22 @@ public class MessageViewImplTest extends TestBase {
         assertFalse(messageView.isCorrupted());
     }
 
+    @Test
+    public void testFromProtobufWithoutCopyingBody() {
+        SystemProperties systemProperties = SystemProperties.newBuilder().setMessageType(MessageType.NORMAL)
+            .setMessageId(MessageIdCodec.getInstance().nextMessageId().toString())
+            .setBornHost(FAKE_HOST_0)
+            .build();
+        Resource resource = Resource.newBuilder().setName(FAKE_TOPIC_0).build();
+        final ByteString body = ByteString.copyFrom("foobar", StandardCharsets.UTF_8);
+        final Message message = Message.newBuilder().setSystemProperties(systemProperties)
+            .setTopic(resource).setBody(body).build();
+        MessageViewImpl messageView = MessageViewImpl.fromProtobuf(message);
+        assertSame(body, messageView.body);
+        assertTrue(messageView.getBody().isReadOnly());
+        assertEquals(body.asReadOnlyByteBuffer(), messageView.getBody());
+    }
+
     @Test
     public void testFromProtobufWithWrongCrc32() {
         final Digest digest = Digest.newBuilder().setType(DigestType.CRC32).setChecksum("9EF61F96").build();
@@ -157,4 +175,58 @@ public class MessageViewImplTest extends TestBase {
         assertEquals(topic, messageView.getTopic());
         assertTrue(messageView.isCorrupted());
     }
+
+    @Test
+    public void testFromProtobufWithLowerCaseMd5() {
+        final Digest digest = Digest.newBuilder().setType(DigestType.MD5).setChecksum(
+            "3858f62230ac3c915f300c664312c63f").build();
+        final Message message = messageWithDigest(digest);
+        assertFalse(MessageViewImpl.fromProtobuf(message).isCorrupted());
+    }
+
+    @Test
+    public void testFromProtobufWithMalformedChecksum() {
+        final Digest crc32Digest = Digest.newBuilder().setType(DigestType.CRC32).setChecksum("9EF61F9Z").build();
+        assertTrue(MessageViewImpl.fromProtobuf(messageWithDigest(crc32Digest)).isCorrupted());
+        final Digest md5Digest = Digest.newBuilder().setType(DigestType.MD5).setChecksum("3858F").build();
+        assertTrue(MessageViewImpl.fromProtobuf(messageWithDigest(md5Digest)).isCorrupted());
+    }
+
+    @Test
+    public void testFromProtobufWithChecksumVerifiedOnConsumption() {
+        final Digest digest = Digest.newBuilder().setType(DigestType.CRC32).setChecksum("9EF61F96").build();
+        MessageViewImpl messageView = MessageViewImpl.fromProtobuf(messageWithDigest(digest), null, null,
+            ChecksumVerification.ON_CONSUMPTION);
+        assertFalse(messageView.isCorruptionDetermined());
+        assertTrue(messageView.isCorrupted());
+        assertTrue(messageView.isCorruptionDetermined());
+        assertTrue(messageView.isCorrupted());
+
+        final Digest rightDigest = Digest.newBuilder().setType(DigestType.CRC32).setChecksum("9EF61F95").build();
+        messageView = MessageViewImpl.fromProtobuf(messageWithDigest(rightDigest), null, null,
+            ChecksumVerification.ON_CONSUMPTION);
+        assertFalse(messageView.isCorruptionDetermined());
+        assertFalse(messageView.isCorrupted());
+        assertTrue(messageView.isCorruptionDetermined());
+    }
+
+    @Test
+    public void testFromProtobufWithChecksumVerificationDisabled() {
+        final Digest digest = Digest.newBuilder().setType(DigestType.CRC32).setChecksum("9EF61F96").build();
+        MessageViewImpl messageView = MessageViewImpl.fromProtobuf(messageWithDigest(digest), null, null,
+            ChecksumVerification.DISABLED);
+        assertTrue(messageView.isCorruptionDetermined());
+        assertFalse(messageView.isCorrupted());
+    }
+
+    private Message messageWithDigest(Digest digest) {
+        SystemProperties systemProperties = SystemProperties.newBuilder().setMessageType(MessageType.NORMAL)
+            .setMessageId(MessageIdCodec.getInstance().nextMessageId().toString())
+            .setBornHost(FAKE_HOST_0)
+            .setBodyDigest(digest)
+            .build();
+        Resource resource = Resource.newBuilder().setName(FAKE_TOPIC_0).build();
+        final ByteString body = ByteString.copyFrom("foobar", StandardCharsets.UTF_8);
+        return Message.newBuilder().setSystemProperties(systemProperties).setTopic(resource).setBody(body).build();
+    }
 }
\ No newline at end of file
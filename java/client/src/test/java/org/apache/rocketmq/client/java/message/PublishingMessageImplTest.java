@@ -0,0 +1,82 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.rocketmq.client.java.message;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import apache.rocketmq.v2.Encoding;
+import apache.rocketmq.v2.Message;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import org.apache.rocketmq.client.apis.producer.CompressionCodec;
+import org.apache.rocketmq.client.java.route.MessageQueueImpl;
+import org.apache.rocketmq.client.java.tool.TestBase;
+import org.junit.Test;
+
+public class PublishingMessageImplTest extends TestBase {
+
+    @Test
+    public void testToProtobufAcrossAttempts() throws IOException {
+        final PublishingMessageImpl publishingMessage = new PublishingMessageImpl(fakeMessage(FAKE_TOPIC_0),
+            fakeProducerSettings(), false);
+        final MessageQueueImpl mq0 = new MessageQueueImpl(fakePbMessageQueue0().toBuilder().setId(1).build());
+        final MessageQueueImpl mq1 = new MessageQueueImpl(fakePbMessageQueue1().toBuilder().setId(2).build());
+        final Message message0 = publishingMessage.toProtobuf(FAKE_NAMESPACE, mq0);
+        final Message message1 = publishingMessage.toProtobuf(FAKE_NAMESPACE, mq1);
+        assertEquals(1, message0.getSystemProperties().getQueueId());
+        assertEquals(2, message1.getSystemProperties().getQueueId());
+        assertEquals(FAKE_NAMESPACE, message1.getTopic().getResourceNamespace());
+        assertEquals(FAKE_TOPIC_0, message1.getTopic().getName());
+        assertEquals(publishingMessage.getMessageId().toString(), message1.getSystemProperties().getMessageId());
+        // The body is shared by all attempts rather than copied.
+        assertSame(message0.getBody(), message1.getBody());
+        assertEquals(publishingMessage.getBody(), message1.getBody().asReadOnlyByteBuffer());
+    }
+
+    @Test
+    public void testToProtobufWithCompression() throws IOException {
+        final byte[] body = new byte[4096];
+        Arrays.fill(body, (byte) 'a');
+        final org.apache.rocketmq.client.apis.message.Message message = new MessageBuilderImpl()
+            .setTopic(FAKE_TOPIC_0).setBody(body).build();
+        final CompressionPolicy compressionPolicy = new CompressionPolicy(1024, CompressionCodec.GZIP, 5);
+        final PublishingMessageImpl publishingMessage = new PublishingMessageImpl(message, fakeProducerSettings(),
+            false, compressionPolicy);
+        final Message pbMessage = publishingMessage.toProtobuf(FAKE_NAMESPACE, fakeMessageQueueImpl0());
+        assertEquals(Encoding.GZIP, pbMessage.getSystemProperties().getBodyEncoding());
+        assertTrue(pbMessage.getBody().size() < body.length);
+        // Consumers decode the body transparently.
+        final MessageViewImpl messageView = MessageViewImpl.fromProtobuf(pbMessage);
+        assertEquals(ByteBuffer.wrap(body), messageView.getBody());
+        assertFalse(messageView.isCorrupted());
+    }
+
+    @Test
+    public void testToProtobufWithCompressionBelowThreshold() throws IOException {
+        final CompressionPolicy compressionPolicy = new CompressionPolicy(1024, CompressionCodec.GZIP, 5);
+        final PublishingMessageImpl publishingMessage = new PublishingMessageImpl(fakeMessage(FAKE_TOPIC_0),
+            fakeProducerSettings(), false, compressionPolicy);
+        final Message pbMessage = publishingMessage.toProtobuf(FAKE_NAMESPACE, fakeMessageQueueImpl0());
+        assertEquals(Encoding.IDENTITY, pbMessage.getSystemProperties().getBodyEncoding());
+        assertEquals(publishingMessage.getBody(), pbMessage.getBody().asReadOnlyByteBuffer());
+    }
+}
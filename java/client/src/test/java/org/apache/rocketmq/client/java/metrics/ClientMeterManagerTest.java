@@ -17,9 +17,12 @@
 
 package org.apache.rocketmq.client.java.metrics;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
+import apache.rocketmq.v2.Endpoints;
+import java.util.Map;
 import org.apache.rocketmq.client.apis.ClientConfiguration;
 import org.apache.rocketmq.client.java.misc.ClientId;
 import org.apache.rocketmq.client.java.tool.TestBase;
@@ -50,4 +53,70 @@ public class ClientMeterManagerTest extends TestBase {
         meterManager.reset(metric);
         assertFalse(meterManager.isEnabled());
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testRecordWithLocalMetricsEnabled() {
+        final ClientConfiguration clientConfiguration =
+            ClientConfiguration.newBuilder().setEndpoints(FAKE_ENDPOINTS).enableLocalMetrics(true).build();
+        ClientId clientId = new ClientId();
+        final ClientMeterManager meterManager = new ClientMeterManager(clientId, clientConfiguration);
+        assertTrue(meterManager.isEnabled());
+        assertTrue(meterManager.getLocalMeter().isPresent());
+        final Metric metric =
+            new Metric(apache.rocketmq.v2.Metric.newBuilder().setOn(false).setEndpoints(fakePbEndpoints0()).build());
+        meterManager.reset(metric);
+        assertTrue(meterManager.isEnabled());
+        final MetricKey key = new MetricKey(FAKE_TOPIC_0, clientId.toString(), null, InvocationStatus.SUCCESS);
+        meterManager.record(HistogramEnum.SEND_COST_TIME, key, 5);
+        final Map<MetricKey, LocalHistogram> histograms =
+            meterManager.getLocalMeter().get().getHistograms(HistogramEnum.SEND_COST_TIME);
+        assertEquals(1, histograms.size());
+        assertEquals(1, histograms.get(new MetricKey(FAKE_TOPIC_0, clientId.toString(), null,
+            InvocationStatus.SUCCESS)).getTotalCount());
+    }
+
+    @Test
+    public void testLocalMetricsDisabledByDefault() {
+        final ClientConfiguration clientConfiguration =
+            ClientConfiguration.newBuilder().setEndpoints(FAKE_ENDPOINTS).build();
+        final ClientMeterManager meterManager = new ClientMeterManager(new ClientId(), clientConfiguration);
+        assertFalse(meterManager.isEnabled());
+        assertFalse(meterManager.getLocalMeter().isPresent());
+    }
+
+    @Test
+    public void testSatisfy() {
+        Metric metric = new Metric(apache.rocketmq.v2.Metric.newBuilder().setOn(false).build());
+        assertTrue(ClientMeterManager.satisfy(null, metric));
+
+        metric = new Metric(apache.rocketmq.v2.Metric.newBuilder().setOn(true).build());
+        assertTrue(ClientMeterManager.satisfy(null, metric));
+
+        final Endpoints pbEndpoints0 = fakePbEndpoints0();
+
+        metric = new Metric(apache.rocketmq.v2.Metric.newBuilder().setOn(false).setEndpoints(pbEndpoints0).build());
+        assertTrue(ClientMeterManager.satisfy(null, metric));
+
+        metric = new Metric(apache.rocketmq.v2.Metric.newBuilder().setOn(true).setEndpoints(pbEndpoints0).build());
+        assertFalse(ClientMeterManager.satisfy(null, metric));
+
+        final org.apache.rocketmq.client.java.route.Endpoints endpoints =
+            new org.apache.rocketmq.client.java.route.Endpoints(pbEndpoints0);
+
+        metric = new Metric(apache.rocketmq.v2.Metric.newBuilder().setOn(false).build());
+        assertFalse(ClientMeterManager.satisfy(endpoints, metric));
+
+        metric = new Metric(apache.rocketmq.v2.Metric.newBuilder().setOn(true).build());
+        assertFalse(ClientMeterManager.satisfy(endpoints, metric));
+
+        metric = new Metric(apache.rocketmq.v2.Metric.newBuilder().setOn(false).setEndpoints(pbEndpoints0).build());
+        assertFalse(ClientMeterManager.satisfy(endpoints, metric));
+
+        metric = new Metric(apache.rocketmq.v2.Metric.newBuilder().setOn(true).setEndpoints(pbEndpoints0).build());
+        assertTrue(ClientMeterManager.satisfy(endpoints, metric));
+
+        final Endpoints pbEndpoints1 = fakePbEndpoints1();
+        metric = new Metric(apache.rocketmq.v2.Metric.newBuilder().setOn(true).setEndpoints(pbEndpoints1).build());
+        assertFalse(ClientMeterManager.satisfy(endpoints, metric));
+    }
+}
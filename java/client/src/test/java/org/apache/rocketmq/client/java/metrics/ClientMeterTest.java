@@ -17,10 +17,11 @@
 
 package org.apache.rocketmq.client.java.metrics;
 
-import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
-import apache.rocketmq.v2.Endpoints;
+import io.opentelemetry.api.common.Attributes;
 import io.opentelemetry.api.metrics.Meter;
 import io.opentelemetry.sdk.OpenTelemetrySdk;
 import io.opentelemetry.sdk.metrics.SdkMeterProvider;
@@ -39,57 +40,28 @@ public class ClientMeterTest extends TestBase {
         final ClientId clientId = new ClientId();
         final ClientMeter clientMeter = new ClientMeter(meter, fakeEndpoints(), provider, clientId);
         assertTrue(clientMeter.isEnabled());
+        final MetricKey key = new MetricKey(FAKE_TOPIC_0, clientId.toString(), null, InvocationStatus.SUCCESS);
+        clientMeter.record(HistogramEnum.SEND_COST_TIME, key, 5);
         clientMeter.shutdown();
     }
 
     @Test
-    public void testShutdownWithDisabledMeter() {
-        final ClientId clientId = new ClientId();
-        final ClientMeter clientMeter = ClientMeter.disabledInstance(clientId);
-        assertFalse(clientMeter.isEnabled());
-        clientMeter.shutdown();
-    }
-
-    @Test
-    public void testSatisfy() {
-        final ClientId clientId = new ClientId();
-        ClientMeter clientMeter = ClientMeter.disabledInstance(clientId);
-        Metric metric = new Metric(apache.rocketmq.v2.Metric.newBuilder().setOn(false).build());
-        assertTrue(clientMeter.satisfy(metric));
-
-        metric = new Metric(apache.rocketmq.v2.Metric.newBuilder().setOn(true).build());
-        assertTrue(clientMeter.satisfy(metric));
-
-        final Endpoints pbEndpoints0 = fakePbEndpoints0();
-
-        metric = new Metric(apache.rocketmq.v2.Metric.newBuilder().setOn(false).setEndpoints(pbEndpoints0).build());
-        assertTrue(clientMeter.satisfy(metric));
-
-        metric = new Metric(apache.rocketmq.v2.Metric.newBuilder().setOn(true).setEndpoints(pbEndpoints0).build());
-        assertFalse(clientMeter.satisfy(metric));
-
-        final org.apache.rocketmq.client.java.route.Endpoints endpoints =
-            new org.apache.rocketmq.client.java.route.Endpoints(pbEndpoints0);
-
-        final SdkMeterProvider provider = SdkMeterProvider.builder().setResource(Resource.empty()).build();
-        final OpenTelemetrySdk openTelemetry = OpenTelemetrySdk.builder().setMeterProvider(provider).build();
-        Meter meter = openTelemetry.getMeter("test");
-        clientMeter = new ClientMeter(meter, endpoints, provider, clientId);
-
-        metric = new Metric(apache.rocketmq.v2.Metric.newBuilder().setOn(false).build());
-        assertFalse(clientMeter.satisfy(metric));
-
-        metric = new Metric(apache.rocketmq.v2.Metric.newBuilder().setOn(true).build());
-        assertFalse(clientMeter.satisfy(metric));
-
-        metric = new Metric(apache.rocketmq.v2.Metric.newBuilder().setOn(false).setEndpoints(pbEndpoints0).build());
-        assertFalse(clientMeter.satisfy(metric));
-
-        metric = new Metric(apache.rocketmq.v2.Metric.newBuilder().setOn(true).setEndpoints(pbEndpoints0).build());
-        assertTrue(clientMeter.satisfy(metric));
-
-        final Endpoints pbEndpoints1 = fakePbEndpoints1();
-        metric = new Metric(apache.rocketmq.v2.Metric.newBuilder().setOn(true).setEndpoints(pbEndpoints1).build());
-        assertFalse(clientMeter.satisfy(metric));
+    public void testToAttributes() {
+        final String clientId = new ClientId().toString();
+        Attributes attributes = ClientMeter.toAttributes(new MetricKey(null, clientId, null, null));
+        assertEquals(1, attributes.size());
+        assertEquals(clientId, attributes.get(MetricLabels.CLIENT_ID));
+
+        attributes = ClientMeter.toAttributes(new MetricKey(FAKE_TOPIC_0, clientId, FAKE_CONSUMER_GROUP_0,
+            InvocationStatus.FAILURE));
+        assertEquals(4, attributes.size());
+        assertEquals(FAKE_TOPIC_0, attributes.get(MetricLabels.TOPIC));
+        assertEquals(clientId, attributes.get(MetricLabels.CLIENT_ID));
+        assertEquals(FAKE_CONSUMER_GROUP_0, attributes.get(MetricLabels.CONSUMER_GROUP));
+        assertEquals(InvocationStatus.FAILURE.getName(), attributes.get(MetricLabels.INVOCATION_STATUS));
+
+        attributes = ClientMeter.toAttributes(new MetricKey(FAKE_TOPIC_0, clientId, null, null));
+        assertNull(attributes.get(MetricLabels.CONSUMER_GROUP));
+        assertNull(attributes.get(MetricLabels.INVOCATION_STATUS));
     }
-}
\ No newline at end of file
+}
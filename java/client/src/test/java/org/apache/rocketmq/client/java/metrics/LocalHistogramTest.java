@@ -0,0 +1,120 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.rocketmq.client.java.metrics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import org.junit.Test;
+
+public class LocalHistogramTest {
+
+    @Test
+    public void testEmpty() {
+        final LocalHistogram histogram = new LocalHistogram();
+        assertEquals(0, histogram.getTotalCount());
+        assertEquals(0, histogram.getMax());
+        assertEquals(0, histogram.getValueAtPercentile(99), 0);
+        assertEquals(0, histogram.getMean(), 0);
+    }
+
+    @Test
+    public void testSmallValuesAreExact() {
+        final LocalHistogram histogram = new LocalHistogram();
+        for (int i = 1; i <= 100; i++) {
+            histogram.record(i);
+        }
+        assertEquals(100, histogram.getTotalCount());
+        assertEquals(100, histogram.getMax());
+        assertEquals(50.5, histogram.getMean(), 0);
+        assertEquals(1, histogram.getValueAtPercentile(0));
+        assertEquals(50, histogram.getValueAtPercentile(50));
+        assertEquals(100, histogram.getValueAtPercentile(100));
+    }
+
+    @Test
+    public void testNegativeValue() {
+        final LocalHistogram histogram = new LocalHistogram();
+        histogram.record(-1);
+        assertEquals(1, histogram.getTotalCount());
+        assertEquals(0, histogram.getValueAtPercentile(100));
+    }
+
+    @Test
+    public void testIndexOf() {
+        long previousValue = 0;
+        int previousIndex = 0;
+        for (int shift = 0; shift < Long.SIZE - 1; shift++) {
+            for (long value : new long[] {(1L << shift) - 1, 1L << shift, (1L << shift) + 1}) {
+                if (value < previousValue) {
+                    continue;
+                }
+                final int index = LocalHistogram.indexOf(value);
+                assertTrue(index >= previousIndex);
+                assertTrue(value <= LocalHistogram.highestEquivalentValue(index));
+                previousValue = value;
+                previousIndex = index;
+            }
+        }
+        final int index = LocalHistogram.indexOf(Long.MAX_VALUE);
+        assertEquals(Long.MAX_VALUE, LocalHistogram.highestEquivalentValue(index));
+    }
+
+    @Test
+    public void testRelativeError() {
+        final LocalHistogram histogram = new LocalHistogram();
+        final long value = 123_456_789L;
+        histogram.record(value);
+        histogram.record(value * 2);
+        final long valueAtPercentile = histogram.getValueAtPercentile(50);
+        assertTrue(valueAtPercentile >= value);
+        assertTrue(valueAtPercentile - value <= value / LocalHistogram.SUB_BUCKET_COUNT);
+        assertEquals(value * 2, histogram.getValueAtPercentile(100));
+    }
+
+    @Test
+    public void testConcurrentRecord() throws Exception {
+        final LocalHistogram histogram = new LocalHistogram();
+        final int threads = 4;
+        final int recordsPerThread = 10_000;
+        final ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                futures.add(executor.submit(() -> {
+                    for (int j = 0; j < recordsPerThread; j++) {
+                        histogram.record(ThreadLocalRandom.current().nextInt(1000));
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+        assertEquals(threads * recordsPerThread, histogram.getTotalCount());
+        assertTrue(histogram.getValueAtPercentile(100) <= histogram.getMax());
+    }
+}
@@ -0,0 +1,62 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.rocketmq.client.java.metrics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+import java.util.Map;
+import java.util.Optional;
+import org.apache.rocketmq.client.apis.consumer.PushConsumer;
+import org.apache.rocketmq.client.apis.producer.Producer;
+import org.apache.rocketmq.client.java.impl.Client;
+import org.junit.Test;
+
+public class LocalMeterTest {
+
+    @Test
+    public void testRecord() {
+        final LocalMeter localMeter = new LocalMeter();
+        final MetricKey key = new MetricKey("topic", "clientId", "group", InvocationStatus.SUCCESS);
+        localMeter.record(HistogramEnum.SEND_COST_TIME, key, 1.6);
+        final Map<MetricKey, LocalHistogram> histograms = localMeter.getHistograms(HistogramEnum.SEND_COST_TIME);
+        assertEquals(1, histograms.size());
+        assertEquals(2, histograms.get(key).getMax());
+    }
+
+    @Test
+    public void testOf() {
+        final LocalMeter localMeter = new LocalMeter();
+        final Producer producer = mock(Producer.class, withSettings().extraInterfaces(Client.class));
+        when(((Client) producer).getLocalMeter()).thenReturn(Optional.of(localMeter));
+        assertSame(localMeter, LocalMeter.of(producer).get());
+
+        final PushConsumer pushConsumer = mock(PushConsumer.class, withSettings().extraInterfaces(Client.class));
+        when(((Client) pushConsumer).getLocalMeter()).thenReturn(Optional.empty());
+        assertFalse(LocalMeter.of(pushConsumer).isPresent());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testOfForeignClient() {
+        LocalMeter.of(mock(Producer.class));
+    }
+}
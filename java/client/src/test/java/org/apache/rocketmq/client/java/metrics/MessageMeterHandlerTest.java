@@ -18,10 +18,12 @@
 package org.apache.rocketmq.client.java.metrics;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 
-import io.opentelemetry.api.common.Attributes;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
@@ -59,13 +61,13 @@ public class MessageMeterHandlerTest extends TestBase {
         assertNotNull(context.getAttributes().get(MessageMeterInterceptor.SEND_STOPWATCH_KEY));
         context.setStatus(MessageHookPointsStatus.OK);
         meterHandler.doAfter(context, messageList);
-        ArgumentCaptor<Attributes> attributesArgumentCaptor = ArgumentCaptor.forClass(Attributes.class);
+        ArgumentCaptor<MetricKey> keyArgumentCaptor = ArgumentCaptor.forClass(MetricKey.class);
         Mockito.verify(meterManager, Mockito.times(1))
-            .record(Mockito.eq(HistogramEnum.SEND_COST_TIME), attributesArgumentCaptor.capture(), Mockito.anyDouble());
-        final Attributes attributes = attributesArgumentCaptor.getValue();
-        assertEquals(topic, attributes.get(MetricLabels.TOPIC));
-        assertEquals(clientId.toString(), attributes.get(MetricLabels.CLIENT_ID));
-        assertEquals(InvocationStatus.SUCCESS.getName(), attributes.get(MetricLabels.INVOCATION_STATUS));
+            .record(Mockito.eq(HistogramEnum.SEND_COST_TIME), keyArgumentCaptor.capture(), Mockito.anyDouble());
+        final MetricKey key = keyArgumentCaptor.getValue();
+        assertEquals(topic, key.getTopic().get());
+        assertEquals(clientId.toString(), key.getClientId());
+        assertEquals(InvocationStatus.SUCCESS, key.getInvocationStatus().get());
     }
 
     @Test
@@ -85,13 +87,13 @@ public class MessageMeterHandlerTest extends TestBase {
         meterHandler.doBefore(context, messageList);
         context.setStatus(MessageHookPointsStatus.UNSET);
         meterHandler.doAfter(context, messageList);
-        ArgumentCaptor<Attributes> attributesArgumentCaptor = ArgumentCaptor.forClass(Attributes.class);
+        ArgumentCaptor<MetricKey> keyArgumentCaptor = ArgumentCaptor.forClass(MetricKey.class);
         Mockito.verify(meterManager, Mockito.times(1))
-            .record(Mockito.eq(HistogramEnum.SEND_COST_TIME), attributesArgumentCaptor.capture(), Mockito.anyDouble());
-        final Attributes attributes = attributesArgumentCaptor.getValue();
-        assertEquals(topic, attributes.get(MetricLabels.TOPIC));
-        assertEquals(clientId.toString(), attributes.get(MetricLabels.CLIENT_ID));
-        assertEquals(InvocationStatus.FAILURE.getName(), attributes.get(MetricLabels.INVOCATION_STATUS));
+            .record(Mockito.eq(HistogramEnum.SEND_COST_TIME), keyArgumentCaptor.capture(), Mockito.anyDouble());
+        final MetricKey key = keyArgumentCaptor.getValue();
+        assertEquals(topic, key.getTopic().get());
+        assertEquals(clientId.toString(), key.getClientId());
+        assertEquals(InvocationStatus.FAILURE, key.getInvocationStatus().get());
     }
 
     @Test
@@ -111,13 +113,13 @@ public class MessageMeterHandlerTest extends TestBase {
         meterHandler.doBefore(context, messageList);
         context.setStatus(MessageHookPointsStatus.ERROR);
         meterHandler.doAfter(context, messageList);
-        ArgumentCaptor<Attributes> attributesArgumentCaptor = ArgumentCaptor.forClass(Attributes.class);
+        ArgumentCaptor<MetricKey> keyArgumentCaptor = ArgumentCaptor.forClass(MetricKey.class);
         Mockito.verify(meterManager, Mockito.times(1))
-            .record(Mockito.eq(HistogramEnum.SEND_COST_TIME), attributesArgumentCaptor.capture(), Mockito.anyDouble());
-        final Attributes attributes = attributesArgumentCaptor.getValue();
-        assertEquals(topic, attributes.get(MetricLabels.TOPIC));
-        assertEquals(clientId.toString(), attributes.get(MetricLabels.CLIENT_ID));
-        assertEquals(InvocationStatus.FAILURE.getName(), attributes.get(MetricLabels.INVOCATION_STATUS));
+            .record(Mockito.eq(HistogramEnum.SEND_COST_TIME), keyArgumentCaptor.capture(), Mockito.anyDouble());
+        final MetricKey key = keyArgumentCaptor.getValue();
+        assertEquals(topic, key.getTopic().get());
+        assertEquals(clientId.toString(), key.getClientId());
+        assertEquals(InvocationStatus.FAILURE, key.getInvocationStatus().get());
     }
 
     interface MyPushConsumer extends Client, PushConsumer {
@@ -145,14 +147,14 @@ public class MessageMeterHandlerTest extends TestBase {
         Mockito.doReturn(optionalTransportDeliveryTimestamp).when(message).getTransportDeliveryTimestamp();
         final MessageInterceptorContextImpl context = new MessageInterceptorContextImpl(MessageHookPoints.RECEIVE);
         meterHandler.doAfter(context, messageList);
-        ArgumentCaptor<Attributes> attributesArgumentCaptor = ArgumentCaptor.forClass(Attributes.class);
+        ArgumentCaptor<MetricKey> keyArgumentCaptor = ArgumentCaptor.forClass(MetricKey.class);
         Mockito.verify(meterManager, Mockito.times(1))
-            .record(Mockito.eq(HistogramEnum.DELIVERY_LATENCY), attributesArgumentCaptor.capture(),
+            .record(Mockito.eq(HistogramEnum.DELIVERY_LATENCY), keyArgumentCaptor.capture(),
                 Mockito.anyDouble());
-        final Attributes attributes = attributesArgumentCaptor.getValue();
-        assertEquals(topic, attributes.get(MetricLabels.TOPIC));
-        assertEquals(consumerGroup, attributes.get(MetricLabels.CONSUMER_GROUP));
-        assertNotNull(attributes.get(MetricLabels.CLIENT_ID));
+        final MetricKey key = keyArgumentCaptor.getValue();
+        assertEquals(topic, key.getTopic().get());
+        assertEquals(consumerGroup, key.getConsumerGroup().get());
+        assertNotNull(key.getClientId());
     }
 
     @Test
@@ -172,7 +174,7 @@ public class MessageMeterHandlerTest extends TestBase {
         final MessageInterceptorContextImpl context = new MessageInterceptorContextImpl(MessageHookPoints.RECEIVE);
         meterHandler.doAfter(context, messageList);
         Mockito.verify(meterManager, Mockito.never())
-            .record(any(HistogramEnum.class), any(Attributes.class), Mockito.anyDouble());
+            .record(any(HistogramEnum.class), any(MetricKey.class), Mockito.anyDouble());
     }
 
     @Test
@@ -194,14 +196,14 @@ public class MessageMeterHandlerTest extends TestBase {
         Mockito.doReturn(optionalTransportDeliveryTimestamp).when(message).getTransportDeliveryTimestamp();
         final MessageInterceptorContextImpl context = new MessageInterceptorContextImpl(MessageHookPoints.RECEIVE);
         meterHandler.doAfter(context, messageList);
-        ArgumentCaptor<Attributes> attributesArgumentCaptor = ArgumentCaptor.forClass(Attributes.class);
+        ArgumentCaptor<MetricKey> keyArgumentCaptor = ArgumentCaptor.forClass(MetricKey.class);
         Mockito.verify(meterManager, Mockito.times(1))
-            .record(Mockito.eq(HistogramEnum.DELIVERY_LATENCY), attributesArgumentCaptor.capture(),
+            .record(Mockito.eq(HistogramEnum.DELIVERY_LATENCY), keyArgumentCaptor.capture(),
                 Mockito.anyDouble());
-        final Attributes attributes = attributesArgumentCaptor.getValue();
-        assertEquals(topic, attributes.get(MetricLabels.TOPIC));
-        assertEquals(consumerGroup, attributes.get(MetricLabels.CONSUMER_GROUP));
-        assertNotNull(attributes.get(MetricLabels.CLIENT_ID));
+        final MetricKey key = keyArgumentCaptor.getValue();
+        assertEquals(topic, key.getTopic().get());
+        assertEquals(consumerGroup, key.getConsumerGroup().get());
+        assertNotNull(key.getClientId());
     }
 
     @Test
@@ -224,28 +226,67 @@ public class MessageMeterHandlerTest extends TestBase {
         Mockito.doReturn(Optional.of(decodeTimestamp)).when(message).getDecodeTimestamp();
         final MessageInterceptorContextImpl context = new MessageInterceptorContextImpl(MessageHookPoints.CONSUME);
         meterHandler.doBefore(context, generalMessages);
-        ArgumentCaptor<Attributes> attributes0ArgumentCaptor = ArgumentCaptor.forClass(Attributes.class);
+        ArgumentCaptor<MetricKey> key0ArgumentCaptor = ArgumentCaptor.forClass(MetricKey.class);
         final ArgumentCaptor<Double> awaitTimeArgumentCaptor = ArgumentCaptor.forClass(Double.class);
         Mockito.verify(meterManager, Mockito.times(1))
-            .record(Mockito.eq(HistogramEnum.AWAIT_TIME), attributes0ArgumentCaptor.capture(),
+            .record(Mockito.eq(HistogramEnum.AWAIT_TIME), key0ArgumentCaptor.capture(),
                 awaitTimeArgumentCaptor.capture());
         assertEquals(awaitTimeMills, awaitTimeArgumentCaptor.getValue(), 100);
-        final Attributes attributes0 = attributes0ArgumentCaptor.getValue();
-        assertEquals(topic, attributes0.get(MetricLabels.TOPIC));
-        assertEquals(consumerGroup, attributes0.get(MetricLabels.CONSUMER_GROUP));
-        assertEquals(clientId.toString(), attributes0.get(MetricLabels.CLIENT_ID));
+        final MetricKey key0 = key0ArgumentCaptor.getValue();
+        assertEquals(topic, key0.getTopic().get());
+        assertEquals(consumerGroup, key0.getConsumerGroup().get());
+        assertEquals(clientId.toString(), key0.getClientId());
         assertNotNull(context.getAttributes().get(MessageMeterInterceptor.CONSUME_STOPWATCH_KEY));
 
         context.setStatus(MessageHookPointsStatus.OK);
         meterHandler.doAfter(context, generalMessages);
-        ArgumentCaptor<Attributes> attributes1ArgumentCaptor = ArgumentCaptor.forClass(Attributes.class);
+        ArgumentCaptor<MetricKey> key1ArgumentCaptor = ArgumentCaptor.forClass(MetricKey.class);
         Mockito.verify(meterManager, Mockito.times(1))
-            .record(Mockito.eq(HistogramEnum.PROCESS_TIME), attributes1ArgumentCaptor.capture(),
+            .record(Mockito.eq(HistogramEnum.PROCESS_TIME), key1ArgumentCaptor.capture(),
                 awaitTimeArgumentCaptor.capture());
-        final Attributes attributes1 = attributes1ArgumentCaptor.getValue();
-        assertEquals(topic, attributes1.get(MetricLabels.TOPIC));
-        assertEquals(consumerGroup, attributes1.get(MetricLabels.CONSUMER_GROUP));
-        assertEquals(clientId.toString(), attributes1.get(MetricLabels.CLIENT_ID));
-        assertEquals(InvocationStatus.SUCCESS.getName(), attributes1.get(MetricLabels.INVOCATION_STATUS));
+        final MetricKey key1 = key1ArgumentCaptor.getValue();
+        assertEquals(topic, key1.getTopic().get());
+        assertEquals(consumerGroup, key1.getConsumerGroup().get());
+        assertEquals(clientId.toString(), key1.getClientId());
+        assertEquals(InvocationStatus.SUCCESS, key1.getInvocationStatus().get());
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testKeysAreReusedForTopic() {
+        final ClientImpl producer = Mockito.mock(ClientImpl.class);
+        final ClientMeterManager meterManager = Mockito.mock(ClientMeterManager.class);
+        Mockito.doReturn(true).when(meterManager).isEnabled();
+        Mockito.doReturn(new ClientId()).when(producer).getClientId();
+        final MessageMeterInterceptor meterHandler = new MessageMeterInterceptor(producer, meterManager);
+        final GeneralMessage message = Mockito.mock(GeneralMessage.class);
+        Mockito.doReturn(FAKE_TOPIC_0).when(message).getTopic();
+        List<GeneralMessage> messageList = new ArrayList<>();
+        messageList.add(message);
+        for (int i = 0; i < 2; i++) {
+            final MessageInterceptorContextImpl context = new MessageInterceptorContextImpl(MessageHookPoints.SEND);
+            meterHandler.doBefore(context, messageList);
+            context.setStatus(MessageHookPointsStatus.OK);
+            meterHandler.doAfter(context, messageList);
+        }
+        ArgumentCaptor<MetricKey> keyArgumentCaptor = ArgumentCaptor.forClass(MetricKey.class);
+        Mockito.verify(meterManager, Mockito.times(2))
+            .record(Mockito.eq(HistogramEnum.SEND_COST_TIME), keyArgumentCaptor.capture(), Mockito.anyDouble());
+        final List<MetricKey> keys = keyArgumentCaptor.getAllValues();
+        assertSame(keys.get(0), keys.get(1));
+        Mockito.verify(producer, Mockito.times(1)).getClientId();
+    }
+
+    @Test
+    public void testSubscribedOnlyIfEnabled() {
+        final ClientImpl producer = Mockito.mock(ClientImpl.class);
+        final ClientMeterManager meterManager = Mockito.mock(ClientMeterManager.class);
+        final MessageMeterInterceptor meterHandler = new MessageMeterInterceptor(producer, meterManager);
+        Mockito.doReturn(false).when(meterManager).isEnabled();
+        assertFalse(meterHandler.isSubscribed(MessageHookPoints.SEND));
+        Mockito.doReturn(true).when(meterManager).isEnabled();
+        assertTrue(meterHandler.isSubscribed(MessageHookPoints.SEND));
+        assertTrue(meterHandler.isSubscribed(MessageHookPoints.RECEIVE));
+        assertTrue(meterHandler.isSubscribed(MessageHookPoints.CONSUME));
+        assertFalse(meterHandler.isSubscribed(MessageHookPoints.ACK));
+    }
+}
@@ -0,0 +1,65 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.rocketmq.client.java.misc;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Test;
+
+public class BoundedPoolTest {
+
+    @Test
+    public void testBorrowCreatesObjectWhenEmpty() {
+        final AtomicInteger created = new AtomicInteger(0);
+        final BoundedPool<Object> pool = new BoundedPool<>(1, () -> {
+            created.incrementAndGet();
+            return new Object();
+        }, object -> {
+        }, object -> {
+        });
+        final Object object0 = pool.borrow();
+        final Object object1 = pool.borrow();
+        assertNotSame(object0, object1);
+        assertEquals(2, created.get());
+        assertEquals(0, pool.getPooledCount());
+    }
+
+    @Test
+    public void testReleaseResetsAndDisposesBeyondCapacity() {
+        final List<StringBuilder> disposed = new ArrayList<>();
+        final BoundedPool<StringBuilder> pool = new BoundedPool<>(1, StringBuilder::new,
+            builder -> builder.setLength(0), disposed::add);
+        final StringBuilder builder0 = pool.borrow().append("foo");
+        final StringBuilder builder1 = pool.borrow().append("bar");
+        pool.release(builder0);
+        pool.release(builder1);
+        assertEquals(1, pool.getPooledCount());
+        assertEquals(1, disposed.size());
+        assertSame(builder1, disposed.get(0));
+
+        final StringBuilder reused = pool.borrow();
+        assertSame(builder0, reused);
+        assertEquals(0, reused.length());
+        assertEquals(0, pool.getPooledCount());
+    }
+}
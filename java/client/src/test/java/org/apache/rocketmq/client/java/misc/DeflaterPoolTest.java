@@ -0,0 +1,59 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.rocketmq.client.java.misc;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import org.apache.commons.lang3.RandomUtils;
+import org.junit.Test;
+
+public class DeflaterPoolTest {
+
+    @Test
+    public void testCompress() throws IOException {
+        final byte[] bytes = "foobarfoobarfoobarfoobarfoobarfoobar".getBytes(StandardCharsets.UTF_8);
+        final byte[] compressedBytes = DeflaterPool.getInstance(5).compress(bytes);
+        assertNotNull(compressedBytes);
+        assertArrayEquals(bytes, Utilities.uncompressBytesGzip(compressedBytes));
+    }
+
+    @Test
+    public void testCompressIncompressibleBytes() {
+        final byte[] bytes = RandomUtils.nextBytes(1024);
+        assertNull(DeflaterPool.getInstance(5).compress(bytes));
+    }
+
+    @Test
+    public void testDeflatersAreBounded() {
+        final DeflaterPool pool = new DeflaterPool(5, 1);
+        final byte[] bytes = "foobarfoobarfoobarfoobar".getBytes(StandardCharsets.UTF_8);
+        pool.compress(bytes);
+        pool.compress(bytes);
+        assertEquals(1, pool.getPooledCount());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testGetInstanceWithIllegalLevel() {
+        DeflaterPool.getInstance(10);
+    }
+}
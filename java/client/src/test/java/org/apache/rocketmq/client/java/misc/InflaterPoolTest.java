@@ -0,0 +1,92 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.rocketmq.client.java.misc;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import com.google.protobuf.ByteString;
+import com.google.protobuf.UnsafeByteOperations;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import org.apache.commons.lang3.RandomUtils;
+import org.junit.Test;
+
+public class InflaterPoolTest {
+
+    @Test
+    public void testDecompress() throws IOException {
+        final byte[] bytes = "foobar".getBytes(StandardCharsets.UTF_8);
+        final byte[] compressedBytes = Utilities.compressBytesGzip(bytes, 5);
+        final ByteString decompressed =
+            InflaterPool.getInstance().decompress(UnsafeByteOperations.unsafeWrap(compressedBytes));
+        assertArrayEquals(bytes, decompressed.toByteArray());
+    }
+
+    @Test
+    public void testDecompressWithHighCompressionRatio() throws IOException {
+        // Output is supposed to grow several times.
+        final byte[] bytes = new byte[1024 * 1024];
+        Arrays.fill(bytes, (byte) 'a');
+        final byte[] compressedBytes = DeflaterPool.getInstance(9).compress(bytes);
+        final ByteString decompressed =
+            InflaterPool.getInstance().decompress(UnsafeByteOperations.unsafeWrap(compressedBytes));
+        assertEquals(ByteString.copyFrom(bytes), decompressed);
+    }
+
+    @Test
+    public void testDecompressIncompressibleBytes() throws IOException {
+        final byte[] bytes = RandomUtils.nextBytes(4096);
+        final byte[] compressedBytes = Utilities.compressBytesGzip(bytes, 5);
+        final ByteString decompressed =
+            InflaterPool.getInstance().decompress(UnsafeByteOperations.unsafeWrap(compressedBytes));
+        assertArrayEquals(bytes, decompressed.toByteArray());
+    }
+
+    @Test(expected = IOException.class)
+    public void testDecompressTruncatedBytes() throws IOException {
+        final byte[] bytes = RandomUtils.nextBytes(4096);
+        final byte[] compressedBytes = Utilities.compressBytesGzip(bytes, 5);
+        final byte[] truncatedBytes = Arrays.copyOf(compressedBytes, compressedBytes.length / 2);
+        InflaterPool.getInstance().decompress(UnsafeByteOperations.unsafeWrap(truncatedBytes));
+    }
+
+    @Test
+    public void testTrim() {
+        final byte[] output = new byte[1024];
+        // Slight slack is kept to avoid copying.
+        assertSame(output, InflaterPool.trim(output, 1000));
+        // Significant slack is trimmed, which is typical for the output estimated by the compression ratio.
+        final byte[] trimmed = InflaterPool.trim(output, 300);
+        assertEquals(300, trimmed.length);
+        // Small arrays are never trimmed.
+        final byte[] smallOutput = new byte[64];
+        assertSame(smallOutput, InflaterPool.trim(smallOutput, 6));
+    }
+
+    @Test
+    public void testInflatersAreBounded() throws IOException {
+        final InflaterPool pool = new InflaterPool(1);
+        final byte[] compressedBytes = Utilities.compressBytesGzip("foobar".getBytes(StandardCharsets.UTF_8), 5);
+        pool.decompress(UnsafeByteOperations.unsafeWrap(compressedBytes));
+        pool.decompress(UnsafeByteOperations.unsafeWrap(compressedBytes));
+        assertEquals(1, pool.getPooledCount());
+    }
+}
@@ -0,0 +1,50 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.rocketmq.client.java.misc;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import org.junit.Test;
+
+public class MessageDigestPoolTest {
+
+    @Test
+    public void testGetInstance() throws NoSuchAlgorithmException {
+        assertSame(MessageDigestPool.getInstance("MD5"), MessageDigestPool.getInstance("MD5"));
+    }
+
+    @Test(expected = NoSuchAlgorithmException.class)
+    public void testGetInstanceWithUnknownAlgorithm() throws NoSuchAlgorithmException {
+        MessageDigestPool.getInstance("foobar");
+    }
+
+    @Test
+    public void testDigestsAreBounded() {
+        final MessageDigestPool pool = new MessageDigestPool("SHA-1", 1);
+        final MessageDigest digest0 = pool.borrow();
+        final MessageDigest digest1 = pool.borrow();
+        pool.release(digest0);
+        pool.release(digest1);
+        assertEquals(1, pool.getPooledCount());
+        assertSame(digest0, pool.borrow());
+        assertEquals(0, pool.getPooledCount());
+    }
+}
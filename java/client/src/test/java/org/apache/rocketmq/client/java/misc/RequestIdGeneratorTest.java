@@ -0,0 +1,56 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.rocketmq.client.java.misc;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.junit.Test;
+
+public class RequestIdGeneratorTest {
+
+    @Test
+    public void testNextRequestIdIsUnique() {
+        final RequestIdGenerator generator = new RequestIdGenerator();
+        final Set<String> requestIds = ConcurrentHashMap.newKeySet();
+        final int tasks = 16;
+        final int idsPerTask = 1000;
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < tasks; i++) {
+                executor.submit(() -> {
+                    for (int j = 0; j < idsPerTask; j++) {
+                        requestIds.add(generator.nextRequestId());
+                    }
+                });
+            }
+        }
+        assertEquals(tasks * idsPerTask, requestIds.size());
+    }
+
+    @Test
+    public void testPrefixIsPerGenerator() {
+        final String requestId0 = new RequestIdGenerator().nextRequestId();
+        final String requestId1 = new RequestIdGenerator().nextRequestId();
+        assertNotEquals(requestId0.substring(0, requestId0.indexOf('-')),
+            requestId1.substring(0, requestId1.indexOf('-')));
+    }
+}
@@ -17,13 +17,22 @@
 
 package org.apache.rocketmq.client.java.misc;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
+import com.google.protobuf.ByteString;
+import com.google.protobuf.UnsafeByteOperations;
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 import java.security.NoSuchAlgorithmException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import org.junit.Test;
 
 public class UtilitiesTest {
@@ -55,6 +64,36 @@ public class UtilitiesTest {
         assertEquals("8843D7F92416211DE9EBB963FF4CE28125932878", Utilities.sha1CheckSum(bytes));
     }
 
+    @Test
+    public void testDecodeHex() {
+        assertArrayEquals(new byte[] {0x0a, (byte) 0xff, 0x10}, Utilities.decodeHex("0AfF10"));
+        assertArrayEquals(new byte[0], Utilities.decodeHex(""));
+        assertNull(Utilities.decodeHex("0A1"));
+        assertNull(Utilities.decodeHex("0G"));
+    }
+
+    @Test
+    public void testCheckSumWithByteString() throws NoSuchAlgorithmException {
+        final byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        final int half = bytes.length / 2;
+        // Composed of multiple chunks.
+        final ByteString byteString = ByteString.copyFrom(bytes, 0, half)
+            .concat(ByteString.copyFrom(ByteBuffer.wrap(bytes, half, bytes.length - half)));
+        assertEquals(Utilities.crc32CheckSum(bytes), Utilities.crc32CheckSum(byteString));
+        assertEquals(Utilities.md5CheckSum(bytes), Utilities.md5CheckSum(byteString));
+        assertEquals(Utilities.sha1CheckSum(bytes), Utilities.sha1CheckSum(byteString));
+        final ByteString substring = ByteString.copyFrom(bytes).substring(1, bytes.length - 1);
+        assertEquals(Utilities.crc32CheckSum(substring.toByteArray()), Utilities.crc32CheckSum(substring));
+    }
+
+    @Test
+    public void testUncompressByteString() throws IOException {
+        final byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        final byte[] compressedBytes = Utilities.compressBytesGzip(bytes, 5);
+        final byte[] originalBytes = Utilities.uncompressBytesGzip(UnsafeByteOperations.unsafeWrap(compressedBytes));
+        assertEquals(new String(originalBytes, StandardCharsets.UTF_8), body);
+    }
+
     @Test
     public void testStackTrace() {
         final String stackTrace = Utilities.stackTrace();
@@ -67,4 +106,20 @@ public class UtilitiesTest {
         final String javaDescription = Utilities.getJavaDescription();
         assertNotNull(javaDescription);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testHostInfoSharedByVirtualThreads() throws Exception {
+        final String hostName = Utilities.hostName();
+        final byte[] macAddress = Utilities.macAddress();
+        final String protocolVersion = Utilities.getProtocolVersion();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            final Future<String> hostNameFuture = executor.submit(Utilities::hostName);
+            final Future<byte[]> macAddressFuture = executor.submit(Utilities::macAddress);
+            final Future<String> protocolVersionFuture = executor.submit(Utilities::getProtocolVersion);
+            // Resolved once for the whole process rather than once per thread.
+            assertSame(hostName, hostNameFuture.get());
+            assertArrayEquals(macAddress, macAddressFuture.get());
+            assertSame(protocolVersion, protocolVersionFuture.get());
+        }
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.rocketmq.client.java.rpc;
+
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import io.grpc.netty.NettyChannelBuilder;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import org.apache.rocketmq.client.apis.TransportConfiguration;
+import org.apache.rocketmq.client.java.tool.TestBase;
+import org.junit.Test;
+
+public class NettyTransportTest extends TestBase {
+
+    @Test
+    public void testDefaultEventLoopGroup() {
+        final NettyTransport transport = NettyTransport.create(TransportConfiguration.newBuilder().build());
+        assertNull(transport.getEventLoopGroup());
+        transport.release();
+    }
+
+    @Test
+    public void testSharedEventLoopGroup() {
+        final TransportConfiguration config = TransportConfiguration.newBuilder().setEventLoopThreadCount(1).build();
+        final NettyTransport transport0 = NettyTransport.create(config);
+        final NettyTransport transport1 = NettyTransport.create(config);
+        assertNotNull(transport0.getEventLoopGroup());
+        assertSame(transport0.getEventLoopGroup(), transport1.getEventLoopGroup());
+        transport0.release();
+        assertTrue(!transport1.getEventLoopGroup().isShuttingDown());
+    }
+
+    @Test
+    public void testExclusiveEventLoopGroup() {
+        final TransportConfiguration config = TransportConfiguration.newBuilder().setEventLoopThreadCount(1)
+            .setEventLoopGroupShared(false).build();
+        final NettyTransport transport0 = NettyTransport.create(config);
+        final NettyTransport transport1 = NettyTransport.create(config);
+        assertNotSame(transport0.getEventLoopGroup(), transport1.getEventLoopGroup());
+        transport0.release();
+        transport1.release();
+        assertTrue(transport0.getEventLoopGroup().isShuttingDown());
+        assertTrue(transport1.getEventLoopGroup().isShuttingDown());
+    }
+
+    @Test
+    public void testNativeTransportFallback() {
+        final TransportConfiguration config = TransportConfiguration.newBuilder().enableNativeTransport(true)
+            .setEventLoopGroupShared(false).build();
+        final NettyTransport transport = NettyTransport.create(config);
+        if (!NettyTransport.isEpollAvailable()) {
+            // Fall back to the default event loop group of gRPC without explicit thread count.
+            assertNull(transport.getEventLoopGroup());
+        }
+        transport.release();
+    }
+
+    @Test
+    public void testKeepAliveWithoutCallsDisabledByDefault() {
+        final TransportConfiguration config = TransportConfiguration.newBuilder()
+            .setKeepAlive(Duration.ofSeconds(30), Duration.ofSeconds(10)).build();
+        final NettyTransport transport = NettyTransport.create(config);
+        final NettyChannelBuilder channelBuilder = mock(NettyChannelBuilder.class);
+        transport.apply(channelBuilder);
+        verify(channelBuilder).keepAliveTime(anyLong(), eq(TimeUnit.NANOSECONDS));
+        verify(channelBuilder, never()).keepAliveWithoutCalls(anyBoolean());
+        transport.release();
+    }
+
+    @Test
+    public void testKeepAliveWithoutCalls() {
+        final TransportConfiguration config = TransportConfiguration.newBuilder()
+            .setKeepAlive(Duration.ofSeconds(30), Duration.ofSeconds(10)).enableKeepAliveWithoutCalls(true).build();
+        final NettyTransport transport = NettyTransport.create(config);
+        final NettyChannelBuilder channelBuilder = mock(NettyChannelBuilder.class);
+        transport.apply(channelBuilder);
+        verify(channelBuilder).keepAliveWithoutCalls(true);
+        transport.release();
+    }
+}
@@ -0,0 +1,123 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.rocketmq.client.java.rpc;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import apache.rocketmq.v2.ReceiveMessageRequest;
+import apache.rocketmq.v2.SendMessageRequest;
+import apache.rocketmq.v2.SendMessageResponse;
+import apache.rocketmq.v2.TelemetryCommand;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.SettableFuture;
+import io.grpc.Metadata;
+import io.grpc.stub.StreamObserver;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.net.ssl.SSLException;
+import org.apache.rocketmq.client.java.tool.TestBase;
+import org.junit.Test;
+
+public class RpcClientPoolTest extends TestBase {
+
+    @Test
+    public void testDispatchToLeastOutstanding() {
+        final RpcClient rpcClient0 = mock(RpcClient.class);
+        final RpcClient rpcClient1 = mock(RpcClient.class);
+        final SettableFuture<SendMessageResponse> future0 = SettableFuture.create();
+        final SettableFuture<SendMessageResponse> future1 = SettableFuture.create();
+        when(rpcClient0.sendMessage(any(Metadata.class), any(SendMessageRequest.class), any(), any(Duration.class)))
+            .thenReturn(future0);
+        when(rpcClient1.sendMessage(any(Metadata.class), any(SendMessageRequest.class), any(), any(Duration.class)))
+            .thenReturn(future1);
+        final RpcClientPool pool = new RpcClientPool(new RpcClient[] {rpcClient0, rpcClient1},
+            () -> mock(RpcClient.class), null);
+        final SendMessageRequest request = SendMessageRequest.newBuilder().build();
+        pool.sendMessage(new Metadata(), request, MoreExecutors.directExecutor(), Duration.ofSeconds(1));
+        pool.sendMessage(new Metadata(), request, MoreExecutors.directExecutor(), Duration.ofSeconds(1));
+        // Each channel takes one outstanding RPC.
+        assertEquals(1, pool.outstandingRpcs(0));
+        assertEquals(1, pool.outstandingRpcs(1));
+        future0.set(SendMessageResponse.getDefaultInstance());
+        assertEquals(0, pool.outstandingRpcs(0));
+        assertEquals(0, pool.select());
+        future1.set(SendMessageResponse.getDefaultInstance());
+        assertEquals(0, pool.outstandingRpcs(1));
+    }
+
+    @Test
+    public void testReceiveMessageWithLongPollingChannel() {
+        final RpcClient rpcClient = mock(RpcClient.class);
+        final RpcClient longPollingRpcClient = mock(RpcClient.class);
+        when(longPollingRpcClient.receiveMessage(any(Metadata.class), any(ReceiveMessageRequest.class),
+            any(ExecutorService.class), any(Duration.class))).thenReturn(Futures.immediateFuture(null));
+        final RpcClientPool pool = new RpcClientPool(new RpcClient[] {rpcClient}, () -> longPollingRpcClient, null);
+        assertNull(pool.longPollingRpcClient());
+        final ReceiveMessageRequest request = ReceiveMessageRequest.newBuilder().build();
+        pool.receiveMessage(new Metadata(), request, SINGLE_THREAD_POOL_EXECUTOR, Duration.ofSeconds(1));
+        verify(longPollingRpcClient).receiveMessage(any(Metadata.class), any(ReceiveMessageRequest.class),
+            any(ExecutorService.class), any(Duration.class));
+        verify(rpcClient, never()).receiveMessage(any(Metadata.class), any(ReceiveMessageRequest.class),
+            any(ExecutorService.class), any(Duration.class));
+        assertSame(longPollingRpcClient, pool.longPollingRpcClient());
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testTelemetryWithoutLongPollingChannel() {
+        final RpcClient rpcClient = mock(RpcClient.class);
+        final RpcClientPool pool = new RpcClientPool(new RpcClient[] {rpcClient}, () -> mock(RpcClient.class), null);
+        final StreamObserver<TelemetryCommand> observer = mock(StreamObserver.class);
+        pool.telemetry(new Metadata(), MoreExecutors.directExecutor(), Duration.ofSeconds(1), observer);
+        verify(rpcClient).telemetry(any(Metadata.class), any(), any(Duration.class), any());
+        // Long-polling channel is never created unless messages are received.
+        assertNull(pool.longPollingRpcClient());
+    }
+
+    @Test
+    public void testCreateRpcClientsReleasedOnFailure() throws InterruptedException {
+        final RpcClient rpcClient = mock(RpcClient.class);
+        final NettyTransport transport = mock(NettyTransport.class);
+        final AtomicInteger attempts = new AtomicInteger(0);
+        try {
+            RpcClientPool.createRpcClients(3, () -> {
+                if (attempts.incrementAndGet() > 1) {
+                    throw new SSLException("Failed to build ssl context");
+                }
+                return rpcClient;
+            }, transport);
+            fail();
+        } catch (SSLException ignore) {
+            // Expected.
+        }
+        assertEquals(2, attempts.get());
+        verify(rpcClient, times(1)).shutdown();
+        verify(transport, times(1)).release();
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.rocketmq.client.java.rpc;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+
+import io.grpc.Metadata;
+import java.util.concurrent.atomic.AtomicReference;
+import org.apache.rocketmq.client.apis.ClientConfiguration;
+import org.apache.rocketmq.client.apis.SessionCredentials;
+import org.apache.rocketmq.client.java.misc.ClientId;
+import org.apache.rocketmq.client.java.tool.TestBase;
+import org.junit.Test;
+
+public class SignerTest extends TestBase {
+
+    private static String get(Metadata metadata, String key) {
+        return metadata.get(Metadata.Key.of(key, Metadata.ASCII_STRING_MARSHALLER));
+    }
+
+    @Test
+    public void testSign() throws Exception {
+        final AtomicReference<SessionCredentials> credentials =
+            new AtomicReference<>(new SessionCredentials("ak0", "sk0"));
+        final ClientConfiguration config = ClientConfiguration.newBuilder().setEndpoints(FAKE_ENDPOINTS)
+            .setCredentialProvider(credentials::get).build();
+        final ClientId clientId = new ClientId();
+        final Signer signer = new Signer(config, clientId);
+        final Metadata metadata0 = signer.sign();
+        final Metadata metadata1 = signer.sign();
+        assertEquals(clientId.toString(), get(metadata0, Signature.CLIENT_ID_KEY));
+        assertNotEquals(get(metadata0, Signature.REQUEST_ID_KEY), get(metadata1, Signature.REQUEST_ID_KEY));
+        // Same as the signature computed from scratch.
+        final String dateTime = get(metadata1, Signature.DATE_TIME_KEY);
+        final String expected = Signature.signedMetadata(dateTime, credentials.get())
+            .get(Signature.AUTHORIZATION_METADATA_KEY);
+        assertEquals(expected, get(metadata1, Signature.AUTHORIZATION_KEY));
+
+        // Signature is recomputed once the credentials are changed.
+        credentials.set(new SessionCredentials("ak1", "sk1", "token1"));
+        final Metadata metadata2 = signer.sign();
+        final String dateTime2 = get(metadata2, Signature.DATE_TIME_KEY);
+        assertEquals(Signature.signedMetadata(dateTime2, credentials.get())
+            .get(Signature.AUTHORIZATION_METADATA_KEY), get(metadata2, Signature.AUTHORIZATION_KEY));
+        assertEquals("token1", get(metadata2, Signature.SESSION_TOKEN_KEY));
+    }
+
+    @Test
+    public void testSignWithoutCredentials() throws Exception {
+        final ClientConfiguration config = ClientConfiguration.newBuilder().setEndpoints(FAKE_ENDPOINTS).build();
+        final Metadata metadata = new Signer(config, new ClientId()).sign();
+        assertEquals("JAVA", get(metadata, Signature.LANGUAGE_KEY));
+        assertNull(get(metadata, Signature.AUTHORIZATION_KEY));
+    }
+
+    @Test
+    public void testSignWithRequestIdProvider() throws Exception {
+        final ClientConfiguration config = ClientConfiguration.newBuilder().setEndpoints(FAKE_ENDPOINTS)
+            .setRequestIdProvider(() -> "fixed").build();
+        final Metadata metadata = new Signer(config, new ClientId()).sign();
+        assertEquals("fixed", get(metadata, Signature.REQUEST_ID_KEY));
+    }
+}
@@ -154,7 +154,7 @@ public class TestBase {
     protected Context fakeRpcContext() {
         final Metadata metadata = new Metadata();
         metadata.put(Metadata.Key.of(Signature.REQUEST_ID_KEY, Metadata.ASCII_STRING_MARSHALLER),
-            RequestIdGenerator.getInstance().next());
+            RequestIdGenerator.getInstance().nextRequestId());
         return new Context(fakeEndpoints(), metadata);
     }
 